@@ -0,0 +1,136 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+
+import de.textmode.pclbox.PclException;
+import de.textmode.pclbox.PclParser;
+import de.textmode.pclbox.PrinterCommand;
+import de.textmode.pclbox.PrinterCommandHandler;
+
+/**
+ * Helper methods that provide the input data for the benchmarks.
+ */
+final class BenchmarkData {
+
+    /**
+     * Name of the PCL data stream that is bundled with the tests of PCL-Dumper.
+     */
+    static final String GENERIC_TEST = "generic_test.pcl";
+
+    /**
+     * Seed of the {@link SyntheticPclGenerator}, so every benchmark run uses the same data stream.
+     */
+    static final long SEED = 4711;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns the content of an embedded resource.
+     *
+     * @param name   Name of the resource
+     *
+     * @return the content of the embedded resource.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    static byte[] loadResource(final String name) throws IOException {
+        try (final InputStream in = BenchmarkData.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("Resource " + name + " not found");
+            }
+            return IOUtils.toByteArray(in);
+        }
+    }
+
+    /**
+     * Returns the PCL data stream that is used by a benchmark. If <code>megabytes</code> is zero the
+     * bundled test file is returned as it is. Otherwise a synthetic PCL data stream of the requested
+     * size is generated by the {@link SyntheticPclGenerator}.
+     *
+     * @param megabytes   the requested size of the PCL data stream in megabytes or zero.
+     *
+     * @return the PCL data stream.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    static byte[] createInput(final int megabytes) throws IOException {
+        if (megabytes == 0) {
+            return loadResource(GENERIC_TEST);
+        }
+
+        return new SyntheticPclGenerator(SEED).generate(megabytes * 1024 * 1024);
+    }
+
+    /**
+     * Parses the given PCL data stream and returns all printer commands.
+     *
+     * @param data   the PCL data stream.
+     *
+     * @return all printer commands of the PCL data stream.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    static List<PrinterCommand> parse(final byte[] data) throws IOException, PclException {
+        final List<PrinterCommand> result = new ArrayList<>();
+
+        try (final PclParser parser = new PclParser(new ByteArrayInputStream(data), new PrinterCommandHandler() {
+            @Override
+            public void handlePrinterCommand(final PrinterCommand command) {
+                result.add(command);
+            }
+        })) {
+            parser.parse();
+        }
+
+        return result;
+    }
+
+    /**
+     * Parses the given PCL data stream and returns the number of printer commands.
+     *
+     * @param data   the PCL data stream.
+     *
+     * @return the number of printer commands of the PCL data stream.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    static long count(final byte[] data) throws IOException, PclException {
+        final long[] result = new long[1];
+
+        try (final PclParser parser = new PclParser(new ByteArrayInputStream(data), new PrinterCommandHandler() {
+            @Override
+            public void handlePrinterCommand(final PrinterCommand command) {
+                ++result[0];
+            }
+        })) {
+            parser.parse();
+        }
+
+        return result[0];
+    }
+}
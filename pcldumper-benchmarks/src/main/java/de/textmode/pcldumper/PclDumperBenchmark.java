@@ -0,0 +1,122 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.textmode.pclbox.PclException;
+
+/**
+ * End-to-end benchmark of {@link PclDumper#dump(java.io.InputStream, DumpOutput)} for every combination
+ * of the switches of the {@link PclDumperBuilder}. Besides the number of dumps per second JMH reports the
+ * secondary metrics <i>bytes</i> (bytes of the PCL data stream per second) and <i>commands</i> (printer
+ * commands per second).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PclDumperBenchmark {
+
+    /**
+     * Size of the synthetic PCL data stream in megabytes. Zero means that the bundled test file is used.
+     */
+    @Param({ "0", "16" })
+    public int megabytes;
+
+    @Param({ "false", "true" })
+    public boolean quiet;
+
+    @Param({ "false", "true" })
+    public boolean showOffsets;
+
+    @Param({ "false", "true" })
+    public boolean verbose;
+
+    private byte[] input;
+    private long commandsPerDump;
+    private PclDumper dumper;
+    private DumpOutput out;
+
+    /**
+     * Counters for the secondary metrics of the benchmark.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+
+        public long bytes;
+        public long commands;
+
+        /**
+         * Resets the counters before every iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.bytes = 0;
+            this.commands = 0;
+        }
+    }
+
+    /**
+     * Creates the PCL data stream and the {@link PclDumper}.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, PclException {
+        this.input = BenchmarkData.createInput(this.megabytes);
+        this.commandsPerDump = BenchmarkData.count(this.input);
+
+        this.dumper = new PclDumperBuilder()
+                .quiet(this.quiet)
+                .showOffsets(this.showOffsets)
+                .verbose(this.verbose)
+                .build();
+
+        this.out = DumpOutput.of(NullOutputStream.NULL_OUTPUT_STREAM, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Dumps the PCL data stream.
+     */
+    @Benchmark
+    public void dump(final Throughput throughput) throws IOException, PclException {
+        this.dumper.dump(new ByteArrayInputStream(this.input), this.out);
+
+        throughput.bytes += this.input.length;
+        throughput.commands += this.commandsPerDump;
+    }
+}
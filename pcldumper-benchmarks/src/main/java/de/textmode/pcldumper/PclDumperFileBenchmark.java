@@ -0,0 +1,97 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.textmode.pclbox.PclException;
+
+/**
+ * End-to-end benchmark of {@link PclDumper#dump(File, DumpOutput)} that compares reading the PCL file
+ * with a {@link java.io.FileInputStream} and reading the memory-mapped PCL file. The score is the number
+ * of dumps per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PclDumperFileBenchmark {
+
+    /**
+     * Size of the synthetic PCL file in megabytes.
+     */
+    @Param({ "64" })
+    public int megabytes;
+
+    @Param({ "false", "true" })
+    public boolean memoryMapped;
+
+    private File file;
+    private PclDumper dumper;
+    private DumpOutput out;
+
+    /**
+     * Writes the synthetic PCL file and creates the {@link PclDumper}.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.file = File.createTempFile("pcldumper-benchmark", ".pcl");
+        try (final FileOutputStream fos = new FileOutputStream(this.file)) {
+            new SyntheticPclGenerator(BenchmarkData.SEED).generate(fos, this.megabytes * 1024L * 1024L);
+        }
+
+        this.dumper = new PclDumperBuilder().memoryMapped(this.memoryMapped).build();
+        this.out = DumpOutput.of(NullOutputStream.NULL_OUTPUT_STREAM, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deletes the synthetic PCL file.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Dumps the PCL file.
+     */
+    @Benchmark
+    public void dump() throws IOException, PclException {
+        this.dumper.dump(this.file, this.out);
+    }
+}
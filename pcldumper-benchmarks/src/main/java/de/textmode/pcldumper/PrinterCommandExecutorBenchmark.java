@@ -0,0 +1,127 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.textmode.pclbox.PclException;
+import de.textmode.pclbox.PrinterCommand;
+
+/**
+ * Microbenchmarks of the {@link PrinterCommandExecutor}s. Every benchmark method "executes" a fixed set of
+ * printer commands, so the reported score is the number of executed printer commands per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrinterCommandExecutorBenchmark {
+
+    private static final int COMMANDS = 8;
+
+    private static final Charset ISO_8859_1 = Charset.forName("iso-8859-1");
+
+    private static final String ESC = "\u001B";
+
+    private static final String DEFAULT_COMMANDS =
+            ESC + "&l26A" + ESC + "&l0O" + ESC + "*b3M" + ESC + "(s0P"
+            + ESC + "&l1S" + ESC + "*p300X" + ESC + "*p1200Y" + ESC + "*c72W" + new String(new char[72]);
+
+    private static final String TYPEFACE_COMMANDS =
+            ESC + "(s4099T" + ESC + ")s4099T" + ESC + "(s4148T" + ESC + "(s16602T"
+            + ESC + "(s24579T" + ESC + "(s9T" + ESC + "(s0T" + ESC + "(s99999T";
+
+    private static final String TEXT_PARSING_METHOD_COMMANDS =
+            ESC + "&t0P" + ESC + "&t1P" + ESC + "&t21P" + ESC + "&t31P"
+            + ESC + "&t38P" + ESC + "&t83P" + ESC + "&t1008P" + ESC + "&t99P";
+
+    private final PrinterCommandExecutor defaultExecutor = new DefaultCommandExecutor();
+    private final PrinterCommandExecutor typefaceExecutor = new TypefaceFamilyCommandExecutor();
+    private final PrinterCommandExecutor textParsingMethodExecutor = new TextParsingMethodCommandExecutor();
+
+    private final PclDumperContext context = new PclDumperContext();
+
+    private PrinterCommand[] defaultCommands;
+    private PrinterCommand[] typefaceCommands;
+    private PrinterCommand[] textParsingMethodCommands;
+
+    /**
+     * Parses the printer commands that are "executed" by the benchmarks.
+     */
+    @Setup
+    public void setUp() throws IOException, PclException {
+        this.defaultCommands = parse(DEFAULT_COMMANDS);
+        this.typefaceCommands = parse(TYPEFACE_COMMANDS);
+        this.textParsingMethodCommands = parse(TEXT_PARSING_METHOD_COMMANDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public void defaultCommandExecutor(final Blackhole blackhole) {
+        execute(this.defaultExecutor, this.defaultCommands, this.context, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public void typefaceFamilyCommandExecutor(final Blackhole blackhole) {
+        execute(this.typefaceExecutor, this.typefaceCommands, this.context, blackhole);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMMANDS)
+    public void textParsingMethodCommandExecutor(final Blackhole blackhole) {
+        execute(this.textParsingMethodExecutor, this.textParsingMethodCommands, this.context, blackhole);
+    }
+
+    private static void execute(
+            final PrinterCommandExecutor executor,
+            final PrinterCommand[] commands,
+            final PclDumperContext context,
+            final Blackhole blackhole) {
+
+        for (final PrinterCommand command : commands) {
+            blackhole.consume(executor.execute(command, context));
+        }
+    }
+
+    private static PrinterCommand[] parse(final String commands) throws IOException, PclException {
+        final List<PrinterCommand> result = BenchmarkData.parse(commands.getBytes(ISO_8859_1));
+        if (result.size() != COMMANDS) {
+            throw new IllegalStateException("Expected " + COMMANDS + " printer commands but got " + result.size());
+        }
+
+        return result.toArray(new PrinterCommand[result.size()]);
+    }
+}
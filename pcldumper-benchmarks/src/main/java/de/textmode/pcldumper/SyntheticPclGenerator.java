@@ -0,0 +1,765 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
+
+/**
+ * The {@link SyntheticPclGenerator} writes synthetic PCL printer data streams of any size. The content of
+ * every page is a random mix of raster images, soft font downloads, text runs and HP-GL/2 blocks. The mix
+ * can be tuned with weights. The generated data stream only depends on the seed, so the same seed always
+ * produces the same data stream.
+ */
+final class SyntheticPclGenerator {
+
+    private static final Charset ISO_8859_1 = Charset.forName("iso-8859-1");
+
+    private static final int ESC = 0x1B;
+    private static final int FF = 0x0C;
+
+    private static final String UEL = "\u001B%-12345X";
+
+    private static final String LATIN_TEXT = "The quick brown fox jumps over the lazy dog. Statement 0123456789";
+    private static final String JAPANESE_TEXT = "請求書の明細はこちらです。日本語の文字列と漢字のテスト";
+    private static final String CHINESE_TEXT = "中文字體測試資料，帳單明細與交易紀錄";
+    private static final String UNICODE_TEXT = "Grüße aus Köln – Rechnung über 1.234,56 € – 日本語";
+
+    private static final int[] ALL_COMPRESSION_MODES = new int[] { 0, 1, 2, 3, 5, 9 };
+
+    private final long seed;
+
+    private int rasterWeight = 4;
+    private int softFontWeight = 1;
+    private int textWeight = 4;
+    private int hpglWeight = 1;
+
+    private int[] compressionModes = ALL_COMPRESSION_MODES;
+    private int rasterRowBytes = 600;
+    private int rasterRows = 100;
+
+    private int softFontHeaderBytes = 64 * 1024;
+    private int softFontCharacters = 32;
+    private int softFontCharacterBytes = 512;
+
+    private TextParsingMethod[] textParsingMethods = TextParsingMethod.values();
+    private int textRunLength = 40;
+    private int textRuns = 20;
+
+    private boolean pjl = true;
+    private int pagesPerJob = 10;
+    private int blocksPerPage = 6;
+
+    private Random random;
+    private OutputStream out;
+    private long written;
+    private int jobs;
+
+    /**
+     * Constructor of the {@link SyntheticPclGenerator}.
+     *
+     * @param seed   the seed of the random number generator.
+     */
+    SyntheticPclGenerator(final long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the weight of raster images (<code>ESC*b#W</code>) in the mix of the page content.
+     */
+    SyntheticPclGenerator rasterWeight(final int value) {
+        this.rasterWeight = value;
+        return this;
+    }
+
+    /**
+     * Sets the weight of soft font downloads (a font header <code>ESC)s#W</code> followed by characters
+     * <code>ESC(s#W</code>) in the mix of the page content.
+     */
+    SyntheticPclGenerator softFontWeight(final int value) {
+        this.softFontWeight = value;
+        return this;
+    }
+
+    /**
+     * Sets the weight of text runs in the mix of the page content.
+     */
+    SyntheticPclGenerator textWeight(final int value) {
+        this.textWeight = value;
+        return this;
+    }
+
+    /**
+     * Sets the weight of HP-GL/2 blocks in the mix of the page content.
+     */
+    SyntheticPclGenerator hpglWeight(final int value) {
+        this.hpglWeight = value;
+        return this;
+    }
+
+    /**
+     * Sets the compression modes (<code>ESC*b#M</code>) used for raster images. The default is to use
+     * the modes 0, 1, 2, 3, 5 and 9.
+     */
+    SyntheticPclGenerator compressionModes(final int... value) {
+        for (final int mode : value) {
+            if (Arrays.binarySearch(ALL_COMPRESSION_MODES, mode) < 0) {
+                throw new IllegalArgumentException("Unsupported compression mode " + mode);
+            }
+        }
+        this.compressionModes = value.clone();
+        return this;
+    }
+
+    /**
+     * Sets the size of a raster image (bytes per row and number of rows).
+     */
+    SyntheticPclGenerator rasterSize(final int rowBytes, final int rows) {
+        this.rasterRowBytes = rowBytes;
+        this.rasterRows = rows;
+        return this;
+    }
+
+    /**
+     * Sets the size of a soft font download (size of the font header, number of characters and size
+     * of every character).
+     */
+    SyntheticPclGenerator softFontSize(final int headerBytes, final int characters, final int characterBytes) {
+        this.softFontHeaderBytes = headerBytes;
+        this.softFontCharacters = characters;
+        this.softFontCharacterBytes = characterBytes;
+        return this;
+    }
+
+    /**
+     * Sets the text parsing methods that are used for text runs. The default is to use all text parsing
+     * methods.
+     */
+    SyntheticPclGenerator textParsingMethods(final TextParsingMethod... value) {
+        this.textParsingMethods = value.clone();
+        return this;
+    }
+
+    /**
+     * Sets the size of a text block (length of a text run and number of runs).
+     */
+    SyntheticPclGenerator textSize(final int runLength, final int runs) {
+        this.textRunLength = runLength;
+        this.textRuns = runs;
+        return this;
+    }
+
+    /**
+     * Sets if every job is wrapped in PJL and the number of pages per job.
+     */
+    SyntheticPclGenerator jobs(final boolean withPjl, final int pages) {
+        this.pjl = withPjl;
+        this.pagesPerJob = pages;
+        return this;
+    }
+
+    /**
+     * Sets the number of content blocks (raster images, soft fonts, text blocks or HP-GL/2 blocks)
+     * per page.
+     */
+    SyntheticPclGenerator blocksPerPage(final int value) {
+        this.blocksPerPage = value;
+        return this;
+    }
+
+    /**
+     * Writes complete jobs to the given {@link OutputStream} until at least the given number of
+     * bytes has been written.
+     *
+     * @param output   the {@link OutputStream} to write to.
+     * @param size   the minimum number of bytes to write.
+     *
+     * @return the number of bytes written.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    long generate(final OutputStream output, final long size) throws IOException {
+        if (this.rasterWeight + this.softFontWeight + this.textWeight + this.hpglWeight <= 0) {
+            throw new IllegalArgumentException("At least one weight must be greater than zero");
+        }
+
+        this.random = new Random(this.seed);
+        this.out = output;
+        this.written = 0;
+        this.jobs = 0;
+
+        while (this.jobs == 0 || this.written < size) {
+            this.writeJob();
+        }
+
+        this.out.flush();
+        return this.written;
+    }
+
+    /**
+     * Generates a PCL data stream of at least the given size in memory.
+     *
+     * @param size   the minimum number of bytes to generate.
+     *
+     * @return the generated PCL data stream.
+     */
+    byte[] generate(final int size) {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(size + size / 4);
+        try {
+            this.generate(baos, size);
+        } catch (final IOException e) {
+            // An IOException should never ever been throws because we write to memory...
+            throw new IllegalStateException(e);
+        }
+        return baos.toByteArray();
+    }
+
+    private void writeJob() throws IOException {
+        ++this.jobs;
+
+        if (this.pjl) {
+            this.write(UEL);
+            this.write("@PJL\r\n");
+            this.write("@PJL JOB NAME=\"Synthetic job " + this.jobs + "\"\r\n");
+            this.write("@PJL SET RESOLUTION=600\r\n");
+            this.write("@PJL ENTER LANGUAGE=PCL\r\n");
+        }
+
+        this.writeEscape("E");
+        this.writeEscape("&l26A");
+        this.writeEscape("&l0O");
+
+        for (int page = 0; page < this.pagesPerJob; ++page) {
+            for (int block = 0; block < this.blocksPerPage; ++block) {
+                this.writeBlock();
+            }
+            this.out.write(FF);
+            ++this.written;
+        }
+
+        this.writeEscape("E");
+
+        if (this.pjl) {
+            this.write(UEL);
+            this.write("@PJL EOJ NAME=\"Synthetic job " + this.jobs + "\"\r\n");
+            this.write(UEL);
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        int choice = this.random.nextInt(this.rasterWeight + this.softFontWeight + this.textWeight + this.hpglWeight);
+
+        if (choice < this.rasterWeight) {
+            this.writeRasterImage();
+            return;
+        }
+        choice -= this.rasterWeight;
+
+        if (choice < this.softFontWeight) {
+            this.writeSoftFont();
+            return;
+        }
+        choice -= this.softFontWeight;
+
+        if (choice < this.textWeight) {
+            this.writeText();
+        } else {
+            this.writeHpgl();
+        }
+    }
+
+    private void writeRasterImage() throws IOException {
+        final int mode = this.compressionModes[this.random.nextInt(this.compressionModes.length)];
+
+        this.writeEscape("*p" + this.random.nextInt(600) + "x" + this.random.nextInt(6000) + "Y");
+        this.writeEscape("*t600R");
+        this.writeEscape("*r" + this.rasterRowBytes * 8 + "s" + this.rasterRows + "T");
+        this.writeEscape("*r1A");
+        this.writeEscape("*b" + mode + "M");
+
+        final RasterEncoder encoder = new RasterEncoder(this.rasterRowBytes);
+        byte[] seedRow = new byte[this.rasterRowBytes];
+        byte[] row = new byte[this.rasterRowBytes];
+
+        int rowsLeft = this.rasterRows;
+        while (rowsLeft > 0) {
+            if (mode == 5) {
+                // Adaptive compression: one block contains several rows...
+                final int rows = Math.min(rowsLeft, 1 + this.random.nextInt(16));
+                encoder.reset();
+                for (int ix = 0; ix < rows; ++ix) {
+                    this.nextRow(seedRow, row);
+                    encoder.adaptive(row, seedRow);
+                    final byte[] tmp = seedRow;
+                    seedRow = row;
+                    row = tmp;
+                }
+                this.writeData("*b", "W", encoder.toByteArray());
+                rowsLeft -= rows;
+            } else {
+                this.nextRow(seedRow, row);
+                encoder.reset();
+                encoder.encode(mode, row, seedRow);
+                this.writeData("*b", "W", encoder.toByteArray());
+                final byte[] tmp = seedRow;
+                seedRow = row;
+                row = tmp;
+                --rowsLeft;
+            }
+        }
+
+        this.writeEscape("*rC");
+    }
+
+    /**
+     * Builds the next row of a raster image. Most rows are very similar to the previous row (as usual for
+     * scanned documents), some rows are blank and some contain completely new data.
+     */
+    private void nextRow(final byte[] previous, final byte[] row) {
+        final int kind = this.random.nextInt(10);
+        if (kind == 0) {
+            Arrays.fill(row, (byte) 0x00);
+        } else if (kind == 1) {
+            for (int ix = 0; ix < row.length;) {
+                final int run = Math.min(row.length - ix, 1 + this.random.nextInt(24));
+                final byte value = this.random.nextBoolean() ? 0 : (byte) this.random.nextInt(256);
+                Arrays.fill(row, ix, ix + run, value);
+                ix += run;
+            }
+        } else {
+            System.arraycopy(previous, 0, row, 0, row.length);
+            final int changes = this.random.nextInt(8);
+            for (int ix = 0; ix < changes; ++ix) {
+                final int pos = this.random.nextInt(row.length);
+                final int len = Math.min(row.length - pos, 1 + this.random.nextInt(12));
+                for (int jx = pos; jx < pos + len; ++jx) {
+                    row[jx] = (byte) this.random.nextInt(256);
+                }
+            }
+        }
+    }
+
+    private void writeSoftFont() throws IOException {
+        final int fontId = 1 + this.random.nextInt(1000);
+
+        this.writeEscape("*c" + fontId + "D");
+
+        final byte[] header = new byte[Math.max(64, this.softFontHeaderBytes)];
+        this.random.nextBytes(header);
+        header[0] = 0x00; // Font descriptor size (64)
+        header[1] = 0x40;
+        header[2] = 0x00; // Descriptor format (PCL bitmap)
+        header[3] = 0x02; // Font type (all 256 characters are printable)
+        this.writeData(")s", "W", header);
+
+        for (int ix = 0; ix < this.softFontCharacters; ++ix) {
+            final byte[] character = new byte[Math.max(16, this.softFontCharacterBytes)];
+            this.random.nextBytes(character);
+            character[0] = 0x04; // Format (PCL bitmap)
+            character[1] = 0x00; // Continuation (no)
+            this.writeEscape("*c" + (32 + ix % 224) + "E");
+            this.writeData("(s", "W", character);
+        }
+    }
+
+    private void writeText() throws IOException {
+        final TextParsingMethod method = this.textParsingMethods[this.random.nextInt(this.textParsingMethods.length)];
+        final String sample = getSampleText(method);
+        final Charset charset = method.getCharset();
+
+        this.writeEscape("&t" + getTextParsingMethodValue(method) + "P");
+
+        for (int run = 0; run < this.textRuns; ++run) {
+            this.writeEscape("*p" + this.random.nextInt(4800) + "x" + this.random.nextInt(6600) + "Y");
+
+            final StringBuilder sb = new StringBuilder(this.textRunLength);
+            int pos = this.random.nextInt(sample.length());
+            while (sb.length() < this.textRunLength) {
+                sb.append(sample.charAt(pos));
+                pos = (pos + 1) % sample.length();
+            }
+
+            final byte[] text = sb.toString().getBytes(charset);
+            this.out.write(text);
+            this.written += text.length;
+
+            if (this.random.nextInt(4) == 0) {
+                this.write("\r\n");
+            }
+        }
+
+        this.writeEscape("&t0P");
+    }
+
+    private void writeHpgl() throws IOException {
+        this.writeEscape("%0B");
+
+        final StringBuilder sb = new StringBuilder();
+        sb.append("IN;SP1;PU").append(this.random.nextInt(10000)).append(',').append(this.random.nextInt(10000));
+        sb.append(";PD");
+
+        final int points = 4 + this.random.nextInt(60);
+        for (int ix = 0; ix < points; ++ix) {
+            if (ix > 0) {
+                sb.append(',');
+            }
+            sb.append(this.random.nextInt(10000)).append(',').append(this.random.nextInt(10000));
+        }
+        sb.append(";CO\"synthetic HP-GL/2 block\";PU;");
+
+        this.write(sb.toString());
+        this.writeEscape("%0A");
+    }
+
+    private void writeEscape(final String command) throws IOException {
+        this.out.write(ESC);
+        ++this.written;
+        this.write(command);
+    }
+
+    private void writeData(final String prefix, final String terminator, final byte[] data) throws IOException {
+        this.writeEscape(prefix + data.length + terminator);
+        this.out.write(data);
+        this.written += data.length;
+    }
+
+    private void write(final String text) throws IOException {
+        final byte[] bytes = text.getBytes(ISO_8859_1);
+        this.out.write(bytes);
+        this.written += bytes.length;
+    }
+
+    private static String getSampleText(final TextParsingMethod method) {
+        switch (method) {
+        case ASIAN_SEVEN_BIT:
+        case SHIFT_JIS:
+            return JAPANESE_TEXT;
+
+        case ASIAN_EIGHT_BIT:
+            return CHINESE_TEXT;
+
+        case UNICODE:
+        case UTF_8:
+            return UNICODE_TEXT;
+
+        default:
+            return LATIN_TEXT;
+        }
+    }
+
+    private static int getTextParsingMethodValue(final TextParsingMethod method) {
+        switch (method) {
+        case ASIAN_SEVEN_BIT:
+            return 21;
+
+        case SHIFT_JIS:
+            return 31;
+
+        case ASIAN_EIGHT_BIT:
+            return 38;
+
+        case UNICODE:
+            return 83;
+
+        case UTF_8:
+            return 1008;
+
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Encodes raster rows with the PCL compression modes.
+     */
+    static final class RasterEncoder {
+
+        private final ByteArrayOutputStream buffer;
+
+        RasterEncoder(final int rowBytes) {
+            this.buffer = new ByteArrayOutputStream(rowBytes * 2);
+        }
+
+        void reset() {
+            this.buffer.reset();
+        }
+
+        byte[] toByteArray() {
+            return this.buffer.toByteArray();
+        }
+
+        void encode(final int mode, final byte[] row, final byte[] seedRow) {
+            switch (mode) {
+            case 0:
+                this.buffer.write(row, 0, row.length);
+                break;
+
+            case 1:
+                this.runLength(row);
+                break;
+
+            case 2:
+                this.packBits(row);
+                break;
+
+            case 3:
+                this.deltaRow(row, seedRow);
+                break;
+
+            case 9:
+                this.replacementDeltaRow(row, seedRow);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported compression mode " + mode);
+            }
+        }
+
+        /**
+         * Appends one row to an adaptive compression (mode 5) block.
+         */
+        void adaptive(final byte[] row, final byte[] seedRow) {
+            if (Arrays.equals(row, seedRow)) {
+                this.adaptiveRow(5, 1, null, 0);
+                return;
+            }
+
+            final RasterEncoder tmp = new RasterEncoder(row.length);
+            tmp.packBits(row);
+            final byte[] packed = tmp.toByteArray();
+            tmp.reset();
+            tmp.deltaRow(row, seedRow);
+            final byte[] delta = tmp.toByteArray();
+
+            if (delta.length < packed.length) {
+                this.adaptiveRow(3, delta.length, delta, delta.length);
+            } else {
+                this.adaptiveRow(2, packed.length, packed, packed.length);
+            }
+        }
+
+        private void adaptiveRow(final int command, final int count, final byte[] data, final int length) {
+            this.buffer.write(command);
+            this.buffer.write(count >>> 8);
+            this.buffer.write(count & 0xFF);
+            if (data != null) {
+                this.buffer.write(data, 0, length);
+            }
+        }
+
+        private void runLength(final byte[] row) {
+            int ix = 0;
+            while (ix < row.length) {
+                int run = 1;
+                while (ix + run < row.length && run < 256 && row[ix + run] == row[ix]) {
+                    ++run;
+                }
+                this.buffer.write(run - 1);
+                this.buffer.write(row[ix]);
+                ix += run;
+            }
+        }
+
+        private void packBits(final byte[] row) {
+            int ix = 0;
+            while (ix < row.length) {
+                int run = 1;
+                while (ix + run < row.length && run < 128 && row[ix + run] == row[ix]) {
+                    ++run;
+                }
+
+                if (run >= 3) {
+                    this.buffer.write(1 - run);
+                    this.buffer.write(row[ix]);
+                    ix += run;
+                } else {
+                    int literal = 0;
+                    while (ix + literal < row.length && literal < 128) {
+                        final int next = ix + literal;
+                        if (next + 2 < row.length && row[next] == row[next + 1] && row[next] == row[next + 2]) {
+                            break;
+                        }
+                        ++literal;
+                    }
+                    this.buffer.write(literal - 1);
+                    this.buffer.write(row, ix, literal);
+                    ix += literal;
+                }
+            }
+        }
+
+        private void deltaRow(final byte[] row, final byte[] seedRow) {
+            int position = 0;
+            int ix = 0;
+            while (ix < row.length) {
+                if (row[ix] == seedRow[ix]) {
+                    ++ix;
+                    continue;
+                }
+
+                int count = 1;
+                while (ix + count < row.length && count < 8 && row[ix + count] != seedRow[ix + count]) {
+                    ++count;
+                }
+
+                final int offset = ix - position;
+                this.buffer.write(((count - 1) << 5) | Math.min(offset, 31));
+                if (offset >= 31) {
+                    this.extension(offset - 31);
+                }
+                this.buffer.write(row, ix, count);
+
+                ix += count;
+                position = ix;
+            }
+        }
+
+        private void replacementDeltaRow(final byte[] row, final byte[] seedRow) {
+            int position = 0;
+            int ix = 0;
+            while (ix < row.length) {
+                if (row[ix] == seedRow[ix]) {
+                    ++ix;
+                    continue;
+                }
+
+                int count = 1;
+                while (ix + count < row.length && row[ix + count] != seedRow[ix + count]) {
+                    ++count;
+                }
+
+                final int offset = ix - position;
+                int same = 1;
+                while (same < count && row[ix + same] == row[ix]) {
+                    ++same;
+                }
+
+                if (same == count && count >= 2) {
+                    // Compressed replacement: pairs of a repeat count and a byte, like run-length encoding...
+                    this.buffer.write(0x80 | (Math.min(offset, 3) << 5) | Math.min(count - 1, 31));
+                    if (offset >= 3) {
+                        this.extension(offset - 3);
+                    }
+                    if (count - 1 >= 31) {
+                        this.extension(count - 1 - 31);
+                    }
+                    for (int rest = count; rest > 0; rest -= 256) {
+                        this.buffer.write(Math.min(rest, 256) - 1);
+                        this.buffer.write(row[ix]);
+                    }
+                } else {
+                    this.buffer.write((Math.min(offset, 15) << 3) | Math.min(count - 1, 7));
+                    if (offset >= 15) {
+                        this.extension(offset - 15);
+                    }
+                    if (count - 1 >= 7) {
+                        this.extension(count - 1 - 7);
+                    }
+                    this.buffer.write(row, ix, count);
+                }
+
+                ix += count;
+                position = ix;
+            }
+        }
+
+        /**
+         * Writes the additional offset or count bytes - a sequence of 255 terminated by a value below 255.
+         */
+        private void extension(final int value) {
+            int rest = value;
+            while (rest >= 255) {
+                this.buffer.write(255);
+                rest -= 255;
+            }
+            this.buffer.write(rest);
+        }
+    }
+
+    /**
+     * Writes a synthetic PCL data stream to a file.
+     *
+     * @param args   the command line arguments.
+     */
+    public static void main(final String[] args) {
+        final Options options = new Options();
+        options.addOption("s", "size", true, "minimum size of the data stream, i. e. 512k, 100m or 20g (default 100m)");
+        options.addOption("r", "seed", true, "seed of the random number generator (default 0)");
+        options.addOption(null, "raster", true, "weight of raster images (default 4)");
+        options.addOption(null, "fonts", true, "weight of soft font downloads (default 1)");
+        options.addOption(null, "text", true, "weight of text runs (default 4)");
+        options.addOption(null, "hpgl", true, "weight of HP-GL/2 blocks (default 1)");
+        options.addOption(null, "no-pjl", false, "do not wrap the jobs in PJL");
+
+        try {
+            final CommandLine line = new DefaultParser().parse(options, args);
+            if (line.getArgs().length != 1) {
+                new HelpFormatter().printHelp("SyntheticPclGenerator [OPTION]... FILE", options);
+                System.exit(1);
+            }
+
+            final SyntheticPclGenerator generator = new SyntheticPclGenerator(
+                    Long.parseLong(line.getOptionValue("seed", "0")))
+                    .rasterWeight(Integer.parseInt(line.getOptionValue("raster", "4")))
+                    .softFontWeight(Integer.parseInt(line.getOptionValue("fonts", "1")))
+                    .textWeight(Integer.parseInt(line.getOptionValue("text", "4")))
+                    .hpglWeight(Integer.parseInt(line.getOptionValue("hpgl", "1")))
+                    .jobs(!line.hasOption("no-pjl"), 10);
+
+            final long size = parseSize(line.getOptionValue("size", "100m"));
+            try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(line.getArgs()[0]), 1 << 16)) {
+                final long written = generator.generate(out, size);
+                System.out.println("Wrote " + written + " bytes to " + line.getArgs()[0]);
+            }
+        } catch (final ParseException | IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Parses a size like "512k", "100m" or "20g".
+     */
+    static long parseSize(final String value) {
+        final String size = value.trim().toLowerCase();
+        final char unit = size.charAt(size.length() - 1);
+        switch (unit) {
+        case 'k':
+            return Long.parseLong(size.substring(0, size.length() - 1)) << 10;
+        case 'm':
+            return Long.parseLong(size.substring(0, size.length() - 1)) << 20;
+        case 'g':
+            return Long.parseLong(size.substring(0, size.length() - 1)) << 30;
+        default:
+            return Long.parseLong(size);
+        }
+    }
+}
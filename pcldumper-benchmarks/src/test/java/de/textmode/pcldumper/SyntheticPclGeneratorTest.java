@@ -0,0 +1,120 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.output.NullOutputStream;
+
+import de.textmode.pclbox.PclException;
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link SyntheticPclGenerator}.
+ */
+public final class SyntheticPclGeneratorTest extends TestCase {
+
+    /**
+     * The same seed must always produce the same PCL data stream.
+     */
+    public void testDeterministic() {
+        final byte[] first = new SyntheticPclGenerator(42).generate(256 * 1024);
+        final byte[] second = new SyntheticPclGenerator(42).generate(256 * 1024);
+        final byte[] third = new SyntheticPclGenerator(43).generate(256 * 1024);
+
+        assertTrue(first.length >= 256 * 1024);
+        assertTrue(Arrays.equals(first, second));
+        assertFalse(Arrays.equals(first, third));
+    }
+
+    /**
+     * The generated PCL data stream must be dumped without an error for every kind of content.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testDumpable() throws IOException, PclException {
+        final PclDumper dumper = new PclDumperBuilder().verbose(true).showOffsets(true).build();
+        final PrintStream out = new PrintStream(NullOutputStream.NULL_OUTPUT_STREAM, false, "utf-8");
+
+        final SyntheticPclGenerator[] generators = new SyntheticPclGenerator[] {
+            new SyntheticPclGenerator(1).rasterWeight(1).softFontWeight(0).textWeight(0).hpglWeight(0),
+            new SyntheticPclGenerator(2).rasterWeight(0).softFontWeight(1).textWeight(0).hpglWeight(0),
+            new SyntheticPclGenerator(3).rasterWeight(0).softFontWeight(0).textWeight(1).hpglWeight(0),
+            new SyntheticPclGenerator(4).rasterWeight(0).softFontWeight(0).textWeight(0).hpglWeight(1),
+            new SyntheticPclGenerator(5).jobs(false, 3),
+        };
+
+        for (final SyntheticPclGenerator generator : generators) {
+            dumper.dump(new ByteArrayInputStream(generator.generate(64 * 1024)), out);
+        }
+    }
+
+    /**
+     * The rows encoded by the {@link SyntheticPclGenerator.RasterEncoder} must be decoded to the same rows by the
+     * {@link RasterDecoder} of PCL-Dumper.
+     */
+    public void testRasterRoundTrip() {
+        final Random random = new Random(42);
+        final byte[][] rows = new byte[200][];
+        rows[0] = new byte[600];
+        rows[1] = new byte[600];
+        Arrays.fill(rows[1], 5, 15, (byte) 0x55);
+        rows[2] = new byte[600];
+        Arrays.fill(rows[2], 40, 580, (byte) 0xAA);
+
+        for (int ix = 3; ix < rows.length; ++ix) {
+            rows[ix] = rows[ix - 1].clone();
+            for (int changes = random.nextInt(6); changes > 0; --changes) {
+                final int pos = random.nextInt(rows[ix].length);
+                final int len = Math.min(rows[ix].length - pos, 1 + random.nextInt(random.nextBoolean() ? 12 : 400));
+                final byte value = (byte) random.nextInt(256);
+                for (int jx = pos; jx < pos + len; ++jx) {
+                    rows[ix][jx] = random.nextBoolean() ? value : (byte) random.nextInt(256);
+                }
+            }
+        }
+
+        for (final int mode : new int[] {1, 2, 3, 9 }) {
+            final SyntheticPclGenerator.RasterEncoder encoder = new SyntheticPclGenerator.RasterEncoder(600);
+            final RasterDecoder decoder = new RasterDecoder();
+            byte[] seedRow = new byte[600];
+
+            for (final byte[] row : rows) {
+                encoder.reset();
+                encoder.encode(mode, row, seedRow);
+                assertTrue(decoder.transfer(mode, encoder.toByteArray(), true, row.length));
+                assertTrue("mode " + mode, Arrays.equals(row, decoder.getSeedRow(0)));
+                seedRow = row;
+            }
+        }
+    }
+
+    /**
+     * Tests the parsing of sizes like "512k".
+     */
+    public void testParseSize() {
+        assertEquals(4711L, SyntheticPclGenerator.parseSize("4711"));
+        assertEquals(512L * 1024, SyntheticPclGenerator.parseSize("512k"));
+        assertEquals(100L * 1024 * 1024, SyntheticPclGenerator.parseSize("100M"));
+        assertEquals(20L * 1024 * 1024 * 1024, SyntheticPclGenerator.parseSize("20g"));
+    }
+}
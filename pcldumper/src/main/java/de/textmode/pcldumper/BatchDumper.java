@@ -0,0 +1,528 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+
+import de.textmode.pclbox.PclException;
+
+/**
+ * The {@link BatchDumper} dumps many PCL files on a pool of worker threads. Every file is dumped by its own
+ * {@link PclDumper}. The dump of every file is either written to its own file within an output directory
+ * or all dumps are written to one combined output in the order of the input files.
+ */
+final class BatchDumper {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final Charset DUMP_CHARSET = StandardCharsets.UTF_8;
+
+    private final PclDumperBuilder builder;
+    private final int threads;
+    private final PrintStream err;
+
+    /**
+     * Constructor of the {@link BatchDumper}.
+     *
+     * @param builder   the {@link PclDumperBuilder} used to build a {@link PclDumper} for every file.
+     * @param threads   the number of worker threads.
+     * @param err   the stream to which errors of single files are reported.
+     */
+    BatchDumper(final PclDumperBuilder builder, final int threads, final PrintStream err) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        }
+
+        this.builder = builder;
+        this.threads = threads;
+        this.err = err;
+    }
+
+    /**
+     * Returns true if the given file names have to be processed in batch mode (more than one name, a
+     * directory, a glob pattern or a list file).
+     *
+     * @param names   the file names given on the command line.
+     *
+     * @return true if the batch mode is needed.
+     */
+    static boolean isBatch(final String[] names) {
+        if (names.length != 1) {
+            return names.length > 1;
+        }
+
+        final String name = names[0];
+        return name.startsWith("@") || isGlob(name) || new File(name).isDirectory();
+    }
+
+    /**
+     * Expands the file names given on the command line to the list of PCL files. A directory is replaced by
+     * all files within the directory (and its subdirectories), a glob pattern (i. e. "spool/*.pcl") by all
+     * matching files and "@name" by the entries of the list file "name" (one per line; empty lines and
+     * lines starting with '#' are ignored).
+     *
+     * @param names   the file names given on the command line.
+     *
+     * @return the PCL files in the order given on the command line.
+     *
+     * @throws IOException if a directory or list file can not be read.
+     */
+    static List<Input> expand(final String[] names) throws IOException {
+        final List<Input> result = new ArrayList<>();
+
+        for (final String name : names) {
+            if (name.startsWith("@")) {
+                for (final String entry : readListFile(name.substring(1))) {
+                    expandName(entry, result);
+                }
+            } else {
+                expandName(name, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Dumps every file to its own output file within the given directory. The name of the output file is
+     * the (relative) name of the input file followed by the suffix of the {@link OutputFormat} (i. e. ".txt").
+     * If files with the same name are given (i. e. "a/x.pcl" and "b/x.pcl"), the output files are made unique
+     * by a number (see {@link #outputNames(List, String)}).
+     *
+     * @param inputs   the PCL files to be dumped.
+     * @param directory   the output directory.
+     *
+     * @return the {@link Summary} of the run.
+     *
+     * @throws IOException if the output directory can not be created.
+     */
+    Summary dumpToDirectory(final List<Input> inputs, final File directory) throws IOException {
+        Files.createDirectories(directory.toPath());
+
+        final List<String> names = outputNames(inputs, this.builder.getOutputFormat().getFileSuffix());
+        return this.run(inputs, null, new TaskFactory() {
+            @Override
+            public Callable<Long> create(final int index) {
+                return BatchDumper.this.createTask(inputs.get(index), new File(directory, names.get(index)));
+            }
+        });
+    }
+
+    /**
+     * Dumps all files to one combined output. The dumps are written in the order of the input files, every
+     * dump is preceded by a line with the name of the file. While the files are dumped in parallel, the
+     * dumps are kept in temporary files until all preceding dumps have been written.
+     *
+     * @param inputs   the PCL files to be dumped.
+     * @param out   the combined output.
+     *
+     * @return the {@link Summary} of the run.
+     *
+     * @throws IOException if writing to the combined output fails.
+     */
+    Summary dumpCombined(final List<Input> inputs, final OutputStream out) throws IOException {
+        final CombinedOutput combined = new CombinedOutput(out);
+        try {
+            return this.run(inputs, combined, new TaskFactory() {
+                @Override
+                public Callable<Long> create(final int index) throws IOException {
+                    return BatchDumper.this.createTask(inputs.get(index), combined.createTemporaryFile());
+                }
+            });
+        } finally {
+            combined.deleteTemporaryFiles();
+        }
+    }
+
+    /**
+     * Returns the names of the output files for the given PCL files. The name of an output file is the
+     * (relative) name of the PCL file followed by the suffix. If the name is already used by a preceding
+     * PCL file, a number is inserted before the suffix (i. e. "x.pcl.1.txt"). The names are compared
+     * ignoring case, so they are unique on case-insensitive file systems as well.
+     *
+     * @param inputs   the PCL files to be dumped.
+     * @param suffix   the suffix of the output files.
+     *
+     * @return the names of the output files in the order of the PCL files.
+     */
+    static List<String> outputNames(final List<Input> inputs, final String suffix) {
+        final List<String> result = new ArrayList<>(inputs.size());
+        final Set<String> used = new HashSet<>();
+
+        for (final Input input : inputs) {
+            String name = input.getName() + suffix;
+            for (int number = 1; !used.add(name.toLowerCase(Locale.ROOT)); ++number) {
+                name = input.getName() + "." + number + suffix;
+            }
+            result.add(name);
+        }
+
+        return result;
+    }
+
+    /**
+     * Dumps a PCL file to an output file. If the dump fails (i. e. because the PCL file can not be read), the
+     * output file is deleted, so no empty or truncated dump is left behind.
+     *
+     * @param dumper   a ready to use (configured) {@link PclDumper}.
+     * @param input   the PCL file.
+     * @param output   the output file.
+     *
+     * @throws PclException if the PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    static void dumpToFile(final PclDumper dumper, final File input, final File output)
+            throws IOException, PclException {
+
+        final OutputStream out = new FileOutputStream(output);
+        try {
+            dumper.dump(input, DumpOutput.of(out, DUMP_CHARSET));
+            out.close();
+        } catch (final IOException | PclException | RuntimeException e) {
+            IOUtils.closeQuietly(out);
+            output.delete();
+            throw e;
+        }
+    }
+
+    private Callable<Long> createTask(final Input input, final File output) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() throws IOException, PclException {
+                final PclDumper dumper = BatchDumper.this.builder.build();
+                Files.createDirectories(output.getAbsoluteFile().getParentFile().toPath());
+                dumpToFile(dumper, input.getFile(), output);
+                return Long.valueOf(input.getFile().length());
+            }
+        };
+    }
+
+    /**
+     * Dumps the files on the pool of worker threads, waits for the tasks in the order of the input files,
+     * reports failed files and builds the {@link Summary}. Like the {@link ParallelDumper}, only twice as many
+     * files as there are threads are dumped ahead of the file that is waited for next, so the tasks (and
+     * temporary files) are created when they are submitted.
+     */
+    private Summary run(
+            final List<Input> inputs,
+            final CombinedOutput combined,
+            final TaskFactory factory) throws IOException {
+
+        final long start = System.nanoTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        try {
+            final Deque<Future<Long>> pending = new ArrayDeque<>();
+            int next = 0;
+            int failed = 0;
+            long bytes = 0;
+
+            for (int ix = 0; ix < inputs.size(); ++ix) {
+                while (next < inputs.size() && pending.size() < this.threads * 2) {
+                    pending.add(executor.submit(factory.create(next)));
+                    ++next;
+                }
+
+                final Input input = inputs.get(ix);
+                try {
+                    bytes += pending.removeFirst().get().longValue();
+                } catch (final ExecutionException e) {
+                    ++failed;
+                    // An unexpected exception (i. e. a NullPointerException) may come without a message...
+                    final Throwable cause = e.getCause();
+                    this.err.println(input.getFile() + ": "
+                            + (cause.getMessage() == null ? cause.toString() : cause.getMessage()));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while dumping " + input.getFile(), e);
+                }
+
+                if (combined != null) {
+                    combined.append(ix, input);
+                }
+            }
+
+            if (combined != null) {
+                combined.flush();
+            }
+
+            return new Summary(inputs.size(), failed, bytes, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean isGlob(final String name) {
+        for (int ix = 0; ix < GLOB_CHARACTERS.length(); ++ix) {
+            if (name.indexOf(GLOB_CHARACTERS.charAt(ix)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the entries of a list file (one per line; empty lines and lines starting with '#' are ignored).
+     *
+     * @param name   the name of the list file.
+     *
+     * @return the entries of the list file.
+     *
+     * @throws IOException if the list file can not be read.
+     */
+    static List<String> readListFile(final String name) throws IOException {
+        final List<String> result = new ArrayList<>();
+
+        try (final BufferedReader reader = Files.newBufferedReader(Paths.get(name), DUMP_CHARSET)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                final String entry = line.trim();
+                if (entry.length() > 0 && !entry.startsWith("#")) {
+                    result.add(entry);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static void expandName(final String name, final List<Input> result) throws IOException {
+        if (isGlob(name)) {
+            expandGlob(name, result);
+        } else if (new File(name).isDirectory()) {
+            expandDirectory(Paths.get(name), null, result);
+        } else {
+            result.add(new Input(new File(name), new File(name).getName()));
+        }
+    }
+
+    /**
+     * Adds all files of the directory whose path relative to the directory matches the {@link PathMatcher}
+     * (or all files if there is no {@link PathMatcher}) - sorted by name, so the order is always the same.
+     */
+    private static void expandDirectory(final Path root, final PathMatcher matcher, final List<Input> result)
+            throws IOException {
+
+        final List<Path> found = new ArrayList<>();
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                // The sidecar files of the PclIndex are never dumped...
+                if (attrs.isRegularFile()
+                        && !file.getFileName().toString().endsWith(PclIndex.SUFFIX)
+                        && (matcher == null || matcher.matches(root.relativize(file)))) {
+                    found.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+
+        Collections.sort(found);
+        for (final Path file : found) {
+            result.add(new Input(file.toFile(), root.relativize(file).toString()));
+        }
+    }
+
+    /**
+     * Adds all files that match the glob pattern. The directory tree is searched starting at the longest
+     * directory that contains no glob characters, and the rest of the pattern is matched against the paths
+     * relative to this directory.
+     */
+    private static void expandGlob(final String pattern, final List<Input> result) throws IOException {
+        int firstGlob = 0;
+        while (GLOB_CHARACTERS.indexOf(pattern.charAt(firstGlob)) < 0) {
+            ++firstGlob;
+        }
+
+        final int separator = Math.max(
+                pattern.lastIndexOf('/', firstGlob),
+                pattern.lastIndexOf(File.separatorChar, firstGlob));
+
+        final Path root = Paths.get(separator < 0 ? "." : pattern.substring(0, Math.max(separator, 1)));
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher(
+                "glob:" + pattern.substring(separator + 1));
+
+        if (Files.isDirectory(root)) {
+            expandDirectory(root, matcher, result);
+        }
+    }
+
+    /**
+     * Creates the task that dumps the PCL file with the given index.
+     */
+    private interface TaskFactory {
+        Callable<Long> create(int index) throws IOException;
+    }
+
+    /**
+     * Writes the dumps kept in temporary files to the combined output. The temporary files are created in
+     * the order of the input files and removed as soon as they have been written.
+     */
+    private static final class CombinedOutput {
+
+        private final OutputStream out;
+        private final Deque<File> temporaryFiles = new ArrayDeque<>();
+
+        CombinedOutput(final OutputStream out) {
+            this.out = out;
+        }
+
+        File createTemporaryFile() throws IOException {
+            final File temporaryFile = File.createTempFile("pcldumper", ".tmp");
+            this.temporaryFiles.add(temporaryFile);
+            return temporaryFile;
+        }
+
+        void append(final int index, final Input input) throws IOException {
+            final String separator = index == 0 ? "" : System.lineSeparator();
+            this.out.write((separator + "==> " + input.getFile() + " <==" + System.lineSeparator())
+                    .getBytes(DUMP_CHARSET));
+
+            final File temporaryFile = this.temporaryFiles.removeFirst();
+            try {
+                // The temporary file of a failed dump has already been deleted...
+                if (temporaryFile.exists()) {
+                    Files.copy(temporaryFile.toPath(), this.out);
+                }
+            } finally {
+                temporaryFile.delete();
+            }
+        }
+
+        void flush() throws IOException {
+            this.out.flush();
+        }
+
+        void deleteTemporaryFiles() {
+            for (final File temporaryFile : this.temporaryFiles) {
+                temporaryFile.delete();
+            }
+            this.temporaryFiles.clear();
+        }
+    }
+
+    /**
+     * A PCL file to be dumped with its name relative to the directory given on the command line.
+     */
+    static final class Input {
+
+        private final File file;
+        private final String name;
+
+        Input(final File file, final String name) {
+            this.file = file;
+            this.name = name;
+        }
+
+        /**
+         * Returns the PCL file.
+         */
+        File getFile() {
+            return this.file;
+        }
+
+        /**
+         * Returns the name of the PCL file relative to the directory given on the command line.
+         */
+        String getName() {
+            return this.name;
+        }
+    }
+
+    /**
+     * The {@link Summary} of a batch run.
+     */
+    static final class Summary {
+
+        private final int files;
+        private final int failed;
+        private final long bytes;
+        private final long nanos;
+
+        Summary(final int files, final int failed, final long bytes, final long nanos) {
+            this.files = files;
+            this.failed = failed;
+            this.bytes = bytes;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Returns the number of files.
+         */
+        int getFiles() {
+            return this.files;
+        }
+
+        /**
+         * Returns the number of files that could not be dumped.
+         */
+        int getFailed() {
+            return this.failed;
+        }
+
+        /**
+         * Returns the number of bytes of all successfully dumped files.
+         */
+        long getBytes() {
+            return this.bytes;
+        }
+
+        @Override
+        public String toString() {
+            final double seconds = Math.max(this.nanos, 1) / 1e9;
+            final double megabytes = this.bytes / (1024.0 * 1024.0);
+
+            return String.format(
+                    Locale.ROOT,
+                    "Dumped %d files (%d failed, %.1f MB) in %.2f s: %.1f files/s, %.1f MB/s",
+                    this.files,
+                    this.failed,
+                    megabytes,
+                    seconds,
+                    this.files / seconds,
+                    megabytes / seconds);
+        }
+    }
+}
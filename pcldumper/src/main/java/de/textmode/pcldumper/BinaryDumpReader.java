@@ -0,0 +1,397 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@link BinaryDumpReader} reads a dump that has been written in the {@link OutputFormat#BINARY} format.
+ * The dump is memory-mapped, so a reader can be opened instantly even for dumps of millions of printer
+ * commands. The printer commands are accessed by their index (from 0 to {@link #getCommandCount()} - 1).
+ * Because the dump is mapped as one {@link ByteBuffer}, a binary dump can not be larger than 2 GB.
+ *
+ * <p>The printer commands are stored in blocks. The block of the accessed printer command is decoded
+ * completely and kept until a printer command of another block is accessed, so scanning the printer
+ * commands in their order is fast and random access decodes at most one block. A {@link BinaryDumpReader}
+ * is not thread-safe - every thread has to use its own reader.
+ *
+ * <p>The structure of the dump (the footer and the positions of the blocks) is checked when the dump is
+ * opened, a block is checked when it is decoded. A truncated or corrupt dump is reported with an
+ * {@link IOException}.
+ */
+public final class BinaryDumpReader {
+
+    private static final int TRAILER_LENGTH = 8 + BinaryRenderer.MAGIC.length;
+    private static final int BLOCK_HEADER_LENGTH = 4 + 4 * BinaryRenderer.COLUMNS;
+
+    private final File file;
+    private final ByteBuffer data;
+    private final String[] strings;
+    private final long[] blockPositions;
+    private final long commandCount;
+    private final long endOffset;
+
+    private int currentBlock = -1;
+    private int blockSize;
+    private final long[] offsets = new long[BinaryRenderer.BLOCK_SIZE];
+    private final byte[] types = new byte[BinaryRenderer.BLOCK_SIZE];
+    private final int[] commands = new int[BinaryRenderer.BLOCK_SIZE];
+    private final int[] descriptions = new int[BinaryRenderer.BLOCK_SIZE];
+    private final int[] summaries = new int[BinaryRenderer.BLOCK_SIZE];
+    private final int[] dataLengths = new int[BinaryRenderer.BLOCK_SIZE];
+    private final long[] dataOffsets = new long[BinaryRenderer.BLOCK_SIZE];
+
+    /**
+     * Opens a binary dump.
+     *
+     * @param file   the file that contains the binary dump.
+     *
+     * @throws IOException if the file can not be read, is not a binary dump, is larger than 2 GB or is
+     *     truncated or corrupt.
+     */
+    public BinaryDumpReader(final File file) throws IOException {
+        this.file = file;
+
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            final long size = raf.length();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is too large for a binary dump (more than 2 GB)");
+            }
+            if (size < BinaryRenderer.MAGIC.length + TRAILER_LENGTH) {
+                throw new IOException(file + " is not a binary dump");
+            }
+
+            // The mapping stays valid after the channel has been closed...
+            this.data = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        final int size = this.data.capacity();
+        if (!hasMagic(this.data, 0) || !hasMagic(this.data, size - BinaryRenderer.MAGIC.length)) {
+            throw new IOException(file + " is not a binary dump (of a supported version)");
+        }
+
+        final long footerPosition = this.data.getLong(size - TRAILER_LENGTH);
+        if (footerPosition < BinaryRenderer.MAGIC.length || footerPosition > size - TRAILER_LENGTH) {
+            throw this.corrupt("invalid position of the footer " + footerPosition);
+        }
+
+        final ByteBuffer footer = this.data.duplicate();
+        footer.position((int) footerPosition);
+        footer.limit(size - TRAILER_LENGTH);
+
+        try {
+            this.strings = new String[checkCount(footer.getInt(), footer.remaining() / 4, "strings")];
+            for (int ix = 0; ix < this.strings.length; ++ix) {
+                final byte[] encoded = new byte[checkCount(footer.getInt(), footer.remaining(), "bytes")];
+                footer.get(encoded);
+                this.strings[ix] = new String(encoded, StandardCharsets.UTF_8);
+            }
+
+            this.blockPositions = new long[checkCount(footer.getInt(), footer.remaining() / 8, "blocks")];
+            long minimum = BinaryRenderer.MAGIC.length;
+            for (int ix = 0; ix < this.blockPositions.length; ++ix) {
+                final long position = footer.getLong();
+                if (position < minimum || position > footerPosition - BLOCK_HEADER_LENGTH) {
+                    throw this.corrupt("invalid position of block " + ix + ": " + position);
+                }
+                this.blockPositions[ix] = position;
+                minimum = position + BLOCK_HEADER_LENGTH;
+            }
+
+            this.commandCount = footer.getLong();
+            this.endOffset = footer.getLong();
+        } catch (final BufferUnderflowException e) {
+            throw this.corrupt("the footer is truncated");
+        }
+
+        final long blockCount = (this.commandCount + BinaryRenderer.BLOCK_SIZE - 1) / BinaryRenderer.BLOCK_SIZE;
+        if (this.commandCount < 0 || blockCount != this.blockPositions.length || footer.hasRemaining()) {
+            throw this.corrupt("the footer does not match " + this.blockPositions.length + " blocks");
+        }
+    }
+
+    /**
+     * Returns the number of printer commands in the dump.
+     *
+     * @return the number of printer commands.
+     */
+    public long getCommandCount() {
+        return this.commandCount;
+    }
+
+    /**
+     * Returns the offset after the last printer command of the dump (usually the length of the data stream).
+     *
+     * @return the offset after the last printer command.
+     */
+    public long getEndOffset() {
+        return this.endOffset;
+    }
+
+    /**
+     * Returns the offset of a printer command in the PCL data stream.
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the offset of the printer command.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public long getOffset(final long index) throws IOException {
+        return this.offsets[this.load(index)];
+    }
+
+    /**
+     * Returns the type of a printer command (<code>TEXT</code>, <code>CNTL</code>, <code>PCL</code>,
+     * <code>PJL</code> or <code>HPGL</code>).
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the type of the printer command.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public String getType(final long index) throws IOException {
+        return BinaryRenderer.TYPES[this.types[this.load(index)]];
+    }
+
+    /**
+     * Returns the printer command as string (i. e. <code>&amp;l26A</code>).
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the printer command as string.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public String getCommand(final long index) throws IOException {
+        return this.strings[this.commands[this.load(index)]];
+    }
+
+    /**
+     * Returns the description of a printer command.
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the description of the printer command.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public String getDescription(final long index) throws IOException {
+        return this.strings[this.descriptions[this.load(index)]];
+    }
+
+    /**
+     * Returns the interpretation of the value of a printer command (i. e. <code>A4</code>).
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the interpretation of the value or an empty string.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public String getSummary(final long index) throws IOException {
+        return this.strings[this.summaries[this.load(index)]];
+    }
+
+    /**
+     * Returns the length of the data section (or of the text) of a printer command.
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the length of the data section or -1 if the printer command has no data section.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public int getDataLength(final long index) throws IOException {
+        return this.dataLengths[this.load(index)];
+    }
+
+    /**
+     * Returns the offset of the data section (or of the text) of a printer command in the PCL data stream.
+     *
+     * @param index   the index of the printer command.
+     *
+     * @return the offset of the data section or -1 if the printer command has no data section.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public long getDataOffset(final long index) throws IOException {
+        return this.dataOffsets[this.load(index)];
+    }
+
+    /**
+     * Returns the data section (or the text) of a printer command as a slice of the PCL data stream
+     * (i. e. of the memory-mapped PCL file). The data is not copied.
+     *
+     * <p>Because a {@link ByteBuffer} can not address more than 2 GB, the data section has to be within the
+     * first 2 GB of the given PCL data stream - use {@link #getDataOffset(long)} and
+     * {@link #getDataLength(long)} to access data sections of larger data streams.
+     *
+     * @param index   the index of the printer command.
+     * @param source   the PCL data stream that has been dumped (from its position on).
+     *
+     * @return the data section or null if the printer command has no data section.
+     *
+     * @throws IOException if the block of the printer command is corrupt.
+     */
+    public ByteBuffer getData(final long index, final ByteBuffer source) throws IOException {
+        final int pos = this.load(index);
+        if (this.dataLengths[pos] < 0) {
+            return null;
+        }
+
+        if (this.dataOffsets[pos] > source.remaining() - this.dataLengths[pos]) {
+            throw new IllegalArgumentException("The data section at offset " + this.dataOffsets[pos]
+                    + " is not within the " + source.remaining() + " bytes of the PCL data stream");
+        }
+
+        final ByteBuffer slice = source.duplicate();
+        slice.position(source.position() + (int) this.dataOffsets[pos]);
+        slice.limit(slice.position() + this.dataLengths[pos]);
+        return slice.slice();
+    }
+
+    /**
+     * Decodes the block of the given printer command (if it is not the current block).
+     *
+     * @return the index of the printer command within the block.
+     */
+    private int load(final long index) throws IOException {
+        if (index < 0 || index >= this.commandCount) {
+            throw new IndexOutOfBoundsException("Invalid index " + index + " (" + this.commandCount + " commands)");
+        }
+
+        final int block = (int) (index / BinaryRenderer.BLOCK_SIZE);
+        if (block != this.currentBlock) {
+            this.decode(block);
+        }
+        return (int) (index % BinaryRenderer.BLOCK_SIZE);
+    }
+
+    private void decode(final int block) throws IOException {
+        // The columns are overwritten, so the current block is lost even if this block is corrupt...
+        this.currentBlock = -1;
+
+        final ByteBuffer in = this.data.duplicate();
+        in.position((int) this.blockPositions[block]);
+        in.limit(block + 1 < this.blockPositions.length
+                ? (int) this.blockPositions[block + 1]
+                : (int) this.data.getLong(this.data.capacity() - TRAILER_LENGTH));
+
+        try {
+            this.blockSize = in.getInt();
+
+            final long expected = Math.min(
+                    BinaryRenderer.BLOCK_SIZE,
+                    this.commandCount - (long) block * BinaryRenderer.BLOCK_SIZE);
+            if (this.blockSize != expected) {
+                throw this.corrupt("block " + block + " contains " + this.blockSize + " instead of "
+                        + expected + " printer commands");
+            }
+
+            // All columns are decoded, so the lengths of the columns (needed to skip columns) are not used...
+            in.position(in.position() + 4 * BinaryRenderer.COLUMNS);
+
+            long offset = 0;
+            for (int ix = 0; ix < this.blockSize; ++ix) {
+                offset += this.readVarLong(in, block);
+                this.offsets[ix] = offset;
+            }
+
+            in.get(this.types, 0, this.blockSize);
+            for (int ix = 0; ix < this.blockSize; ++ix) {
+                this.checkIndex(this.types[ix], BinaryRenderer.TYPES.length, block);
+            }
+
+            this.readVarInts(in, this.commands, block);
+            this.readVarInts(in, this.descriptions, block);
+            this.readVarInts(in, this.summaries, block);
+
+            for (int ix = 0; ix < this.blockSize; ++ix) {
+                final long length = this.readVarLong(in, block) - 1;
+                if (length > Integer.MAX_VALUE) {
+                    throw this.corrupt("invalid length of a data section in block " + block + ": " + length);
+                }
+
+                this.dataLengths[ix] = (int) length;
+                if (length < 0) {
+                    this.dataOffsets[ix] = -1;
+                } else {
+                    final long distance = this.readVarLong(in, block);
+                    this.dataOffsets[ix] = this.offsets[ix] + ((distance >>> 1) ^ -(distance & 1));
+                }
+            }
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            throw this.corrupt("block " + block + " is truncated");
+        }
+
+        this.currentBlock = block;
+    }
+
+    private IOException corrupt(final String reason) {
+        return new IOException(this.file + " is a corrupt binary dump: " + reason);
+    }
+
+    private int checkCount(final int count, final int maximum, final String what) throws IOException {
+        if (count < 0 || count > maximum) {
+            throw this.corrupt("invalid number of " + what + " in the footer: " + count);
+        }
+        return count;
+    }
+
+    private void checkIndex(final long value, final int count, final int block) throws IOException {
+        if (value < 0 || value >= count) {
+            throw this.corrupt("invalid index " + value + " in block " + block);
+        }
+    }
+
+    private void readVarInts(final ByteBuffer in, final int[] values, final int block) throws IOException {
+        for (int ix = 0; ix < this.blockSize; ++ix) {
+            final long value = this.readVarLong(in, block);
+            this.checkIndex(value, this.strings.length, block);
+            values[ix] = (int) value;
+        }
+    }
+
+    private static boolean hasMagic(final ByteBuffer buffer, final int position) {
+        final byte[] magic = new byte[BinaryRenderer.MAGIC.length];
+        final ByteBuffer in = buffer.duplicate();
+        in.position(position);
+        in.get(magic);
+        return Arrays.equals(magic, BinaryRenderer.MAGIC);
+    }
+
+    private long readVarLong(final ByteBuffer in, final int block) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw this.corrupt("invalid varlong in block " + block);
+    }
+}
@@ -0,0 +1,323 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link BinaryRenderer} writes the printer commands in a compact binary format that is read with the
+ * {@link BinaryDumpReader}. The printer commands are stored in blocks of {@link #BLOCK_SIZE} commands, and
+ * every block stores its columns one after the other:
+ *
+ * <ul>
+ * <li>the offsets (the first as varlong, then the deltas to the previous offset as varlongs),</li>
+ * <li>the types (one byte per printer command, an index into {@link #TYPES}),</li>
+ * <li>the command strings, the descriptions and the summaries (varint indexes into a dictionary),</li>
+ * <li>the data sections (the length plus one as varlong - zero if there is no data section - followed by
+ *     the zigzag-encoded distance of the data section to the offset of the printer command).</li>
+ * </ul>
+ *
+ * <p>Data sections (and the bytes of text) are not copied, they are referenced by their offset and length
+ * in the PCL printer data stream. A data section always ends where the next printer command starts, so the
+ * reference of a data section is written when the next printer command (or the end of the dump) is known.
+ *
+ * <p>The dump ends with a footer that contains the dictionary, the positions of the blocks, the number of
+ * printer commands and the end of the data stream. The last 16 bytes of the dump are the position of the
+ * footer and the magic.
+ */
+final class BinaryRenderer implements CommandRenderer {
+
+    /**
+     * The magic (including the version) at the beginning and the end of a binary dump.
+     */
+    static final byte[] MAGIC = {'P', 'C', 'L', 'D', 'U', 'M', 'P', 1};
+
+    /**
+     * Number of printer commands per block.
+     */
+    static final int BLOCK_SIZE = 4096;
+
+    /**
+     * The types of the printer commands - the type column contains an index into this array.
+     */
+    static final String[] TYPES = {"TEXT", "CNTL", "PCL", "PJL", "HPGL"};
+
+    /**
+     * Number of columns per block.
+     */
+    static final int COLUMNS = 6;
+
+    private final DumpOutput out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    private final Column offsets = new Column();
+    private final Column types = new Column();
+    private final Column commands = new Column();
+    private final Column descriptions = new Column();
+    private final Column summaries = new Column();
+    private final Column dataSections = new Column();
+    private final Column[] columns = {
+        this.offsets, this.types, this.commands, this.descriptions, this.summaries, this.dataSections };
+
+    private long[] blockPositions = new long[16];
+    private int blockCount;
+    private int blockSize;
+    private long commandCount;
+    private long position;
+
+    private long previousOffset;
+    private boolean dataSectionPending;
+    private int pendingDataLength;
+    private IOException error;
+
+    /**
+     * Constructor of the {@link BinaryRenderer}.
+     *
+     * @param out   the {@link DumpOutput} to which the binary dump will be written.
+     */
+    BinaryRenderer(final DumpOutput out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(final String version, final String vendor) {
+        // The magic is always written (even in quiet mode), see writeBytes()...
+    }
+
+    @Override
+    public void startCommand(
+            final long offset,
+            final String type,
+            final String command,
+            final String description,
+            final String summary,
+            final int dataLength) {
+
+        this.endDataSection(offset);
+
+        if (this.blockSize == BLOCK_SIZE) {
+            this.writeBlock();
+        }
+
+        this.offsets.putVarLong(this.blockSize == 0 ? offset : offset - this.previousOffset);
+        this.types.put(typeIndex(type));
+        this.commands.putVarLong(this.lookup(command));
+        this.descriptions.putVarLong(this.lookup(description));
+        this.summaries.putVarLong(this.lookup(summary));
+
+        this.previousOffset = offset;
+        this.dataSectionPending = true;
+        this.pendingDataLength = dataLength;
+        ++this.blockSize;
+        ++this.commandCount;
+    }
+
+    @Override
+    public void skipCommand(final long offset) {
+        this.endDataSection(offset);
+    }
+
+    @Override
+    public DetailsWriter getDetailsWriter() {
+        throw new IllegalStateException("The binary dump has no details");
+    }
+
+    @Override
+    public void endCommand() throws IOException {
+        // The block is written when the next printer command starts (the data section of this printer
+        // command ends there), so just report an error of a block that has been written...
+        this.checkError();
+    }
+
+    @Override
+    public void endDump(final long endOffset) throws IOException {
+        this.endDataSection(endOffset);
+        if (this.blockSize > 0) {
+            this.writeBlock();
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream footer = new DataOutputStream(bytes);
+        footer.writeInt(this.strings.size());
+        for (final String text : this.strings) {
+            final byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+            footer.writeInt(encoded.length);
+            footer.write(encoded);
+        }
+
+        footer.writeInt(this.blockCount);
+        for (int ix = 0; ix < this.blockCount; ++ix) {
+            footer.writeLong(this.blockPositions[ix]);
+        }
+
+        footer.writeLong(this.commandCount);
+        footer.writeLong(endOffset);
+        // Without any block, the footer follows the magic that is written together with the footer...
+        footer.writeLong(this.position == 0 ? MAGIC.length : this.position);
+        footer.write(MAGIC);
+        footer.flush();
+
+        this.writeBytes(ByteBuffer.wrap(bytes.toByteArray()));
+        this.checkError();
+    }
+
+    @Override
+    public void newPage() {
+        // There are no hex dumps that have to be limited...
+    }
+
+    @Override
+    public void newJob() {
+        // There are no hex dumps that have to be limited...
+    }
+
+    /**
+     * Writes the reference of the data section of the previous printer command (if any). The data section
+     * ends at the given offset.
+     */
+    private void endDataSection(final long endOffset) {
+        if (!this.dataSectionPending) {
+            return;
+        }
+
+        if (this.pendingDataLength < 0) {
+            this.dataSections.put(0);
+        } else {
+            final long distance = endOffset - this.pendingDataLength - this.previousOffset;
+            this.dataSections.putVarLong(this.pendingDataLength + 1L);
+            this.dataSections.putVarLong((distance << 1) ^ (distance >> 63));
+        }
+        this.dataSectionPending = false;
+    }
+
+    private int lookup(final String text) {
+        final Integer index = this.dictionary.get(text);
+        if (index != null) {
+            return index.intValue();
+        }
+
+        this.dictionary.put(text, Integer.valueOf(this.strings.size()));
+        this.strings.add(text);
+        return this.strings.size() - 1;
+    }
+
+    private static int typeIndex(final String type) {
+        for (int ix = 0; ix < TYPES.length; ++ix) {
+            if (TYPES[ix].equals(type)) {
+                return ix;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown type of printer command: " + type);
+    }
+
+    /**
+     * Writes the current block (the number of printer commands, the lengths of the columns and the columns)
+     * and starts a new block.
+     */
+    private void writeBlock() {
+        int length = 4 + 4 * COLUMNS;
+        for (final Column column : this.columns) {
+            length += column.length;
+        }
+
+        final ByteBuffer block = ByteBuffer.allocate(length);
+        block.putInt(this.blockSize);
+        for (final Column column : this.columns) {
+            block.putInt(column.length);
+        }
+        for (final Column column : this.columns) {
+            block.put(column.bytes, 0, column.length);
+            column.clear();
+        }
+        block.flip();
+
+        if (this.blockCount == this.blockPositions.length) {
+            this.blockPositions = Arrays.copyOf(this.blockPositions, this.blockCount * 2);
+        }
+        this.blockPositions[this.blockCount++] = this.position == 0 ? MAGIC.length : this.position;
+
+        this.writeBytes(block);
+        this.blockSize = 0;
+    }
+
+    /**
+     * Writes the given bytes (preceded by the magic if nothing has been written yet). Because this is
+     * invoked while printer commands are visited, an {@link IOException} is kept until
+     * {@link #checkError()} is invoked.
+     */
+    private void writeBytes(final ByteBuffer bytes) {
+        try {
+            if (this.position == 0) {
+                this.out.writeBytes(ByteBuffer.wrap(MAGIC));
+                this.position = MAGIC.length;
+            }
+
+            this.position += bytes.remaining();
+            this.out.writeBytes(bytes);
+        } catch (final IOException e) {
+            if (this.error == null) {
+                this.error = e;
+            }
+        }
+    }
+
+    private void checkError() throws IOException {
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+
+    /**
+     * A growable column of a block.
+     */
+    private static final class Column {
+
+        private byte[] bytes = new byte[BLOCK_SIZE * 2];
+        private int length;
+
+        void put(final int value) {
+            if (this.length == this.bytes.length) {
+                this.bytes = Arrays.copyOf(this.bytes, this.length * 2);
+            }
+            this.bytes[this.length++] = (byte) value;
+        }
+
+        void putVarLong(final long value) {
+            long rest = value;
+            while ((rest & ~0x7FL) != 0) {
+                this.put((int) (rest & 0x7F) | 0x80);
+                rest >>>= 7;
+            }
+            this.put((int) rest);
+        }
+
+        void clear() {
+            this.length = 0;
+        }
+    }
+}
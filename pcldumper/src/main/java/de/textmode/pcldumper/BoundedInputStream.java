@@ -0,0 +1,86 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The {@link BoundedInputStream} reads at most a given number of bytes from another {@link InputStream}.
+ */
+final class BoundedInputStream extends InputStream {
+
+    private final InputStream in;
+    private long remaining;
+
+    /**
+     * Constructor of the {@link BoundedInputStream}.
+     *
+     * @param in   the {@link InputStream} to read from.
+     * @param length   the maximum number of bytes to read.
+     */
+    BoundedInputStream(final InputStream in, final long length) {
+        this.in = in;
+        this.remaining = length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.remaining <= 0) {
+            return -1;
+        }
+
+        final int result = this.in.read();
+        if (result >= 0) {
+            --this.remaining;
+        }
+        return result;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (this.remaining <= 0) {
+            return -1;
+        }
+
+        final int result = this.in.read(buffer, offset, (int) Math.min(length, this.remaining));
+        if (result > 0) {
+            this.remaining -= result;
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(final long count) throws IOException {
+        final long result = this.in.skip(Math.min(count, this.remaining));
+        this.remaining -= result;
+        return result;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(this.in.available(), this.remaining);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.in.close();
+    }
+}
@@ -0,0 +1,79 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The {@link ByteBufferInputStream} reads the remaining bytes of a {@link ByteBuffer} (heap or direct)
+ * without copying them to an intermediate buffer. The stream reads from a duplicate of the buffer, so the
+ * position and the limit of the given buffer are never changed.
+ */
+final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Constructor of the {@link ByteBufferInputStream}.
+     *
+     * @param buffer   the {@link ByteBuffer} whose remaining bytes are read.
+     */
+    ByteBufferInputStream(final ByteBuffer buffer) {
+        this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+        return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(final byte[] data, final int offset, final int length) {
+        if (offset < 0 || length < 0 || length > data.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!this.buffer.hasRemaining()) {
+            return -1;
+        }
+
+        final int count = Math.min(length, this.buffer.remaining());
+        this.buffer.get(data, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(final long count) {
+        if (count <= 0) {
+            return 0;
+        }
+
+        final int skipped = (int) Math.min(count, this.buffer.remaining());
+        this.buffer.position(this.buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return this.buffer.remaining();
+    }
+}
@@ -0,0 +1,223 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The {@link ColumnWriter} builds the lines of the dump in a reusable character buffer. Columns are padded
+ * and numbers are hex-encoded directly into the buffer, so neither a {@link java.util.Formatter} nor
+ * temporary Strings are needed for formatting a line. Complete lines are collected in the buffer and
+ * written to the {@link DumpOutput} in larger blocks.
+ *
+ * <p>Because the lines are written while printer commands are visited (where no checked exceptions can be
+ * thrown), an {@link IOException} of the {@link DumpOutput} is kept and rethrown by {@link #checkError()}.
+ */
+final class ColumnWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final DumpOutput out;
+    private IOException error;
+
+    private char[] buffer = new char[FLUSH_THRESHOLD * 2];
+    private int length;
+
+    /**
+     * Constructor of the {@link ColumnWriter}.
+     *
+     * @param out   the {@link DumpOutput} to which the lines will be written.
+     */
+    ColumnWriter(final DumpOutput out) {
+        this.out = out;
+    }
+
+    /**
+     * Appends the given text.
+     */
+    ColumnWriter append(final String text) {
+        final int len = text.length();
+        this.ensureCapacity(len);
+        text.getChars(0, len, this.buffer, this.length);
+        this.length += len;
+        return this;
+    }
+
+    /**
+     * Appends the characters of the given text from <code>start</code> (inclusive) to <code>end</code>
+     * (exclusive).
+     */
+    ColumnWriter append(final String text, final int start, final int end) {
+        final int len = end - start;
+        this.ensureCapacity(len);
+        text.getChars(start, end, this.buffer, this.length);
+        this.length += len;
+        return this;
+    }
+
+    /**
+     * Appends the given character.
+     */
+    ColumnWriter append(final char c) {
+        this.ensureCapacity(1);
+        this.buffer[this.length++] = c;
+        return this;
+    }
+
+    /**
+     * Appends the decimal representation of the given non-negative value.
+     */
+    ColumnWriter append(final long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            ++digits;
+        }
+
+        this.ensureCapacity(digits);
+        long rest = value;
+        for (int pos = this.length + digits - 1; pos >= this.length; --pos) {
+            this.buffer[pos] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+
+        this.length += digits;
+        return this;
+    }
+
+    /**
+     * Appends the decimal representation of the given non-negative value with a comma as thousands
+     * separator (like "%,d" in an English locale).
+     */
+    ColumnWriter appendGrouped(final long value) {
+        if (value >= 1000) {
+            this.appendGrouped(value / 1000);
+            final int rest = (int) (value % 1000);
+            this.append(',').append((char) ('0' + rest / 100)).append((char) ('0' + rest / 10 % 10));
+            return this.append((char) ('0' + rest % 10));
+        }
+
+        return this.append(value);
+    }
+
+    /**
+     * Appends the given text left-justified in a column of the given width (like "%-15s").
+     */
+    ColumnWriter appendColumn(final String text, final int width) {
+        this.append(text);
+        return this.appendSpaces(width - text.length());
+    }
+
+    /**
+     * Appends the given number of spaces. Nothing is appended if <code>count</code> is not positive.
+     */
+    ColumnWriter appendSpaces(final int count) {
+        if (count > 0) {
+            this.ensureCapacity(count);
+            Arrays.fill(this.buffer, this.length, this.length + count, ' ');
+            this.length += count;
+        }
+        return this;
+    }
+
+    /**
+     * Appends the upper-case hexadecimal representation of the given value with at least the given
+     * number of digits (like "%08X" for eight digits).
+     */
+    ColumnWriter appendHex(final long value, final int minDigits) {
+        final int digits = Math.max(minDigits, Math.max(1, (67 - Long.numberOfLeadingZeros(value)) / 4));
+
+        this.ensureCapacity(digits);
+        long rest = value;
+        for (int pos = this.length + digits - 1; pos >= this.length; --pos) {
+            this.buffer[pos] = HEX_DIGITS[(int) (rest & 0x0F)];
+            rest >>>= 4;
+        }
+
+        this.length += digits;
+        return this;
+    }
+
+    /**
+     * Appends the upper-case hexadecimal representation of the given bytes (two digits per byte).
+     */
+    ColumnWriter appendHex(final byte[] data) {
+        this.ensureCapacity(data.length * 2);
+        for (final byte b : data) {
+            this.buffer[this.length++] = HEX_DIGITS[(b >>> 4) & 0x0F];
+            this.buffer[this.length++] = HEX_DIGITS[b & 0x0F];
+        }
+        return this;
+    }
+
+    /**
+     * Terminates the current line and starts a new line.
+     */
+    void endLine() {
+        this.append(LINE_SEPARATOR);
+        if (this.length >= FLUSH_THRESHOLD) {
+            this.writeLines();
+        }
+    }
+
+    /**
+     * Writes all complete lines to the {@link DumpOutput} and flushes the {@link DumpOutput}.
+     */
+    void flush() {
+        this.writeLines();
+
+        if (this.error == null) {
+            try {
+                this.out.flush();
+            } catch (final IOException e) {
+                this.error = e;
+            }
+        }
+    }
+
+    /**
+     * Throws the first {@link IOException} that occurred while writing to the {@link DumpOutput}.
+     *
+     * @throws IOException if writing to the {@link DumpOutput} failed.
+     */
+    void checkError() throws IOException {
+        if (this.error != null) {
+            throw this.error;
+        }
+    }
+
+    private void writeLines() {
+        if (this.length > 0 && this.error == null) {
+            try {
+                this.out.write(this.buffer, 0, this.length);
+            } catch (final IOException e) {
+                this.error = e;
+            }
+        }
+
+        // After an error all further lines are discarded...
+        this.length = 0;
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (this.length + additional > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.length + additional));
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+import de.textmode.pclbox.ControlCharacterCommand;
+import de.textmode.pclbox.HpglCommand;
+import de.textmode.pclbox.ParameterizedPclCommand;
+import de.textmode.pclbox.PjlCommand;
+import de.textmode.pclbox.TextCommand;
+import de.textmode.pclbox.TwoBytePclCommand;
+
+/**
+ * The {@link CommandFilter} selects the printer commands that are dumped and the printer commands whose
+ * details are dumped (in verbose mode). The printer commands are selected by lists of comma separated
+ * patterns. A pattern is one of the following:
+ *
+ * <ul>
+ * <li>a type of printer commands: <code>TEXT</code>, <code>CNTL</code>, <code>PCL</code>, <code>PJL</code>
+ * or <code>HPGL</code>.</li>
+ * <li>a control character: <code>0x0C</code>.</li>
+ * <li>a two byte PCL command: <code>E</code>.</li>
+ * <li>a parameterized PCL command: <code>*bW</code> or <code>%X</code>.</li>
+ * <li>a group of parameterized PCL commands: <code>(s</code>, <code>*b</code> or <code>&amp;</code>.</li>
+ * <li>the beginning of a PJL command: <code>@PJL SET</code>.</li>
+ * <li>a HP-GL/2 command: <code>PD</code>.</li>
+ * </ul>
+ *
+ * <p>The patterns are matched against the bytes of the printer commands, so no strings are built for the
+ * printer commands (except for the PJL commands). A {@link CommandFilter} is immutable and can be used
+ * by several threads.
+ */
+final class CommandFilter {
+
+    /**
+     * The printer command is not dumped.
+     */
+    static final int HIDDEN = 0;
+
+    /**
+     * The printer command is dumped without details.
+     */
+    static final int SHOWN = 1;
+
+    /**
+     * The printer command is dumped with details (if the dump is verbose).
+     */
+    static final int DETAILED = 2;
+
+    /**
+     * The {@link CommandFilter} that selects all printer commands.
+     */
+    static final CommandFilter ALL = new CommandFilter(null, null, null);
+
+    private static final int TEXT = 1;
+    private static final int CNTL = 2;
+    private static final int PCL = 4;
+    private static final int PJL = 8;
+    private static final int HPGL = 16;
+    private static final int EVERY_TYPE = TEXT | CNTL | PCL | PJL | HPGL;
+
+    private final Patterns include;
+    private final Patterns exclude;
+    private final Patterns details;
+
+    /**
+     * Constructor of the {@link CommandFilter}.
+     *
+     * @param include   the patterns of the printer commands that are dumped or <code>null</code> if all
+     *     printer commands are dumped.
+     * @param exclude   the patterns of the printer commands that are not dumped (even if they are included)
+     *     or <code>null</code>.
+     * @param details   the patterns of the printer commands whose details are dumped or <code>null</code> if
+     *     the details of all printer commands are dumped.
+     */
+    CommandFilter(final String include, final String exclude, final String details) {
+        this.include = include == null ? Patterns.EVERYTHING : new Patterns(include);
+        this.exclude = exclude == null ? Patterns.NOTHING : new Patterns(exclude);
+        this.details = details == null ? Patterns.EVERYTHING : new Patterns(details);
+    }
+
+    /**
+     * Checks the syntax of the given patterns.
+     *
+     * @param patterns   the comma separated patterns.
+     */
+    static void validate(final String patterns) {
+        new Patterns(patterns);
+    }
+
+    /**
+     * Selects the given {@link TextCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final TextCommand command) {
+        if (!this.include.matchesText() || this.exclude.matchesText()) {
+            return HIDDEN;
+        }
+        return this.details.matchesText() ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Selects the given {@link ControlCharacterCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final ControlCharacterCommand command) {
+        final int character = command.getControlCharacter() & 0xFF;
+        if (!this.include.matchesControlCharacter(character) || this.exclude.matchesControlCharacter(character)) {
+            return HIDDEN;
+        }
+        return this.details.matchesControlCharacter(character) ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Selects the given {@link TwoBytePclCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final TwoBytePclCommand command) {
+        final int character = command.getOperationCharacter() & 0xFF;
+        if (!this.include.matchesTwoByteCommand(character) || this.exclude.matchesTwoByteCommand(character)) {
+            return HIDDEN;
+        }
+        return this.details.matchesTwoByteCommand(character) ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Selects the given {@link ParameterizedPclCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final ParameterizedPclCommand command) {
+        final int key = CommandKey.of(command);
+        if (!this.include.matchesParameterizedCommand(key) || this.exclude.matchesParameterizedCommand(key)) {
+            return HIDDEN;
+        }
+        return this.details.matchesParameterizedCommand(key) ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Selects the given {@link PjlCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final PjlCommand command) {
+        if (!this.include.matchesPjlCommand(command) || this.exclude.matchesPjlCommand(command)) {
+            return HIDDEN;
+        }
+        return this.details.matchesPjlCommand(command) ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Selects the given {@link HpglCommand}.
+     *
+     * @return {@link #HIDDEN}, {@link #SHOWN} or {@link #DETAILED}.
+     */
+    int select(final HpglCommand command) {
+        if (!this.include.matchesHpglCommand(command) || this.exclude.matchesHpglCommand(command)) {
+            return HIDDEN;
+        }
+        return this.details.matchesHpglCommand(command) ? DETAILED : SHOWN;
+    }
+
+    /**
+     * Checks if a parameterized PCL command with the given name (i. e. "*bW") can be shown at all.
+     *
+     * @return true if the command is not {@link #HIDDEN}.
+     */
+    boolean isShown(final String command) {
+        final int key = CommandKey.of(command);
+        return this.include.matchesParameterizedCommand(key) && !this.exclude.matchesParameterizedCommand(key);
+    }
+
+    /**
+     * The parsed list of patterns.
+     */
+    private static final class Patterns {
+
+        private static final Patterns EVERYTHING = new Patterns(EVERY_TYPE);
+        private static final Patterns NOTHING = new Patterns(0);
+
+        private final int types;
+        private final boolean[] controlCharacters = new boolean[256];
+        private final boolean[] twoByteCommands = new boolean[256];
+        private int[] keys = new int[0];
+        private int[] masks = new int[0];
+        private String[] pjlPrefixes = new String[0];
+        private String[] mnemonics = new String[0];
+
+        private Patterns(final int types) {
+            this.types = types;
+        }
+
+        private Patterns(final String patterns) {
+            final ArrayList<String> prefixes = new ArrayList<>();
+            final ArrayList<String> hpgl = new ArrayList<>();
+            int parsedTypes = 0;
+            int count = 0;
+
+            for (final String part : patterns.split(",")) {
+                final String pattern = part.trim();
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+                ++count;
+
+                final int type = parseType(pattern);
+                final char first = pattern.charAt(0);
+                if (type != 0) {
+                    parsedTypes |= type;
+                } else if (pattern.length() == 4 && pattern.regionMatches(true, 0, "0x", 0, 2)) {
+                    this.controlCharacters[parseControlCharacter(pattern)] = true;
+                } else if (pattern.regionMatches(true, 0, "@PJL", 0, 4)) {
+                    prefixes.add(pattern);
+                } else if (first >= 0x21 && first <= 0x2F) {
+                    this.addParameterizedCommand(pattern);
+                } else if (pattern.length() == 1 && first >= 0x30 && first <= 0x7E) {
+                    this.twoByteCommands[first] = true;
+                } else if (pattern.length() == 2 && isLetter(first) && isLetter(pattern.charAt(1))) {
+                    hpgl.add(pattern);
+                } else {
+                    throw new IllegalArgumentException("Invalid command pattern: " + pattern);
+                }
+            }
+
+            if (count == 0) {
+                throw new IllegalArgumentException("No command patterns given: " + patterns);
+            }
+
+            this.types = parsedTypes;
+            this.pjlPrefixes = prefixes.toArray(new String[prefixes.size()]);
+            this.mnemonics = hpgl.toArray(new String[hpgl.size()]);
+        }
+
+        private static int parseType(final String pattern) {
+            switch (pattern.toUpperCase(Locale.ENGLISH)) {
+            case "TEXT":
+                return TEXT;
+            case "CNTL":
+                return CNTL;
+            case "PCL":
+                return PCL;
+            case "PJL":
+                return PJL;
+            case "HPGL":
+                return HPGL;
+            default:
+                return 0;
+            }
+        }
+
+        private static int parseControlCharacter(final String pattern) {
+            final int character = Character.digit(pattern.charAt(2), 16) << 4 | Character.digit(pattern.charAt(3), 16);
+            if (character < 0) {
+                throw new IllegalArgumentException("Invalid control character: " + pattern);
+            }
+            return character;
+        }
+
+        private void addParameterizedCommand(final String pattern) {
+            final char parameterized = pattern.charAt(0);
+            final int key;
+            final int mask;
+
+            if (pattern.length() == 1) {
+                key = CommandKey.of(parameterized, 0, 0);
+                mask = CommandKey.PARAMETERIZED_CHARACTER;
+            } else if (pattern.length() == 2 && isGroupCharacter(pattern.charAt(1))) {
+                key = CommandKey.of(parameterized, pattern.charAt(1), 0);
+                mask = CommandKey.GROUP;
+            } else if (pattern.length() == 2 && isTerminationCharacter(pattern.charAt(1))) {
+                key = CommandKey.of(pattern);
+                mask = CommandKey.COMMAND;
+            } else if (pattern.length() == 3
+                    && isGroupCharacter(pattern.charAt(1))
+                    && (isTerminationCharacter(pattern.charAt(2)) || isGroupCharacter(pattern.charAt(2)))) {
+                key = CommandKey.of(pattern);
+                mask = CommandKey.COMMAND;
+            } else {
+                throw new IllegalArgumentException("Invalid command pattern: " + pattern);
+            }
+
+            this.keys = Arrays.copyOf(this.keys, this.keys.length + 1);
+            this.masks = Arrays.copyOf(this.masks, this.masks.length + 1);
+            this.keys[this.keys.length - 1] = key;
+            this.masks[this.masks.length - 1] = mask;
+        }
+
+        private static boolean isGroupCharacter(final char c) {
+            return c >= 0x60 && c <= 0x7E;
+        }
+
+        private static boolean isTerminationCharacter(final char c) {
+            return c >= 0x40 && c <= 0x5E;
+        }
+
+        private static boolean isLetter(final char c) {
+            return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+        }
+
+        private boolean matchesText() {
+            return (this.types & TEXT) != 0;
+        }
+
+        private boolean matchesControlCharacter(final int character) {
+            return (this.types & CNTL) != 0 || this.controlCharacters[character];
+        }
+
+        private boolean matchesTwoByteCommand(final int character) {
+            return (this.types & PCL) != 0 || this.twoByteCommands[character];
+        }
+
+        private boolean matchesParameterizedCommand(final int key) {
+            if ((this.types & PCL) != 0) {
+                return true;
+            }
+
+            for (int ix = 0; ix < this.keys.length; ++ix) {
+                if ((key & this.masks[ix]) == this.keys[ix]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesPjlCommand(final PjlCommand command) {
+            if ((this.types & PJL) != 0) {
+                return true;
+            }
+            if (this.pjlPrefixes.length == 0) {
+                return false;
+            }
+
+            final String text = command.toDisplayString();
+            for (final String prefix : this.pjlPrefixes) {
+                if (text.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesHpglCommand(final HpglCommand command) {
+            if ((this.types & HPGL) != 0) {
+                return true;
+            }
+
+            for (final String mnemonic : this.mnemonics) {
+                if (mnemonic.equalsIgnoreCase(command.getMnemonic())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import de.textmode.pclbox.ParameterizedPclCommand;
+
+/**
+ * The {@link CommandKey} packs the parameterized character, the group character and the termination
+ * character of a {@link ParameterizedPclCommand} into an int, so that printer commands can be compared
+ * without building their command strings. A lower case termination character (of a combined printer
+ * command) is converted to upper case, so <code>&amp;l1o2A</code> contains the keys of <code>&amp;lO</code>
+ * and <code>&amp;lA</code>.
+ */
+final class CommandKey {
+
+    /**
+     * The mask of the parameterized character.
+     */
+    static final int PARAMETERIZED_CHARACTER = 0xFF0000;
+
+    /**
+     * The mask of the parameterized character and the group character.
+     */
+    static final int GROUP = 0xFFFF00;
+
+    /**
+     * The mask of the complete printer command.
+     */
+    static final int COMMAND = 0xFFFFFF;
+
+    private CommandKey() {
+    }
+
+    /**
+     * Returns the key of the given {@link ParameterizedPclCommand}.
+     *
+     * @param command   the {@link ParameterizedPclCommand}.
+     *
+     * @return the key of the printer command.
+     */
+    static int of(final ParameterizedPclCommand command) {
+        return of(command.getParameterizedCharacter(), command.getGroupCharacter(), command.getTerminationCharacter());
+    }
+
+    /**
+     * Returns the key of a printer command.
+     *
+     * @param parameterizedCharacter   the parameterized character.
+     * @param groupCharacter   the group character (0 if the printer command has no group character).
+     * @param terminationCharacter   the termination character.
+     *
+     * @return the key of the printer command.
+     */
+    static int of(final int parameterizedCharacter, final int groupCharacter, final int terminationCharacter) {
+        final int termination = terminationCharacter & 0xFF;
+        return (parameterizedCharacter & 0xFF) << 16
+                | (groupCharacter & 0xFF) << 8
+                | (termination >= 'a' && termination <= 'z' ? termination - 0x20 : termination);
+    }
+
+    /**
+     * Returns the key of a printer command given as command string (i. e. <code>&amp;tP</code> or
+     * <code>%X</code>).
+     *
+     * @param command   the command string of the printer command.
+     *
+     * @return the key of the printer command.
+     */
+    static int of(final String command) {
+        if (command.length() == 3) {
+            return of(command.charAt(0), command.charAt(1), command.charAt(2));
+        } else if (command.length() == 2) {
+            return of(command.charAt(0), 0, command.charAt(1));
+        } else {
+            throw new IllegalArgumentException("Invalid command string: " + command);
+        }
+    }
+
+    /**
+     * Combines the key of a printer command with a value of the printer command.
+     *
+     * @param commandKey   the key of the printer command.
+     * @param value   the value of the printer command.
+     *
+     * @return the key of the printer command with the value (never -1).
+     */
+    static long withValue(final int commandKey, final int value) {
+        return (long) commandKey << 32 | value & 0xFFFFFFFFL;
+    }
+}
@@ -0,0 +1,96 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+
+/**
+ * A {@link CommandRenderer} writes the printer commands in a specific {@link OutputFormat} to a
+ * {@link ColumnWriter}. For every printer command {@link #startCommand} is invoked first, then the details
+ * (if any) are written to the {@link DetailsWriter} and finally {@link #endCommand()} is invoked.
+ */
+interface CommandRenderer {
+
+    /**
+     * Writes the header of the dump.
+     *
+     * @param version   the version of the PCL-Dumper.
+     * @param vendor   the vendor (URL) of the PCL-Dumper.
+     */
+    void writeHeader(final String version, final String vendor);
+
+    /**
+     * Starts the output of a printer command.
+     *
+     * @param offset   the offset of the printer command.
+     * @param type   the type of the printer command (<code>TEXT</code>, <code>CNTL</code>, <code>PCL</code>,
+     *     <code>PJL</code> or <code>HPGL</code>).
+     * @param command   the printer command as string.
+     * @param description   the description of the printer command.
+     * @param summary   the interpretation of the value by the executor (may be empty).
+     * @param dataLength   the length of the data section or -1 if the printer command has no data section.
+     */
+    void startCommand(
+            final long offset,
+            final String type,
+            final String command,
+            final String description,
+            final String summary,
+            final int dataLength);
+
+    /**
+     * Skips a printer command that is not dumped (because of the {@link CommandFilter}).
+     *
+     * @param offset   the offset of the printer command (the data section of the previous printer command
+     *     ends there).
+     */
+    void skipCommand(final long offset);
+
+    /**
+     * Returns the {@link DetailsWriter} for the details of the current printer command.
+     *
+     * @return the {@link DetailsWriter}.
+     */
+    DetailsWriter getDetailsWriter();
+
+    /**
+     * Ends the output of the current printer command.
+     *
+     * @throws IOException if writing the dump failed.
+     */
+    void endCommand() throws IOException;
+
+    /**
+     * Ends the dump.
+     *
+     * @param endOffset   the offset after the last dumped printer command (the data section of the last
+     *     printer command ends there).
+     *
+     * @throws IOException if writing the dump failed.
+     */
+    void endDump(final long endOffset) throws IOException;
+
+    /**
+     * Resets the hex dump budget per page. Has to be called whenever a new page begins.
+     */
+    void newPage();
+
+    /**
+     * Resets the hex dump budgets per job and per page. Has to be called whenever a new job begins.
+     */
+    void newJob();
+}
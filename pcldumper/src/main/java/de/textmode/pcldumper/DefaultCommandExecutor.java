@@ -16,20 +16,6 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.Charset;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-
-import org.apache.commons.io.HexDump;
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.LineIterator;
-
 import de.textmode.pclbox.ParameterizedPclCommand;
 import de.textmode.pclbox.PrinterCommand;
 
@@ -39,402 +25,388 @@ import de.textmode.pclbox.PrinterCommand;
  */
 final class DefaultCommandExecutor extends PrinterCommandExecutor {
 
-    private static final HashMap<String, String> LOOKUP_MAP = new HashMap<>();
+    private static final SummaryTable SUMMARIES = new SummaryTable();
 
     static {
-        LOOKUP_MAP.put("&l0S", "Simplex");
-        LOOKUP_MAP.put("&l1S", "Duplex, Long-Edge Binding");
-        LOOKUP_MAP.put("&l2S", "Duplex, Short-Edge Binding");
-
-        LOOKUP_MAP.put("&a0G", "Select next side");
-        LOOKUP_MAP.put("&a1G", "Select front side");
-        LOOKUP_MAP.put("&a2G", "Select back side");
-
-        LOOKUP_MAP.put("&l1G", "Upper Output Bin");
-        LOOKUP_MAP.put("&l2G", "Lower (Rear) Output Bin");
-
-        LOOKUP_MAP.put("&l1A", "Executive");
-        LOOKUP_MAP.put("&l2A", "Letter");
-        LOOKUP_MAP.put("&l3A", "Legal");
-        LOOKUP_MAP.put("&l6A", "Ledger");
-        LOOKUP_MAP.put("&l10A", "JISExec");
-        LOOKUP_MAP.put("&l25A", "A5");
-        LOOKUP_MAP.put("&l26A", "A4");
-        LOOKUP_MAP.put("&l27A", "A3");
-        LOOKUP_MAP.put("&l45A", "JIS B5 Paper");
-        LOOKUP_MAP.put("&l46A", "JIS B4 Paper");
-        LOOKUP_MAP.put("&l71A", "Hagaki Postcard");
-        LOOKUP_MAP.put("&l72A", "Oufuku-Hagaki Postcard");
-        LOOKUP_MAP.put("&l80A", "Monarch");
-        LOOKUP_MAP.put("&l81A", "Com-10");
-        LOOKUP_MAP.put("&l90A", "International DL");
-        LOOKUP_MAP.put("&l91A", "International C5");
-        LOOKUP_MAP.put("&l100A", "International B5");
-
-        LOOKUP_MAP.put("&l0H", "Print the current page, paper source remains unchanged");
-        LOOKUP_MAP.put("&l1H", "Feed paper from the a printer-specific tray");
-        LOOKUP_MAP.put("&l2H", "Feed paper from manual input");
-        LOOKUP_MAP.put("&l3H", "Feed envelope from manual input");
-        LOOKUP_MAP.put("&l4H", "Feed paper from lower tray");
-        LOOKUP_MAP.put("&l5H", "Feed from optional paper source");
-        LOOKUP_MAP.put("&l6H", "Feed envelope from optional envelope feeder");
-
-        LOOKUP_MAP.put("&l0O", "Portrait");
-        LOOKUP_MAP.put("&l1O", "Landscape");
-        LOOKUP_MAP.put("&l2O", "Reverse Portrait");
-        LOOKUP_MAP.put("&l3O", "Reverse Landscape");
-
-        LOOKUP_MAP.put("&l0L", "Disable");
-        LOOKUP_MAP.put("&l1L", "Enable");
-
-        LOOKUP_MAP.put("&k0G", "CR=CR; LF=LF; FF=FF");
-        LOOKUP_MAP.put("&k1G", "CR=CR-LF; LF=LF; FF=FF");
-        LOOKUP_MAP.put("&k2G", "CR=CR; LF=CR-LF; FF=CR-FF");
-        LOOKUP_MAP.put("&k3G", "CR=CR-LF; LF=CR-LF; FF=CR-FF");
-
-        LOOKUP_MAP.put("&f0S", "Push - Store cursor position");
-        LOOKUP_MAP.put("&f1S", "Pop - Recall a cursor position");
+        put("&l0S", "Simplex");
+        put("&l1S", "Duplex, Long-Edge Binding");
+        put("&l2S", "Duplex, Short-Edge Binding");
+
+        put("&a0G", "Select next side");
+        put("&a1G", "Select front side");
+        put("&a2G", "Select back side");
+
+        put("&l1G", "Upper Output Bin");
+        put("&l2G", "Lower (Rear) Output Bin");
+
+        put("&l1A", "Executive");
+        put("&l2A", "Letter");
+        put("&l3A", "Legal");
+        put("&l6A", "Ledger");
+        put("&l10A", "JISExec");
+        put("&l25A", "A5");
+        put("&l26A", "A4");
+        put("&l27A", "A3");
+        put("&l45A", "JIS B5 Paper");
+        put("&l46A", "JIS B4 Paper");
+        put("&l71A", "Hagaki Postcard");
+        put("&l72A", "Oufuku-Hagaki Postcard");
+        put("&l80A", "Monarch");
+        put("&l81A", "Com-10");
+        put("&l90A", "International DL");
+        put("&l91A", "International C5");
+        put("&l100A", "International B5");
+
+        put("&l0H", "Print the current page, paper source remains unchanged");
+        put("&l1H", "Feed paper from the a printer-specific tray");
+        put("&l2H", "Feed paper from manual input");
+        put("&l3H", "Feed envelope from manual input");
+        put("&l4H", "Feed paper from lower tray");
+        put("&l5H", "Feed from optional paper source");
+        put("&l6H", "Feed envelope from optional envelope feeder");
+
+        put("&l0O", "Portrait");
+        put("&l1O", "Landscape");
+        put("&l2O", "Reverse Portrait");
+        put("&l3O", "Reverse Landscape");
+
+        put("&l0L", "Disable");
+        put("&l1L", "Enable");
+
+        put("&k0G", "CR=CR; LF=LF; FF=FF");
+        put("&k1G", "CR=CR-LF; LF=LF; FF=FF");
+        put("&k2G", "CR=CR; LF=CR-LF; FF=CR-FF");
+        put("&k3G", "CR=CR-LF; LF=CR-LF; FF=CR-FF");
+
+        put("&f0S", "Push - Store cursor position");
+        put("&f1S", "Pop - Recall a cursor position");
 
         final String primaryOrSecondary = "()";
         for (int i = 0; i < 2; ++i) {
             final String firstByte = primaryOrSecondary.substring(i, i + 1);
 
-            LOOKUP_MAP.put(firstByte + "s0P", "Fixed spacing");
-            LOOKUP_MAP.put(firstByte + "s1P", "Proportional spacing");
-
-            LOOKUP_MAP.put(firstByte + "s0S", "Upright, solid");
-            LOOKUP_MAP.put(firstByte + "s1S", "Italic");
-            LOOKUP_MAP.put(firstByte + "s4S", "Condensed");
-            LOOKUP_MAP.put(firstByte + "s5S", "Condensed italic");
-            LOOKUP_MAP.put(firstByte + "s8S", "Compressed, or extra condensed");
-            LOOKUP_MAP.put(firstByte + "s24S", "Expanded");
-            LOOKUP_MAP.put(firstByte + "s32S", "Outline");
-            LOOKUP_MAP.put(firstByte + "s64S", "Iinline");
-            LOOKUP_MAP.put(firstByte + "s128S", "Shadowed");
-            LOOKUP_MAP.put(firstByte + "s160S", "Outline shadowed");
-
-            LOOKUP_MAP.put(firstByte + "s-7B", "Ultra Thin");
-            LOOKUP_MAP.put(firstByte + "s-6B", "Extra Thin");
-            LOOKUP_MAP.put(firstByte + "s-5B", "Thin");
-            LOOKUP_MAP.put(firstByte + "s-4B", "Extra Light");
-            LOOKUP_MAP.put(firstByte + "s-3B", "Light");
-            LOOKUP_MAP.put(firstByte + "s-2B", "Demi Light");
-            LOOKUP_MAP.put(firstByte + "s-1B", "Semi Light");
-            LOOKUP_MAP.put(firstByte + "s0B", "Medium, Book, or Text");
-            LOOKUP_MAP.put(firstByte + "s1B", "Semi Bold");
-            LOOKUP_MAP.put(firstByte + "s2B", "Demi Bold");
-            LOOKUP_MAP.put(firstByte + "s3B", "Bold");
-            LOOKUP_MAP.put(firstByte + "s4B", "Extra Bold");
-            LOOKUP_MAP.put(firstByte + "s5B", "Black");
-            LOOKUP_MAP.put(firstByte + "s6B", "Extra Black");
-            LOOKUP_MAP.put(firstByte + "s7B", "Ultra Black");
-
-            LOOKUP_MAP.put(firstByte + "18C", "GW-3212");
-            LOOKUP_MAP.put(firstByte + "0D", "ISO 60: Danish/Norwegian");
-            LOOKUP_MAP.put(firstByte + "2D", "Devanagari");
-            LOOKUP_MAP.put(firstByte + "1E", "ISO 4: United Kingdom");
-            LOOKUP_MAP.put(firstByte + "9E", "Windows 3.1 Latin 2");
-            LOOKUP_MAP.put(firstByte + "1F", "ISO 69: French");
-            LOOKUP_MAP.put(firstByte + "1G", "ISO 21: German");
-            LOOKUP_MAP.put(firstByte + "8G", "Greek-8");
-            LOOKUP_MAP.put(firstByte + "9G", "Windows 3.1 Latin/Greek");
-            LOOKUP_MAP.put(firstByte + "10G", "PC-851 Latin/Greek");
-            LOOKUP_MAP.put(firstByte + "12G", "PC-8 Latin/Greek");
-            LOOKUP_MAP.put(firstByte + "0H", "Hebrew-7");
-            LOOKUP_MAP.put(firstByte + "7H", "ISO 8859/8 Latin/Hebrew");
-            LOOKUP_MAP.put(firstByte + "8H", "Hebrew-8");
-            LOOKUP_MAP.put(firstByte + "15H", "PC-862 Latin/Hebrew");
-            LOOKUP_MAP.put(firstByte + "0I", "ISO 15: Italian");
-            LOOKUP_MAP.put(firstByte + "6J", "Microsoft Publishing");
-            LOOKUP_MAP.put(firstByte + "7J", "DeskTop");
-            LOOKUP_MAP.put(firstByte + "8J", "Document");
-            LOOKUP_MAP.put(firstByte + "9J", "PC-1004");
-            LOOKUP_MAP.put(firstByte + "10J", "PS Text");
-            LOOKUP_MAP.put(firstByte + "11J", "PS ISO Latin1");
-            LOOKUP_MAP.put(firstByte + "12J", "MC Text");
-            LOOKUP_MAP.put(firstByte + "13J", "Ventura International");
-            LOOKUP_MAP.put(firstByte + "14J", "Ventura US");
-            LOOKUP_MAP.put(firstByte + "16J", "Swash Characters");
-            LOOKUP_MAP.put(firstByte + "17J", "Small Caps & Old Style Figures");
-            LOOKUP_MAP.put(firstByte + "18J", "Old Style Figures");
-            LOOKUP_MAP.put(firstByte + "19J", "Fractions");
-            LOOKUP_MAP.put(firstByte + "21J", "Lining Figures");
-            LOOKUP_MAP.put(firstByte + "22J", "Small Caps and Lining Figures");
-            LOOKUP_MAP.put(firstByte + "23J", "Alternate Caps");
-            LOOKUP_MAP.put(firstByte + "8K", "Kana-8 - JIS 210");
-            LOOKUP_MAP.put(firstByte + "9K", "Korean-8");
-            LOOKUP_MAP.put(firstByte + "0L", "Line Draw-7");
-            LOOKUP_MAP.put(firstByte + "1L", "HP Block Characters");
-            LOOKUP_MAP.put(firstByte + "2L", "Tax Line Draw");
-            LOOKUP_MAP.put(firstByte + "8L", "Line Draw-8");
-            LOOKUP_MAP.put(firstByte + "9L", "Ventura ITC Zapf Dingbats");
-            LOOKUP_MAP.put(firstByte + "10L", "PS ITC Zapf Dingbats");
-            LOOKUP_MAP.put(firstByte + "11L", "ITC Zapf Dingbats Series 100");
-            LOOKUP_MAP.put(firstByte + "12L", "ITC Zapf Dingbats Series 200");
-            LOOKUP_MAP.put(firstByte + "13L", "ITC Zapf Dingbats Series 300");
-            LOOKUP_MAP.put(firstByte + "14L", "ITC Zapf Dingbats MS");
-            LOOKUP_MAP.put(firstByte + "19L", "Windows Baltic");
-            LOOKUP_MAP.put(firstByte + "20L", "Carta");
-            LOOKUP_MAP.put(firstByte + "21L", "Ornaments");
-            LOOKUP_MAP.put(firstByte + "22L", "Universal News & Commercial Pi");
-            LOOKUP_MAP.put(firstByte + "23L", "Chess");
-            LOOKUP_MAP.put(firstByte + "24L", "Astrology 1");
-            LOOKUP_MAP.put(firstByte + "31L", "Pi Set #1");
-            LOOKUP_MAP.put(firstByte + "32L", "Pi Set #2");
-            LOOKUP_MAP.put(firstByte + "33L", "Pi Set #3");
-            LOOKUP_MAP.put(firstByte + "34L", "Pi Set #4");
-            LOOKUP_MAP.put(firstByte + "35L", "Pi Set #5");
-            LOOKUP_MAP.put(firstByte + "36L", "Pi Set #6");
-            LOOKUP_MAP.put(firstByte + "579L", "Wingdings");
-            LOOKUP_MAP.put(firstByte + "0M", "Math-7");
-            LOOKUP_MAP.put(firstByte + "1M", "Tech-7");
-            LOOKUP_MAP.put(firstByte + "5M", "PS Math");
-            LOOKUP_MAP.put(firstByte + "6M", "Ventura Math");
-            LOOKUP_MAP.put(firstByte + "8M", "Math-8");
-            LOOKUP_MAP.put(firstByte + "10M", "Universal Greek & Math Pi");
-            LOOKUP_MAP.put(firstByte + "11M", "TeX Math Extension");
-            LOOKUP_MAP.put(firstByte + "12M", "TeX Math Symbol");
-            LOOKUP_MAP.put(firstByte + "13M", "TeX Math Italic");
-            LOOKUP_MAP.put(firstByte + "19M", "Symbol");
-            LOOKUP_MAP.put(firstByte + "0N", "ISO 8859/1 Latin 1");
-            LOOKUP_MAP.put(firstByte + "2N", "ISO 8859/2 Latin 2");
-            LOOKUP_MAP.put(firstByte + "3N", "ISO 8859/3 Latin 3");
-            LOOKUP_MAP.put(firstByte + "4N", "ISO 8859/4 Latin 4");
-            LOOKUP_MAP.put(firstByte + "5N", "ISO 8859/9 Latin 5");
-            LOOKUP_MAP.put(firstByte + "6N", "ISO 8859/10 Latin 6");
-            LOOKUP_MAP.put(firstByte + "9N", "ISO 8859/15 Latin 9");
-            LOOKUP_MAP.put(firstByte + "10N", "ISO 8859/5 Latin/Cyrillic");
-            LOOKUP_MAP.put(firstByte + "11N", "ISO 8859/6 Latin/Arabic");
-            LOOKUP_MAP.put(firstByte + "12N", "ISO 8859/7 Latin/Greek");
-            LOOKUP_MAP.put(firstByte + "18N", "Unicode");
-            LOOKUP_MAP.put(firstByte + "0O", "OCR-A");
-            LOOKUP_MAP.put(firstByte + "1O", "OCR-B");
-            LOOKUP_MAP.put(firstByte + "2O", "OCR-M");
-            LOOKUP_MAP.put(firstByte + "10O", "MICR (E13B)");
-            LOOKUP_MAP.put(firstByte + "0P", "Typewriter Paired APL");
-            LOOKUP_MAP.put(firstByte + "1P", "Bit Paired APL");
-            LOOKUP_MAP.put(firstByte + "10P", "Expert");
-            LOOKUP_MAP.put(firstByte + "11P", "Alternate");
-            LOOKUP_MAP.put(firstByte + "12P", "Fraktur");
-            LOOKUP_MAP.put(firstByte + "xQ", "Reserved for Specials");
-            LOOKUP_MAP.put(firstByte + "0R", "Cyrillic ASCII");
-            LOOKUP_MAP.put(firstByte + "1R", "Cyrillic");
-            LOOKUP_MAP.put(firstByte + "3R", "PC Cyrillic");
-            LOOKUP_MAP.put(firstByte + "9R", "Windows 3.1 Latin/Cyrillic");
-            LOOKUP_MAP.put(firstByte + "0S", "ISO 11: Swedish");
-            LOOKUP_MAP.put(firstByte + "2S", "ISO 17: Spanish");
-            LOOKUP_MAP.put(firstByte + "7S", "HP European Spanish");
-            LOOKUP_MAP.put(firstByte + "8S", "HP Latin Spanish");
-            LOOKUP_MAP.put(firstByte + "16S", "HP-GL Download");
-            LOOKUP_MAP.put(firstByte + "17S", "HP-GL Drafting");
-            LOOKUP_MAP.put(firstByte + "18S", "HP-GL Special Symbols");
-            LOOKUP_MAP.put(firstByte + "20S", "Sonata");
-            LOOKUP_MAP.put(firstByte + "0T", "Thai-8");
-            LOOKUP_MAP.put(firstByte + "1T", "TISI 620-2533");
-            LOOKUP_MAP.put(firstByte + "5T", "Windows 3.1 Latin 5");
-            LOOKUP_MAP.put(firstByte + "8T", "Turkish-8");
-            LOOKUP_MAP.put(firstByte + "9T", "PC-8 Turkish");
-            LOOKUP_MAP.put(firstByte + "10T", "Teletex");
-            LOOKUP_MAP.put(firstByte + "0U", "ISO 6: ASCII");
-            LOOKUP_MAP.put(firstByte + "1U", "Legal");
-            LOOKUP_MAP.put(firstByte + "4U", "Roman-9");
-            LOOKUP_MAP.put(firstByte + "5U", "HPL");
-            LOOKUP_MAP.put(firstByte + "7U", "OEM-1");
-            LOOKUP_MAP.put(firstByte + "8U", "Roman-8");
-            LOOKUP_MAP.put(firstByte + "9U", "Windows 3.0 Latin 1");
-            LOOKUP_MAP.put(firstByte + "10U", "PC-8, Code Page 437");
-            LOOKUP_MAP.put(firstByte + "11U", "PC-8 D/N, Danish/Norwegian");
-            LOOKUP_MAP.put(firstByte + "12U", "PC-850, Multilingual");
-            LOOKUP_MAP.put(firstByte + "13U", "PC-858");
-            LOOKUP_MAP.put(firstByte + "15U", "Pi Font");
-            LOOKUP_MAP.put(firstByte + "16U", "PC-857");
-            LOOKUP_MAP.put(firstByte + "17U", "PC-852, Latin 2");
-            LOOKUP_MAP.put(firstByte + "19U", "Windows 3.1 Latin 1");
-            LOOKUP_MAP.put(firstByte + "20U", "PC-860 Portugal");
-            LOOKUP_MAP.put(firstByte + "21U", "PC-861 Iceland");
-            LOOKUP_MAP.put(firstByte + "23U", "PC-863 Canada-French");
-            LOOKUP_MAP.put(firstByte + "25U", "PC-865 Norway");
-            LOOKUP_MAP.put(firstByte + "26U", "PC-775");
-            LOOKUP_MAP.put(firstByte + "8V", "Arabic-8");
-            LOOKUP_MAP.put(firstByte + "9V", "Windows 3.1 Latin/Arabic");
-            LOOKUP_MAP.put(firstByte + "10V", "Code Page 864 Latin/Arabic");
-            LOOKUP_MAP.put(firstByte + "0Y", "3 of 9 Barcode");
-            LOOKUP_MAP.put(firstByte + "1Y", "Industrial 2 of 5 Barcode");
-            LOOKUP_MAP.put(firstByte + "2Y", "Matrix 2 of 5 Barcode");
-            LOOKUP_MAP.put(firstByte + "4Y", "Interleaved 2 of 5 Barcode");
-            LOOKUP_MAP.put(firstByte + "5Y", "CODABAR Barcode");
-            LOOKUP_MAP.put(firstByte + "6Y", "MSI/Plessey Barcode");
-            LOOKUP_MAP.put(firstByte + "7Y", "Code 11 Barcode");
-            LOOKUP_MAP.put(firstByte + "8Y", "UPC/EAN Barcode");
-            LOOKUP_MAP.put(firstByte + "14Y", "MICR");
-            LOOKUP_MAP.put(firstByte + "15Y", "USPS ZIP");
-            LOOKUP_MAP.put(firstByte + "0A", "Math-7");
-            LOOKUP_MAP.put(firstByte + "0B", "Line Draw-7");
-            LOOKUP_MAP.put(firstByte + "0C", "HP Large Characters");
-            LOOKUP_MAP.put(firstByte + "1D", "ISO 61: Norwegian Version 2");
-            LOOKUP_MAP.put(firstByte + "0E", "Roman Extension");
-            LOOKUP_MAP.put(firstByte + "0F", "ISO 25: French");
-            LOOKUP_MAP.put(firstByte + "0G", "HP German");
-            LOOKUP_MAP.put(firstByte + "0K", "ISO 14: JIS ASCII");
-            LOOKUP_MAP.put(firstByte + "1K", "ISO 13: Katakana");
-            LOOKUP_MAP.put(firstByte + "2K", "ISO 57: Chinese");
-            LOOKUP_MAP.put(firstByte + "1S", "HP Spanish");
-            LOOKUP_MAP.put(firstByte + "3S", "ISO 10: Swedish");
-            LOOKUP_MAP.put(firstByte + "4S", "ISO 16: Portuguese");
-            LOOKUP_MAP.put(firstByte + "5S", "ISO 84: Portuguese");
-            LOOKUP_MAP.put(firstByte + "6S", "ISO 85: Spanish");
-            LOOKUP_MAP.put(firstByte + "2U", "ISO 2: International Reference");
-            LOOKUP_MAP.put(firstByte + "0V", "Arabic");
+            put(firstByte + "s0P", "Fixed spacing");
+            put(firstByte + "s1P", "Proportional spacing");
+
+            put(firstByte + "s0S", "Upright, solid");
+            put(firstByte + "s1S", "Italic");
+            put(firstByte + "s4S", "Condensed");
+            put(firstByte + "s5S", "Condensed italic");
+            put(firstByte + "s8S", "Compressed, or extra condensed");
+            put(firstByte + "s24S", "Expanded");
+            put(firstByte + "s32S", "Outline");
+            put(firstByte + "s64S", "Iinline");
+            put(firstByte + "s128S", "Shadowed");
+            put(firstByte + "s160S", "Outline shadowed");
+
+            put(firstByte + "s-7B", "Ultra Thin");
+            put(firstByte + "s-6B", "Extra Thin");
+            put(firstByte + "s-5B", "Thin");
+            put(firstByte + "s-4B", "Extra Light");
+            put(firstByte + "s-3B", "Light");
+            put(firstByte + "s-2B", "Demi Light");
+            put(firstByte + "s-1B", "Semi Light");
+            put(firstByte + "s0B", "Medium, Book, or Text");
+            put(firstByte + "s1B", "Semi Bold");
+            put(firstByte + "s2B", "Demi Bold");
+            put(firstByte + "s3B", "Bold");
+            put(firstByte + "s4B", "Extra Bold");
+            put(firstByte + "s5B", "Black");
+            put(firstByte + "s6B", "Extra Black");
+            put(firstByte + "s7B", "Ultra Black");
+
+            put(firstByte + "18C", "GW-3212");
+            put(firstByte + "0D", "ISO 60: Danish/Norwegian");
+            put(firstByte + "2D", "Devanagari");
+            put(firstByte + "1E", "ISO 4: United Kingdom");
+            put(firstByte + "9E", "Windows 3.1 Latin 2");
+            put(firstByte + "1F", "ISO 69: French");
+            put(firstByte + "1G", "ISO 21: German");
+            put(firstByte + "8G", "Greek-8");
+            put(firstByte + "9G", "Windows 3.1 Latin/Greek");
+            put(firstByte + "10G", "PC-851 Latin/Greek");
+            put(firstByte + "12G", "PC-8 Latin/Greek");
+            put(firstByte + "0H", "Hebrew-7");
+            put(firstByte + "7H", "ISO 8859/8 Latin/Hebrew");
+            put(firstByte + "8H", "Hebrew-8");
+            put(firstByte + "15H", "PC-862 Latin/Hebrew");
+            put(firstByte + "0I", "ISO 15: Italian");
+            put(firstByte + "6J", "Microsoft Publishing");
+            put(firstByte + "7J", "DeskTop");
+            put(firstByte + "8J", "Document");
+            put(firstByte + "9J", "PC-1004");
+            put(firstByte + "10J", "PS Text");
+            put(firstByte + "11J", "PS ISO Latin1");
+            put(firstByte + "12J", "MC Text");
+            put(firstByte + "13J", "Ventura International");
+            put(firstByte + "14J", "Ventura US");
+            put(firstByte + "16J", "Swash Characters");
+            put(firstByte + "17J", "Small Caps & Old Style Figures");
+            put(firstByte + "18J", "Old Style Figures");
+            put(firstByte + "19J", "Fractions");
+            put(firstByte + "21J", "Lining Figures");
+            put(firstByte + "22J", "Small Caps and Lining Figures");
+            put(firstByte + "23J", "Alternate Caps");
+            put(firstByte + "8K", "Kana-8 - JIS 210");
+            put(firstByte + "9K", "Korean-8");
+            put(firstByte + "0L", "Line Draw-7");
+            put(firstByte + "1L", "HP Block Characters");
+            put(firstByte + "2L", "Tax Line Draw");
+            put(firstByte + "8L", "Line Draw-8");
+            put(firstByte + "9L", "Ventura ITC Zapf Dingbats");
+            put(firstByte + "10L", "PS ITC Zapf Dingbats");
+            put(firstByte + "11L", "ITC Zapf Dingbats Series 100");
+            put(firstByte + "12L", "ITC Zapf Dingbats Series 200");
+            put(firstByte + "13L", "ITC Zapf Dingbats Series 300");
+            put(firstByte + "14L", "ITC Zapf Dingbats MS");
+            put(firstByte + "19L", "Windows Baltic");
+            put(firstByte + "20L", "Carta");
+            put(firstByte + "21L", "Ornaments");
+            put(firstByte + "22L", "Universal News & Commercial Pi");
+            put(firstByte + "23L", "Chess");
+            put(firstByte + "24L", "Astrology 1");
+            put(firstByte + "31L", "Pi Set #1");
+            put(firstByte + "32L", "Pi Set #2");
+            put(firstByte + "33L", "Pi Set #3");
+            put(firstByte + "34L", "Pi Set #4");
+            put(firstByte + "35L", "Pi Set #5");
+            put(firstByte + "36L", "Pi Set #6");
+            put(firstByte + "579L", "Wingdings");
+            put(firstByte + "0M", "Math-7");
+            put(firstByte + "1M", "Tech-7");
+            put(firstByte + "5M", "PS Math");
+            put(firstByte + "6M", "Ventura Math");
+            put(firstByte + "8M", "Math-8");
+            put(firstByte + "10M", "Universal Greek & Math Pi");
+            put(firstByte + "11M", "TeX Math Extension");
+            put(firstByte + "12M", "TeX Math Symbol");
+            put(firstByte + "13M", "TeX Math Italic");
+            put(firstByte + "19M", "Symbol");
+            put(firstByte + "0N", "ISO 8859/1 Latin 1");
+            put(firstByte + "2N", "ISO 8859/2 Latin 2");
+            put(firstByte + "3N", "ISO 8859/3 Latin 3");
+            put(firstByte + "4N", "ISO 8859/4 Latin 4");
+            put(firstByte + "5N", "ISO 8859/9 Latin 5");
+            put(firstByte + "6N", "ISO 8859/10 Latin 6");
+            put(firstByte + "9N", "ISO 8859/15 Latin 9");
+            put(firstByte + "10N", "ISO 8859/5 Latin/Cyrillic");
+            put(firstByte + "11N", "ISO 8859/6 Latin/Arabic");
+            put(firstByte + "12N", "ISO 8859/7 Latin/Greek");
+            put(firstByte + "18N", "Unicode");
+            put(firstByte + "0O", "OCR-A");
+            put(firstByte + "1O", "OCR-B");
+            put(firstByte + "2O", "OCR-M");
+            put(firstByte + "10O", "MICR (E13B)");
+            put(firstByte + "0P", "Typewriter Paired APL");
+            put(firstByte + "1P", "Bit Paired APL");
+            put(firstByte + "10P", "Expert");
+            put(firstByte + "11P", "Alternate");
+            put(firstByte + "12P", "Fraktur");
+            put(firstByte + "xQ", "Reserved for Specials");
+            put(firstByte + "0R", "Cyrillic ASCII");
+            put(firstByte + "1R", "Cyrillic");
+            put(firstByte + "3R", "PC Cyrillic");
+            put(firstByte + "9R", "Windows 3.1 Latin/Cyrillic");
+            put(firstByte + "0S", "ISO 11: Swedish");
+            put(firstByte + "2S", "ISO 17: Spanish");
+            put(firstByte + "7S", "HP European Spanish");
+            put(firstByte + "8S", "HP Latin Spanish");
+            put(firstByte + "16S", "HP-GL Download");
+            put(firstByte + "17S", "HP-GL Drafting");
+            put(firstByte + "18S", "HP-GL Special Symbols");
+            put(firstByte + "20S", "Sonata");
+            put(firstByte + "0T", "Thai-8");
+            put(firstByte + "1T", "TISI 620-2533");
+            put(firstByte + "5T", "Windows 3.1 Latin 5");
+            put(firstByte + "8T", "Turkish-8");
+            put(firstByte + "9T", "PC-8 Turkish");
+            put(firstByte + "10T", "Teletex");
+            put(firstByte + "0U", "ISO 6: ASCII");
+            put(firstByte + "1U", "Legal");
+            put(firstByte + "4U", "Roman-9");
+            put(firstByte + "5U", "HPL");
+            put(firstByte + "7U", "OEM-1");
+            put(firstByte + "8U", "Roman-8");
+            put(firstByte + "9U", "Windows 3.0 Latin 1");
+            put(firstByte + "10U", "PC-8, Code Page 437");
+            put(firstByte + "11U", "PC-8 D/N, Danish/Norwegian");
+            put(firstByte + "12U", "PC-850, Multilingual");
+            put(firstByte + "13U", "PC-858");
+            put(firstByte + "15U", "Pi Font");
+            put(firstByte + "16U", "PC-857");
+            put(firstByte + "17U", "PC-852, Latin 2");
+            put(firstByte + "19U", "Windows 3.1 Latin 1");
+            put(firstByte + "20U", "PC-860 Portugal");
+            put(firstByte + "21U", "PC-861 Iceland");
+            put(firstByte + "23U", "PC-863 Canada-French");
+            put(firstByte + "25U", "PC-865 Norway");
+            put(firstByte + "26U", "PC-775");
+            put(firstByte + "8V", "Arabic-8");
+            put(firstByte + "9V", "Windows 3.1 Latin/Arabic");
+            put(firstByte + "10V", "Code Page 864 Latin/Arabic");
+            put(firstByte + "0Y", "3 of 9 Barcode");
+            put(firstByte + "1Y", "Industrial 2 of 5 Barcode");
+            put(firstByte + "2Y", "Matrix 2 of 5 Barcode");
+            put(firstByte + "4Y", "Interleaved 2 of 5 Barcode");
+            put(firstByte + "5Y", "CODABAR Barcode");
+            put(firstByte + "6Y", "MSI/Plessey Barcode");
+            put(firstByte + "7Y", "Code 11 Barcode");
+            put(firstByte + "8Y", "UPC/EAN Barcode");
+            put(firstByte + "14Y", "MICR");
+            put(firstByte + "15Y", "USPS ZIP");
+            put(firstByte + "0A", "Math-7");
+            put(firstByte + "0B", "Line Draw-7");
+            put(firstByte + "0C", "HP Large Characters");
+            put(firstByte + "1D", "ISO 61: Norwegian Version 2");
+            put(firstByte + "0E", "Roman Extension");
+            put(firstByte + "0F", "ISO 25: French");
+            put(firstByte + "0G", "HP German");
+            put(firstByte + "0K", "ISO 14: JIS ASCII");
+            put(firstByte + "1K", "ISO 13: Katakana");
+            put(firstByte + "2K", "ISO 57: Chinese");
+            put(firstByte + "1S", "HP Spanish");
+            put(firstByte + "3S", "ISO 10: Swedish");
+            put(firstByte + "4S", "ISO 16: Portuguese");
+            put(firstByte + "5S", "ISO 84: Portuguese");
+            put(firstByte + "6S", "ISO 85: Spanish");
+            put(firstByte + "2U", "ISO 2: International Reference");
+            put(firstByte + "0V", "Arabic");
 
         }
 
-        LOOKUP_MAP.put("(3@", "Default primary font characteristics");
-        LOOKUP_MAP.put(")3@", "Default secondary font characteristics");
-
-        LOOKUP_MAP.put("&d0D", "Fixed position");
-        LOOKUP_MAP.put("&d3D", "Floating position");
-
-        LOOKUP_MAP.put("*c0F", "Delete all soft fonts");
-        LOOKUP_MAP.put("*c1F", "Delete all temporary soft fonts");
-        LOOKUP_MAP.put("*c2F", "Delete soft font");
-        LOOKUP_MAP.put("*c3F", "Delete Character Code");
-        LOOKUP_MAP.put("*c4F", "Make soft font temporary");
-        LOOKUP_MAP.put("*c5F", "Make soft font permanent");
-        LOOKUP_MAP.put("*c6F", "Copy/Assign current invoked font as temporary");
-
-        LOOKUP_MAP.put("*c0S", "Delete all temporary and permanent user-defined symbol sets");
-        LOOKUP_MAP.put("*c1S", "Delete all temporary user-defined symbol sets");
-        LOOKUP_MAP.put("*c2S", "Delete current user-defined symbol set");
-        LOOKUP_MAP.put("*c4S", "Make current user-defined symbol set temporary");
-        LOOKUP_MAP.put("*c5S", "Make current user-defined symbol set permanent");
-
-        LOOKUP_MAP.put("&f0X", "Start macro definition");
-        LOOKUP_MAP.put("&f1X", "Stop macro definition");
-        LOOKUP_MAP.put("&f2X", "Execute macro");
-        LOOKUP_MAP.put("&f3X", "Call macro");
-        LOOKUP_MAP.put("&f4X", "Enable macro for automatic overlay");
-        LOOKUP_MAP.put("&f5X", "Disable automatic overlay");
-        LOOKUP_MAP.put("&f6X", "Delete all macros");
-        LOOKUP_MAP.put("&f7X", "Delete all temporary macros");
-        LOOKUP_MAP.put("&f8X", "Delete macro");
-        LOOKUP_MAP.put("&f9X", "Make macro temporary");
-        LOOKUP_MAP.put("&f10X", "Make macro permanent");
-
-        LOOKUP_MAP.put("*v0N", "Transparent");
-        LOOKUP_MAP.put("*v1N", "Opaque");
-
-        LOOKUP_MAP.put("*v0O", "Transparent");
-        LOOKUP_MAP.put("*v1O", "Opaque");
-
-        LOOKUP_MAP.put("*v0T", "Solid black");
-        LOOKUP_MAP.put("*v1T", "Solid white");
-        LOOKUP_MAP.put("*v2T", "Shading pattern");
-        LOOKUP_MAP.put("*v3T", "Cross-hatch pattern");
-        LOOKUP_MAP.put("*v4T", "User-defined pattern");
-
-        LOOKUP_MAP.put("*p0R", "Rotate patterns with print direction");
-        LOOKUP_MAP.put("*p1R", "Keep patterns fixed");
-
-        LOOKUP_MAP.put("*c0Q", "Delete all patterns");
-        LOOKUP_MAP.put("*c1Q", "Delete all temporary patterns");
-        LOOKUP_MAP.put("*c2Q", "Delete pattern");
-        LOOKUP_MAP.put("*c3Q", "Reserved");
-        LOOKUP_MAP.put("*c4Q", "Make pattern temporary");
-        LOOKUP_MAP.put("*c5Q", "Make pattern permanent");
-
-        LOOKUP_MAP.put("*c0P", "Black fill");
-        LOOKUP_MAP.put("*c1P", "Erase (white) fill");
-        LOOKUP_MAP.put("*c2P", "Shaded fill");
-        LOOKUP_MAP.put("*c3P", "Cross-hatch fill");
-        LOOKUP_MAP.put("*c4P", "User-defined pattern fill");
-        LOOKUP_MAP.put("*c5P", "Current pattern fill");
-
-        LOOKUP_MAP.put("*r0F", "Raster image prints in orientation of logical page");
-        LOOKUP_MAP.put("*r3F", "Raster image prints along the width of the physical page");
-
-        LOOKUP_MAP.put("*r0A", "Start graphics at default left graphics margin");
-        LOOKUP_MAP.put("*r1A", "Start graphics at current cursor position");
-
-        LOOKUP_MAP.put("*b0M", "Unencoded");
-        LOOKUP_MAP.put("*b1M", "Run-length encoding");
-        LOOKUP_MAP.put("*b2M", "Tagged Imaged File Format");
-        LOOKUP_MAP.put("*b3M", "Delta row compression");
-        LOOKUP_MAP.put("*b4M", "Reserved");
-        LOOKUP_MAP.put("*b5M", "Adaptive compression");
-        LOOKUP_MAP.put("*b9M", "Replacement Delta Row");
-
-        LOOKUP_MAP.put("*s0T", "Invalid location");
-        LOOKUP_MAP.put("*s1T", "Currently selected");
-        LOOKUP_MAP.put("*s2T", "All Locations");
-        LOOKUP_MAP.put("*s3T", "Internal");
-        LOOKUP_MAP.put("*s4T", "Downloaded Entity");
-        LOOKUP_MAP.put("*s5T", "Cartridge");
-        LOOKUP_MAP.put("*s7T", "User-installable ROM device");
-
-        LOOKUP_MAP.put("*s0I", "Font");
-        LOOKUP_MAP.put("*s1I", "Macro");
-        LOOKUP_MAP.put("*s2I", "User-defined pattern");
-        LOOKUP_MAP.put("*s3I", "Symbol Set");
-        LOOKUP_MAP.put("*s4I", "Font Extended");
-
-        LOOKUP_MAP.put("&r0F", "Flush all complete pages");
-        LOOKUP_MAP.put("&r1F", "Flush all pages");
-
-        LOOKUP_MAP.put("%0B", "Position pen at previous HP-GL/2 pen position");
-        LOOKUP_MAP.put("%1B", "Position pen at current PCL cursor position");
-
-        LOOKUP_MAP.put("%0A", "Position cursor at previous PCL cursor position");
-        LOOKUP_MAP.put("%1A", "Position cursor at current HP-GL/2 pen position");
-
-        LOOKUP_MAP.put("&l0S", "Simplex");
+        put("(3@", "Default primary font characteristics");
+        put(")3@", "Default secondary font characteristics");
+
+        put("&d0D", "Fixed position");
+        put("&d3D", "Floating position");
+
+        put("*c0F", "Delete all soft fonts");
+        put("*c1F", "Delete all temporary soft fonts");
+        put("*c2F", "Delete soft font");
+        put("*c3F", "Delete Character Code");
+        put("*c4F", "Make soft font temporary");
+        put("*c5F", "Make soft font permanent");
+        put("*c6F", "Copy/Assign current invoked font as temporary");
+
+        put("*c0S", "Delete all temporary and permanent user-defined symbol sets");
+        put("*c1S", "Delete all temporary user-defined symbol sets");
+        put("*c2S", "Delete current user-defined symbol set");
+        put("*c4S", "Make current user-defined symbol set temporary");
+        put("*c5S", "Make current user-defined symbol set permanent");
+
+        put("&f0X", "Start macro definition");
+        put("&f1X", "Stop macro definition");
+        put("&f2X", "Execute macro");
+        put("&f3X", "Call macro");
+        put("&f4X", "Enable macro for automatic overlay");
+        put("&f5X", "Disable automatic overlay");
+        put("&f6X", "Delete all macros");
+        put("&f7X", "Delete all temporary macros");
+        put("&f8X", "Delete macro");
+        put("&f9X", "Make macro temporary");
+        put("&f10X", "Make macro permanent");
+
+        put("*v0N", "Transparent");
+        put("*v1N", "Opaque");
+
+        put("*v0O", "Transparent");
+        put("*v1O", "Opaque");
+
+        put("*v0T", "Solid black");
+        put("*v1T", "Solid white");
+        put("*v2T", "Shading pattern");
+        put("*v3T", "Cross-hatch pattern");
+        put("*v4T", "User-defined pattern");
+
+        put("*p0R", "Rotate patterns with print direction");
+        put("*p1R", "Keep patterns fixed");
+
+        put("*c0Q", "Delete all patterns");
+        put("*c1Q", "Delete all temporary patterns");
+        put("*c2Q", "Delete pattern");
+        put("*c3Q", "Reserved");
+        put("*c4Q", "Make pattern temporary");
+        put("*c5Q", "Make pattern permanent");
+
+        put("*c0P", "Black fill");
+        put("*c1P", "Erase (white) fill");
+        put("*c2P", "Shaded fill");
+        put("*c3P", "Cross-hatch fill");
+        put("*c4P", "User-defined pattern fill");
+        put("*c5P", "Current pattern fill");
+
+        put("*r0F", "Raster image prints in orientation of logical page");
+        put("*r3F", "Raster image prints along the width of the physical page");
+
+        put("*r0A", "Start graphics at default left graphics margin");
+        put("*r1A", "Start graphics at current cursor position");
+
+        put("*b0M", "Unencoded");
+        put("*b1M", "Run-length encoding");
+        put("*b2M", "Tagged Imaged File Format");
+        put("*b3M", "Delta row compression");
+        put("*b4M", "Reserved");
+        put("*b5M", "Adaptive compression");
+        put("*b9M", "Replacement Delta Row");
+
+        put("*s0T", "Invalid location");
+        put("*s1T", "Currently selected");
+        put("*s2T", "All Locations");
+        put("*s3T", "Internal");
+        put("*s4T", "Downloaded Entity");
+        put("*s5T", "Cartridge");
+        put("*s7T", "User-installable ROM device");
+
+        put("*s0I", "Font");
+        put("*s1I", "Macro");
+        put("*s2I", "User-defined pattern");
+        put("*s3I", "Symbol Set");
+        put("*s4I", "Font Extended");
+
+        put("&r0F", "Flush all complete pages");
+        put("&r1F", "Flush all pages");
+
+        put("%0B", "Position pen at previous HP-GL/2 pen position");
+        put("%1B", "Position pen at current PCL cursor position");
+
+        put("%0A", "Position cursor at previous PCL cursor position");
+        put("%1A", "Position cursor at current HP-GL/2 pen position");
+
+        put("&l0S", "Simplex");
     }
 
     @Override
     PrinterCommandDetails execute(final PrinterCommand command, final PclDumperContext context) {
-        final String summary = LOOKUP_MAP.get(command.toDisplayString());
-
-        if (command instanceof ParameterizedPclCommand) {
-            final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
-            final byte[] data = cmd.getDataSection();
-
-            if (data != null && data.length > 0) {
-                return new PrinterCommandDetails(summary, createHexDump(data));
-            }
+        if (!(command instanceof ParameterizedPclCommand)) {
+            return PrinterCommandDetails.NONE;
         }
 
-        return new PrinterCommandDetails(summary);
-    }
-
-    private static List<String> createHexDump(byte[] data) {
-        if (data.length == 0) {
-            return Collections.emptyList();
-        }
+        final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final PrinterCommandDetails details = SUMMARIES.get(CommandKey.of(cmd), parseValue(cmd.getValue()));
+        final byte[] data = cmd.getDataSection();
 
-        // Let's be lazy here.... Let all the work be done by Apache Commons... This is not really
-        // a high-performance way to create the hex dump for us, but note that PCL-Dumper is not
-        // required to be a high-performance tool... So I guess it is "ok" here to be lazy...
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            HexDump.dump(data, 0, baos, 0);
-        } catch (final IOException e) {
-            // An IOException should never ever been throws because we write to memory...
-            return Collections.<String>emptyList();
+        if (data != null && data.length > 0) {
+            return new PrinterCommandDetails(details == null ? null : details.getSummary(), data);
         }
 
-        final byte[] hex = baos.toByteArray();
-        IOUtils.closeQuietly(baos);
-
-        final ByteArrayInputStream bais = new ByteArrayInputStream(hex);
-        final InputStreamReader reader = new InputStreamReader(bais, Charset.defaultCharset());
-        final LineIterator iter = new LineIterator(reader);
+        return details == null ? PrinterCommandDetails.NONE : details;
+    }
 
-        final List<String> result = new ArrayList<>();
-        while (iter.hasNext()) {
-            result.add(iter.next());
+    /**
+     * Adds the summary of a printer command with a value (i. e. <code>&amp;l26A</code>) to the
+     * {@link SummaryTable}. Placeholders without a number (i. e. <code>(xQ</code>) can not match
+     * a printer command, so they are ignored.
+     */
+    private static void put(final String command, final String summary) {
+        final boolean grouped = command.charAt(1) >= 0x60;
+        final int last = command.length() - 1;
+        final int value = parseValue(command.substring(grouped ? 2 : 1, last));
+
+        if (value != INVALID_VALUE) {
+            SUMMARIES.put(
+                    CommandKey.of(command.charAt(0), grouped ? command.charAt(1) : 0, command.charAt(last)),
+                    value,
+                    summary);
         }
-
-        iter.close();
-
-        return result;
     }
 }
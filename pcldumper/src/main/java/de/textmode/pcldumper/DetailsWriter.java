@@ -0,0 +1,39 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A {@link DetailsWriter} receives the detailed multi-line information about a printer command. The lines
+ * are written directly to the output of the dump, so the details never have to be kept in memory.
+ */
+interface DetailsWriter {
+
+    /**
+     * Starts a new line of details (with the indention and the "&gt;&gt;&gt; " marker). The caller appends
+     * the text of the line and terminates the line with {@link ColumnWriter#endLine()}.
+     *
+     * @return the {@link ColumnWriter} to which the line can be appended.
+     */
+    ColumnWriter startLine();
+
+    /**
+     * Writes a hex dump of the given data section (with respect to the configured limits).
+     *
+     * @param data   the data section to be dumped.
+     */
+    void writeHexDump(final byte[] data);
+}
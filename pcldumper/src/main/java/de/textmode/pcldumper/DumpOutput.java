@@ -0,0 +1,268 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A {@link DumpOutput} is the target to which the {@link PclDumper} writes the dump. The {@link PclDumper}
+ * collects the lines of the dump in a large, non-synchronized buffer and passes them to the
+ * {@link DumpOutput} in large blocks of complete lines. The target is flushed once at the end of the dump.
+ *
+ * <p>A {@link DumpOutput} never closes its target - this is up to the caller.
+ */
+public abstract class DumpOutput {
+
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Constructor of the {@link DumpOutput}.
+     */
+    DumpOutput() {
+    }
+
+    /**
+     * Creates a {@link DumpOutput} that appends the dump to an {@link Appendable}
+     * (i. e. a {@link StringBuilder} or a {@link java.io.PrintStream}).
+     *
+     * @param target   the {@link Appendable} to append the dump to.
+     *
+     * @return the {@link DumpOutput}.
+     */
+    public static DumpOutput of(final Appendable target) {
+        return new AppendableOutput(target);
+    }
+
+    /**
+     * Creates a {@link DumpOutput} that writes the dump to a {@link Writer}.
+     *
+     * @param target   the {@link Writer} to write the dump to.
+     *
+     * @return the {@link DumpOutput}.
+     */
+    public static DumpOutput of(final Writer target) {
+        return new WriterOutput(target);
+    }
+
+    /**
+     * Creates a {@link DumpOutput} that encodes the dump with the given {@link Charset} and writes the
+     * bytes to an {@link OutputStream}.
+     *
+     * @param target   the {@link OutputStream} to write the dump to.
+     * @param charset   the {@link Charset} used to encode the dump.
+     *
+     * @return the {@link DumpOutput}.
+     */
+    public static DumpOutput of(final OutputStream target, final Charset charset) {
+        return new OutputStreamOutput(target, charset);
+    }
+
+    /**
+     * Creates a {@link DumpOutput} that encodes the dump with the given {@link Charset} and writes the
+     * bytes to a {@link WritableByteChannel}.
+     *
+     * @param target   the {@link WritableByteChannel} to write the dump to.
+     * @param charset   the {@link Charset} used to encode the dump.
+     *
+     * @return the {@link DumpOutput}.
+     */
+    public static DumpOutput of(final WritableByteChannel target, final Charset charset) {
+        return new ChannelOutput(target, charset);
+    }
+
+    /**
+     * Writes a block of complete lines.
+     *
+     * @param chars   the buffer that contains the lines.
+     * @param offset   the index of the first character to be written.
+     * @param length   the number of characters to be written.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    abstract void write(final char[] chars, final int offset, final int length) throws IOException;
+
+    /**
+     * Flushes the target. This is invoked at the end of the dump.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    abstract void flush() throws IOException;
+
+    /**
+     * Writes all remaining bytes of the given buffer (the {@link OutputFormat#BINARY} dump). Only the
+     * {@link DumpOutput}s for an {@link OutputStream} and a {@link WritableByteChannel} can write bytes.
+     *
+     * @param buffer   the bytes to be written.
+     *
+     * @throws IOException if an I/O error occurs or the target can not take bytes.
+     */
+    void writeBytes(final ByteBuffer buffer) throws IOException {
+        throw new IOException("A binary dump can only be written to an OutputStream or a WritableByteChannel");
+    }
+
+    /**
+     * {@link DumpOutput} for an {@link Appendable}.
+     */
+    private static final class AppendableOutput extends DumpOutput {
+
+        private final Appendable target;
+
+        AppendableOutput(final Appendable target) {
+            this.target = target;
+        }
+
+        @Override
+        void write(final char[] chars, final int offset, final int length) throws IOException {
+            this.target.append(CharBuffer.wrap(chars, offset, length));
+        }
+
+        @Override
+        void flush() throws IOException {
+            if (this.target instanceof Flushable) {
+                ((Flushable) this.target).flush();
+            }
+        }
+    }
+
+    /**
+     * {@link DumpOutput} for a {@link Writer}.
+     */
+    private static final class WriterOutput extends DumpOutput {
+
+        private final Writer target;
+
+        WriterOutput(final Writer target) {
+            this.target = target;
+        }
+
+        @Override
+        void write(final char[] chars, final int offset, final int length) throws IOException {
+            this.target.write(chars, offset, length);
+        }
+
+        @Override
+        void flush() throws IOException {
+            this.target.flush();
+        }
+    }
+
+    /**
+     * Base class of the {@link DumpOutput}s that encode the dump to bytes. Because only blocks of complete
+     * lines are written, a character is never split between two blocks.
+     */
+    private abstract static class EncodingOutput extends DumpOutput {
+
+        private final CharsetEncoder encoder;
+        private final ByteBuffer bytes;
+
+        EncodingOutput(final Charset charset) {
+            this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+            this.bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+        }
+
+        @Override
+        final void write(final char[] chars, final int offset, final int length) throws IOException {
+            final CharBuffer in = CharBuffer.wrap(chars, offset, length);
+
+            CoderResult result = this.encoder.encode(in, this.bytes, true);
+            while (result.isOverflow()) {
+                this.drain();
+                result = this.encoder.encode(in, this.bytes, true);
+            }
+
+            result = this.encoder.flush(this.bytes);
+            while (result.isOverflow()) {
+                this.drain();
+                result = this.encoder.flush(this.bytes);
+            }
+
+            this.encoder.reset();
+            this.drain();
+        }
+
+        private void drain() throws IOException {
+            this.bytes.flip();
+            this.writeBytes(this.bytes);
+            this.bytes.clear();
+        }
+
+        @Override
+        abstract void writeBytes(final ByteBuffer buffer) throws IOException;
+    }
+
+    /**
+     * {@link DumpOutput} for an {@link OutputStream}.
+     */
+    private static final class OutputStreamOutput extends EncodingOutput {
+
+        private final OutputStream target;
+
+        OutputStreamOutput(final OutputStream target, final Charset charset) {
+            super(charset);
+            this.target = target;
+        }
+
+        @Override
+        void writeBytes(final ByteBuffer buffer) throws IOException {
+            this.target.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        }
+
+        @Override
+        void flush() throws IOException {
+            this.target.flush();
+        }
+    }
+
+    /**
+     * {@link DumpOutput} for a {@link WritableByteChannel}.
+     */
+    private static final class ChannelOutput extends EncodingOutput {
+
+        private final WritableByteChannel target;
+
+        ChannelOutput(final WritableByteChannel target, final Charset charset) {
+            super(charset);
+            this.target = target;
+        }
+
+        @Override
+        void writeBytes(final ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                this.target.write(buffer);
+            }
+        }
+
+        @Override
+        void flush() {
+            // A WritableByteChannel has no buffer that could be flushed...
+        }
+    }
+}
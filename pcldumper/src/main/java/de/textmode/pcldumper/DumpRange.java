@@ -0,0 +1,260 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The {@link DumpRange} selects the part of a PCL printer data stream that is dumped - either everything,
+ * a range of offsets, a range of pages or a single job. With the {@link PclIndex} of the data stream the
+ * range is resolved to a {@link Region} that starts and ends at page or job boundaries, so the dump can
+ * seek directly to the start of the region.
+ */
+final class DumpRange {
+
+    /**
+     * The complete PCL printer data stream.
+     */
+    static final DumpRange ALL = new DumpRange(Kind.ALL, 0, Long.MAX_VALUE);
+
+    private enum Kind {
+        ALL, OFFSETS, PAGES, JOB
+    }
+
+    private final Kind kind;
+    private final long first;
+    private final long last;
+
+    private DumpRange(final Kind kind, final long first, final long last) {
+        this.kind = kind;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * Returns the range of all printer commands that start at an offset from <code>from</code> (inclusive)
+     * to <code>to</code> (exclusive).
+     *
+     * @param from   the first offset.
+     * @param to   the offset after the last offset.
+     *
+     * @return the {@link DumpRange}.
+     */
+    static DumpRange offsets(final long from, final long to) {
+        if (from < 0 || to <= from) {
+            throw new IllegalArgumentException("Invalid range of offsets: " + from + "-" + to);
+        }
+        return new DumpRange(Kind.OFFSETS, from, to);
+    }
+
+    /**
+     * Returns the range of pages from <code>first</code> to <code>last</code> (both inclusive, the first page
+     * of the data stream is 1).
+     *
+     * @param first   the first page.
+     * @param last   the last page.
+     *
+     * @return the {@link DumpRange}.
+     */
+    static DumpRange pages(final int first, final int last) {
+        if (first < 1 || last < first) {
+            throw new IllegalArgumentException("Invalid range of pages: " + first + "-" + last);
+        }
+        return new DumpRange(Kind.PAGES, first, last);
+    }
+
+    /**
+     * Returns the range of a single job (the first job of the data stream is 1).
+     *
+     * @param job   the job.
+     *
+     * @return the {@link DumpRange}.
+     */
+    static DumpRange job(final int job) {
+        if (job < 1) {
+            throw new IllegalArgumentException("Invalid job: " + job);
+        }
+        return new DumpRange(Kind.JOB, job, job);
+    }
+
+    /**
+     * Returns true if the range is the complete PCL printer data stream.
+     */
+    boolean isAll() {
+        return this.kind == Kind.ALL;
+    }
+
+    /**
+     * Resolves the range with the {@link PclIndex} of the PCL printer data stream.
+     *
+     * @param index   the {@link PclIndex} of the PCL printer data stream.
+     *
+     * @return the {@link Region} that has to be parsed.
+     */
+    Region resolve(final PclIndex index) {
+        switch (this.kind) {
+        case PAGES:
+            final int firstPage = (int) this.first;
+            final int lastPage = (int) Math.min(this.last, index.getPageCount());
+            final long pageStart = index.getPageStart(firstPage);
+            final long pageEnd = index.getPageEnd(Math.max(firstPage, lastPage));
+            return new Region(pageStart, pageEnd, pageStart, pageEnd,
+                    index.getPageTextParsingMethod(firstPage), index.getPageRasterState(firstPage));
+
+        case JOB:
+            final int job = (int) this.first;
+            final long jobStart = index.getJobStart(job);
+            final long jobEnd = index.getJobEnd(job);
+            return new Region(jobStart, jobEnd, jobStart, jobEnd,
+                    index.getJobTextParsingMethod(job), index.getJobRasterState(job));
+
+        case OFFSETS:
+            final long start = index.getBoundaryAtOrBefore(this.first);
+            final long end = index.getBoundaryAtOrAfter(this.last);
+            return new Region(start, end, this.first, this.last,
+                    index.getTextParsingMethodAt(start), index.getRasterStateAt(start));
+
+        default:
+            return new Region(0, index.getLength(), 0, Long.MAX_VALUE,
+                    PclScanner.DEFAULT_TEXT_PARSING_METHOD, PclScanner.DEFAULT_RASTER_STATE);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (this.kind) {
+        case OFFSETS:
+            return "offsets " + this.first + "-" + this.last;
+        case PAGES:
+            return "pages " + this.first + "-" + this.last;
+        case JOB:
+            return "job " + this.first;
+        default:
+            return "all";
+        }
+    }
+
+    /**
+     * The {@link Region} is the part of a PCL printer data stream that has to be parsed for a
+     * {@link DumpRange}. Only the printer commands within the shown offsets are dumped, the commands before
+     * are parsed just to bring the {@link PclDumperContext} up to date.
+     */
+    static final class Region {
+
+        /**
+         * The region of the complete PCL printer data stream.
+         */
+        static final Region ALL = new Region(0, Long.MAX_VALUE, 0, Long.MAX_VALUE,
+                PclScanner.DEFAULT_TEXT_PARSING_METHOD, PclScanner.DEFAULT_RASTER_STATE);
+
+        private final long start;
+        private final long end;
+        private final long showFrom;
+        private final long showTo;
+        private final int textParsingMethod;
+        private final int rasterState;
+
+        /**
+         * Constructor of the {@link Region}.
+         *
+         * @param start   the offset where parsing starts (a page or job boundary).
+         * @param end   the offset where parsing ends (a page or job boundary or the end of the data stream).
+         * @param showFrom   the offset of the first printer command that is dumped.
+         * @param showTo   the offset after the last printer command that is dumped.
+         * @param textParsingMethod   the text parsing method that is in effect at <code>start</code>.
+         * @param rasterState   the raster state that is in effect at <code>start</code>.
+         */
+        Region(
+                final long start,
+                final long end,
+                final long showFrom,
+                final long showTo,
+                final int textParsingMethod,
+                final int rasterState) {
+
+            this.start = start;
+            this.end = end;
+            this.showFrom = showFrom;
+            this.showTo = showTo;
+            this.textParsingMethod = textParsingMethod;
+            this.rasterState = rasterState;
+        }
+
+        /**
+         * Returns the offset where parsing starts.
+         */
+        long getStart() {
+            return this.start;
+        }
+
+        /**
+         * Returns the offset where parsing ends.
+         */
+        long getEnd() {
+            return this.end;
+        }
+
+        /**
+         * Returns true if a printer command at the given offset is to be dumped.
+         */
+        boolean isShown(final long offset) {
+            return offset >= this.showFrom && offset < this.showTo;
+        }
+
+        /**
+         * Returns true if a printer command at the given offset follows the printer commands that are dumped.
+         */
+        boolean isBehind(final long offset) {
+            return offset >= this.showTo;
+        }
+
+        /**
+         * Returns the text parsing method that is in effect at the start of the region.
+         */
+        int getTextParsingMethod() {
+            return this.textParsingMethod;
+        }
+
+        /**
+         * Returns the raster state that is in effect at the start of the region (see
+         * {@link PclScanner#rasterState(int, int)}).
+         */
+        int getRasterState() {
+            return this.rasterState;
+        }
+
+        /**
+         * Returns the part of the region before the given page or job boundary.
+         *
+         * @param boundary   the offset of a page or job boundary within the region.
+         */
+        Region until(final long boundary) {
+            return new Region(
+                    this.start, boundary, this.showFrom, this.showTo, this.textParsingMethod, this.rasterState);
+        }
+
+        /**
+         * Returns the part of the region from the given page or job boundary on.
+         *
+         * @param boundary   the offset of a page or job boundary within the region.
+         * @param textParsingMethodAtBoundary   the text parsing method that is in effect at the boundary.
+         * @param rasterStateAtBoundary   the raster state that is in effect at the boundary.
+         */
+        Region from(final long boundary, final int textParsingMethodAtBoundary, final int rasterStateAtBoundary) {
+            return new Region(
+                    boundary, this.end, this.showFrom, this.showTo, textParsingMethodAtBoundary, rasterStateAtBoundary);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+
+/**
+ * The {@link ExecutorResultCache} is a bounded cache of the {@link PrinterCommandDetails} returned by
+ * {@link PrinterCommandExecutor}s. The results are keyed by the printer command and its value (see
+ * {@link CommandKey#withValue(int, int)}).
+ *
+ * <p>The cache is set associative: a key can only be held by one of the {@value #WAYS} entries of its
+ * set, and if all of them are used, one is evicted by the CLOCK algorithm (an entry that has been hit since
+ * the hand passed it gets a second chance). So a lookup and an insert only take a few steps and create
+ * no objects. The cache is not thread-safe, every {@link PclDumper} has its own.
+ */
+final class ExecutorResultCache {
+
+    /**
+     * The default number of entries.
+     */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int WAYS = 4;
+    private static final long EMPTY = -1L;
+
+    private final long[] keys;
+    private final PrinterCommandDetails[] values;
+    private final boolean[] referenced;
+    private final int[] hands;
+    private final int setMask;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor of the {@link ExecutorResultCache}.
+     *
+     * @param capacity   the maximum number of entries (rounded up to a power of two of at least {@value #WAYS}).
+     */
+    ExecutorResultCache(final int capacity) {
+        final int sets = Integer.highestOneBit(Math.max(capacity, WAYS) * 2 - 1) / WAYS;
+
+        this.keys = new long[sets * WAYS];
+        this.values = new PrinterCommandDetails[sets * WAYS];
+        this.referenced = new boolean[sets * WAYS];
+        this.hands = new int[sets];
+        this.setMask = sets - 1;
+
+        Arrays.fill(this.keys, EMPTY);
+    }
+
+    /**
+     * Returns the cached {@link PrinterCommandDetails} of the given key.
+     *
+     * @param key   the key of the printer command and its value.
+     *
+     * @return the {@link PrinterCommandDetails} or <code>null</code> if the key is not cached.
+     */
+    PrinterCommandDetails get(final long key) {
+        final int first = this.setOf(key) * WAYS;
+        for (int ix = first; ix < first + WAYS; ++ix) {
+            if (this.keys[ix] == key) {
+                this.referenced[ix] = true;
+                ++this.hits;
+                return this.values[ix];
+            }
+        }
+
+        ++this.misses;
+        return null;
+    }
+
+    /**
+     * Caches the {@link PrinterCommandDetails} of the given key (that is not cached yet).
+     *
+     * @param key   the key of the printer command and its value.
+     * @param details   the {@link PrinterCommandDetails}.
+     */
+    void put(final long key, final PrinterCommandDetails details) {
+        final int set = this.setOf(key);
+        final int first = set * WAYS;
+
+        int hand = this.hands[set];
+        while (this.referenced[first + hand]) {
+            this.referenced[first + hand] = false;
+            hand = (hand + 1) % WAYS;
+        }
+
+        this.keys[first + hand] = key;
+        this.values[first + hand] = details;
+        this.hands[set] = (hand + 1) % WAYS;
+    }
+
+    /**
+     * Returns the number of lookups that found a cached result.
+     */
+    long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached result.
+     */
+    long getMisses() {
+        return this.misses;
+    }
+
+    private int setOf(final long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & this.setMask;
+    }
+}
@@ -0,0 +1,103 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The {@link HexDumpLimits} limit the number of bytes of the data sections that are hex-dumped. A data
+ * section that is larger than the maximum is truncated to a head window (bytes from the beginning) and a
+ * tail window (bytes from the end). Additionally, the total number of hex-dumped bytes can be limited per
+ * page and per job.
+ */
+final class HexDumpLimits {
+
+    /**
+     * No limits at all - every data section is dumped completely.
+     */
+    static final HexDumpLimits UNLIMITED = new HexDumpLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, 0,
+            Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxBytes;
+    private final int headBytes;
+    private final int tailBytes;
+    private final long pageBudget;
+    private final long jobBudget;
+
+    /**
+     * Constructor of the {@link HexDumpLimits}.
+     *
+     * @param maxBytes   data sections up to this size are dumped completely.
+     * @param headBytes   number of bytes dumped from the beginning of a larger data section.
+     * @param tailBytes   number of bytes dumped from the end of a larger data section.
+     * @param pageBudget   total number of bytes that are dumped per page.
+     * @param jobBudget   total number of bytes that are dumped per job.
+     */
+    HexDumpLimits(
+            final int maxBytes,
+            final int headBytes,
+            final int tailBytes,
+            final long pageBudget,
+            final long jobBudget) {
+
+        this.maxBytes = maxBytes;
+        this.headBytes = headBytes;
+        this.tailBytes = tailBytes;
+        this.pageBudget = pageBudget;
+        this.jobBudget = jobBudget;
+    }
+
+    /**
+     * Returns the size up to which data sections are dumped completely.
+     */
+    int getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Returns the number of bytes dumped from the beginning of a data section that exceeds the maximum.
+     */
+    int getHeadBytes() {
+        return this.headBytes;
+    }
+
+    /**
+     * Returns the number of bytes dumped from the end of a data section that exceeds the maximum.
+     */
+    int getTailBytes() {
+        return this.tailBytes;
+    }
+
+    /**
+     * Returns the total number of bytes that are dumped per page.
+     */
+    long getPageBudget() {
+        return this.pageBudget;
+    }
+
+    /**
+     * Returns the total number of bytes that are dumped per job.
+     */
+    long getJobBudget() {
+        return this.jobBudget;
+    }
+
+    /**
+     * Returns true if a budget per page or per job is set.
+     */
+    boolean hasBudget() {
+        return this.pageBudget != Long.MAX_VALUE || this.jobBudget != Long.MAX_VALUE;
+    }
+}
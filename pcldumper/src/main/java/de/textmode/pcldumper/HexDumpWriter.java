@@ -0,0 +1,160 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.zip.CRC32;
+
+/**
+ * The {@link HexDumpWriter} writes a hex dump of a data section directly to a {@link ColumnWriter}. Every
+ * row consists of the offset, the hexadecimal values of up to 16 bytes and the printable ASCII characters
+ * (the format is the same as the one of <code>org.apache.commons.io.HexDump</code>).
+ *
+ * <p>The {@link HexDumpLimits} are applied by {@link #write(byte[])}. If bytes of a data section are omitted,
+ * the dump ends with a line that shows the number of omitted bytes and the CRC32 of the whole data section.
+ */
+final class HexDumpWriter {
+
+    static final int BYTES_PER_ROW = 16;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int OFFSET_DIGITS = 8;
+
+    private final ColumnWriter line;
+    private final String prefix;
+    private final HexDumpLimits limits;
+    private final CRC32 crc = new CRC32();
+
+    private long pageRemaining;
+    private long jobRemaining;
+
+    /**
+     * Constructor of the {@link HexDumpWriter} that dumps the data sections completely.
+     *
+     * @param line   the {@link ColumnWriter} to write to.
+     * @param prefix   the text that is written at the beginning of every row.
+     */
+    HexDumpWriter(final ColumnWriter line, final String prefix) {
+        this(line, prefix, HexDumpLimits.UNLIMITED);
+    }
+
+    /**
+     * Constructor of the {@link HexDumpWriter}.
+     *
+     * @param line   the {@link ColumnWriter} to write to.
+     * @param prefix   the text that is written at the beginning of every row.
+     * @param limits   the {@link HexDumpLimits} to apply.
+     */
+    HexDumpWriter(final ColumnWriter line, final String prefix, final HexDumpLimits limits) {
+        this.line = line;
+        this.prefix = prefix;
+        this.limits = limits;
+        this.pageRemaining = limits.getPageBudget();
+        this.jobRemaining = limits.getJobBudget();
+    }
+
+    /**
+     * Resets the budget per page. Has to be called whenever a new page begins.
+     */
+    void newPage() {
+        this.pageRemaining = this.limits.getPageBudget();
+    }
+
+    /**
+     * Resets the budgets per job and per page. Has to be called whenever a new job begins.
+     */
+    void newJob() {
+        this.jobRemaining = this.limits.getJobBudget();
+        this.pageRemaining = this.limits.getPageBudget();
+    }
+
+    /**
+     * Writes the hex dump of the data with respect to the {@link HexDumpLimits}. Data sections that
+     * exceed the maximum size are reduced to the head and tail windows, and these are further reduced
+     * to the remaining budget of the current page and job (head first).
+     */
+    void write(final byte[] data) {
+        final int length = data.length;
+
+        int head = length;
+        int tail = 0;
+        if (length > this.limits.getMaxBytes()) {
+            head = Math.min(this.limits.getHeadBytes(), length);
+            tail = Math.min(this.limits.getTailBytes(), length - head);
+        }
+
+        final long budget = Math.min(this.pageRemaining, this.jobRemaining);
+        if (head > budget) {
+            head = (int) budget;
+            tail = 0;
+        } else if (head + tail > budget) {
+            tail = (int) (budget - head);
+        }
+
+        this.pageRemaining -= head + tail;
+        this.jobRemaining -= head + tail;
+
+        this.write(data, 0, head);
+        this.write(data, length - tail, length);
+
+        final int omitted = length - head - tail;
+        if (omitted > 0) {
+            this.crc.reset();
+            this.crc.update(data, 0, length);
+
+            this.line.append(this.prefix)
+                .append("... ")
+                .appendGrouped(omitted)
+                .append(omitted == 1 ? " more byte, CRC32=" : " more bytes, CRC32=")
+                .appendHex(this.crc.getValue(), OFFSET_DIGITS)
+                .endLine();
+        }
+    }
+
+    /**
+     * Writes the hex dump of the given range of the data. The offsets shown are relative to the
+     * beginning of the data (and not to the beginning of the range).
+     *
+     * @param data   the data to be dumped.
+     * @param from   the index of the first byte to be dumped.
+     * @param to   the index after the last byte to be dumped.
+     */
+    void write(final byte[] data, final int from, final int to) {
+        for (int pos = from; pos < to; pos += BYTES_PER_ROW) {
+            this.writeRow(data, pos, Math.min(BYTES_PER_ROW, to - pos));
+        }
+    }
+
+    private void writeRow(final byte[] data, final int start, final int count) {
+        this.line.append(this.prefix).appendHex(start, OFFSET_DIGITS).append(' ');
+
+        for (int ix = 0; ix < BYTES_PER_ROW; ++ix) {
+            if (ix < count) {
+                final int value = data[start + ix] & 0xFF;
+                this.line.append(HEX_DIGITS[value >>> 4]).append(HEX_DIGITS[value & 0x0F]).append(' ');
+            } else {
+                this.line.appendSpaces(3);
+            }
+        }
+
+        for (int ix = start; ix < start + count; ++ix) {
+            final byte value = data[ix];
+            this.line.append(value >= ' ' && value < 127 ? (char) value : '.');
+        }
+
+        this.line.endLine();
+    }
+}
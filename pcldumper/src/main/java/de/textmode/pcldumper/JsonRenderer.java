@@ -0,0 +1,180 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The {@link JsonRenderer} writes the printer commands as JSON Lines - one JSON object per printer command
+ * and line (see {@link OutputFormat#JSON}). The objects are encoded directly into the {@link ColumnWriter};
+ * the characters that have to be escaped are looked up in a table, runs of other characters are copied
+ * as a whole.
+ *
+ * <p>The lines of the details are collected in a scratch buffer and written as an array of strings when
+ * the printer command ends, so the details are kept in memory for a single printer command only.
+ */
+final class JsonRenderer implements CommandRenderer, DetailsWriter {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String[] ESCAPES = createEscapes();
+
+    private final ColumnWriter line;
+    private final StringBuilder detailsText = new StringBuilder();
+    private final ColumnWriter details = new ColumnWriter(DumpOutput.of(this.detailsText));
+    private final HexDumpWriter hexDump;
+    private boolean hasDetails;
+
+    /**
+     * Constructor of the {@link JsonRenderer}.
+     *
+     * @param line   the {@link ColumnWriter} to write to.
+     * @param hexDumpLimits   the {@link HexDumpLimits} for the hex dumps of data sections.
+     */
+    JsonRenderer(final ColumnWriter line, final HexDumpLimits hexDumpLimits) {
+        this.line = line;
+        this.hexDump = new HexDumpWriter(this.details, "", hexDumpLimits);
+    }
+
+    /**
+     * Creates the table with the escape sequences of the characters below 128 that must not occur
+     * unescaped in a JSON string. Characters from 128 on are never escaped.
+     */
+    private static String[] createEscapes() {
+        final String[] escapes = new String[128];
+        for (int c = 0; c < 0x20; ++c) {
+            escapes[c] = String.format("\\u%04X", c);
+        }
+
+        escapes['\b'] = "\\b";
+        escapes['\t'] = "\\t";
+        escapes['\n'] = "\\n";
+        escapes['\f'] = "\\f";
+        escapes['\r'] = "\\r";
+        escapes['"'] = "\\\"";
+        escapes['\\'] = "\\\\";
+        return escapes;
+    }
+
+    @Override
+    public void writeHeader(final String version, final String vendor) {
+        // Every line has to be a JSON object, so there is no header...
+    }
+
+    @Override
+    public void startCommand(
+            final long offset,
+            final String type,
+            final String command,
+            final String description,
+            final String summary,
+            final int dataLength) {
+
+        this.line.append("{\"offset\":").append(offset);
+        this.line.append(",\"type\":");
+        this.appendString(type, 0, type.length());
+        this.line.append(",\"command\":");
+        this.appendString(command, 0, command.length());
+        this.line.append(",\"description\":");
+        this.appendString(description, 0, description.length());
+
+        if (summary.length() > 0) {
+            this.line.append(",\"summary\":");
+            this.appendString(summary, 0, summary.length());
+        }
+
+        if (dataLength >= 0) {
+            this.line.append(",\"data\":").append(dataLength);
+        }
+    }
+
+    @Override
+    public void skipCommand(final long offset) {
+        // Nothing is written for a printer command that is not dumped...
+    }
+
+    @Override
+    public DetailsWriter getDetailsWriter() {
+        return this;
+    }
+
+    @Override
+    public void endCommand() {
+        if (this.hasDetails) {
+            this.details.flush();
+            final String text = this.detailsText.toString();
+
+            this.line.append(",\"details\":[");
+            int start = 0;
+            for (int end = text.indexOf(LINE_SEPARATOR); end >= 0; end = text.indexOf(LINE_SEPARATOR, start)) {
+                if (start > 0) {
+                    this.line.append(',');
+                }
+                this.appendString(text, start, end);
+                start = end + LINE_SEPARATOR.length();
+            }
+            this.line.append(']');
+
+            this.detailsText.setLength(0);
+            this.hasDetails = false;
+        }
+
+        this.line.append('}').endLine();
+    }
+
+    @Override
+    public void endDump(final long endOffset) {
+        // Nothing to do, the lines are flushed by the PclDumper...
+    }
+
+    @Override
+    public void newPage() {
+        this.hexDump.newPage();
+    }
+
+    @Override
+    public void newJob() {
+        this.hexDump.newJob();
+    }
+
+    @Override
+    public ColumnWriter startLine() {
+        this.hasDetails = true;
+        return this.details;
+    }
+
+    @Override
+    public void writeHexDump(final byte[] data) {
+        this.hasDetails = true;
+        this.hexDump.write(data);
+    }
+
+    /**
+     * Appends the given range of the text as JSON string (in double quotes and escaped).
+     */
+    private void appendString(final String text, final int start, final int end) {
+        this.line.append('"');
+
+        int run = start;
+        for (int ix = start; ix < end; ++ix) {
+            final char c = text.charAt(ix);
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                this.line.append(text, run, ix).append(ESCAPES[c]);
+                run = ix + 1;
+            }
+        }
+
+        this.line.append(text, run, end).append('"');
+    }
+}
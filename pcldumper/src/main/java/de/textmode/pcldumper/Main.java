@@ -16,16 +16,21 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Locale;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 
@@ -33,8 +38,9 @@ import de.textmode.pclbox.PclException;
 
 
 /**
- * This is the Main-Class of PCL-Dumper. It is just used to parse the command line arguments. This is the
- * only class that has an external dependency. If you want to add the {@link PclDumper} functionality
+ * This is the Main-Class of PCL-Dumper. It is just used to parse the command line arguments. This class
+ * (and the {@link PclDumperServer} and {@link PclDumperClient} that reuse it) are the only classes that
+ * have an external dependency. If you want to add the {@link PclDumper} functionality
  * to your own applications but do not want more external dependencies - just use the {@link PclDumperBuilder}
  * directly.
  */
@@ -46,7 +52,22 @@ public final class Main {
     private static final String HELP_FOOTER =
             "\nPlease report issues at https://github.com/michaelknigge/pcldumper/issues";
 
-    private static final String HELP_USAGE = "pcldumper [OPTION]... [FILE]";
+    private static final String HELP_USAGE = "pcldumper [OPTION]... FILE...";
+
+    /**
+     * Exit code if the dump was successful.
+     */
+    static final int EXIT_OK = 0;
+
+    /**
+     * Exit code if the online help has been shown (because of invalid command line arguments).
+     */
+    static final int EXIT_USAGE = 1;
+
+    /**
+     * Exit code if the dump failed.
+     */
+    static final int EXIT_ERROR = 2;
 
     /**
      * This is the entry point of PCL-Dumper.
@@ -54,99 +75,397 @@ public final class Main {
      * @param args   the command line arguments.
      */
     public static void main(final String[] args) {
+        final int rc = run(args, System.out, System.err);
+        if (rc != EXIT_OK) {
+            System.exit(rc);
+        }
+    }
 
-        final CommandLineParser parser = new DefaultParser();
-
+    /**
+     * Creates all valid command line options.
+     *
+     * @return all valid command line options.
+     */
+    static Options createOptions() {
         final Options options = new Options();
         options.addOption("q", "quiet", false, "do not show the PCL-Dumper header");
         options.addOption("v", "verbose", false, "show more details");
         options.addOption("o", "offsets", false, "show the offsets of the printer commands");
         options.addOption("h", "help", false, "shows this help");
         options.addOption("f", "file", true, "output file for the dump");
+        options.addOption("m", "mmap", false, "memory-map the input file");
+        options.addOption("i", "index", false, "create the page and job index (FILE.idx) instead of a dump");
+        options.addOption(Option.builder().longOpt("stats").desc("print statistics instead of a dump").build());
+        options.addOption(Option.builder().longOpt("join-text")
+                .desc("dump the text and cursor positioning of a line as one record").build());
+        options.addOption(longOption("max-data", "bytes", "hex-dump at most this many bytes of a data section"));
+        options.addOption(longOption("head", "bytes", "bytes to hex-dump from the start of a larger data section"));
+        options.addOption(longOption("tail", "bytes", "bytes to hex-dump from the end of a larger data section"));
+        options.addOption(longOption("page-budget", "bytes", "hex-dump at most this many bytes per page"));
+        options.addOption(longOption("job-budget", "bytes", "hex-dump at most this many bytes per job"));
+        options.addOption(longOption("from-offset", "offset", "dump the printer commands from this offset on"));
+        options.addOption(longOption("to-offset", "offset", "dump the printer commands before this offset"));
+        options.addOption(longOption("pages", "first-last", "dump only these pages (i. e. 120-140)"));
+        options.addOption(longOption("job", "number", "dump only this job"));
+        options.addOption(longOption("include", "patterns", "dump only these printer commands (i. e. PJL,(s,*bW)"));
+        options.addOption(longOption("exclude", "patterns", "do not dump these printer commands"));
+        options.addOption(longOption("details", "patterns", "show details only for these printer commands"));
+        options.addOption(longOption("format", "format", "format of the dump: text (default), json or binary"));
+        options.addOption(Option.builder("j").longOpt("threads").hasArg().argName("count")
+                .desc("number of files dumped in parallel (batch mode) or of threads that dump a single file")
+                .build());
+        options.addOption(Option.builder("d").longOpt("output-dir").hasArg().argName("dir")
+                .desc("write the dump of every file to its own file in this directory (batch mode)").build());
+
+        return options;
+    }
+
+    /**
+     * Runs PCL-Dumper with the given command line arguments. Unlike {@link #main(String[])} this method
+     * never exits the JVM, so it can also be invoked by the {@link PclDumperServer}.
+     *
+     * @param args   the command line arguments.
+     * @param out   the stream to which the dump (if no output file is given) and the online help is written.
+     * @param err   the stream to which error messages are written.
+     *
+     * @return the exit code ({@link #EXIT_OK}, {@link #EXIT_USAGE} or {@link #EXIT_ERROR}).
+     */
+    static int run(final String[] args, final PrintStream out, final PrintStream err) {
+
+        final CommandLineParser parser = new DefaultParser();
+        final Options options = createOptions();
 
         try {
             final CommandLine line = parser.parse(options, args);
             final String[] fileNames = line.getArgs();
 
-            if (line.hasOption("help") || fileNames.length != 1) {
-                showHelpAndExit(options);
+            if (line.hasOption("help") || fileNames.length == 0) {
+                return showHelp(options, out);
+            }
+
+            if (line.hasOption("index")) {
+                return createIndexes(fileNames, out, err);
             }
 
             final PclDumperBuilder builder = new PclDumperBuilder();
             builder.quiet(line.hasOption("quiet"));
             builder.showOffsets(line.hasOption("offsets"));
             builder.verbose(line.hasOption("verbose"));
+            builder.memoryMapped(line.hasOption("mmap"));
+            builder.statistics(line.hasOption("stats"));
+            builder.joinText(line.hasOption("join-text"));
 
-            try (final InputStream in = new FileInputStream(fileNames[0])) {
-                if (line.hasOption("file")) {
-                    dumpToFile(builder.build(), in, line.getOptionValue("file"));
-                } else {
-                    dumpToStandardOutput(builder.build(), in);
+            if (line.hasOption("max-data")) {
+                builder.maxDataSectionBytes((int) parseNumber(line, "max-data", Integer.MAX_VALUE));
+            }
+            if (line.hasOption("head") || line.hasOption("tail")) {
+                builder.dataSectionWindow(
+                        (int) parseNumber(line, "head", Integer.MAX_VALUE),
+                        (int) parseNumber(line, "tail", Integer.MAX_VALUE));
+            }
+            if (line.hasOption("page-budget")) {
+                builder.hexDumpBudgetPerPage(parseNumber(line, "page-budget", Long.MAX_VALUE));
+            }
+            if (line.hasOption("job-budget")) {
+                builder.hexDumpBudgetPerJob(parseNumber(line, "job-budget", Long.MAX_VALUE));
+            }
+
+            setRange(builder, line);
+            setFilter(builder, line);
+
+            if (line.hasOption("format")) {
+                builder.outputFormat(parseOutputFormat(line.getOptionValue("format")));
+            }
+
+            final int threads = line.hasOption("threads")
+                    ? (int) parseNumber(line, "threads", Integer.MAX_VALUE)
+                    : Runtime.getRuntime().availableProcessors();
+
+            if (threads == 0) {
+                throw new ParseException("Invalid value for option --threads: 0");
+            }
+
+            if (BatchDumper.isBatch(fileNames) || line.hasOption("output-dir")) {
+                if (builder.getOutputFormat() == OutputFormat.BINARY && !line.hasOption("output-dir")) {
+                    throw new ParseException("Binary dumps of more than one file need --output-dir");
                 }
-            } catch (final FileNotFoundException e) {
-                showError(e.getMessage());
-            } catch (final IOException e) {
-                showError(e.getMessage());
+                return dumpBatch(new BatchDumper(builder, threads, err), fileNames, line, out, err);
+            }
+
+            if (line.hasOption("threads")) {
+                builder.parallelism(threads);
+            }
+
+            final PclDumper dumper = builder.build();
+            if (line.hasOption("file")) {
+                return dumpToFile(dumper, new File(fileNames[0]), line.getOptionValue("file"), err);
+            } else {
+                return dumpToStandardOutput(dumper, new File(fileNames[0]), out, err);
             }
         } catch (final ParseException e) {
-            System.err.println(e.getMessage());
-            System.err.println();
-            showHelpAndExit(options);
+            err.println(e.getMessage());
+            err.println();
+            return showHelp(options, out);
         }
     }
 
     /**
-     * Dumps the PCL data stream to System.out.
+     * Creates an {@link Option} that has only a long name and requires an argument.
+     *
+     * @param name   the long name of the option.
+     * @param argName   the name of the argument shown in the online help.
+     * @param description   the description of the option.
+     *
+     * @return the {@link Option}.
+     */
+    private static Option longOption(final String name, final String argName, final String description) {
+        return Option.builder().longOpt(name).hasArg().argName(argName).desc(description).build();
+    }
+
+    /**
+     * Sets the range that is to be dumped (an offset range, a page range or a job).
+     *
+     * @param builder   the {@link PclDumperBuilder}.
+     * @param line   the parsed command line.
+     *
+     * @throws ParseException if more than one range is given or the range is invalid.
+     */
+    private static void setRange(final PclDumperBuilder builder, final CommandLine line) throws ParseException {
+        final boolean offsets = line.hasOption("from-offset") || line.hasOption("to-offset");
+        final boolean pages = line.hasOption("pages");
+        final boolean job = line.hasOption("job");
+
+        if ((offsets ? 1 : 0) + (pages ? 1 : 0) + (job ? 1 : 0) > 1) {
+            throw new ParseException("Only one of --from-offset/--to-offset, --pages and --job can be given");
+        }
+
+        try {
+            if (offsets) {
+                builder.offsets(
+                        parseNumber(line, "from-offset", Long.MAX_VALUE),
+                        line.hasOption("to-offset") ? parseNumber(line, "to-offset", Long.MAX_VALUE) : Long.MAX_VALUE);
+            } else if (pages) {
+                final String value = line.getOptionValue("pages");
+                final int dash = value.indexOf('-');
+                try {
+                    final int first = Integer.parseInt(dash < 0 ? value : value.substring(0, dash));
+                    builder.pages(first, dash < 0 ? first : Integer.parseInt(value.substring(dash + 1)));
+                } catch (final NumberFormatException e) {
+                    throw new ParseException("Invalid value for option --pages: " + value);
+                }
+            } else if (job) {
+                builder.job((int) parseNumber(line, "job", Integer.MAX_VALUE));
+            }
+        } catch (final IllegalArgumentException e) {
+            throw new ParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Sets the patterns of the printer commands that are dumped, that are not dumped and whose details
+     * are dumped.
+     *
+     * @param builder   the {@link PclDumperBuilder}.
+     * @param line   the parsed command line.
+     *
+     * @throws ParseException if a pattern is invalid.
+     */
+    private static void setFilter(final PclDumperBuilder builder, final CommandLine line) throws ParseException {
+        try {
+            if (line.hasOption("include")) {
+                builder.include(line.getOptionValue("include"));
+            }
+            if (line.hasOption("exclude")) {
+                builder.exclude(line.getOptionValue("exclude"));
+            }
+            if (line.hasOption("details")) {
+                builder.details(line.getOptionValue("details"));
+            }
+        } catch (final IllegalArgumentException e) {
+            throw new ParseException(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the {@link OutputFormat} with the given name (case is ignored).
+     *
+     * @param value   the name of the {@link OutputFormat}.
+     *
+     * @return the {@link OutputFormat}.
+     *
+     * @throws ParseException if there is no {@link OutputFormat} with the given name.
+     */
+    private static OutputFormat parseOutputFormat(final String value) throws ParseException {
+        try {
+            return OutputFormat.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            throw new ParseException("Invalid value for option --format: " + value);
+        }
+    }
+
+    /**
+     * Returns the non-negative numeric value of an option, or 0 if the option is not set. Values with the
+     * prefix "0x" are hexadecimal (like the offsets shown in the dump).
+     *
+     * @param line   the parsed command line.
+     * @param name   the long name of the option.
+     * @param max   the maximum allowed value.
+     *
+     * @return the value of the option.
+     *
+     * @throws ParseException if the value is not a number or out of range.
+     */
+    private static long parseNumber(final CommandLine line, final String name, final long max)
+            throws ParseException {
+
+        final String value = line.getOptionValue(name, "0");
+        try {
+            final long result = value.startsWith("0x") || value.startsWith("0X")
+                    ? Long.parseLong(value.substring(2), 16)
+                    : Long.parseLong(value);
+            if (result >= 0 && result <= max) {
+                return result;
+            }
+        } catch (final NumberFormatException e) {
+            // handled below...
+        }
+
+        throw new ParseException("Invalid value for option --" + name + ": " + value);
+    }
+
+    /**
+     * Creates the page and job index of every given file, writes it to the sidecar file and shows the
+     * number of pages and jobs.
+     *
+     * @param fileNames   the file names, directories, glob patterns and list files given on the command line.
+     * @param out   the stream to which the number of pages and jobs is written.
+     * @param err   the stream to which error messages are written.
+     *
+     * @return the exit code.
+     */
+    private static int createIndexes(final String[] fileNames, final PrintStream out, final PrintStream err) {
+        try {
+            for (final BatchDumper.Input input : BatchDumper.expand(fileNames)) {
+                final PclIndex index = PclIndex.create(input.getFile());
+                index.write(input.getFile());
+                out.println(input.getName() + ": " + index);
+            }
+            return EXIT_OK;
+        } catch (final IOException e) {
+            return showError(e.getMessage(), err);
+        }
+    }
+
+    /**
+     * Dumps many PCL files (batch mode) and shows the summary of the run.
+     *
+     * @param batchDumper   a ready to use (configured) {@link BatchDumper}.
+     * @param fileNames   the file names, directories, glob patterns and list files given on the command line.
+     * @param line   the parsed command line.
+     * @param out   the stream to which the combined dump is written (if no output file is given).
+     * @param err   the stream to which the summary and error messages are written.
+     *
+     * @return the exit code.
+     */
+    private static int dumpBatch(
+            final BatchDumper batchDumper,
+            final String[] fileNames,
+            final CommandLine line,
+            final PrintStream out,
+            final PrintStream err) {
+
+        try {
+            final List<BatchDumper.Input> inputs = BatchDumper.expand(fileNames);
+            final BatchDumper.Summary summary;
+
+            if (line.hasOption("output-dir")) {
+                summary = batchDumper.dumpToDirectory(inputs, new File(line.getOptionValue("output-dir")));
+            } else if (line.hasOption("file")) {
+                try (final OutputStream file = new FileOutputStream(line.getOptionValue("file"))) {
+                    summary = batchDumper.dumpCombined(inputs, file);
+                }
+            } else {
+                summary = batchDumper.dumpCombined(inputs, out);
+            }
+
+            err.println(summary);
+            return summary.getFailed() == 0 ? EXIT_OK : EXIT_ERROR;
+        } catch (final IOException e) {
+            return showError(e.getMessage(), err);
+        }
+    }
+
+    /**
+     * Dumps the PCL file to System.out.
      *
      * @param dumper   a ready to use (configured) {@link PclDumper}.
-     * @param in   the {@link InputStream} to read from
+     * @param in   the PCL file to read from
+     * @param out   the stream that is used as standard output.
+     * @param err   the stream to which error messages are written.
+     *
+     * @return the exit code.
      */
-    private static void dumpToStandardOutput(PclDumper dumper, InputStream in) {
+    private static int dumpToStandardOutput(PclDumper dumper, File in, PrintStream out, PrintStream err) {
         try {
-            dumper.dump(in, System.out);
-        } catch (IOException | PclException e) {
-            showError(e.getMessage());
+            dumper.dump(in, DumpOutput.of(out, Charset.defaultCharset()));
+            return EXIT_OK;
+        } catch (IOException | PclException | IllegalArgumentException e) {
+            return showError(e.getMessage(), err);
         }
     }
 
     /**
-     * Dumps the PCL data stream to a file.
+     * Dumps the PCL file to a file.
      *
      * @param dumper   a ready to use (configured) {@link PclDumper}.
-     * @param in   the {@link InputStream} to read from
+     * @param in   the PCL file to read from
      * @param fileName   the name of the output file.
+     * @param err   the stream to which error messages are written.
+     *
+     * @return the exit code.
      */
-    private static void dumpToFile(PclDumper dumper, InputStream in, String fileName) {
-        try (final PrintStream out = new PrintStream(fileName, "utf-8")) {
-            dumper.dump(in, out);
-        } catch (final PclException | IOException e) {
-            showError(e.getMessage());
+    private static int dumpToFile(PclDumper dumper, File in, String fileName, PrintStream err) {
+        try {
+            BatchDumper.dumpToFile(dumper, in, new File(fileName));
+            return EXIT_OK;
+        } catch (final PclException | IOException | IllegalArgumentException e) {
+            return showError(e.getMessage(), err);
         }
     }
 
     /**
-     * Shows the online help of PCL-Dumper and exits the JVM with RC=1.
+     * Shows the online help of PCL-Dumper.
      *
      * @param options   all valid command line options.
+     * @param out   the stream to which the online help is written.
+     *
+     * @return the exit code {@link #EXIT_USAGE}.
      */
-    private static final void showHelpAndExit(final Options options) {
+    private static int showHelp(final Options options, final PrintStream out) {
         final HelpFormatter formatter = new HelpFormatter();
-        formatter.printHelp(HELP_USAGE, HELP_HEADER, options, HELP_FOOTER);
-        System.exit(1);
+        final PrintWriter writer = new PrintWriter(out);
+        formatter.printHelp(writer, formatter.getWidth(), HELP_USAGE, HELP_HEADER, options,
+                formatter.getLeftPadding(), formatter.getDescPadding(), HELP_FOOTER);
+        writer.flush();
+        return EXIT_USAGE;
     }
 
     /**
      * Shows an error message.
      *
      * @param message   the message to show.
+     * @param err   the stream to which the error message is written.
+     *
+     * @return the exit code {@link #EXIT_ERROR}.
      */
-    private static final void showError(final String message) {
-        System.err.println();
-        System.err.println("**********************************************************************");
-        System.err.println();
-        System.err.println(message);
-        System.err.println();
-        System.err.println("**********************************************************************");
-        System.err.println();
+    private static int showError(final String message, final PrintStream err) {
+        err.println();
+        err.println("**********************************************************************");
+        err.println();
+        err.println(message);
+        err.println();
+        err.println("**********************************************************************");
+        err.println();
+        return EXIT_ERROR;
     }
 }
@@ -0,0 +1,175 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * The {@link MappedFileInputStream} reads a file through memory-mapped windows of the file, so the data
+ * is read directly from the page cache without a system call per read. Because a single
+ * {@link MappedByteBuffer} is limited to 2 GB, the file is mapped window by window and files of any
+ * size can be read.
+ *
+ * <p>Note that a mapped window is released by the garbage collector and not when the next window is
+ * mapped or the stream is closed.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    /**
+     * Default size of a mapped window (64 MB).
+     */
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long nextWindowStart;
+
+    /**
+     * Constructor of the {@link MappedFileInputStream} that uses the default window size.
+     *
+     * @param file   the file to be read.
+     *
+     * @throws IOException if the file can not be opened.
+     */
+    MappedFileInputStream(final File file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor of the {@link MappedFileInputStream}.
+     *
+     * @param file   the file to be read.
+     * @param windowSize   the size of a mapped window.
+     *
+     * @throws IOException if the file can not be opened.
+     */
+    MappedFileInputStream(final File file, final int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+
+        // RandomAccessFile reports a missing file the same way as FileInputStream does...
+        this.channel = new RandomAccessFile(file, "r").getChannel();
+        this.size = this.channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!this.ensureRemaining()) {
+            return -1;
+        }
+
+        return this.window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (offset < 0 || length < 0 || length > buffer.length - offset) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!this.ensureRemaining()) {
+            return -1;
+        }
+
+        final int count = Math.min(length, this.window.remaining());
+        this.window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(final long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+
+        final long position = this.position();
+        final long skipped = Math.min(count, this.size - position);
+
+        if (this.window != null && skipped <= this.window.remaining()) {
+            this.window.position(this.window.position() + (int) skipped);
+        } else {
+            this.window = null;
+            this.nextWindowStart = position + skipped;
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        this.ensureOpen();
+        return (int) Math.min(Integer.MAX_VALUE, this.size - this.position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.window = null;
+        this.channel.close();
+    }
+
+    /**
+     * Returns the current position within the file.
+     */
+    private long position() {
+        return this.window == null ? this.nextWindowStart : this.windowStart + this.window.position();
+    }
+
+    /**
+     * Maps the next window of the file if the current window has been read completely.
+     *
+     * @return false if the end of the file has been reached.
+     */
+    private boolean ensureRemaining() throws IOException {
+        if (this.window != null && this.window.hasRemaining()) {
+            return true;
+        }
+
+        this.ensureOpen();
+        if (this.nextWindowStart >= this.size) {
+            return false;
+        }
+
+        final long length = Math.min(this.windowSize, this.size - this.nextWindowStart);
+        this.window = this.channel.map(MapMode.READ_ONLY, this.nextWindowStart, length);
+        this.windowStart = this.nextWindowStart;
+        this.nextWindowStart += length;
+
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (!this.channel.isOpen()) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
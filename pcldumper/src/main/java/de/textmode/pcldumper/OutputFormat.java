@@ -0,0 +1,58 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The {@link OutputFormat} defines how the {@link PclDumper} writes the dump of the printer commands.
+ */
+public enum OutputFormat {
+
+    /**
+     * Human readable text with one line per printer command (and indented lines for the details).
+     */
+    TEXT(".txt"),
+
+    /**
+     * JSON Lines - one JSON object per printer command and line, for log and analytics pipelines. The
+     * objects contain the members <code>offset</code>, <code>type</code>, <code>command</code> and
+     * <code>description</code>, the optional members <code>summary</code> (the interpretation of the
+     * value), <code>data</code> (the length of the data section) and, in verbose mode, <code>details</code>
+     * (an array with the lines of the details).
+     */
+    JSON(".jsonl"),
+
+    /**
+     * A compact binary format that stores the printer commands in columns (delta-encoded offsets, the types
+     * as bytes, dictionary-encoded command strings, descriptions and summaries and the offsets and lengths of
+     * the data sections in the PCL data stream instead of copies of them). Such a dump is read with the
+     * {@link BinaryDumpReader}. It has no header and no details.
+     */
+    BINARY(".pcld");
+
+    private final String fileSuffix;
+
+    OutputFormat(final String fileSuffix) {
+        this.fileSuffix = fileSuffix;
+    }
+
+    /**
+     * Returns the suffix of the name of a file that contains a dump in this format.
+     */
+    String getFileSuffix() {
+        return this.fileSuffix;
+    }
+}
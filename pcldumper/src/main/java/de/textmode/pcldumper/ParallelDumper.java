@@ -0,0 +1,208 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.textmode.pclbox.PclException;
+
+/**
+ * The {@link ParallelDumper} dumps a single PCL printer data stream on a pool of worker threads. The data
+ * stream is cut into chunks at the page and job boundaries of its {@link PclIndex}, where the parser does
+ * not carry any state from one chunk to the next. Every chunk is dumped by its own {@link PclDumper} whose
+ * {@link PclDumperContext} is seeded with the state recorded in the index. The dumps of the chunks are
+ * written in order, so the result is identical to the dump of a single {@link PclDumper}.
+ *
+ * <p>To limit the memory needed for the dumps that wait to be written, only twice as many chunks as there
+ * are threads are dumped ahead of the chunk that is written next.
+ */
+final class ParallelDumper {
+
+    /**
+     * Default minimum size of a chunk (256 KB).
+     */
+    static final long DEFAULT_MIN_CHUNK_SIZE = 256 * 1024;
+
+    /**
+     * Maximum size of a chunk (1 MB). The verbose dump of a chunk is about ten times larger than the
+     * chunk and is kept in memory until it is written, so chunks must not be too large.
+     */
+    private static final long MAX_CHUNK_SIZE = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final PclDumper template;
+    private final int threads;
+    private final long minChunkSize;
+
+    /**
+     * Constructor of the {@link ParallelDumper}.
+     *
+     * @param template   the {@link PclDumper} whose configuration is used for the chunks.
+     * @param threads   the number of worker threads.
+     * @param minChunkSize   the minimum size of a chunk.
+     */
+    ParallelDumper(final PclDumper template, final int threads, final long minChunkSize) {
+        this.template = template;
+        this.threads = threads;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Returns true if the region is large enough to be dumped in more than one chunk.
+     *
+     * @param region   the region of the PCL printer data stream.
+     */
+    boolean isWorthwhile(final DumpRange.Region region) {
+        return this.threads > 1 && region.getEnd() - region.getStart() >= 2 * this.minChunkSize;
+    }
+
+    /**
+     * Dumps a region of a PCL printer data stream in chunks.
+     *
+     * @param index   the {@link PclIndex} of the PCL printer data stream.
+     * @param region   the region that is to be dumped.
+     * @param source   the {@link PclDumper.RegionSource} that reads the chunks.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    void dump(
+            final PclIndex index,
+            final DumpRange.Region region,
+            final PclDumper.RegionSource source,
+            final DumpOutput out) throws IOException, PclException {
+
+        final List<DumpRange.Region> chunks = this.split(index, region);
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        try {
+            final Deque<Future<ChunkOutput>> pending = new ArrayDeque<>();
+            int next = 0;
+
+            while (next < chunks.size() || !pending.isEmpty()) {
+                while (next < chunks.size() && pending.size() < this.threads * 2) {
+                    pending.add(executor.submit(this.createTask(chunks.get(next), source, next == 0)));
+                    ++next;
+                }
+
+                await(pending.removeFirst()).writeTo(out);
+            }
+
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Cuts the region into chunks at page and job boundaries.
+     */
+    List<DumpRange.Region> split(final PclIndex index, final DumpRange.Region region) {
+        final long size = region.getEnd() - region.getStart();
+        final long chunkSize = Math.max(
+                this.minChunkSize,
+                Math.min(MAX_CHUNK_SIZE, size / (this.threads * CHUNKS_PER_THREAD)));
+
+        final List<DumpRange.Region> chunks = new ArrayList<>();
+
+        DumpRange.Region chunk = region;
+        long cut = index.getBoundaryAtOrAfter(chunk.getStart() + chunkSize);
+        while (cut < region.getEnd()) {
+            chunks.add(chunk.until(cut));
+            chunk = chunk.from(cut, index.getTextParsingMethodAt(cut), index.getRasterStateAt(cut));
+            cut = index.getBoundaryAtOrAfter(cut + chunkSize);
+        }
+        chunks.add(chunk);
+
+        return chunks;
+    }
+
+    private Callable<ChunkOutput> createTask(
+            final DumpRange.Region chunk,
+            final PclDumper.RegionSource source,
+            final boolean first) {
+
+        return new Callable<ChunkOutput>() {
+            @Override
+            public ChunkOutput call() throws IOException, PclException {
+                final ChunkOutput dump = new ChunkOutput();
+                try (final InputStream in = source.open(chunk)) {
+                    ParallelDumper.this.template.createChunkDumper(first).dump(in, dump, chunk);
+                }
+                return dump;
+            }
+        };
+    }
+
+    private static ChunkOutput await(final Future<ChunkOutput> future) throws IOException, PclException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the dump of a chunk");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof PclException) {
+                throw (PclException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw (Error) cause;
+            }
+        }
+    }
+
+    /**
+     * The {@link ChunkOutput} keeps the dump of a chunk in memory until it is written. The blocks written by
+     * the {@link ColumnWriter} are kept as they are, so the dump is neither copied to grow a buffer nor
+     * converted before it is written.
+     */
+    private static final class ChunkOutput extends DumpOutput {
+
+        private final List<char[]> blocks = new ArrayList<>();
+
+        @Override
+        void write(final char[] chars, final int offset, final int length) {
+            this.blocks.add(Arrays.copyOfRange(chars, offset, offset + length));
+        }
+
+        @Override
+        void flush() {
+            // Nothing to do - the dump is written by writeTo()...
+        }
+
+        void writeTo(final DumpOutput out) throws IOException {
+            for (final char[] block : this.blocks) {
+                out.write(block, 0, block.length);
+            }
+        }
+    }
+}
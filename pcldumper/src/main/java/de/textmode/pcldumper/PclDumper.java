@@ -16,11 +16,15 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
-import java.nio.charset.Charset;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.io.input.CountingInputStream;
 
 import de.textmode.pclbox.ControlCharacterCommand;
 import de.textmode.pclbox.HpglCommand;
@@ -33,29 +37,66 @@ import de.textmode.pclbox.PrinterCommandHandler;
 import de.textmode.pclbox.PrinterCommandVisitor;
 import de.textmode.pclbox.TextCommand;
 import de.textmode.pclbox.TwoBytePclCommand;
+import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
 
 /**
  * The {@link PclDumper} parses a PCL file and prints all printer commands.
  */
 public final class PclDumper implements PrinterCommandHandler, PrinterCommandVisitor {
 
-    private static final PrinterCommandExecutorMap EXECUTORS = new PrinterCommandExecutorMap();
-
     private static final Package PCLDUMPER_PACKAGE = PclDumper.class.getPackage();
     private static final String PCLDUMPER_DEFAULT_VERSION = "0.0";
     private static final String PCLDUMPER_DEFAULT_URL = "https://github.com/michaelknigge/pcldumper";
 
-    private static final String INDENTION_WITH_OFFSETS = "                                    ";
-    private static final String INDENTION_WITHOUT_OFFSETS = "                         ";
-
     private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
 
+    /**
+     * The keys of the horizontal cursor positioning commands that are joined with the text of a line.
+     */
+    private static final int[] HORIZONTAL_POSITIONING = {
+        CommandKey.of("*pX"),
+        CommandKey.of("&aC"),
+        CommandKey.of("&aH"),
+    };
+
+    /**
+     * The keys of the vertical cursor positioning commands that end a line of text (even if not dumped).
+     */
+    private static final int[] VERTICAL_POSITIONING = {
+        CommandKey.of("*pY"),
+        CommandKey.of("&aR"),
+        CommandKey.of("&aV"),
+    };
+
+    private static final int TEXT_PARSING_METHOD = CommandKey.of("&tP");
+    private static final int PAPER_SOURCE = CommandKey.of("&lH");
+
     private final boolean quiet;
     private final boolean verbose;
     private final boolean showOffsets;
+    private final HexDumpLimits hexDumpLimits;
+    private final boolean memoryMapped;
+    private final boolean trackPages;
+    private final DumpRange range;
+    private final int parallelism;
+    private final OutputFormat outputFormat;
+    private final boolean statistics;
+    private final boolean joinText;
+    private final CommandFilter filter;
+    private final boolean rasterDataDecoded;
+    private final PrinterCommandExecutorMap executors = new PrinterCommandExecutorMap();
 
     private PclDumperContext context;
-    private PrintStream outputStream;
+    private DumpRange.Region region;
+    private long regionEnd;
+    private ColumnWriter line;
+    private CommandRenderer renderer;
+    private TextDecoder textDecoder;
+    private boolean dumped;
+    private boolean detailed;
+    private final StringBuilder textRun = new StringBuilder();
+    private long textRunOffset = -1;
+    private long incompleteCharacterOffset;
 
     /**
      * Constructor that internally creates a {@link FileInputStream} for reading and seeking
@@ -65,88 +106,521 @@ public final class PclDumper implements PrinterCommandHandler, PrinterCommandVis
      * @param showOffsets   true if offsets should be printed.
      * @param showHpGl   true if HP/GL commands should be printed.
      * @param verbose   true if more details should be printed.
+     * @param hexDumpLimits   the {@link HexDumpLimits} for the hex dumps of data sections.
+     * @param memoryMapped   true if input files should be memory-mapped.
+     * @param range   the {@link DumpRange} that is to be dumped.
+     * @param parallelism   the number of threads that dump a single file or {@link ByteBuffer}.
+     * @param outputFormat   the {@link OutputFormat} of the dump.
+     * @param statistics   true if a report with statistics should be printed instead of a dump.
+     * @param joinText   true if the text of a line should be dumped as one record.
+     * @param filter   the {@link CommandFilter} that selects the printer commands that are dumped.
      */
-    PclDumper(final boolean quiet, final boolean showOffsets, final boolean verbose) {
+    PclDumper(
+            final boolean quiet,
+            final boolean showOffsets,
+            final boolean verbose,
+            final HexDumpLimits hexDumpLimits,
+            final boolean memoryMapped,
+            final DumpRange range,
+            final int parallelism,
+            final OutputFormat outputFormat,
+            final boolean statistics,
+            final boolean joinText,
+            final CommandFilter filter) {
+
         this.quiet = quiet;
         this.showOffsets = showOffsets;
-        this.verbose = verbose;
+        // The binary dump references the data sections instead of dumping them, so there are no details...
+        this.verbose = verbose && outputFormat != OutputFormat.BINARY;
+        this.hexDumpLimits = hexDumpLimits;
+        this.trackPages = this.verbose && hexDumpLimits.hasBudget();
+        this.memoryMapped = memoryMapped;
+        this.range = range;
+        this.parallelism = parallelism;
+        // The report of the statistics is always written as text...
+        this.outputFormat = statistics ? OutputFormat.TEXT : outputFormat;
+        this.statistics = statistics;
+        // The details of a printer command and the references of the binary dump need a record per command...
+        this.joinText = joinText && !this.verbose && outputFormat != OutputFormat.BINARY;
+        this.filter = filter;
+        // The raster data is only decoded if the filter can show a transfer of raster data or the totals of an
+        // image - otherwise the seed rows are never needed...
+        this.rasterDataDecoded = filter.isShown("*bW") || filter.isShown("*bV")
+                || filter.isShown("*rB") || filter.isShown("*rC");
+    }
+
+    /**
+     * The {@link RegionSource} reads a region of a PCL printer data stream that can be repositioned.
+     */
+    interface RegionSource {
+
+        /**
+         * Opens the given region of the PCL printer data stream.
+         *
+         * @param region   the region.
+         *
+         * @return an {@link InputStream} that reads the region (and nothing after the region).
+         *
+         * @throws IOException if an I/O error occurs
+         */
+        InputStream open(final DumpRange.Region region) throws IOException;
     }
 
     /**
-     * Performs the parsing and dumping of the PCL printer data stream.
+     * Performs the parsing and dumping of a PCL file. Depending on the configuration of the
+     * {@link PclDumperBuilder}, the file is memory-mapped or read with a {@link FileInputStream}.
+     *
+     * <p>If only a range of the file is to be dumped or the file is to be dumped by more than one thread,
+     * the {@link PclIndex} of the file is used to seek directly to the range or to the chunks. If the file
+     * has no (up to date) index, the index is created and stored first.
+     *
+     * @param file   the PCL file to be parsed.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final File file, final DumpOutput out) throws IOException, PclException {
+        if (this.range.isAll() && this.parallelism == 1) {
+            try (final InputStream in = this.open(file)) {
+                this.dump(in, out, DumpRange.Region.ALL);
+            }
+            return;
+        }
+
+        this.dump(PclIndex.get(file), new RegionSource() {
+            @Override
+            public InputStream open(final DumpRange.Region region) throws IOException {
+                final InputStream in = PclDumper.this.open(file);
+                try {
+                    skipFully(in, region.getStart());
+                } catch (final IOException e) {
+                    in.close();
+                    throw e;
+                }
+                return new BoundedInputStream(in, region.getEnd() - region.getStart());
+            }
+        }, out);
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream. Because an {@link InputStream} can
+     * not be repositioned, a range of the data stream can not be dumped with this method (an
+     * {@link IllegalStateException} is thrown if the {@link PclDumper} has been built to dump a range).
      *
      * @param in   the input PCL data stream to be parsed.
-     * @param out   the output stream to which the dump will be written.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
      *
      * @throws PclException if the parsed PCL data stream contains an error
      * @throws IOException if an I/O error occurs
      */
-    public void dump(final InputStream in, final PrintStream out) throws IOException, PclException {
+    public void dump(final InputStream in, final DumpOutput out) throws IOException, PclException {
+        if (!this.range.isAll()) {
+            throw new IllegalStateException("A range (" + this.range + ") can not be dumped from an InputStream");
+        }
 
-        if (!this.quiet) {
-            out.println("PCL-Dumper " + this.getImplementationVersion() + " - " + this.getImplementationVendor());
-            out.println("-----------------------------------------------------------------------------");
-            out.println(" ");
+        this.dump(in, out, DumpRange.Region.ALL);
+    }
+
+    /**
+     * Performs the parsing and dumping of the range of a PCL printer data stream that can be repositioned.
+     * The data stream is dumped in chunks by a {@link ParallelDumper} if more than one thread is to be used,
+     * unless the hex dumps are limited per page or job (these limits need all pages of the data stream), the
+     * dump is binary (the binary dumps of the chunks can not be concatenated) or statistics are collected.
+     *
+     * @param index   the {@link PclIndex} of the PCL printer data stream.
+     * @param source   the {@link RegionSource} that reads the PCL printer data stream.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    private void dump(final PclIndex index, final RegionSource source, final DumpOutput out)
+            throws IOException, PclException {
+
+        final DumpRange.Region resolved = this.range.resolve(index);
+
+        // More threads than processors would just compete for the processors...
+        final int threads = Math.min(this.parallelism, Runtime.getRuntime().availableProcessors());
+        final ParallelDumper parallelDumper =
+                new ParallelDumper(this, threads, ParallelDumper.DEFAULT_MIN_CHUNK_SIZE);
+
+        final boolean sequential = this.trackPages || this.statistics || this.outputFormat == OutputFormat.BINARY;
+        if (!sequential && parallelDumper.isWorthwhile(resolved)) {
+            parallelDumper.dump(index, resolved, source, out);
+        } else {
+            try (final InputStream in = source.open(resolved)) {
+                this.dump(in, out, resolved);
+            }
         }
+    }
+
+    /**
+     * Performs the parsing and dumping of a region of a PCL printer data stream.
+     *
+     * @param in   the input PCL data stream to be parsed, positioned at the start of the region.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     * @param dumpRegion   the {@link DumpRange.Region} that is parsed.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    void dump(final InputStream in, final DumpOutput out, final DumpRange.Region dumpRegion)
+            throws IOException, PclException {
 
-        this.outputStream = out;
+        this.line = new ColumnWriter(out);
+        this.renderer = this.createRenderer(out);
         this.context = new PclDumperContext();
+        // JSON has its own (lossless) escaping of control characters...
+        this.textDecoder = new TextDecoder(this.outputFormat == OutputFormat.TEXT);
+        this.context.setTextParsingMethod(TextParsingMethod.forValue(dumpRegion.getTextParsingMethod()));
+        this.context.setRasterState(dumpRegion.getRasterState());
+        this.context.setRasterDataDecoded(this.rasterDataDecoded);
+        this.region = dumpRegion;
+        this.regionEnd = Long.MAX_VALUE;
 
-        try (final PclParser parser = new PclParser(in, this)) {
+        if (!this.quiet) {
+            this.renderer.writeHeader(this.getImplementationVersion(), this.getImplementationVendor());
+        }
+
+        // Only the binary dump needs to know where the data stream ends (the data section of the last printer
+        // command ends there), so the bytes are not counted for the other formats...
+        final CountingInputStream counter = new CountingInputStream(in);
+        final InputStream source = this.outputFormat == OutputFormat.BINARY ? counter : in;
+        final PclStatistics collector = this.statistics ? new PclStatistics(dumpRegion) : null;
+
+        try (final PclParser parser = new PclParser(source, collector == null ? this : collector)) {
             parser.parse();
+            if (collector == null) {
+                this.finishText();
+                this.flushTextRun();
+                this.renderer.endDump(Math.min(this.regionEnd, dumpRegion.getStart() + counter.getByteCount()));
+            } else {
+                collector.writeReport(this.line);
+            }
+        } finally {
+            this.line.flush();
+        }
+
+        this.line.checkError();
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream held in a {@link ByteBuffer}. The
+     * remaining bytes of the buffer (heap or direct) are read in place, so the data stream is not copied.
+     * The position and the limit of the buffer are not changed. The offsets are relative to the position
+     * of the buffer.
+     *
+     * @param data   the PCL data stream to be parsed.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final ByteBuffer data, final DumpOutput out) throws IOException, PclException {
+        if (this.range.isAll() && this.parallelism == 1) {
+            this.dump(new ByteBufferInputStream(data), out, DumpRange.Region.ALL);
+            return;
+        }
+
+        this.dump(PclIndex.scan(new ByteBufferInputStream(data)), new RegionSource() {
+            @Override
+            public InputStream open(final DumpRange.Region region) {
+                final ByteBuffer slice = data.duplicate();
+                slice.position(data.position() + (int) region.getStart());
+                slice.limit(data.position() + (int) region.getEnd());
+                return new ByteBufferInputStream(slice);
+            }
+        }, out);
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream held in a byte array. The bytes are
+     * read in place, so the data stream is not copied. The offsets are relative to <code>offset</code>.
+     *
+     * @param data   the byte array that contains the PCL data stream to be parsed.
+     * @param offset   the index of the first byte of the PCL data stream.
+     * @param length   the length of the PCL data stream.
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final byte[] data, final int offset, final int length, final DumpOutput out)
+            throws IOException, PclException {
+
+        if (offset < 0 || length < 0 || length > data.length - offset) {
+            throw new IndexOutOfBoundsException("Invalid range " + offset + "/" + length + " of " + data.length);
+        }
+
+        this.dump(ByteBuffer.wrap(data, offset, length).slice(), out);
+    }
+
+    /**
+     * Performs the parsing and dumping of a PCL file to a {@link PrintStream}.
+     *
+     * @param file   the PCL file to be parsed.
+     * @param out   the output stream to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final File file, final PrintStream out) throws IOException, PclException {
+        this.dump(file, DumpOutput.of(out));
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream to a {@link PrintStream}.
+     *
+     * @param in   the input PCL data stream to be parsed.
+     * @param out   the output stream to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final InputStream in, final PrintStream out) throws IOException, PclException {
+        this.dump(in, DumpOutput.of(out));
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream held in a {@link ByteBuffer} to
+     * a {@link PrintStream}.
+     *
+     * @param data   the PCL data stream to be parsed.
+     * @param out   the output stream to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final ByteBuffer data, final PrintStream out) throws IOException, PclException {
+        this.dump(data, DumpOutput.of(out));
+    }
+
+    /**
+     * Performs the parsing and dumping of the PCL printer data stream held in a byte array to
+     * a {@link PrintStream}.
+     *
+     * @param data   the byte array that contains the PCL data stream to be parsed.
+     * @param offset   the index of the first byte of the PCL data stream.
+     * @param length   the length of the PCL data stream.
+     * @param out   the output stream to which the dump will be written.
+     *
+     * @throws PclException if the parsed PCL data stream contains an error
+     * @throws IOException if an I/O error occurs
+     */
+    public void dump(final byte[] data, final int offset, final int length, final PrintStream out)
+            throws IOException, PclException {
+
+        this.dump(data, offset, length, DumpOutput.of(out));
+    }
+
+    /**
+     * Creates a {@link PclDumper} with the same configuration that dumps a chunk of the PCL printer data
+     * stream for a {@link ParallelDumper}. Only the dumper of the first chunk writes the header.
+     *
+     * @param first   true if the dumper is used for the first chunk.
+     *
+     * @return the {@link PclDumper}.
+     */
+    PclDumper createChunkDumper(final boolean first) {
+        return new PclDumper(
+                this.quiet || !first,
+                this.showOffsets,
+                this.verbose,
+                this.hexDumpLimits,
+                this.memoryMapped,
+                DumpRange.ALL,
+                1,
+                this.outputFormat,
+                false,
+                this.joinText,
+                this.filter);
+    }
+
+    /**
+     * Creates the {@link CommandRenderer} for the {@link OutputFormat} of the dump.
+     *
+     * @param out   the {@link DumpOutput} to which the dump will be written.
+     *
+     * @return the {@link CommandRenderer}.
+     */
+    private CommandRenderer createRenderer(final DumpOutput out) {
+        switch (this.outputFormat) {
+        case JSON:
+            return new JsonRenderer(this.line, this.hexDumpLimits);
+
+        case BINARY:
+            return new BinaryRenderer(out);
+
+        default:
+            return new TextRenderer(this.line, this.showOffsets, this.hexDumpLimits);
+        }
+    }
+
+    /**
+     * Opens the given PCL file for reading.
+     *
+     * @param file   the PCL file to be opened.
+     *
+     * @return an {@link InputStream} that memory-maps the file or a {@link FileInputStream}.
+     *
+     * @throws IOException if the file can not be opened
+     */
+    InputStream open(final File file) throws IOException {
+        return this.memoryMapped ? new MappedFileInputStream(file) : new FileInputStream(file);
+    }
+
+    /**
+     * Skips the given number of bytes of an {@link InputStream}.
+     */
+    private static void skipFully(final InputStream in, final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = in.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (in.read() >= 0) {
+                --remaining;
+            } else {
+                throw new EOFException("Unexpected end of file while seeking to offset " + count);
+            }
         }
     }
 
     @Override
     public void handlePrinterCommand(final PrinterCommand command) throws IOException {
-        if (this.showOffsets) {
-            this.outputStream.print(String.format("%08X : ", command.getOffset()));
+        final long offset = this.region.getStart() + command.getOffset();
+        if (!this.region.isShown(offset)) {
+            // The printer command is outside of the range that is to be dumped, but it may change the
+            // state of the context (i. e. the text parsing method)...
+            this.executors.updateContext(command, this.context);
+            if (this.region.isBehind(offset)) {
+                this.regionEnd = Math.min(this.regionEnd, offset);
+            }
+            return;
+        }
+
+        if (this.textDecoder.getIncompleteCharacterLength() > 0 && endsIncompleteCharacter(command)) {
+            this.finishText();
+        }
+
+        if (this.textRunOffset >= 0 && !continuesTextRun(command)
+                && (endsLine(command) || this.select(command) != CommandFilter.HIDDEN)) {
+            this.flushTextRun();
         }
 
+        this.dumped = false;
         command.accept(this);
+        if (this.dumped) {
+            this.renderer.endCommand();
+            this.line.checkError();
+        }
     }
 
     @Override
     public void handle(final TextCommand command) {
-        // TODO  prettyPrint (for stuff < ASCII 32)
-        final Charset charset = this.context.getTextParsingMethod().getCharset();
-        if (this.verbose) {
+        if (!this.isSelected(this.filter.select(command), command)) {
+            // The text that is not dumped may complete a character that must not be glued to the next text...
+            this.textDecoder.discard();
+            return;
+        }
+
+        final TextParsingMethod method = this.context.getTextParsingMethod();
+        if (this.outputFormat == OutputFormat.BINARY) {
+            // The binary dump references the text in the data stream instead of decoding it...
+            this.printPrinterCommandLine(
+                    command, "TEXT", "", command.getTextualDescription(), command.getText().length);
+        } else if (this.detailed) {
             this.printPrinterCommandLine(command, "TEXT", "", command.getTextualDescription());
 
-            this.printIndentedLine("Length (Bytes) : " + command.getText().length);
-            this.printIndentedLine("Parsing Method : " + this.context.getTextParsingMethod());
-            this.printIndentedLine("Hexadecimal    : " + bytesToHexString(command.getText()));
-            this.printIndentedLine("Decoded        : " + new String(command.getText(), charset));
+            final DetailsWriter details = this.renderer.getDetailsWriter();
+            details.startLine().append("Length (Bytes) : ").append(command.getText().length).endLine();
+            details.startLine().append("Parsing Method : ").append(method.toString()).endLine();
+            details.startLine().append("Hexadecimal    : ").appendHex(command.getText()).endLine();
+            details.startLine().append("Decoded        : ").append(this.decode(method, command)).endLine();
+        } else if (this.joinText) {
+            if (this.textRunOffset < 0) {
+                this.textRunOffset = this.region.getStart() + command.getOffset();
+            }
+            this.textRun.append(this.decode(method, command));
         } else {
-            this.printPrinterCommandLine(command, "TEXT", "", new String(command.getText(), charset));
+            this.printPrinterCommandLine(command, "TEXT", "", this.decode(method, command));
         }
     }
 
     @Override
     public void handle(final ControlCharacterCommand command) {
+        if (this.trackPages && "0x0C".equals(command.toDisplayString())) {
+            this.renderer.newPage();
+        }
+
+        if (!this.isSelected(this.filter.select(command), command)) {
+            return;
+        }
+
         this.printPrinterCommandLine(command, "CNTL", command.toDisplayString(), command.getTextualDescription());
     }
 
     @Override
     public void handle(final TwoBytePclCommand command) {
+        if (this.trackPages && "E".equals(command.toDisplayString())) {
+            this.renderer.newPage();
+        }
+
+        if (!this.isSelected(this.filter.select(command), command)) {
+            return;
+        }
+
         this.printPrinterCommandLine(command, "PCL", command.toDisplayString(), command.getTextualDescription());
     }
 
     @Override
     public void handle(final ParameterizedPclCommand command) {
-        this.printPrinterCommandLine(command, "PCL", command.toDisplayString(), command.getTextualDescription());
+        if (this.trackPages) {
+            if ("%-12345X".equals(command.toDisplayString())) {
+                this.renderer.newJob();
+            } else if ("&lH".equals(command.toCommandString())) {
+                this.renderer.newPage();
+            }
+        }
+
+        if (!this.isSelected(this.filter.select(command), command)) {
+            return;
+        }
+
+        if (this.textRunOffset >= 0) {
+            // Any other dumped printer command has already ended the line of text in handlePrinterCommand...
+            this.textRun.append('{').append(command.toDisplayString()).append('}');
+            return;
+        }
+
+        final byte[] dataSection = command.getDataSection();
+        this.printPrinterCommandLine(
+                command,
+                "PCL",
+                command.toDisplayString(),
+                command.getTextualDescription(),
+                dataSection == null ? -1 : dataSection.length);
     }
 
     @Override
     public void handle(final PjlCommand command) {
+        if (!this.isSelected(this.filter.select(command), command)) {
+            return;
+        }
+
         this.printPrinterCommandLine(command, "PJL", "@PJL", command.toDisplayString());
     }
 
     @Override
     public void handle(final HpglCommand command) {
+        if (!this.isSelected(this.filter.select(command), command)) {
+            return;
+        }
+
         this.printPrinterCommandLine(command, "HPGL", command.toCommandString(), command.getTextualDescription());
-        if (this.verbose) {
-            this.printIndentedLine(command.toDisplayString());
+        if (this.detailed) {
+            this.renderer.getDetailsWriter().startLine().append(command.toDisplayString()).endLine();
         }
     }
 
@@ -182,36 +656,176 @@ public final class PclDumper implements PrinterCommandHandler, PrinterCommandVis
         }
     }
 
-    private void printPrinterCommandLine(
-            final PrinterCommand cmd,
-            final String type,
-            final String command,
-            final String description) {
+    /**
+     * Handles the selection of the {@link CommandFilter} for the given {@link PrinterCommand}. A printer
+     * command that is not dumped is not "executed" (unless it changes the context) and no strings are
+     * built for it.
+     *
+     * @return true if the printer command is dumped.
+     */
+    private boolean isSelected(final int selection, final PrinterCommand command) {
+        if (selection == CommandFilter.HIDDEN) {
+            this.executors.updateContext(command, this.context);
+            this.renderer.skipCommand(this.region.getStart() + command.getOffset());
+            return false;
+        }
 
-        final PrinterCommandDetails details = EXECUTORS.executeFor(cmd, this.context);
-        final String toPrint;
-        if (details.getSummary().length() > 0) {
-            toPrint = description + " (" + details.getSummary() + ")";
-        } else {
-            toPrint = description;
+        this.detailed = this.verbose && selection == CommandFilter.DETAILED;
+        return true;
+    }
+
+    /**
+     * Returns true if the given {@link PrinterCommand} continues a line of text that is joined into one
+     * record - a text command or a horizontal cursor positioning command.
+     */
+    private static boolean continuesTextRun(final PrinterCommand command) {
+        if (command instanceof TextCommand) {
+            return true;
         }
+        return command instanceof ParameterizedPclCommand
+                && contains(HORIZONTAL_POSITIONING, CommandKey.of((ParameterizedPclCommand) command));
+    }
 
-        this.outputStream.println(String.format("%1$-8s %2$-15s %3$s", type, command, toPrint));
+    /**
+     * Returns true if the given {@link PrinterCommand} moves to another line - a vertical cursor positioning
+     * command, a line feed or a form feed. A line of text that is joined into one record ends there, even if
+     * the printer command is not dumped.
+     */
+    private static boolean endsLine(final PrinterCommand command) {
+        if (command instanceof ControlCharacterCommand) {
+            final int character = ((ControlCharacterCommand) command).getControlCharacter();
+            return character == '\n' || character == '\f';
+        }
+        return command instanceof ParameterizedPclCommand
+                && contains(VERTICAL_POSITIONING, CommandKey.of((ParameterizedPclCommand) command));
+    }
 
-        if (this.verbose) {
-            for (final String s : details.getDetails()) {
-                this.printIndentedLine(s);
+    private static boolean contains(final int[] keys, final int key) {
+        for (final int candidate : keys) {
+            if (candidate == key) {
+                return true;
             }
         }
+        return false;
     }
 
-    private void printIndentedLine(final String text) {
-        if (this.showOffsets) {
-            this.outputStream.print(INDENTION_WITH_OFFSETS);
-        } else {
-            this.outputStream.print(INDENTION_WITHOUT_OFFSETS);
+    /**
+     * Selects the given {@link PrinterCommand} with the {@link CommandFilter}.
+     *
+     * @return {@link CommandFilter#HIDDEN}, {@link CommandFilter#SHOWN} or {@link CommandFilter#DETAILED}.
+     */
+    private int select(final PrinterCommand command) {
+        if (command instanceof TextCommand) {
+            return this.filter.select((TextCommand) command);
+        } else if (command instanceof ControlCharacterCommand) {
+            return this.filter.select((ControlCharacterCommand) command);
+        } else if (command instanceof TwoBytePclCommand) {
+            return this.filter.select((TwoBytePclCommand) command);
+        } else if (command instanceof ParameterizedPclCommand) {
+            return this.filter.select((ParameterizedPclCommand) command);
+        } else if (command instanceof PjlCommand) {
+            return this.filter.select((PjlCommand) command);
+        }
+        return this.filter.select((HpglCommand) command);
+    }
+
+    /**
+     * Returns true if an incomplete character at the end of the last text can not be completed after the
+     * given {@link PrinterCommand} - a text parsing method command or a page or job boundary. The
+     * {@link ParallelDumper} cuts the data stream at the page and job boundaries, so the incomplete character
+     * is finished there like at the end of a chunk.
+     */
+    private static boolean endsIncompleteCharacter(final PrinterCommand command) {
+        if (command instanceof ControlCharacterCommand) {
+            return "0x0C".equals(command.toDisplayString());
+        } else if (command instanceof TwoBytePclCommand) {
+            return "E".equals(command.toDisplayString());
+        } else if (command instanceof ParameterizedPclCommand) {
+            final int key = CommandKey.of((ParameterizedPclCommand) command);
+            return key == TEXT_PARSING_METHOD || key == PAPER_SOURCE || "%-12345X".equals(command.toDisplayString());
+        }
+        return false;
+    }
+
+    /**
+     * Decodes the text of a text command and remembers where an incomplete character at its end starts.
+     */
+    private String decode(final TextParsingMethod method, final TextCommand command) {
+        final byte[] text = command.getText();
+        final String decoded = this.textDecoder.decode(method, text);
+
+        final int incomplete = this.textDecoder.getIncompleteCharacterLength();
+        if (incomplete > 0 && incomplete <= text.length) {
+            this.incompleteCharacterOffset = this.region.getStart() + command.getOffset() + text.length - incomplete;
+        }
+        return decoded;
+    }
+
+    /**
+     * Writes the replacement of an incomplete character that can not be completed any more - as part of the
+     * joined line of text or as a record of its own.
+     */
+    private void finishText() throws IOException {
+        final String text = this.textDecoder.finish();
+        if (text.isEmpty()) {
+            return;
+        }
+
+        if (this.textRunOffset >= 0) {
+            this.textRun.append(text);
+            return;
         }
 
-        this.outputStream.println(">>> " + text);
+        this.renderer.startCommand(this.incompleteCharacterOffset, "TEXT", "", text, "", -1);
+        this.renderer.endCommand();
+        this.line.checkError();
+    }
+
+    /**
+     * Writes the record of the joined line of text, if there is one.
+     */
+    private void flushTextRun() throws IOException {
+        if (this.textRunOffset < 0) {
+            return;
+        }
+
+        this.renderer.startCommand(this.textRunOffset, "TEXT", "", this.textRun.toString(), "", -1);
+        this.renderer.endCommand();
+        this.line.checkError();
+
+        this.textRun.setLength(0);
+        this.textRunOffset = -1;
+    }
+
+    private void printPrinterCommandLine(
+            final PrinterCommand cmd,
+            final String type,
+            final String command,
+            final String description) {
+
+        this.printPrinterCommandLine(cmd, type, command, description, -1);
+    }
+
+    private void printPrinterCommandLine(
+            final PrinterCommand cmd,
+            final String type,
+            final String command,
+            final String description,
+            final int dataLength) {
+
+        final PrinterCommandDetails details = this.executors.executeFor(cmd, this.context);
+        this.dumped = true;
+
+        this.renderer.startCommand(
+                this.region.getStart() + cmd.getOffset(),
+                type,
+                command,
+                description,
+                details.getSummary(),
+                dataLength);
+
+        if (this.detailed) {
+            details.writeDetails(this.renderer.getDetailsWriter());
+        }
     }
 }
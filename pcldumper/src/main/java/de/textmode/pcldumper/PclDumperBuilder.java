@@ -24,6 +24,20 @@ public final class PclDumperBuilder {
     private boolean quiet = false;
     private boolean showOffsets = false;
     private boolean verbose = false;
+    private int maxDataSectionBytes = Integer.MAX_VALUE;
+    private int headBytes = -1;
+    private int tailBytes = 0;
+    private long hexDumpBudgetPerPage = Long.MAX_VALUE;
+    private long hexDumpBudgetPerJob = Long.MAX_VALUE;
+    private boolean memoryMapped = false;
+    private DumpRange range = DumpRange.ALL;
+    private int parallelism = 1;
+    private OutputFormat outputFormat = OutputFormat.TEXT;
+    private boolean statistics = false;
+    private boolean joinText = false;
+    private String include = null;
+    private String exclude = null;
+    private String details = null;
 
     /**
      * Constructor of the {@link PclDumperBuilder}.
@@ -70,13 +84,302 @@ public final class PclDumperBuilder {
         return this;
     }
 
+    /**
+     * Sets the maximum number of bytes of a data section that are hex-dumped in verbose mode. Larger data
+     * sections are reduced to the window set by {@link #dataSectionWindow(int, int)} (by default the first
+     * <i>value</i> bytes) and the dump ends with the number of omitted bytes and the CRC32 of the whole data
+     * section. Initially, data sections are dumped completely.
+     *
+     * @param value   the maximum number of bytes of a data section that are hex-dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder maxDataSectionBytes(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The maximum number of bytes must not be negative: " + value);
+        }
+
+        this.maxDataSectionBytes = value;
+        return this;
+    }
+
+    /**
+     * Sets the number of bytes hex-dumped from the beginning and from the end of a data section that
+     * exceeds the size set by {@link #maxDataSectionBytes(int)}. If no maximum size is set, the maximum
+     * size is the size of the window (<i>head</i> + <i>tail</i>).
+     *
+     * @param head   the number of bytes hex-dumped from the beginning of the data section.
+     * @param tail   the number of bytes hex-dumped from the end of the data section.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder dataSectionWindow(final int head, final int tail) {
+        if (head < 0 || tail < 0) {
+            throw new IllegalArgumentException("The window must not be negative: " + head + "/" + tail);
+        }
+
+        this.headBytes = head;
+        this.tailBytes = tail;
+        return this;
+    }
+
+    /**
+     * Sets the total number of data section bytes that are hex-dumped per page. A page ends with a form
+     * feed, a printer reset, a page size command or an UEL. Initially, there is no limit.
+     *
+     * @param value   the number of bytes hex-dumped per page.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder hexDumpBudgetPerPage(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The budget must not be negative: " + value);
+        }
+
+        this.hexDumpBudgetPerPage = value;
+        return this;
+    }
+
+    /**
+     * Sets the total number of data section bytes that are hex-dumped per job. A job ends with an UEL.
+     * Initially, there is no limit.
+     *
+     * @param value   the number of bytes hex-dumped per job.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder hexDumpBudgetPerJob(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The budget must not be negative: " + value);
+        }
+
+        this.hexDumpBudgetPerJob = value;
+        return this;
+    }
+
+    /**
+     * Sets the <i>memoryMapped</i> switch. If <i>memoryMapped</i> is set to true, the {@link PclDumper} will
+     * memory-map the files passed to {@link PclDumper#dump(java.io.File, java.io.PrintStream)} instead of
+     * reading them with a {@link java.io.FileInputStream}. The flag is initially set to <b>false</b>.
+     *
+     * @param value   the value of the <i>memoryMapped</i> switch.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder memoryMapped(final boolean value) {
+        this.memoryMapped = value;
+        return this;
+    }
+
+    /**
+     * Restricts the dump to the printer commands that start at an offset from <i>from</i> (inclusive) to
+     * <i>to</i> (exclusive). The dump seeks to the page or job boundary before <i>from</i> (see
+     * {@link PclDumper#dump(java.io.File, DumpOutput)}), so the state of the dump (i. e. the text parsing
+     * method) is the same as if the whole data stream was dumped. This replaces any range set before.
+     * Initially, the complete data stream is dumped.
+     *
+     * @param from   the offset of the first printer command that is dumped.
+     * @param to   the offset after the last printer command that is dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder offsets(final long from, final long to) {
+        this.range = DumpRange.offsets(from, to);
+        return this;
+    }
+
+    /**
+     * Restricts the dump to the pages from <i>first</i> to <i>last</i> (both inclusive, the first page of
+     * the data stream is 1). If the data stream has fewer pages than <i>last</i>, the dump ends with the
+     * last page. This replaces any range set before. Initially, the complete data stream is dumped.
+     *
+     * @param first   the first page that is dumped.
+     * @param last   the last page that is dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder pages(final int first, final int last) {
+        this.range = DumpRange.pages(first, last);
+        return this;
+    }
+
+    /**
+     * Restricts the dump to a single job (the first job of the data stream is 1). A job starts with an UEL.
+     * This replaces any range set before. Initially, the complete data stream is dumped.
+     *
+     * @param value   the job that is dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder job(final int value) {
+        this.range = DumpRange.job(value);
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that dump a single file or {@link java.nio.ByteBuffer}. With more than one
+     * thread the data stream is cut into chunks at page and job boundaries (found with the {@link PclIndex}
+     * of the data stream) and the chunks are dumped in parallel. The result is the same as the result of
+     * a single thread. The hex dump budgets per page and per job need all pages in order, so these are
+     * always dumped by a single thread. No more threads than available processors are used. Initially, a
+     * single thread is used.
+     *
+     * @param value   the number of threads.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder parallelism(final int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + value);
+        }
+        this.parallelism = value;
+        return this;
+    }
+
+    /**
+     * Sets the {@link OutputFormat} of the dump. With {@link OutputFormat#JSON} every printer command is
+     * written as a JSON object on its own line and the header is never written. Initially, the dump is
+     * written as {@link OutputFormat#TEXT}.
+     *
+     * @param value   the {@link OutputFormat}.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder outputFormat(final OutputFormat value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The output format must not be null");
+        }
+        this.outputFormat = value;
+        return this;
+    }
+
+    /**
+     * Sets the <i>statistics</i> switch. If <i>statistics</i> is set to true, the {@link PclDumper} does not
+     * dump the printer commands but prints a report with statistics at the end: the number of printer
+     * commands per type and per command string, the bytes of the data sections per command string, the number
+     * of pages, the bytes of text per text parsing method and the largest printer commands. The report is
+     * always written as text by a single thread. The flag is initially set to <b>false</b>.
+     *
+     * @param value   the value of the <i>statistics</i> switch.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder statistics(final boolean value) {
+        this.statistics = value;
+        return this;
+    }
+
+    /**
+     * Sets the <i>joinText</i> switch. If <i>joinText</i> is set to true, the text of a line is dumped as one
+     * record instead of one record per text command: consecutive text commands and the horizontal cursor
+     * positioning commands between them (<code>*pX</code>, <code>&amp;aC</code> and <code>&amp;aH</code>) are
+     * joined into a record at the offset of the first text command, with the cursor positioning commands shown
+     * in braces (<code>Total{*p1200X}42.00</code>). A record never spans a line: a vertical cursor positioning
+     * command (<code>*pY</code>, <code>&amp;aR</code> or <code>&amp;aV</code>), a line feed or a form feed ends
+     * the record, even if it is not dumped. Any other printer command ends the record only if it is dumped
+     * (i. e. a carriage return). The switch is ignored in verbose mode and for the binary dump. The flag is
+     * initially set to <b>false</b>.
+     *
+     * @param value   the value of the <i>joinText</i> switch.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder joinText(final boolean value) {
+        this.joinText = value;
+        return this;
+    }
+
+    /**
+     * Restricts the dump to the printer commands that match the given comma separated patterns. A pattern is
+     * a type of printer commands (<code>TEXT</code>, <code>CNTL</code>, <code>PCL</code>, <code>PJL</code> or
+     * <code>HPGL</code>), a control character (<code>0x0C</code>), a PCL command (<code>E</code>,
+     * <code>*bW</code>), a group of PCL commands (<code>(s</code>, <code>*b</code>), the beginning of a PJL
+     * command (<code>@PJL SET</code>) or a HP-GL/2 command (<code>PD</code>). The printer commands that are not
+     * dumped are skipped before they are interpreted, so a filter speeds up the dump of large data streams.
+     * Initially, all printer commands are dumped.
+     *
+     * @param patterns   the comma separated patterns of the printer commands that are dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder include(final String patterns) {
+        CommandFilter.validate(patterns);
+        this.include = patterns;
+        return this;
+    }
+
+    /**
+     * Excludes the printer commands that match the given comma separated patterns (see
+     * {@link #include(String)}) from the dump, even if they are included. Initially, no printer
+     * command is excluded.
+     *
+     * @param patterns   the comma separated patterns of the printer commands that are not dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder exclude(final String patterns) {
+        CommandFilter.validate(patterns);
+        this.exclude = patterns;
+        return this;
+    }
+
+    /**
+     * Restricts the details of the verbose mode to the printer commands that match the given comma separated
+     * patterns (see {@link #include(String)}). This implies the verbose mode. Initially, the details of all
+     * printer commands are dumped in verbose mode.
+     *
+     * @param patterns   the comma separated patterns of the printer commands whose details are dumped.
+     *
+     * @return the {@link PclDumperBuilder}.
+     */
+    public PclDumperBuilder details(final String patterns) {
+        CommandFilter.validate(patterns);
+        this.details = patterns;
+        return this;
+    }
+
+    /**
+     * Returns the {@link OutputFormat} of the dump (the report of the statistics is always text).
+     */
+    OutputFormat getOutputFormat() {
+        return this.statistics ? OutputFormat.TEXT : this.outputFormat;
+    }
+
     /**
      * Builds the {@link PclDumper}.
      *
      * @return the {@link PclDumper}.
      */
     public PclDumper build() {
-        return new PclDumper(this.quiet, this.showOffsets, this.verbose);
+        return new PclDumper(
+                this.quiet,
+                this.showOffsets,
+                this.verbose || this.details != null,
+                this.buildHexDumpLimits(),
+                this.memoryMapped,
+                this.range,
+                this.parallelism,
+                this.outputFormat,
+                this.statistics,
+                this.joinText,
+                new CommandFilter(this.include, this.exclude, this.details));
+    }
+
+    /**
+     * Builds the {@link HexDumpLimits}. A window without a maximum size implies the size of the window as
+     * maximum size (otherwise the window would never be used).
+     */
+    HexDumpLimits buildHexDumpLimits() {
+        final int maxBytes = this.headBytes >= 0 && this.maxDataSectionBytes == Integer.MAX_VALUE
+                ? (int) Math.min(Integer.MAX_VALUE, (long) this.headBytes + this.tailBytes)
+                : this.maxDataSectionBytes;
+
+        return new HexDumpLimits(
+                maxBytes,
+                this.headBytes < 0 ? maxBytes : this.headBytes,
+                this.headBytes < 0 ? 0 : this.tailBytes,
+                this.hexDumpBudgetPerPage,
+                this.hexDumpBudgetPerJob);
     }
 
     @Override
@@ -96,6 +399,54 @@ public final class PclDumperBuilder {
         sb.append("verbose=");
         sb.append(this.verbose);
 
+        sb.append(",");
+        sb.append("maxDataSectionBytes=");
+        sb.append(this.maxDataSectionBytes);
+
+        sb.append(",");
+        sb.append("headBytes=");
+        sb.append(this.headBytes);
+
+        sb.append(",");
+        sb.append("tailBytes=");
+        sb.append(this.tailBytes);
+
+        sb.append(",");
+        sb.append("hexDumpBudgetPerPage=");
+        sb.append(this.hexDumpBudgetPerPage);
+
+        sb.append(",");
+        sb.append("hexDumpBudgetPerJob=");
+        sb.append(this.hexDumpBudgetPerJob);
+
+        sb.append(",");
+        sb.append("memoryMapped=");
+        sb.append(this.memoryMapped);
+        sb.append(",");
+        sb.append("range=");
+        sb.append(this.range);
+        sb.append(",");
+        sb.append("parallelism=");
+        sb.append(this.parallelism);
+        sb.append(",");
+        sb.append("outputFormat=");
+        sb.append(this.outputFormat);
+        sb.append(",");
+        sb.append("statistics=");
+        sb.append(this.statistics);
+        sb.append(",");
+        sb.append("joinText=");
+        sb.append(this.joinText);
+        sb.append(",");
+        sb.append("include=");
+        sb.append(this.include);
+        sb.append(",");
+        sb.append("exclude=");
+        sb.append(this.exclude);
+        sb.append(",");
+        sb.append("details=");
+        sb.append(this.details);
+
         return sb.toString();
     }
 }
@@ -0,0 +1,188 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.ParseException;
+
+/**
+ * The {@link PclDumperClient} is a drop-in replacement for {@link Main} that lets a running
+ * {@link PclDumperServer} perform the dump. It accepts exactly the same command line arguments as
+ * {@link Main}. If no server is running, the dump is performed locally.
+ */
+public final class PclDumperClient {
+
+    private PclDumperClient() {
+    }
+
+    /**
+     * This is the entry point of the PCL-Dumper client.
+     *
+     * @param args   the command line arguments (the same as for {@link Main}).
+     */
+    public static void main(final String[] args) {
+        final int rc = run(args, PclDumperServer.getPort(), System.out, System.err);
+        if (rc != Main.EXIT_OK) {
+            System.exit(rc);
+        }
+    }
+
+    /**
+     * Sends the command line arguments to the {@link PclDumperServer} and writes the responses to the given
+     * streams. The token of the server is read from its token file (see
+     * {@link PclDumperServer#getTokenFile(int)}). If there is no token file, no server has been started by the
+     * user and {@link Main} is invoked locally.
+     *
+     * @param args   the command line arguments (the same as for {@link Main}).
+     * @param port   the port of the {@link PclDumperServer}.
+     * @param out   the stream to which the standard output of the server is written.
+     * @param err   the stream to which the standard error output of the server is written.
+     *
+     * @return the exit code.
+     */
+    static int run(final String[] args, final int port, final PrintStream out, final PrintStream err) {
+        final String token;
+        try {
+            token = PclDumperServer.readToken(PclDumperServer.getTokenFile(port));
+        } catch (final IOException e) {
+            return Main.run(args, out, err);
+        }
+
+        return run(args, port, token, out, err);
+    }
+
+    /**
+     * Sends the command line arguments to the {@link PclDumperServer} and writes the responses to the given
+     * streams. If there is no server or the command line arguments are invalid, {@link Main} is invoked
+     * locally.
+     *
+     * @param args   the command line arguments (the same as for {@link Main}).
+     * @param port   the port of the {@link PclDumperServer}.
+     * @param token   the token of the {@link PclDumperServer}.
+     * @param out   the stream to which the standard output of the server is written.
+     * @param err   the stream to which the standard error output of the server is written.
+     *
+     * @return the exit code.
+     */
+    static int run(
+            final String[] args,
+            final int port,
+            final String token,
+            final PrintStream out,
+            final PrintStream err) {
+
+        final List<String> request;
+        try {
+            request = createRequest(args);
+        } catch (final ParseException | IOException e) {
+            // Let PCL-Dumper report the problem just like it would do without a server...
+            return Main.run(args, out, err);
+        }
+
+        try (final Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            final DataOutputStream requestStream = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()));
+
+            requestStream.writeInt(PclDumperServer.PROTOCOL_VERSION);
+            requestStream.writeUTF(token);
+            requestStream.writeInt(request.size());
+            for (final String arg : request) {
+                requestStream.writeUTF(arg);
+            }
+            requestStream.flush();
+
+            return readResponse(new DataInputStream(new BufferedInputStream(socket.getInputStream())), out, err);
+        } catch (final ConnectException e) {
+            return Main.run(args, out, err);
+        } catch (final IOException e) {
+            err.println("Communication with the PCL-Dumper server failed: " + e.getMessage());
+            return Main.EXIT_ERROR;
+        }
+    }
+
+    /**
+     * Builds the request from the command line arguments. Because the server has another working directory,
+     * all file names are made absolute and the entries of list files are sent instead of the list file.
+     */
+    private static List<String> createRequest(final String[] args) throws ParseException, IOException {
+        final CommandLine line = new DefaultParser().parse(Main.createOptions(), args);
+        final List<String> request = new ArrayList<>();
+
+        for (final Option option : line.getOptions()) {
+            request.add("--" + option.getLongOpt());
+            if (option.hasArg()) {
+                final String value = option.getValue();
+                final boolean isFile = "file".equals(option.getLongOpt()) || "output-dir".equals(option.getLongOpt());
+                request.add(isFile ? absolute(value) : value);
+            }
+        }
+
+        request.add("--");
+        for (final String name : line.getArgs()) {
+            if (name.startsWith("@")) {
+                for (final String entry : BatchDumper.readListFile(name.substring(1))) {
+                    request.add(absolute(entry));
+                }
+            } else {
+                request.add(absolute(name));
+            }
+        }
+
+        return request;
+    }
+
+    private static String absolute(final String name) {
+        return new File(name).getAbsolutePath();
+    }
+
+    private static int readResponse(final DataInputStream in, final PrintStream out, final PrintStream err)
+            throws IOException {
+
+        final byte[] buffer = new byte[64 * 1024];
+
+        for (int type = in.readByte(); type != PclDumperServer.FRAME_EXIT; type = in.readByte()) {
+            final PrintStream target = type == PclDumperServer.FRAME_OUT ? out : err;
+
+            int remaining = in.readInt();
+            while (remaining > 0) {
+                final int count = Math.min(remaining, buffer.length);
+                in.readFully(buffer, 0, count);
+                target.write(buffer, 0, count);
+                remaining -= count;
+            }
+        }
+
+        out.flush();
+        err.flush();
+        return in.readInt();
+    }
+}
@@ -59,6 +59,31 @@ final class PclDumperContext {
             this.charset = charset;
         }
 
+        /**
+         * Returns the {@link TextParsingMethod} for the value of the "Text Parsing Method" printer command.
+         * Unknown values select the default text parsing method (as the printer does).
+         *
+         * @param value   the value of the "Text Parsing Method" printer command.
+         *
+         * @return the {@link TextParsingMethod}.
+         */
+        static TextParsingMethod forValue(final int value) {
+            switch (value) {
+            case 21:
+                return ASIAN_SEVEN_BIT;
+            case 31:
+                return SHIFT_JIS;
+            case 38:
+                return ASIAN_EIGHT_BIT;
+            case 83:
+                return UNICODE;
+            case 1008:
+                return UTF_8;
+            default:
+                return DEFAULT;
+            }
+        }
+
         /**
          * Returns the {@link Charset} that can be used for decoding.
          *
@@ -75,6 +100,10 @@ final class PclDumperContext {
     }
 
     private TextParsingMethod textParsingMethod;
+    private int compressionMode;
+    private int rasterWidth;
+    private final RasterDecoder rasterDecoder = new RasterDecoder();
+    private boolean rasterDataDecoded = true;
 
     /**
      * Constructor of the {@link PclDumperContext}.
@@ -99,4 +128,79 @@ final class PclDumperContext {
         this.textParsingMethod = value;
     }
 
+    /**
+     * Returns the current raster compression mode (<code>*b#M</code>).
+     *
+     * @return the current raster compression mode
+     */
+    int getCompressionMode() {
+        return this.compressionMode;
+    }
+
+    /**
+     * Sets the current raster compression mode.
+     */
+    void setCompressionMode(final int value) {
+        this.compressionMode = value;
+    }
+
+    /**
+     * Returns the current raster width in pixels (<code>*r#S</code>, 0 if not set).
+     *
+     * @return the current raster width
+     */
+    int getRasterWidth() {
+        return this.rasterWidth;
+    }
+
+    /**
+     * Sets the current raster width in pixels.
+     */
+    void setRasterWidth(final int value) {
+        this.rasterWidth = value;
+    }
+
+    /**
+     * Sets the raster compression mode and the raster width from a raster state recorded by the
+     * {@link PclScanner} (see {@link PclScanner#rasterState(int, int)}).
+     */
+    void setRasterState(final int rasterState) {
+        this.compressionMode = PclScanner.getCompressionMode(rasterState);
+        this.rasterWidth = PclScanner.getRasterWidth(rasterState);
+    }
+
+    /**
+     * Returns the {@link RasterDecoder} that keeps the seed rows and the totals of the current image.
+     *
+     * @return the {@link RasterDecoder}
+     */
+    RasterDecoder getRasterDecoder() {
+        return this.rasterDecoder;
+    }
+
+    /**
+     * Returns true if the raster data of the printer commands that are not dumped has to be decoded (to keep
+     * the seed rows and the totals of the image for a later printer command that is dumped).
+     *
+     * @return true if the raster data is decoded
+     */
+    boolean isRasterDataDecoded() {
+        return this.rasterDataDecoded;
+    }
+
+    /**
+     * Sets whether the raster data of the printer commands that are not dumped has to be decoded.
+     */
+    void setRasterDataDecoded(final boolean value) {
+        this.rasterDataDecoded = value;
+    }
+
+    /**
+     * Resets the raster graphics to the defaults (the printer reset does this).
+     */
+    void resetRasterGraphics() {
+        this.setRasterState(PclScanner.DEFAULT_RASTER_STATE);
+        this.rasterDecoder.startImage();
+    }
+
 }
@@ -0,0 +1,511 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import de.textmode.pclbox.PclException;
+
+/**
+ * The {@link PclDumperServer} keeps PCL-Dumper resident, so dumps requested by the {@link PclDumperClient}
+ * neither pay the startup of the JVM nor the initialization of PCL-Dumper. The server accepts connections
+ * on the loopback interface only.
+ *
+ * <p>Because every local user can connect to the loopback interface, the server writes a random token to a
+ * file in the home directory of the user that only this user can read (see {@link #getTokenFile(int)}). A
+ * request that does not contain this token is rejected, so other users of the host can not let the server
+ * read or write files with the permissions of the user who started it.
+ *
+ * <p>A request consists of the protocol version, the token and the command line arguments (exactly the same
+ * arguments as for {@link Main}, but with absolute file names). The response consists of frames that contain the
+ * standard output ('O') and the standard error output ('E') of the dump, followed by a frame with the
+ * exit code ('X').
+ */
+public final class PclDumperServer {
+
+    /**
+     * Default port of the server.
+     */
+    static final int DEFAULT_PORT = 7711;
+
+    /**
+     * Version of the protocol between client and server.
+     */
+    static final int PROTOCOL_VERSION = 2;
+
+    /**
+     * Frame that contains data written to the standard output.
+     */
+    static final byte FRAME_OUT = 'O';
+
+    /**
+     * Frame that contains data written to the standard error output.
+     */
+    static final byte FRAME_ERR = 'E';
+
+    /**
+     * Frame that contains the exit code. This is the last frame of a response.
+     */
+    static final byte FRAME_EXIT = 'X';
+
+    private static final String PORT_PROPERTY = "pcldumper.port";
+    private static final String PORT_VARIABLE = "PCLDUMPER_PORT";
+    private static final String TOKEN_FILE_PROPERTY = "pcldumper.tokenfile";
+    private static final String TOKEN_FILE_VARIABLE = "PCLDUMPER_TOKEN_FILE";
+    private static final int TOKEN_LENGTH = 32;
+    private static final Charset TOKEN_CHARSET = StandardCharsets.US_ASCII;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int HANDSHAKE_TIMEOUT = 5000;
+
+    /**
+     * Processes the command line arguments of a request with {@link Main#run(String[], PrintStream, PrintStream)}.
+     */
+    private static final RequestHandler MAIN_HANDLER = new RequestHandler() {
+        @Override
+        public int run(final String[] args, final PrintStream out, final PrintStream err) {
+            return Main.run(args, out, err);
+        }
+    };
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final byte[] token;
+    private final RequestHandler handler;
+    private volatile int handshakeTimeout = HANDSHAKE_TIMEOUT;
+
+    /**
+     * Constructor of the {@link PclDumperServer}. The server is bound to the loopback interface.
+     *
+     * @param port   the port of the server (zero for any free port).
+     * @param threads   the maximum number of requests that are processed in parallel.
+     * @param token   the token that every request has to contain.
+     *
+     * @throws IOException if the server socket can not be created.
+     */
+    PclDumperServer(final int port, final int threads, final String token) throws IOException {
+        this(port, threads, token, MAIN_HANDLER);
+    }
+
+    /**
+     * Constructor of the {@link PclDumperServer} with the {@link RequestHandler} that processes the command
+     * line arguments of a request. The server is bound to the loopback interface.
+     *
+     * @param port   the port of the server (zero for any free port).
+     * @param threads   the maximum number of requests that are processed in parallel.
+     * @param token   the token that every request has to contain.
+     * @param handler   the {@link RequestHandler} that processes the requests.
+     *
+     * @throws IOException if the server socket can not be created.
+     */
+    PclDumperServer(final int port, final int threads, final String token, final RequestHandler handler)
+            throws IOException {
+
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.token = token.getBytes(TOKEN_CHARSET);
+        this.handler = handler;
+    }
+
+    /**
+     * This is the entry point of the PCL-Dumper server.
+     *
+     * @param args   the command line arguments.
+     */
+    public static void main(final String[] args) {
+        final Options options = new Options();
+        options.addOption(Option.builder("p").longOpt("port").hasArg().argName("port")
+                .desc("port of the server (default " + DEFAULT_PORT + ")").build());
+        options.addOption(Option.builder("j").longOpt("threads").hasArg().argName("count")
+                .desc("number of requests processed in parallel").build());
+        options.addOption("h", "help", false, "shows this help");
+
+        try {
+            final CommandLine line = new DefaultParser().parse(options, args);
+            if (line.hasOption("help")) {
+                new HelpFormatter().printHelp("pcldumper-server [OPTION]...", options);
+                System.exit(Main.EXIT_USAGE);
+            }
+
+            final int port = Integer.parseInt(line.getOptionValue("port", String.valueOf(getPort())));
+            final int threads = Integer.parseInt(line.getOptionValue(
+                    "threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+            final File tokenFile = getTokenFile(port);
+            final PclDumperServer server = create(port, threads, tokenFile);
+            warmUp();
+
+            System.err.println("PCL-Dumper server listening on "
+                    + server.serverSocket.getInetAddress().getHostAddress() + ":" + server.getLocalPort()
+                    + " (token in " + tokenFile + ")");
+
+            server.serve();
+        } catch (final ParseException | NumberFormatException e) {
+            System.err.println(e.getMessage());
+            System.exit(Main.EXIT_USAGE);
+        } catch (final IOException e) {
+            System.err.println(e.getMessage());
+            System.exit(Main.EXIT_ERROR);
+        }
+    }
+
+    /**
+     * Returns the port of the server from the system property "pcldumper.port", the environment variable
+     * "PCLDUMPER_PORT" or the default port.
+     *
+     * @return the port of the server.
+     */
+    static int getPort() {
+        final String property = System.getProperty(PORT_PROPERTY);
+        if (property != null) {
+            return Integer.parseInt(property);
+        }
+
+        final String variable = System.getenv(PORT_VARIABLE);
+        if (variable != null) {
+            return Integer.parseInt(variable);
+        }
+
+        return DEFAULT_PORT;
+    }
+
+    /**
+     * Returns the file that contains the token of the server from the system property "pcldumper.tokenfile",
+     * the environment variable "PCLDUMPER_TOKEN_FILE" or the file ".pcldumper-PORT.token" in the home
+     * directory of the user.
+     *
+     * @param port   the port of the server.
+     *
+     * @return the file that contains the token of the server.
+     */
+    static File getTokenFile(final int port) {
+        final String property = System.getProperty(TOKEN_FILE_PROPERTY);
+        if (property != null) {
+            return new File(property);
+        }
+
+        final String variable = System.getenv(TOKEN_FILE_VARIABLE);
+        if (variable != null) {
+            return new File(variable);
+        }
+
+        return new File(System.getProperty("user.home"), ".pcldumper-" + port + ".token");
+    }
+
+    /**
+     * Creates a {@link PclDumperServer} with a new random token and writes the token to the given file. The
+     * token is written only after the server socket has been bound, so a server that can not be started (i. e.
+     * because the port is in use) does not replace the token of the server that is already running.
+     *
+     * @param port   the port of the server (zero for any free port).
+     * @param threads   the maximum number of requests that are processed in parallel.
+     * @param tokenFile   the file to which the token is written.
+     *
+     * @return the {@link PclDumperServer}.
+     *
+     * @throws IOException if the server socket can not be created or the token file can not be written.
+     */
+    static PclDumperServer create(final int port, final int threads, final File tokenFile) throws IOException {
+        final String token = createToken();
+        final PclDumperServer server = new PclDumperServer(port, threads, token);
+        try {
+            writeToken(tokenFile, token);
+        } catch (final IOException e) {
+            server.close();
+            throw e;
+        }
+        return server;
+    }
+
+    /**
+     * Creates a new random token.
+     *
+     * @return the token.
+     */
+    static String createToken() {
+        final byte[] random = new byte[TOKEN_LENGTH];
+        new SecureRandom().nextBytes(random);
+        return PclDumper.bytesToHexString(random);
+    }
+
+    /**
+     * Writes the token to the given file. The token is written to a new temporary file in the same directory,
+     * which only the user can read and write (on file systems that support POSIX permissions), and the
+     * temporary file is then renamed, so a client never reads a partially written token.
+     *
+     * @param file   the file to which the token is written.
+     * @param token   the token.
+     *
+     * @throws IOException if the file can not be written.
+     */
+    static void writeToken(final File file, final String token) throws IOException {
+        final Path path = file.getAbsoluteFile().toPath();
+        Path temp;
+        try {
+            temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (final UnsupportedOperationException e) {
+            // No POSIX permissions (i. e. on Windows) - the file is protected by the home directory of the user...
+            temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        }
+
+        try {
+            Files.write(temp, token.getBytes(TOKEN_CHARSET));
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the token of the server from the given file.
+     *
+     * @param file   the file that contains the token.
+     *
+     * @return the token.
+     *
+     * @throws IOException if the file can not be read (i. e. because no server has been started).
+     */
+    static String readToken(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), TOKEN_CHARSET).trim();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     */
+    int getLocalPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Sets the time (in milliseconds) a client has to send its request after the connection has been accepted.
+     * Otherwise an idle connection would block a thread of the server forever.
+     */
+    void setHandshakeTimeout(final int millis) {
+        this.handshakeTimeout = millis;
+    }
+
+    /**
+     * Accepts and processes requests until the server is closed.
+     *
+     * @throws IOException if accepting a connection fails.
+     */
+    void serve() throws IOException {
+        while (!this.serverSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = this.serverSocket.accept();
+            } catch (final IOException e) {
+                if (this.serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+
+            this.executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    handle(socket);
+                }
+            });
+        }
+    }
+
+    /**
+     * Closes the server. Requests that are currently processed are completed.
+     *
+     * @throws IOException if closing the server socket fails.
+     */
+    void close() throws IOException {
+        this.serverSocket.close();
+        this.executor.shutdown();
+    }
+
+    /**
+     * Initializes PCL-Dumper (i. e. the lookup tables of all {@link PrinterCommandExecutor}s) in advance.
+     */
+    private static void warmUp() throws IOException {
+        try {
+            new PclDumperBuilder().verbose(true).build()
+                .dump(ByteBuffer.allocate(0), DumpOutput.of(new StringBuilder()));
+        } catch (final PclException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Processes one request. Whatever happens while the request is processed, the response ends with the
+     * exit code - otherwise the client would wait forever.
+     */
+    private void handle(final Socket connection) {
+        try (final Socket socket = connection) {
+            final DataInputStream in = new DataInputStream(socket.getInputStream());
+            final DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+
+            // The client sends the request at once, so a connection that stays idle is dropped...
+            socket.setSoTimeout(this.handshakeTimeout);
+
+            final int version = in.readInt();
+            if (version != PROTOCOL_VERSION) {
+                writeError(out, "Unsupported protocol version " + version);
+                return;
+            }
+
+            if (!MessageDigest.isEqual(this.token, in.readUTF().getBytes(TOKEN_CHARSET))) {
+                writeError(out, "Invalid token");
+                return;
+            }
+
+            final String[] args = new String[in.readInt()];
+            for (int ix = 0; ix < args.length; ++ix) {
+                args[ix] = in.readUTF();
+            }
+            socket.setSoTimeout(0);
+
+            final PrintStream stdout = new PrintStream(
+                    new BufferedOutputStream(new FrameOutputStream(out, FRAME_OUT), BUFFER_SIZE), false);
+            final PrintStream stderr = new PrintStream(new FrameOutputStream(out, FRAME_ERR), true);
+
+            int rc;
+            try {
+                rc = this.handler.run(args, stdout, stderr);
+            } catch (final RuntimeException e) {
+                stdout.flush();
+                stderr.println("Internal error of the PCL-Dumper server: " + e);
+                rc = Main.EXIT_ERROR;
+            }
+
+            stdout.flush();
+            stderr.flush();
+
+            writeExit(out, rc);
+        } catch (final IOException e) {
+            // The client has gone away - there is nobody left who could be informed...
+        }
+    }
+
+    private static void writeError(final DataOutputStream out, final String message) throws IOException {
+        final byte[] data = message.getBytes(StandardCharsets.UTF_8);
+        writeFrame(out, FRAME_ERR, data, 0, data.length);
+        writeExit(out, Main.EXIT_ERROR);
+    }
+
+    private static void writeExit(final DataOutputStream out, final int rc) throws IOException {
+        synchronized (out) {
+            out.writeByte(FRAME_EXIT);
+            out.writeInt(rc);
+            out.flush();
+        }
+    }
+
+    private static void writeFrame(
+            final DataOutputStream out,
+            final byte type,
+            final byte[] data,
+            final int offset,
+            final int length) throws IOException {
+
+        synchronized (out) {
+            out.writeByte(type);
+            out.writeInt(length);
+            out.write(data, offset, length);
+        }
+    }
+
+    /**
+     * Processes the command line arguments of a request and writes the dump to the given streams.
+     */
+    interface RequestHandler {
+
+        /**
+         * Processes the command line arguments of a request.
+         *
+         * @param args   the command line arguments (the same as for {@link Main}).
+         * @param out   the stream that is used as standard output.
+         * @param err   the stream to which error messages are written.
+         *
+         * @return the exit code.
+         */
+        int run(String[] args, PrintStream out, PrintStream err);
+    }
+
+    /**
+     * An {@link OutputStream} that writes every block of data as a frame of the given type.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final byte type;
+
+        FrameOutputStream(final DataOutputStream out, final byte type) {
+            this.out = out;
+            this.type = type;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            this.write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] data, final int offset, final int length) throws IOException {
+            if (length > 0) {
+                writeFrame(this.out, this.type, data, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (this.out) {
+                this.out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,617 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * The {@link PclIndex} holds the byte offsets of the pages, jobs, UELs and PJL JOB commands of a PCL
+ * printer data stream as found by the {@link PclScanner}. With the index the pages and jobs of a huge
+ * spool file can be counted and located without parsing the file again.
+ *
+ * <p>The index of a file can be stored in a compact sidecar file (the name of the PCL file with the suffix
+ * ".idx"). The sidecar contains the length, the time of the last modification, the CRC32 and a fingerprint
+ * (a CRC32 of some samples) of the PCL file, so a stale index is detected quickly when it is loaded.
+ */
+final class PclIndex {
+
+    /**
+     * Suffix of the sidecar file that contains the index.
+     */
+    static final String SUFFIX = ".idx";
+
+    private static final byte[] MAGIC = {'P', 'C', 'L', 'I', 'D', 'X'};
+    private static final int VERSION = 2;
+    private static final int SAMPLES = 16;
+    private static final int SAMPLE_SIZE = 4096;
+
+    private final long length;
+    private final long lastModified;
+    private final long checksum;
+    private final long fingerprint;
+
+    private final long[] pageEnds;
+    private final int[] pageEndTextParsingMethods;
+    private final int[] pageEndRasterStates;
+    private final long[] jobStarts;
+    private final int[] jobTextParsingMethods;
+    private final int[] jobRasterStates;
+    private final long[] uels;
+    private final long[] pjlJobs;
+
+    private PclIndex(
+            final long length,
+            final long lastModified,
+            final long checksum,
+            final long fingerprint,
+            final Collector collector) {
+
+        this.length = length;
+        this.lastModified = lastModified;
+        this.checksum = checksum;
+        this.fingerprint = fingerprint;
+        this.pageEnds = collector.pageEnds.toArray();
+        this.pageEndTextParsingMethods = collector.pageEndTextParsingMethods.toIntArray();
+        this.pageEndRasterStates = collector.pageEndRasterStates.toIntArray();
+        this.jobStarts = collector.jobStarts.toArray();
+        this.jobTextParsingMethods = collector.jobTextParsingMethods.toIntArray();
+        this.jobRasterStates = collector.jobRasterStates.toIntArray();
+        this.uels = collector.uels.toArray();
+        this.pjlJobs = collector.pjlJobs.toArray();
+    }
+
+    /**
+     * Scans a PCL printer data stream and creates the index for it. Such an index can not be checked
+     * against its source, so it can not be stored in a sidecar file.
+     *
+     * @param in   the PCL printer data stream.
+     *
+     * @return the index.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    static PclIndex scan(final InputStream in) throws IOException {
+        final Collector collector = new Collector();
+        final PclScanner scanner = new PclScanner(in, collector);
+        final long length = scanner.scan();
+
+        return new PclIndex(length, 0, scanner.getChecksum(), 0, collector);
+    }
+
+    /**
+     * Scans a PCL file and creates the index for it.
+     *
+     * @param file   the PCL file.
+     *
+     * @return the index.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    static PclIndex create(final File file) throws IOException {
+        final long lastModified = file.lastModified();
+        final Collector collector = new Collector();
+
+        try (final InputStream in = new FileInputStream(file)) {
+            final PclScanner scanner = new PclScanner(in, collector);
+            final long length = scanner.scan();
+
+            return new PclIndex(length, lastModified, scanner.getChecksum(), fingerprint(file, length), collector);
+        }
+    }
+
+    /**
+     * Returns the index of a PCL file. The index is loaded from the sidecar file if it is up to date.
+     * Otherwise the PCL file is scanned and the sidecar file is (re-)written if possible.
+     *
+     * @param file   the PCL file.
+     *
+     * @return the index.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    static PclIndex get(final File file) throws IOException {
+        final PclIndex loaded = load(file);
+        if (loaded != null) {
+            return loaded;
+        }
+
+        final PclIndex created = create(file);
+        try {
+            created.write(file);
+        } catch (final IOException e) {
+            // The index is just a cache - if the sidecar can not be written (i. e. in a read-only directory)
+            // the file will be scanned again next time...
+        }
+
+        return created;
+    }
+
+    /**
+     * Loads the index of a PCL file from its sidecar file.
+     *
+     * @param file   the PCL file.
+     *
+     * @return the index or null if there is no sidecar file or the index is stale or unreadable.
+     *
+     * @throws IOException if an I/O error occurs while checking the PCL file.
+     */
+    static PclIndex load(final File file) throws IOException {
+        final PclIndex index;
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(getIndexFile(file)))) {
+            index = read(in);
+        } catch (final IOException e) {
+            return null;
+        }
+
+        if (index == null
+                || index.length != file.length()
+                || index.lastModified != file.lastModified()
+                || index.fingerprint != fingerprint(file, index.length)) {
+            return null;
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the sidecar file of a PCL file.
+     *
+     * @param file   the PCL file.
+     *
+     * @return the sidecar file.
+     */
+    static File getIndexFile(final File file) {
+        return new File(file.getPath() + SUFFIX);
+    }
+
+    /**
+     * Writes the index to the sidecar file of the given PCL file.
+     *
+     * @param file   the PCL file.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    void write(final File file) throws IOException {
+        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(getIndexFile(file)))) {
+            this.write(out);
+        }
+    }
+
+    /**
+     * Writes the index to the given {@link OutputStream}.
+     *
+     * @param out   the {@link OutputStream} to write to.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    void write(final OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(out);
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        writeVarLong(data, this.length);
+        writeVarLong(data, this.lastModified);
+        data.writeInt((int) this.checksum);
+        data.writeInt((int) this.fingerprint);
+        writeOffsets(data, this.pageEnds, this.pageEndTextParsingMethods, this.pageEndRasterStates);
+        writeOffsets(data, this.jobStarts, this.jobTextParsingMethods, this.jobRasterStates);
+        writeOffsets(data, this.uels);
+        writeOffsets(data, this.pjlJobs);
+        data.flush();
+    }
+
+    /**
+     * Reads an index that has been written by {@link #write(OutputStream)}.
+     *
+     * @param in   the {@link InputStream} to read from.
+     *
+     * @return the index or null if the data is not an index of a supported version.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    static PclIndex read(final InputStream in) throws IOException {
+        final DataInputStream data = new DataInputStream(in);
+
+        final byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC) || data.readUnsignedByte() != VERSION) {
+            return null;
+        }
+
+        final long length = readVarLong(data);
+        final long lastModified = readVarLong(data);
+        final long checksum = data.readInt() & 0xFFFFFFFFL;
+        final long fingerprint = data.readInt() & 0xFFFFFFFFL;
+
+        final Collector collector = new Collector();
+        readOffsets(data, collector.pageEnds, collector.pageEndTextParsingMethods, collector.pageEndRasterStates);
+        readOffsets(data, collector.jobStarts, collector.jobTextParsingMethods, collector.jobRasterStates);
+        readOffsets(data, collector.uels);
+        readOffsets(data, collector.pjlJobs);
+
+        return new PclIndex(length, lastModified, checksum, fingerprint, collector);
+    }
+
+    /**
+     * Returns the length of the PCL printer data stream.
+     */
+    long getLength() {
+        return this.length;
+    }
+
+    /**
+     * Returns the CRC32 of the PCL printer data stream.
+     */
+    long getChecksum() {
+        return this.checksum;
+    }
+
+    /**
+     * Returns the number of pages.
+     */
+    int getPageCount() {
+        return this.pageEnds.length;
+    }
+
+    /**
+     * Returns the offset at which the given page begins.
+     *
+     * @param page   the number of the page (the first page is 1).
+     */
+    long getPageStart(final int page) {
+        checkNumber(page, this.pageEnds.length, "page");
+        return page == 1 ? 0 : this.pageEnds[page - 2];
+    }
+
+    /**
+     * Returns the offset at which the given page ends (exclusive).
+     *
+     * @param page   the number of the page (the first page is 1).
+     */
+    long getPageEnd(final int page) {
+        checkNumber(page, this.pageEnds.length, "page");
+        return this.pageEnds[page - 1];
+    }
+
+    /**
+     * Returns the text parsing method that is in effect at the beginning of the given page.
+     *
+     * @param page   the number of the page (the first page is 1).
+     */
+    int getPageTextParsingMethod(final int page) {
+        checkNumber(page, this.pageEnds.length, "page");
+        return page == 1 ? PclScanner.DEFAULT_TEXT_PARSING_METHOD : this.pageEndTextParsingMethods[page - 2];
+    }
+
+    /**
+     * Returns the raster state that is in effect at the beginning of the given page.
+     *
+     * @param page   the number of the page (the first page is 1).
+     */
+    int getPageRasterState(final int page) {
+        checkNumber(page, this.pageEnds.length, "page");
+        return page == 1 ? PclScanner.DEFAULT_RASTER_STATE : this.pageEndRasterStates[page - 2];
+    }
+
+    /**
+     * Returns the number of jobs.
+     */
+    int getJobCount() {
+        return this.jobStarts.length;
+    }
+
+    /**
+     * Returns the offset at which the given job begins.
+     *
+     * @param job   the number of the job (the first job is 1).
+     */
+    long getJobStart(final int job) {
+        checkNumber(job, this.jobStarts.length, "job");
+        return this.jobStarts[job - 1];
+    }
+
+    /**
+     * Returns the offset at which the given job ends (exclusive).
+     *
+     * @param job   the number of the job (the first job is 1).
+     */
+    long getJobEnd(final int job) {
+        checkNumber(job, this.jobStarts.length, "job");
+        return job == this.jobStarts.length ? this.length : this.jobStarts[job];
+    }
+
+    /**
+     * Returns the text parsing method that is in effect at the beginning of the given job.
+     *
+     * @param job   the number of the job (the first job is 1).
+     */
+    int getJobTextParsingMethod(final int job) {
+        checkNumber(job, this.jobStarts.length, "job");
+        return this.jobTextParsingMethods[job - 1];
+    }
+
+    /**
+     * Returns the raster state that is in effect at the beginning of the given job.
+     *
+     * @param job   the number of the job (the first job is 1).
+     */
+    int getJobRasterState(final int job) {
+        checkNumber(job, this.jobStarts.length, "job");
+        return this.jobRasterStates[job - 1];
+    }
+
+    /**
+     * Returns the last page or job boundary at or before the given offset (0 if there is none). At such a
+     * boundary the parsing of the PCL printer data stream can be started.
+     *
+     * @param offset   the offset.
+     */
+    long getBoundaryAtOrBefore(final long offset) {
+        final long pageBoundary = floor(this.pageEnds, offset);
+        final long jobBoundary = floor(this.jobStarts, offset);
+        return Math.max(0, Math.max(pageBoundary, jobBoundary));
+    }
+
+    /**
+     * Returns the first page or job boundary at or after the given offset (the length of the PCL printer
+     * data stream if there is none).
+     *
+     * @param offset   the offset.
+     */
+    long getBoundaryAtOrAfter(final long offset) {
+        final long pageBoundary = ceiling(this.pageEnds, offset);
+        final long jobBoundary = ceiling(this.jobStarts, offset);
+        return Math.min(this.length, Math.min(pageBoundary, jobBoundary));
+    }
+
+    /**
+     * Returns the text parsing method that is in effect at a page or job boundary.
+     *
+     * @param boundary   the offset of the page or job boundary.
+     */
+    int getTextParsingMethodAt(final long boundary) {
+        final int page = Arrays.binarySearch(this.pageEnds, boundary);
+        if (page >= 0) {
+            return this.pageEndTextParsingMethods[page];
+        }
+
+        final int job = Arrays.binarySearch(this.jobStarts, boundary);
+        if (job >= 0) {
+            return this.jobTextParsingMethods[job];
+        }
+
+        return PclScanner.DEFAULT_TEXT_PARSING_METHOD;
+    }
+
+    /**
+     * Returns the raster state that is in effect at a page or job boundary.
+     *
+     * @param boundary   the offset of the page or job boundary.
+     */
+    int getRasterStateAt(final long boundary) {
+        final int page = Arrays.binarySearch(this.pageEnds, boundary);
+        if (page >= 0) {
+            return this.pageEndRasterStates[page];
+        }
+
+        final int job = Arrays.binarySearch(this.jobStarts, boundary);
+        if (job >= 0) {
+            return this.jobRasterStates[job];
+        }
+
+        return PclScanner.DEFAULT_RASTER_STATE;
+    }
+
+    /**
+     * Returns the offsets of all UELs.
+     */
+    long[] getUels() {
+        return this.uels.clone();
+    }
+
+    /**
+     * Returns the offsets of all PJL JOB commands.
+     */
+    long[] getPjlJobs() {
+        return this.pjlJobs.clone();
+    }
+
+    @Override
+    public String toString() {
+        return this.pageEnds.length + " pages, " + this.jobStarts.length + " jobs, "
+                + this.uels.length + " UELs, " + this.pjlJobs.length + " PJL jobs";
+    }
+
+    private static long floor(final long[] offsets, final long offset) {
+        final int ix = Arrays.binarySearch(offsets, offset);
+        if (ix >= 0) {
+            return offsets[ix];
+        }
+        return -ix - 2 >= 0 ? offsets[-ix - 2] : -1;
+    }
+
+    private static long ceiling(final long[] offsets, final long offset) {
+        final int ix = Arrays.binarySearch(offsets, offset);
+        if (ix >= 0) {
+            return offsets[ix];
+        }
+        return -ix - 1 < offsets.length ? offsets[-ix - 1] : Long.MAX_VALUE;
+    }
+
+    private static void checkNumber(final int number, final int count, final String name) {
+        if (number < 1 || number > count) {
+            throw new IllegalArgumentException("There is no " + name + " " + number + " (" + count + " in total)");
+        }
+    }
+
+    /**
+     * Computes a CRC32 of some samples spread evenly across the file. Unlike a CRC32 of the whole file this
+     * can be computed in no time even for huge files.
+     */
+    private static long fingerprint(final File file, final long length) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] sample = new byte[(int) Math.min(SAMPLE_SIZE, length)];
+
+        try (final RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            for (int ix = 0; ix < SAMPLES; ++ix) {
+                in.seek((length - sample.length) * ix / (SAMPLES - 1));
+                in.readFully(sample);
+                crc.update(sample);
+            }
+        } catch (final EOFException e) {
+            // The file has been truncated...
+            return -1;
+        }
+
+        return crc.getValue();
+    }
+
+    private static void writeOffsets(final DataOutputStream out, final long[] offsets, final int[]... values)
+            throws IOException {
+
+        writeVarLong(out, offsets.length);
+
+        long previous = 0;
+        for (int ix = 0; ix < offsets.length; ++ix) {
+            writeVarLong(out, offsets[ix] - previous);
+            previous = offsets[ix];
+
+            for (final int[] value : values) {
+                writeVarLong(out, ((value[ix] << 1) ^ (value[ix] >> 31)) & 0xFFFFFFFFL);
+            }
+        }
+    }
+
+    private static void readOffsets(final DataInputStream in, final LongList offsets, final LongList... values)
+            throws IOException {
+
+        final long count = readVarLong(in);
+
+        long previous = 0;
+        for (long ix = 0; ix < count; ++ix) {
+            previous += readVarLong(in);
+            offsets.add(previous);
+
+            for (final LongList value : values) {
+                final int encoded = (int) readVarLong(in);
+                value.add((encoded >>> 1) ^ -(encoded & 1));
+            }
+        }
+    }
+
+    private static void writeVarLong(final DataOutputStream out, final long value) throws IOException {
+        long rest = value;
+        while ((rest & ~0x7FL) != 0) {
+            out.writeByte((int) (rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        out.writeByte((int) rest);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed index");
+    }
+
+    /**
+     * Collects the boundaries reported by the {@link PclScanner}.
+     */
+    private static final class Collector implements PclScanner.Listener {
+
+        private final LongList pageEnds = new LongList();
+        private final LongList pageEndTextParsingMethods = new LongList();
+        private final LongList pageEndRasterStates = new LongList();
+        private final LongList jobStarts = new LongList();
+        private final LongList jobTextParsingMethods = new LongList();
+        private final LongList jobRasterStates = new LongList();
+        private final LongList uels = new LongList();
+        private final LongList pjlJobs = new LongList();
+
+        @Override
+        public void pageBoundary(final long offset, final int textParsingMethod, final int rasterState) {
+            this.pageEnds.add(offset);
+            this.pageEndTextParsingMethods.add(textParsingMethod);
+            this.pageEndRasterStates.add(rasterState);
+        }
+
+        @Override
+        public void jobStart(final long offset, final int textParsingMethod, final int rasterState) {
+            this.jobStarts.add(offset);
+            this.jobTextParsingMethods.add(textParsingMethod);
+            this.jobRasterStates.add(rasterState);
+        }
+
+        @Override
+        public void uel(final long offset) {
+            this.uels.add(offset);
+        }
+
+        @Override
+        public void pjlJob(final long offset) {
+            this.pjlJobs.add(offset);
+        }
+    }
+
+    /**
+     * A growable list of primitive longs, so the index of a huge spool file does not need millions of
+     * {@link Long} objects.
+     */
+    private static final class LongList {
+
+        private long[] values = new long[16];
+        private int size;
+
+        void add(final long value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+
+        int[] toIntArray() {
+            final int[] result = new int[this.size];
+            for (int ix = 0; ix < this.size; ++ix) {
+                result[ix] = (int) this.values[ix];
+            }
+            return result;
+        }
+    }
+}
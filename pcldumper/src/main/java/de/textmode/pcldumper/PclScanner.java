@@ -0,0 +1,423 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * The {@link PclScanner} is a fast raw-byte scanner that finds the page and job boundaries of a PCL printer
+ * data stream without the {@link de.textmode.pclbox.PclParser}. It knows just enough of the syntax of PCL
+ * to skip data sections (which may contain any bytes), HP-GL/2 and PJL, so no printer command objects are
+ * created at all.
+ *
+ * <p>A page ends with a form feed, or - if something has been printed on the page - with a printer reset
+ * (<code>ESC E</code>), a paper source command (<code>ESC &amp;l#H</code>) or an UEL. A job starts with an
+ * UEL that is followed by anything but another UEL (or at the beginning of the data stream if it does not
+ * start with an UEL). Every boundary is reported together with the text parsing method
+ * (<code>ESC &amp;t#P</code>) that is in effect at the boundary.
+ */
+final class PclScanner {
+
+    /**
+     * Value of the text parsing method that is in effect at the beginning of the data stream.
+     */
+    static final int DEFAULT_TEXT_PARSING_METHOD = 0;
+
+    /**
+     * Raster state that is in effect at the beginning of the data stream (no compression, raster width not
+     * set), see {@link #rasterState(int, int)}.
+     */
+    static final int DEFAULT_RASTER_STATE = 0;
+
+    /**
+     * The highest raster compression mode (<code>*b#M</code>) that is accepted.
+     */
+    static final int MAX_COMPRESSION_MODE = 9;
+
+    /**
+     * The highest raster width (<code>*r#S</code>) in pixels that is accepted.
+     */
+    static final int MAX_RASTER_WIDTH = 0xFFFFFF;
+
+    private static final int ESC = 0x1B;
+    private static final int FF = 0x0C;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long UEL_VALUE = -12345;
+
+    private final InputStream in;
+    private final Listener listener;
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int pos;
+    private int limit;
+    private long bufferStart;
+    private boolean endOfStream;
+
+    private boolean dirty;
+    private boolean hpgl;
+    private int textParsingMethod = DEFAULT_TEXT_PARSING_METHOD;
+    private int rasterState = DEFAULT_RASTER_STATE;
+
+    private boolean jobPending = true;
+    private long pendingJobOffset;
+    private int pendingJobTextParsingMethod = DEFAULT_TEXT_PARSING_METHOD;
+    private int pendingJobRasterState = DEFAULT_RASTER_STATE;
+
+    /**
+     * The {@link Listener} receives the boundaries found by the {@link PclScanner}.
+     */
+    interface Listener {
+
+        /**
+         * A page ends and the next page begins at the given offset.
+         *
+         * @param offset   the offset at which the next page begins.
+         * @param textParsingMethod   the text parsing method in effect at the offset.
+         * @param rasterState   the raster state in effect at the offset.
+         */
+        void pageBoundary(final long offset, final int textParsingMethod, final int rasterState);
+
+        /**
+         * A job begins at the given offset.
+         *
+         * @param offset   the offset at which the job begins.
+         * @param textParsingMethod   the text parsing method in effect at the offset.
+         * @param rasterState   the raster state in effect at the offset.
+         */
+        void jobStart(final long offset, final int textParsingMethod, final int rasterState);
+
+        /**
+         * An UEL has been found at the given offset.
+         *
+         * @param offset   the offset of the UEL.
+         */
+        void uel(final long offset);
+
+        /**
+         * A PJL JOB command has been found at the given offset.
+         *
+         * @param offset   the offset of the PJL JOB command.
+         */
+        void pjlJob(final long offset);
+    }
+
+    /**
+     * Constructor of the {@link PclScanner}.
+     *
+     * @param in   the PCL printer data stream to be scanned.
+     * @param listener   the {@link Listener} that receives the boundaries.
+     */
+    PclScanner(final InputStream in, final Listener listener) {
+        this.in = in;
+        this.listener = listener;
+    }
+
+    /**
+     * Scans the complete PCL printer data stream.
+     *
+     * @return the length of the PCL printer data stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    long scan() throws IOException {
+        for (int b = this.next(); b >= 0; b = this.next()) {
+            final long offset = this.position() - 1;
+
+            if (b == ESC) {
+                this.escape(offset);
+            } else if (this.hpgl) {
+                this.content();
+                this.dirty = true;
+            } else if (b == FF) {
+                this.content();
+                this.pageBoundary(offset + 1);
+            } else if (b > ' ') {
+                this.content();
+                this.dirty = true;
+            }
+        }
+
+        if (this.dirty) {
+            this.pageBoundary(this.position());
+        }
+
+        return this.position();
+    }
+
+    /**
+     * Returns the CRC32 of all bytes scanned so far.
+     */
+    long getChecksum() {
+        return this.crc.getValue();
+    }
+
+    /**
+     * Packs the raster compression mode and the raster width into an int. Both are kept by the printer from
+     * page to page, so they are recorded for every boundary like the text parsing method.
+     *
+     * @param compressionMode   the raster compression mode (<code>*b#M</code>).
+     * @param rasterWidth   the raster width in pixels (<code>*r#S</code>, 0 if not set).
+     *
+     * @return the raster state.
+     */
+    static int rasterState(final int compressionMode, final int rasterWidth) {
+        return compressionMode << 24 | rasterWidth;
+    }
+
+    /**
+     * Returns the raster compression mode of a raster state (see {@link #rasterState(int, int)}).
+     */
+    static int getCompressionMode(final int rasterState) {
+        return rasterState >>> 24;
+    }
+
+    /**
+     * Returns the raster width of a raster state (see {@link #rasterState(int, int)}).
+     */
+    static int getRasterWidth(final int rasterState) {
+        return rasterState & MAX_RASTER_WIDTH;
+    }
+
+    private void escape(final long offset) throws IOException {
+        final int c = this.next();
+
+        if (c >= 0x21 && c <= 0x2F) {
+            this.parameterized(offset, c);
+        } else if (c >= 0x30 && c <= 0x7E) {
+            this.content();
+            if (c == 'E') {
+                this.hpgl = false;
+                this.rasterState = DEFAULT_RASTER_STATE;
+                if (this.dirty) {
+                    this.pageBoundary(offset);
+                }
+            }
+        } else if (c >= 0) {
+            // Not a printer command - the byte is scanned again (it may be another ESC)...
+            this.unread();
+        }
+    }
+
+    private void parameterized(final long offset, final int parameterized) throws IOException {
+        int c = this.next();
+
+        int group = 0;
+        if (c >= 0x60 && c <= 0x7E) {
+            group = c;
+            c = this.next();
+        }
+
+        while (c >= 0) {
+            long value = 0;
+            boolean negative = false;
+            boolean fraction = false;
+
+            while (c == '+' || c == '-' || c == '.' || (c >= '0' && c <= '9')) {
+                if (c == '-') {
+                    negative = true;
+                } else if (c == '.') {
+                    fraction = true;
+                } else if (c != '+' && !fraction && value < Integer.MAX_VALUE) {
+                    value = value * 10 + (c - '0');
+                }
+                c = this.next();
+            }
+
+            if (c >= 0x60 && c <= 0x7E) {
+                this.parameter(offset, parameterized, group, negative ? -value : value, c - 0x20);
+                c = this.next();
+            } else if (c >= 0x40 && c <= 0x5E) {
+                this.parameter(offset, parameterized, group, negative ? -value : value, c);
+                return;
+            } else {
+                if (c >= 0) {
+                    this.unread();
+                }
+                return;
+            }
+        }
+    }
+
+    private void parameter(
+            final long offset,
+            final int parameterized,
+            final int group,
+            final long value,
+            final int termination) throws IOException {
+
+        if (parameterized == '%' && group == 0) {
+            if (termination == 'X' && value == UEL_VALUE) {
+                this.uel(offset);
+                return;
+            }
+
+            this.hpgl = termination == 'B';
+        }
+
+        this.content();
+
+        if (parameterized == '&' && group == 't' && termination == 'P') {
+            this.textParsingMethod = (int) value;
+        } else if (parameterized == '*' && group == 'b' && termination == 'M') {
+            if (value >= 0 && value <= MAX_COMPRESSION_MODE) {
+                this.rasterState = rasterState((int) value, getRasterWidth(this.rasterState));
+            }
+        } else if (parameterized == '*' && group == 'r' && termination == 'S') {
+            if (value >= 0 && value <= MAX_RASTER_WIDTH) {
+                this.rasterState = rasterState(getCompressionMode(this.rasterState), (int) value);
+            }
+        } else if (parameterized == '&' && group == 'l' && termination == 'H') {
+            if (this.dirty) {
+                this.pageBoundary(offset);
+            }
+        } else if (parameterized == '*' && group == 'c' && termination == 'P') {
+            this.dirty = true;
+        } else if (termination == 'W' || (parameterized == '*' && group == 'b' && termination == 'V')
+                || (parameterized == '&' && group == 'p' && termination == 'X')) {
+
+            if ((parameterized == '*' && group == 'b') || (parameterized == '&' && group == 'p')) {
+                this.dirty = true;
+            }
+            this.skip(value);
+        }
+    }
+
+    private void uel(final long offset) throws IOException {
+        this.listener.uel(offset);
+
+        if (this.dirty) {
+            this.pageBoundary(offset);
+        }
+
+        this.hpgl = false;
+        this.jobPending = true;
+        this.pendingJobOffset = offset;
+        this.pendingJobTextParsingMethod = this.textParsingMethod;
+        this.pendingJobRasterState = this.rasterState;
+
+        while (this.startsWith("@PJL")) {
+            this.pjl(this.position());
+        }
+    }
+
+    /**
+     * Reads a PJL command up to (and including) the line feed.
+     */
+    private void pjl(final long offset) throws IOException {
+        this.content();
+
+        final StringBuilder command = new StringBuilder();
+        for (int c = this.next(); c >= 0 && c != '\n'; c = this.next()) {
+            if (command.length() < 16) {
+                command.append((char) c);
+            }
+        }
+
+        final String[] words = command.toString().trim().split("[ \t\r]+", 3);
+        if (words.length > 1 && "JOB".equalsIgnoreCase(words[1])) {
+            this.listener.pjlJob(offset);
+        }
+    }
+
+    private void pageBoundary(final long offset) {
+        this.listener.pageBoundary(offset, this.textParsingMethod, this.rasterState);
+        this.dirty = false;
+    }
+
+    /**
+     * Something other than an UEL has been found - so a pending job really begins.
+     */
+    private void content() {
+        if (this.jobPending) {
+            this.listener.jobStart(
+                    this.pendingJobOffset, this.pendingJobTextParsingMethod, this.pendingJobRasterState);
+            this.jobPending = false;
+        }
+    }
+
+    private long position() {
+        return this.bufferStart + this.pos;
+    }
+
+    private int next() throws IOException {
+        if (this.pos == this.limit && !this.fill(1)) {
+            return -1;
+        }
+
+        return this.buffer[this.pos++] & 0xFF;
+    }
+
+    private void unread() {
+        --this.pos;
+    }
+
+    private void skip(final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            if (this.pos == this.limit && !this.fill(1)) {
+                return;
+            }
+
+            final int skipped = (int) Math.min(remaining, this.limit - this.pos);
+            this.pos += skipped;
+            remaining -= skipped;
+        }
+    }
+
+    private boolean startsWith(final String text) throws IOException {
+        if (this.limit - this.pos < text.length() && !this.fill(text.length())) {
+            return false;
+        }
+
+        for (int ix = 0; ix < text.length(); ++ix) {
+            if (this.buffer[this.pos + ix] != text.charAt(ix)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads more data so that at least <code>count</code> bytes are available in the buffer.
+     *
+     * @return false if the end of the stream has been reached before.
+     */
+    private boolean fill(final int count) throws IOException {
+        if (this.pos > 0) {
+            System.arraycopy(this.buffer, this.pos, this.buffer, 0, this.limit - this.pos);
+            this.bufferStart += this.pos;
+            this.limit -= this.pos;
+            this.pos = 0;
+        }
+
+        while (this.limit < count && !this.endOfStream) {
+            final int read = this.in.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read < 0) {
+                this.endOfStream = true;
+            } else {
+                this.crc.update(this.buffer, this.limit, read);
+                this.limit += read;
+            }
+        }
+
+        return this.limit >= count;
+    }
+}
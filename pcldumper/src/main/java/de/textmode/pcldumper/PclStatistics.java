@@ -0,0 +1,346 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.textmode.pclbox.ControlCharacterCommand;
+import de.textmode.pclbox.HpglCommand;
+import de.textmode.pclbox.ParameterizedPclCommand;
+import de.textmode.pclbox.PjlCommand;
+import de.textmode.pclbox.PrinterCommand;
+import de.textmode.pclbox.PrinterCommandHandler;
+import de.textmode.pclbox.PrinterCommandVisitor;
+import de.textmode.pclbox.TextCommand;
+import de.textmode.pclbox.TwoBytePclCommand;
+import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
+
+/**
+ * The {@link PclStatistics} collects statistics about the printer commands of a PCL printer data stream
+ * instead of dumping them: the number of printer commands per type and per command string, the bytes of
+ * the data sections per command string, the number of pages, the bytes of text per text parsing method and
+ * the largest printer commands. Only counters are updated while the printer commands are visited, so the
+ * memory needed does not depend on the size of the data stream.
+ *
+ * <p>The pages are counted with the same rules as the {@link PclScanner} uses for the {@link PclIndex}.
+ */
+final class PclStatistics implements PrinterCommandHandler, PrinterCommandVisitor {
+
+    private static final String[] TYPES = {"TEXT", "CNTL", "PCL", "PJL", "HPGL"};
+    private static final int TEXT = 0;
+    private static final int CNTL = 1;
+    private static final int PCL = 2;
+    private static final int PJL = 3;
+    private static final int HPGL = 4;
+
+    private static final int LARGEST_COMMANDS = 10;
+    private static final int NAME_COLUMN_WIDTH = 30;
+    private static final int NUMBER_COLUMN_WIDTH = 15;
+    private static final int OFFSET_DIGITS = 8;
+
+    private final DumpRange.Region region;
+
+    private final long[] typeCounts = new long[TYPES.length];
+    private final Map<String, Counter> commands = new HashMap<>();
+    private final long[] textBytes = new long[TextParsingMethod.values().length];
+    private long commandCount;
+    private long dataBytes;
+    private long pages;
+
+    private final long[] largestSizes = new long[LARGEST_COMMANDS];
+    private final long[] largestOffsets = new long[LARGEST_COMMANDS];
+    private final String[] largestCommands = new String[LARGEST_COMMANDS];
+    private int largestCount;
+
+    private TextParsingMethod textParsingMethod;
+    private long offset;
+    private boolean shown;
+    private boolean dirty;
+    private boolean hpgl;
+
+    /**
+     * Constructor of the {@link PclStatistics}.
+     *
+     * @param region   the {@link DumpRange.Region} of the data stream that is parsed.
+     */
+    PclStatistics(final DumpRange.Region region) {
+        this.region = region;
+        this.textParsingMethod = TextParsingMethod.forValue(region.getTextParsingMethod());
+    }
+
+    @Override
+    public void handlePrinterCommand(final PrinterCommand command) {
+        // Printer commands outside of the range are visited as well, because they change the state (i. e. the
+        // text parsing method), but they are not counted...
+        this.offset = this.region.getStart() + command.getOffset();
+        this.shown = this.region.isShown(this.offset);
+        command.accept(this);
+    }
+
+    @Override
+    public void handle(final TextCommand command) {
+        final byte[] text = command.getText();
+        this.count(TEXT, null, text.length);
+
+        if (this.shown) {
+            this.textBytes[this.textParsingMethod.ordinal()] += text.length;
+        }
+
+        for (final byte b : text) {
+            if ((b & 0xFF) > ' ') {
+                this.dirty = true;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void handle(final ControlCharacterCommand command) {
+        final String name = command.toCommandString();
+        this.count(CNTL, name, -1);
+
+        if ("0x0C".equals(name)) {
+            if (this.hpgl) {
+                this.dirty = true;
+            } else {
+                this.pageBoundary();
+            }
+        }
+    }
+
+    @Override
+    public void handle(final TwoBytePclCommand command) {
+        final String name = command.toCommandString();
+        this.count(PCL, name, -1);
+
+        if ("E".equals(name)) {
+            this.hpgl = false;
+            this.pageBoundaryIfDirty();
+        }
+    }
+
+    @Override
+    public void handle(final ParameterizedPclCommand command) {
+        final String name = command.toCommandString();
+        final byte[] dataSection = command.getDataSection();
+        this.count(PCL, name, dataSection == null ? -1 : dataSection.length);
+
+        if ("%-12345X".equals(command.toDisplayString())) {
+            this.hpgl = false;
+            this.pageBoundaryIfDirty();
+        } else if ("&lH".equals(name)) {
+            this.pageBoundaryIfDirty();
+        } else if ("%B".equals(name)) {
+            this.hpgl = true;
+        } else if ("%A".equals(name)) {
+            this.hpgl = false;
+        } else if ("*cP".equals(name) || "*bW".equals(name) || "*bV".equals(name) || "&pX".equals(name)) {
+            this.dirty = true;
+        } else if ("&tP".equals(name)) {
+            try {
+                this.textParsingMethod = TextParsingMethod.forValue(Integer.parseInt(command.getValue()));
+            } catch (final NumberFormatException e) {
+                // Like the printer, we ignore an invalid value...
+            }
+        }
+    }
+
+    @Override
+    public void handle(final PjlCommand command) {
+        // The PJL commands are counted by their first word (i. e. "@PJL SET")...
+        final String line = command.toDisplayString();
+        final int start = line.indexOf(' ', 1);
+        int end = start < 0 ? -1 : line.indexOf(' ', start + 1);
+        if (end < 0) {
+            end = line.length();
+        }
+
+        this.count(PJL, line.substring(0, end).trim(), -1);
+    }
+
+    @Override
+    public void handle(final HpglCommand command) {
+        this.count(HPGL, command.toCommandString(), -1);
+        this.dirty = true;
+    }
+
+    /**
+     * Writes the report with the statistics.
+     *
+     * @param line   the {@link ColumnWriter} to write the report to.
+     */
+    void writeReport(final ColumnWriter line) {
+        appendRow(line, "Printer commands", this.commandCount).endLine();
+        // Like the PclScanner, a page that is not terminated is counted as well...
+        appendRow(line, "Pages", this.dirty ? this.pages + 1 : this.pages).endLine();
+        appendRow(line, "Data section bytes", this.dataBytes).endLine();
+
+        line.endLine();
+        appendHeading(line, "Type", "Commands").endLine();
+        for (int ix = 0; ix < TYPES.length; ++ix) {
+            if (this.typeCounts[ix] > 0) {
+                appendRow(line, TYPES[ix], this.typeCounts[ix]).endLine();
+            }
+        }
+
+        line.endLine();
+        appendHeading(line, "Command", "Commands", "Data bytes").endLine();
+        for (final Map.Entry<String, Counter> entry : this.sortedCommands()) {
+            appendRow(line, entry.getKey(), entry.getValue().count);
+            if (entry.getValue().dataBytes > 0) {
+                line.append(' ');
+                appendNumber(line, entry.getValue().dataBytes);
+            }
+            line.endLine();
+        }
+
+        line.endLine();
+        appendHeading(line, "Text parsing method", "Text bytes").endLine();
+        for (final TextParsingMethod method : TextParsingMethod.values()) {
+            if (this.textBytes[method.ordinal()] > 0) {
+                appendRow(line, method.toString(), this.textBytes[method.ordinal()]).endLine();
+            }
+        }
+
+        line.endLine();
+        appendHeading(line, "Largest commands", "Bytes").append(' ').append("Offset").endLine();
+        for (int ix = 0; ix < this.largestCount; ++ix) {
+            appendRow(line, this.largestCommands[ix], this.largestSizes[ix])
+                .append(' ').appendHex(this.largestOffsets[ix], OFFSET_DIGITS).endLine();
+        }
+    }
+
+    private void count(final int type, final String name, final int dataLength) {
+        if (!this.shown) {
+            return;
+        }
+
+        ++this.commandCount;
+        ++this.typeCounts[type];
+
+        if (name != null) {
+            Counter counter = this.commands.get(name);
+            if (counter == null) {
+                counter = new Counter();
+                this.commands.put(name, counter);
+            }
+
+            ++counter.count;
+            if (dataLength > 0) {
+                counter.dataBytes += dataLength;
+            }
+        }
+
+        if (dataLength > 0) {
+            if (type != TEXT) {
+                this.dataBytes += dataLength;
+            }
+            this.addLargest(name == null ? TYPES[type] : name, dataLength);
+        }
+    }
+
+    /**
+     * Keeps the printer command if it is one of the {@link #LARGEST_COMMANDS} largest printer commands.
+     */
+    private void addLargest(final String name, final long size) {
+        if (this.largestCount == LARGEST_COMMANDS && size <= this.largestSizes[LARGEST_COMMANDS - 1]) {
+            return;
+        }
+
+        int pos = Math.min(this.largestCount, LARGEST_COMMANDS - 1);
+        while (pos > 0 && this.largestSizes[pos - 1] < size) {
+            this.largestSizes[pos] = this.largestSizes[pos - 1];
+            this.largestOffsets[pos] = this.largestOffsets[pos - 1];
+            this.largestCommands[pos] = this.largestCommands[pos - 1];
+            --pos;
+        }
+
+        this.largestSizes[pos] = size;
+        this.largestOffsets[pos] = this.offset;
+        this.largestCommands[pos] = name;
+        this.largestCount = Math.min(this.largestCount + 1, LARGEST_COMMANDS);
+    }
+
+    private void pageBoundary() {
+        if (this.shown) {
+            ++this.pages;
+        }
+        this.dirty = false;
+    }
+
+    private void pageBoundaryIfDirty() {
+        if (this.dirty) {
+            this.pageBoundary();
+        }
+    }
+
+    /**
+     * Returns the command strings sorted by the number of printer commands (descending) and name.
+     */
+    private List<Map.Entry<String, Counter>> sortedCommands() {
+        final List<Map.Entry<String, Counter>> result = new ArrayList<>(this.commands.entrySet());
+        Collections.sort(result, new Comparator<Map.Entry<String, Counter>>() {
+            @Override
+            public int compare(final Map.Entry<String, Counter> o1, final Map.Entry<String, Counter> o2) {
+                final int order = Long.compare(o2.getValue().count, o1.getValue().count);
+                return order != 0 ? order : o1.getKey().compareTo(o2.getKey());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Appends the heading of a table - the headings of the number columns are right-justified.
+     */
+    private static ColumnWriter appendHeading(final ColumnWriter line, final String name, final String... numbers) {
+        line.appendColumn(name, NAME_COLUMN_WIDTH);
+        for (final String number : numbers) {
+            line.append(' ').appendSpaces(NUMBER_COLUMN_WIDTH - number.length()).append(number);
+        }
+        return line;
+    }
+
+    private static ColumnWriter appendRow(final ColumnWriter line, final String name, final long value) {
+        line.appendColumn(name, NAME_COLUMN_WIDTH).append(' ');
+        return appendNumber(line, value);
+    }
+
+    /**
+     * Appends the value with thousands separators right-justified in a number column.
+     */
+    private static ColumnWriter appendNumber(final ColumnWriter line, final long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            ++digits;
+        }
+
+        return line.appendSpaces(NUMBER_COLUMN_WIDTH - digits - (digits - 1) / 3).appendGrouped(value);
+    }
+
+    /**
+     * The counters of a command string.
+     */
+    private static final class Counter {
+        private long count;
+        private long dataBytes;
+    }
+}
@@ -20,12 +20,21 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * This class wraps additional information about a printer command.
+ * This class wraps additional information about a printer command. The short summary is always needed,
+ * but the detailed multi-line information is only written in verbose mode. Therefore the details are
+ * written by {@link #writeDetails(DetailsWriter)} when (and only when) they are needed. Subclasses may
+ * override this method to compute the details lazily instead of building them in advance.
  */
-final class PrinterCommandDetails {
+class PrinterCommandDetails {
+
+    /**
+     * Details without a summary and without detailed multi-line information.
+     */
+    static final PrinterCommandDetails NONE = new PrinterCommandDetails("");
 
     private final String summary;
     private final List<String> details;
+    private final byte[] dataSection;
 
     /**
      * Constructor without detailed multi-line information.
@@ -38,8 +47,20 @@ final class PrinterCommandDetails {
      * Constructor with a short summary and detailed multi-line information.
      */
     PrinterCommandDetails(final String summary, final List<String> details) {
+        this(summary, details, null);
+    }
+
+    /**
+     * Constructor with a short summary and a data section that is to be hex-dumped.
+     */
+    PrinterCommandDetails(final String summary, final byte[] dataSection) {
+        this(summary, Collections.<String>emptyList(), dataSection);
+    }
+
+    private PrinterCommandDetails(final String summary, final List<String> details, final byte[] dataSection) {
         this.summary = summary == null ? "" : summary;
         this.details = details;
+        this.dataSection = dataSection;
     }
 
     /**
@@ -48,18 +69,24 @@ final class PrinterCommandDetails {
      *
      * @return A short summary or an empty string.
      */
-    String getSummary() {
+    final String getSummary() {
         return this.summary;
-
     }
 
     /**
-     * Returns detailed multi-line information about the printer command (i. e. a completely
-     * decoded font header).
+     * Writes the detailed multi-line information about the printer command (i. e. a completely
+     * decoded font header) followed by the hex dump of the data section. This method is only invoked
+     * in verbose mode.
      *
-     * @return A list containing one or more lines of additional details or an empty list.
+     * @param writer   the {@link DetailsWriter} to write the details to.
      */
-    List<String> getDetails() {
-        return this.details;
+    void writeDetails(final DetailsWriter writer) {
+        for (final String line : this.details) {
+            writer.startLine().append(line).endLine();
+        }
+
+        if (this.dataSection != null) {
+            writer.writeHexDump(this.dataSection);
+        }
     }
 }
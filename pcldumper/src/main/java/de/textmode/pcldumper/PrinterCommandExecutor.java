@@ -26,7 +26,68 @@ import de.textmode.pclbox.PrinterCommand;
 abstract class PrinterCommandExecutor {
 
     /**
-     * Returns more specific information of the given {@link PrinterCommand}.
+     * The result of {@link #parseValue(String)} for a value that is not an integral number.
+     */
+    static final int INVALID_VALUE = Integer.MIN_VALUE;
+
+    /**
+     * Returns more specific information of the given {@link PrinterCommand}. This method is invoked for
+     * every printer command, so expensive detailed information should not be built here but in
+     * {@link PrinterCommandDetails#writeDetails(DetailsWriter)}, which is only invoked in verbose mode.
      */
     abstract PrinterCommandDetails execute(final PrinterCommand command, final PclDumperContext context);
+
+    /**
+     * Returns true if the {@link PrinterCommandExecutor} changes the {@link PclDumperContext}. Such an
+     * executor is also invoked for the printer commands that are not dumped (see
+     * {@link #updateContext(PrinterCommand, PclDumperContext)}).
+     */
+    boolean changesContext() {
+        return false;
+    }
+
+    /**
+     * Updates the {@link PclDumperContext} for a printer command that is not dumped. The default
+     * implementation executes the printer command and drops the result - executors whose results are
+     * expensive only update the state.
+     */
+    void updateContext(final PrinterCommand command, final PclDumperContext context) {
+        this.execute(command, context);
+    }
+
+    /**
+     * Returns true if the result of the {@link PrinterCommandExecutor} depends only on the printer command
+     * and its value, so the result can be cached by the {@link ExecutorResultCache}. Executors that change
+     * the {@link PclDumperContext} must not be cached.
+     */
+    boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Returns the value of a printer command as int without creating any objects.
+     *
+     * @param value   the value of the printer command (i. e. <code>26</code>, <code>+26</code> or
+     *     <code>-2</code>).
+     *
+     * @return the value or {@link #INVALID_VALUE} if the value is not an integral number that fits in an int.
+     */
+    static int parseValue(final String value) {
+        final int length = value.length();
+        final boolean negative = length > 0 && value.charAt(0) == '-';
+        int ix = negative || length > 0 && value.charAt(0) == '+' ? 1 : 0;
+        if (ix == length) {
+            return INVALID_VALUE;
+        }
+
+        int result = 0;
+        for (; ix < length; ++ix) {
+            final int digit = value.charAt(ix) - '0';
+            if (digit < 0 || digit > 9 || result > (Integer.MAX_VALUE - digit) / 10) {
+                return INVALID_VALUE;
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
 }
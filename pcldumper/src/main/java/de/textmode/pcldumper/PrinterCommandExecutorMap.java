@@ -16,47 +16,191 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
-import java.util.HashMap;
-
+import de.textmode.pclbox.ParameterizedPclCommand;
 import de.textmode.pclbox.PrinterCommand;
+import de.textmode.pclbox.TwoBytePclCommand;
 
 /**
  * The {@link PrinterCommandExecutorMap} contains a map with several
  * {@link PrinterCommandExecutor} that are required to maintain the {@link PclDumperContext}
  * and to return more specific information of a concrete {@link PrinterCommand}.
+ *
+ * <p>The map is a table that is indexed directly by the parameterized character, the group character and
+ * the termination character of a {@link ParameterizedPclCommand}, so no command string has to be built to
+ * find the {@link PrinterCommandExecutor} of a printer command.
+ *
+ * <p>The results of cacheable executors (see {@link PrinterCommandExecutor#isCacheable()}) are cached by
+ * the {@link ExecutorResultCache} of the {@link PrinterCommandExecutorMap}, so the same printer command with
+ * the same value is "executed" just once. Because of the cache, a {@link PrinterCommandExecutorMap} must
+ * only be used by one thread.
  */
 final class PrinterCommandExecutorMap {
 
+    private static final int FIRST_PARAMETERIZED_CHARACTER = 0x21;
+    private static final int LAST_PARAMETERIZED_CHARACTER = 0x2F;
+    private static final int FIRST_GROUP_CHARACTER = 0x60;
+    private static final int LAST_GROUP_CHARACTER = 0x7E;
+    private static final int FIRST_TERMINATION_CHARACTER = 0x40;
+    private static final int LAST_TERMINATION_CHARACTER = 0x5E;
+
+    // One entry for "no group character" and one for every group character...
+    private static final int GROUPS = LAST_GROUP_CHARACTER - FIRST_GROUP_CHARACTER + 2;
+    private static final int TERMINATIONS = LAST_TERMINATION_CHARACTER - FIRST_TERMINATION_CHARACTER + 1;
+
     private static final PrinterCommandExecutor DEFAULT_EXECUTOR = new DefaultCommandExecutor();
-    private static final HashMap<String, PrinterCommandExecutor> EXECUTORS = new HashMap<>();
+    private static final PrinterCommandExecutor PRINTER_RESET_EXECUTOR = new RasterGraphicsCommandExecutor();
+    private static final PrinterCommandExecutor[] EXECUTORS =
+            new PrinterCommandExecutor[(LAST_PARAMETERIZED_CHARACTER - FIRST_PARAMETERIZED_CHARACTER + 1)
+                    * GROUPS * TERMINATIONS];
 
     static {
-        EXECUTORS.put("(sT", new TypefaceFamilyCommandExecutor());
-        EXECUTORS.put(")sT", new TypefaceFamilyCommandExecutor());
-        EXECUTORS.put("&tP", new TextParsingMethodCommandExecutor());
-        // TODO EXECUTORS.put("(fW", new DefineSymbolSetExecutor());
-        // TODO EXECUTORS.put("(sW", new FontHeaderExecutor());
-        // TODO EXECUTORS.put("*cW", new UserDefinedPatternExecutor());
-        // TODO EXECUTORS.put("*bW", new TransferRasterDataExecutor());
-        // TODO EXECUTORS.put("*bV", new TransferRasterDataExecutor());
-        // TODO EXECUTORS.put("&aW", new UserDefinedPageExecutor());
+        register("(sT", new TypefaceFamilyCommandExecutor());
+        register(")sT", new TypefaceFamilyCommandExecutor());
+        register("&tP", new TextParsingMethodCommandExecutor());
+        // TODO register("(fW", new DefineSymbolSetExecutor());
+        // TODO register("(sW", new FontHeaderExecutor());
+        // TODO register("*cW", new UserDefinedPatternExecutor());
+        register("*bW", new TransferRasterDataExecutor());
+        register("*bV", new TransferRasterDataExecutor());
+        register("*bM", new RasterGraphicsCommandExecutor());
+        register("*bY", new RasterGraphicsCommandExecutor());
+        register("*rS", new RasterGraphicsCommandExecutor());
+        register("*rA", new RasterGraphicsCommandExecutor());
+        register("*rB", new RasterGraphicsCommandExecutor());
+        register("*rC", new RasterGraphicsCommandExecutor());
+        // TODO register("&aW", new UserDefinedPageExecutor());
+    }
+
+    private final ExecutorResultCache cache;
+
+    /**
+     * Constructor of the {@link PrinterCommandExecutorMap} with an {@link ExecutorResultCache} of the
+     * default capacity.
+     */
+    PrinterCommandExecutorMap() {
+        this(ExecutorResultCache.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor of the {@link PrinterCommandExecutorMap}.
+     *
+     * @param cacheCapacity   the capacity of the {@link ExecutorResultCache}.
+     */
+    PrinterCommandExecutorMap(final int cacheCapacity) {
+        this.cache = new ExecutorResultCache(cacheCapacity);
     }
 
     /**
      * Invokes the {@link PrinterCommandExecutor} for the given {@link PrinterCommand}. If no
-     * {@link PrinterCommandExecutor} exists <code>null</code> is returned.
+     * specific {@link PrinterCommandExecutor} exists, the default {@link PrinterCommandExecutor} is invoked.
      *
      * @param command   the {@link PrinterCommand} that is to be "executed".
      * @param context   the current {@link PclDumperContext}.
      *
-     * @return a String containing more information about the given {@link PrinterCommand} or <code>null</code>.
+     * @return the {@link PrinterCommandDetails} of the given {@link PrinterCommand}.
      */
     PrinterCommandDetails executeFor(final PrinterCommand command, final PclDumperContext context) {
-        final PrinterCommandExecutor executor = EXECUTORS.get(command.toCommandString());
-        if (executor != null) {
-            return executor.execute(command, context);
-        } else {
+        final PrinterCommandExecutor executor = get(command);
+        if (executor == null) {
             return DEFAULT_EXECUTOR.execute(command, context);
+        } else if (!executor.isCacheable()) {
+            return executor.execute(command, context);
         }
+
+        // The details of a data section are never cached (the data differs even if the value does not)...
+        final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final byte[] data = cmd.getDataSection();
+        final int value = PrinterCommandExecutor.parseValue(cmd.getValue());
+        if (data != null && data.length > 0 || value == PrinterCommandExecutor.INVALID_VALUE) {
+            return executor.execute(command, context);
+        }
+
+        final long key = CommandKey.withValue(CommandKey.of(cmd), value);
+        PrinterCommandDetails details = this.cache.get(key);
+        if (details == null) {
+            details = executor.execute(command, context);
+            this.cache.put(key, details);
+        }
+        return details;
+    }
+
+    /**
+     * Returns the {@link ExecutorResultCache} (for its hit and miss counters).
+     */
+    ExecutorResultCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Invokes the {@link PrinterCommandExecutor} for the given {@link PrinterCommand} only if the
+     * {@link PrinterCommandExecutor} changes the {@link PclDumperContext}. This is used for the printer
+     * commands that are not dumped.
+     *
+     * @param command   the {@link PrinterCommand} that is to be "executed".
+     * @param context   the current {@link PclDumperContext}.
+     */
+    void updateContext(final PrinterCommand command, final PclDumperContext context) {
+        final PrinterCommandExecutor executor = get(command);
+        if (executor != null && executor.changesContext()) {
+            executor.updateContext(command, context);
+        }
+    }
+
+    /**
+     * Returns the specific {@link PrinterCommandExecutor} for the given {@link PrinterCommand} or
+     * <code>null</code> if there is none. Besides the parameterized printer commands, only the printer reset
+     * has an executor (it resets the raster graphics).
+     */
+    private static PrinterCommandExecutor get(final PrinterCommand command) {
+        if (command instanceof TwoBytePclCommand) {
+            return ((TwoBytePclCommand) command).getOperationCharacter() == 'E' ? PRINTER_RESET_EXECUTOR : null;
+        } else if (!(command instanceof ParameterizedPclCommand)) {
+            return null;
+        }
+
+        final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final int index = indexOf(
+                cmd.getParameterizedCharacter(),
+                cmd.getGroupCharacter(),
+                cmd.getTerminationCharacter());
+
+        return index < 0 ? null : EXECUTORS[index];
+    }
+
+    /**
+     * Returns the index of a printer command within the table or -1 if the printer command can not be
+     * within the table. A lower case termination character (of a combined printer command) is converted
+     * to upper case.
+     */
+    private static int indexOf(
+            final int parameterizedCharacter,
+            final int groupCharacter,
+            final int terminationCharacter) {
+
+        final int terminationByte = terminationCharacter & 0xFF;
+        final boolean lowerCase = terminationByte >= 'a' && terminationByte <= 'z';
+
+        final int parameterized = (parameterizedCharacter & 0xFF) - FIRST_PARAMETERIZED_CHARACTER;
+        // A character below the group characters must not end up in the entry for "no group character"...
+        final int groupByte = groupCharacter & 0xFF;
+        final int group = groupByte == 0 ? 0
+                : groupByte < FIRST_GROUP_CHARACTER ? -1 : groupByte - FIRST_GROUP_CHARACTER + 1;
+        final int termination = (lowerCase ? terminationByte - 0x20 : terminationByte) - FIRST_TERMINATION_CHARACTER;
+
+        if (parameterized < 0 || parameterized > LAST_PARAMETERIZED_CHARACTER - FIRST_PARAMETERIZED_CHARACTER
+                || group < 0 || group >= GROUPS
+                || termination < 0 || termination >= TERMINATIONS) {
+            return -1;
+        }
+
+        return (parameterized * GROUPS + group) * TERMINATIONS + termination;
+    }
+
+    private static void register(final String command, final PrinterCommandExecutor executor) {
+        final int index = command.length() == 3
+                ? indexOf(command.charAt(0), command.charAt(1), command.charAt(2))
+                : indexOf(command.charAt(0), 0, command.charAt(1));
+
+        EXECUTORS[index] = executor;
     }
 }
@@ -0,0 +1,439 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.util.Arrays;
+
+/**
+ * The {@link RasterDecoder} decodes the rows of raster graphics (<code>*b#W</code> and <code>*b#V</code>)
+ * in all compression modes of <code>*b#M</code>: unencoded (0), run-length encoding (1), TIFF PackBits (2),
+ * delta row (3), adaptive compression (5) and replacement delta row (9). Mode 4 is reserved and the modes
+ * 6 to 8 are not defined.
+ *
+ * <p>Every row is decoded into one reusable buffer, which then becomes the seed row of its plane (and the
+ * previous seed row becomes the buffer for the next row), so no memory is allocated for a row unless it is
+ * longer than all rows before. The {@link RasterDecoder} also sums up the rows and bytes of the current
+ * image. It is part of the {@link PclDumperContext}, so it is not thread-safe.
+ */
+final class RasterDecoder {
+
+    /**
+     * The compression mode that encodes a block of rows (and not just a single row).
+     */
+    static final int ADAPTIVE_COMPRESSION = 5;
+
+    /**
+     * The maximum number of planes of a row.
+     */
+    private static final int MAX_PLANES = 8;
+
+    /**
+     * The maximum length of a decoded row (1 MB). Bytes beyond are clipped, so a corrupt data stream can not
+     * exhaust the memory.
+     */
+    private static final int MAX_ROW_LENGTH = 1024 * 1024;
+
+    private final byte[][] seedRows = new byte[MAX_PLANES][];
+    private final int[] seedRowLengths = new int[MAX_PLANES];
+    private byte[] row = new byte[256];
+    private int plane;
+    private int minimumRowLength;
+
+    private int rows;
+    private long decodedBytes;
+
+    private long imageRows;
+    private long imageDecodedBytes;
+    private long imageEncodedBytes;
+
+    /**
+     * Constructor of the {@link RasterDecoder}.
+     */
+    RasterDecoder() {
+        for (int ix = 0; ix < MAX_PLANES; ++ix) {
+            this.seedRows[ix] = new byte[0];
+        }
+    }
+
+    /**
+     * Returns true if rows can be decoded in the given compression mode.
+     *
+     * @param compressionMode   the compression mode.
+     *
+     * @return true if the compression mode is supported.
+     */
+    static boolean isSupported(final int compressionMode) {
+        return compressionMode >= 0 && compressionMode <= 3
+                || compressionMode == ADAPTIVE_COMPRESSION
+                || compressionMode == 9;
+    }
+
+    /**
+     * Starts a new image (<code>*r#A</code>, <code>*rB</code>, <code>*rC</code> or a printer reset): the
+     * seed rows are cleared and the totals of the image are reset.
+     */
+    void startImage() {
+        Arrays.fill(this.seedRowLengths, 0);
+        this.plane = 0;
+        this.imageRows = 0;
+        this.imageDecodedBytes = 0;
+        this.imageEncodedBytes = 0;
+    }
+
+    /**
+     * Zeroes the seed rows (<code>*b#Y</code> moves down without transferring rows).
+     */
+    void zeroSeedRows() {
+        for (int ix = 0; ix < MAX_PLANES; ++ix) {
+            Arrays.fill(this.seedRows[ix], 0, this.seedRowLengths[ix], (byte) 0);
+        }
+        this.plane = 0;
+    }
+
+    /**
+     * Decodes the data of a <code>*b#W</code> (the last plane of a row) or a <code>*b#V</code> (a plane
+     * that is followed by more planes of the same row).
+     *
+     * @param compressionMode   the current compression mode.
+     * @param data   the data section of the printer command (may be null).
+     * @param lastPlane   true for <code>*b#W</code>, false for <code>*b#V</code>.
+     * @param rowLength   the length of a row in bytes given by the raster width (0 if not set). Shorter rows
+     *     are padded with zeros.
+     *
+     * @return false if the data can not be decoded because the compression mode is not supported.
+     */
+    boolean transfer(final int compressionMode, final byte[] data, final boolean lastPlane, final int rowLength) {
+        final int length = data == null ? 0 : data.length;
+        this.minimumRowLength = Math.min(rowLength, MAX_ROW_LENGTH);
+        this.rows = 0;
+        this.decodedBytes = 0;
+        this.imageEncodedBytes += length;
+
+        if (!isSupported(compressionMode)) {
+            return false;
+        }
+
+        if (compressionMode == ADAPTIVE_COMPRESSION) {
+            this.decodeAdaptive(data, length);
+        } else {
+            this.decodeRow(compressionMode, data, 0, length);
+            this.rows = lastPlane ? 1 : 0;
+        }
+
+        this.imageRows += this.rows;
+        this.imageDecodedBytes += this.decodedBytes;
+        this.plane = lastPlane ? 0 : Math.min(this.plane + 1, MAX_PLANES - 1);
+        return true;
+    }
+
+    /**
+     * Returns the plane that is transferred next (0 for the first plane).
+     */
+    int getPlane() {
+        return this.plane;
+    }
+
+    /**
+     * Returns the number of rows completed by the last transfer.
+     */
+    int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Returns the number of bytes decoded by the last transfer.
+     */
+    long getDecodedBytes() {
+        return this.decodedBytes;
+    }
+
+    /**
+     * Returns the number of rows of the current image.
+     */
+    long getImageRows() {
+        return this.imageRows;
+    }
+
+    /**
+     * Returns the number of decoded bytes of the current image.
+     */
+    long getImageDecodedBytes() {
+        return this.imageDecodedBytes;
+    }
+
+    /**
+     * Returns the number of encoded bytes (the data sections) of the current image.
+     */
+    long getImageEncodedBytes() {
+        return this.imageEncodedBytes;
+    }
+
+    /**
+     * Returns a copy of the seed row of the given plane, which is the row that has been decoded last.
+     *
+     * @param seedPlane   the plane (0 for the first plane).
+     *
+     * @return the seed row.
+     */
+    byte[] getSeedRow(final int seedPlane) {
+        return Arrays.copyOf(this.seedRows[seedPlane], this.seedRowLengths[seedPlane]);
+    }
+
+    /**
+     * Decodes a block of rows in adaptive compression. Every row starts with a command byte and a two byte
+     * parameter: the commands 0 to 3 decode a row of <i>parameter</i> bytes in that compression mode, 4
+     * inserts <i>parameter</i> empty rows and 5 repeats the previous row <i>parameter</i> times.
+     */
+    private void decodeAdaptive(final byte[] data, final int length) {
+        int pos = 0;
+        while (pos + 3 <= length) {
+            final int command = data[pos] & 0xFF;
+            final int parameter = (data[pos + 1] & 0xFF) << 8 | data[pos + 2] & 0xFF;
+            pos += 3;
+
+            if (command <= 3) {
+                final int count = Math.min(parameter, length - pos);
+                this.decodeRow(command, data, pos, count);
+                this.rows += 1;
+                pos += count;
+            } else if (command == 4) {
+                Arrays.fill(this.seedRows[this.plane], 0, this.seedRowLengths[this.plane], (byte) 0);
+                this.rows += parameter;
+                this.decodedBytes += (long) parameter * this.getSeedRowLength();
+            } else if (command == 5) {
+                this.rows += parameter;
+                this.decodedBytes += (long) parameter * this.getSeedRowLength();
+            } else {
+                // An invalid command - the rest of the block can not be decoded...
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decodes a single row into the buffer, which then becomes the seed row of the current plane.
+     */
+    private void decodeRow(final int compressionMode, final byte[] data, final int offset, final int length) {
+        final int end = offset + length;
+        int rowLength;
+        switch (compressionMode) {
+        case 0:
+            rowLength = this.copy(0, 0, data, offset, length);
+            break;
+
+        case 1:
+            rowLength = this.decodeRunLength(data, offset, end);
+            break;
+
+        case 2:
+            rowLength = this.decodePackBits(data, offset, end);
+            break;
+
+        case 3:
+            rowLength = this.decodeDeltaRow(data, offset, end);
+            break;
+
+        default:
+            rowLength = this.decodeReplacementDeltaRow(data, offset, end);
+            break;
+        }
+        rowLength = this.extend(rowLength, this.minimumRowLength);
+
+        final byte[] seedRow = this.seedRows[this.plane];
+        this.seedRows[this.plane] = this.row;
+        this.seedRowLengths[this.plane] = rowLength;
+        this.row = seedRow;
+        this.decodedBytes += rowLength;
+    }
+
+    /**
+     * Run-length encoding: pairs of a repeat count (one less than the number of bytes) and a byte.
+     */
+    private int decodeRunLength(final byte[] data, final int start, final int end) {
+        int rowLength = 0;
+        for (int pos = start; pos + 1 < end; pos += 2) {
+            rowLength = this.fill(rowLength, rowLength, data[pos + 1], (data[pos] & 0xFF) + 1);
+        }
+        return rowLength;
+    }
+
+    /**
+     * TIFF PackBits: a control byte of 0 to 127 is followed by one more literal bytes, a control byte of
+     * -1 to -127 by a byte that is repeated one more than the negated control byte times (-128 is a no-op).
+     */
+    private int decodePackBits(final byte[] data, final int start, final int end) {
+        int rowLength = 0;
+        int pos = start;
+        while (pos < end) {
+            final int control = data[pos++];
+            if (control >= 0) {
+                final int count = Math.min(control + 1, end - pos);
+                rowLength = this.copy(rowLength, rowLength, data, pos, count);
+                pos += count;
+            } else if (control != -128 && pos < end) {
+                rowLength = this.fill(rowLength, rowLength, data[pos++], 1 - control);
+            }
+        }
+        return rowLength;
+    }
+
+    /**
+     * Delta row compression: the seed row is changed by replacements. The command byte of a replacement
+     * contains the number of bytes (1 to 8) in the upper three bits and the offset from the end of the
+     * previous replacement in the lower five bits (31 is continued by offset bytes until one is not 255).
+     */
+    private int decodeDeltaRow(final byte[] data, final int start, final int end) {
+        int rowLength = this.copySeedRow();
+        int x = 0;
+        int pos = start;
+        while (pos < end) {
+            final int command = data[pos++] & 0xFF;
+            int offset = command & 0x1F;
+            boolean more = offset == 0x1F;
+            while (more && pos < end) {
+                final int extra = data[pos++] & 0xFF;
+                offset = Math.min(offset + extra, MAX_ROW_LENGTH);
+                more = extra == 0xFF;
+            }
+
+            x = Math.min(x + offset, MAX_ROW_LENGTH);
+            final int count = Math.min((command >> 5) + 1, end - pos);
+            rowLength = this.copy(rowLength, x, data, pos, count);
+            x += count;
+            pos += count;
+        }
+        return rowLength;
+    }
+
+    /**
+     * Replacement delta row compression: like delta row compression, but the replacements may be longer
+     * and run-length encoded. The command byte contains a flag for run-length encoded replacements
+     * (bit 7), the offset (bits 3 to 6, or 5 to 6 if run-length encoded) and the number of bytes minus one
+     * (bits 0 to 2, or 0 to 4 if run-length encoded). An offset or a number of bytes with all bits set is
+     * continued by bytes until one is not 255.
+     */
+    private int decodeReplacementDeltaRow(final byte[] data, final int start, final int end) {
+        int rowLength = this.copySeedRow();
+        int x = 0;
+        int pos = start;
+        while (pos < end) {
+            final int command = data[pos++] & 0xFF;
+            final boolean encoded = (command & 0x80) != 0;
+            int offset = encoded ? command >> 5 & 0x03 : command >> 3 & 0x0F;
+            int count = (encoded ? command & 0x1F : command & 0x07) + 1;
+
+            boolean more = offset == (encoded ? 0x03 : 0x0F);
+            while (more && pos < end) {
+                final int extra = data[pos++] & 0xFF;
+                offset = Math.min(offset + extra, MAX_ROW_LENGTH);
+                more = extra == 0xFF;
+            }
+
+            more = count == (encoded ? 0x20 : 0x08);
+            while (more && pos < end) {
+                final int extra = data[pos++] & 0xFF;
+                count = Math.min(count + extra, MAX_ROW_LENGTH);
+                more = extra == 0xFF;
+            }
+
+            x = Math.min(x + offset, MAX_ROW_LENGTH);
+            if (encoded) {
+                // Pairs of a repeat count and a byte, like run-length encoding...
+                while (count > 0 && pos + 1 < end) {
+                    final int run = Math.min((data[pos] & 0xFF) + 1, count);
+                    rowLength = this.fill(rowLength, x, data[pos + 1], run);
+                    x += run;
+                    count -= run;
+                    pos += 2;
+                }
+            } else {
+                count = Math.min(count, end - pos);
+                rowLength = this.copy(rowLength, x, data, pos, count);
+                x += count;
+                pos += count;
+            }
+        }
+        return rowLength;
+    }
+
+    /**
+     * Returns the length of the seed row of the current plane (at least the length given by the raster width).
+     */
+    private int getSeedRowLength() {
+        return Math.max(this.seedRowLengths[this.plane], this.minimumRowLength);
+    }
+
+    /**
+     * Copies the seed row of the current plane to the buffer.
+     *
+     * @return the length of the seed row.
+     */
+    private int copySeedRow() {
+        final int seedRowLength = this.seedRowLengths[this.plane];
+        final int rowLength = this.extend(0, seedRowLength);
+        System.arraycopy(this.seedRows[this.plane], 0, this.row, 0, seedRowLength);
+        return rowLength;
+    }
+
+    /**
+     * Copies bytes to the buffer at the given position.
+     *
+     * @return the new length of the row.
+     */
+    private int copy(final int rowLength, final int x, final byte[] data, final int pos, final int count) {
+        final int end = (int) Math.min((long) x + count, MAX_ROW_LENGTH);
+        if (end <= x) {
+            return rowLength;
+        }
+
+        final int length = this.extend(rowLength, end);
+        System.arraycopy(data, pos, this.row, x, end - x);
+        return length;
+    }
+
+    /**
+     * Fills the buffer at the given position with a byte.
+     *
+     * @return the new length of the row.
+     */
+    private int fill(final int rowLength, final int x, final byte value, final int count) {
+        final int end = (int) Math.min((long) x + count, MAX_ROW_LENGTH);
+        if (end <= x) {
+            return rowLength;
+        }
+
+        final int length = this.extend(rowLength, end);
+        Arrays.fill(this.row, x, end, value);
+        return length;
+    }
+
+    /**
+     * Extends the row in the buffer to the given length. The bytes that are added are zero.
+     *
+     * @return the new length of the row.
+     */
+    private int extend(final int rowLength, final int length) {
+        if (length <= rowLength) {
+            return rowLength;
+        }
+
+        if (length > this.row.length) {
+            this.row = Arrays.copyOf(this.row, Math.max(length, this.row.length * 2));
+        }
+        Arrays.fill(this.row, rowLength, length, (byte) 0);
+        return length;
+    }
+}
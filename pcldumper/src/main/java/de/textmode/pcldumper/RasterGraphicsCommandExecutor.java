@@ -0,0 +1,105 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import de.textmode.pclbox.ParameterizedPclCommand;
+import de.textmode.pclbox.PrinterCommand;
+
+/**
+ * This {@link PrinterCommandExecutor} maintains the state of the raster graphics in the
+ * {@link PclDumperContext}: the compression mode (<code>*b#M</code>), the raster width (<code>*r#S</code>)
+ * and the seed rows, which are cleared by "Start Raster Graphics" (<code>*r#A</code>), "End Raster Graphics"
+ * (<code>*rB</code> and <code>*rC</code>), "Raster Y Offset" (<code>*b#Y</code>) and the printer reset
+ * (<code>E</code>). The summary of "End Raster Graphics" shows the totals of the image - for a printer
+ * command that is not dumped only the state is updated.
+ */
+final class RasterGraphicsCommandExecutor extends PrinterCommandExecutor {
+
+    private static final PrinterCommandExecutor DEFAULT_EXECUTOR = new DefaultCommandExecutor();
+
+    private static final int COMPRESSION_MODE = CommandKey.of("*bM");
+    private static final int Y_OFFSET = CommandKey.of("*bY");
+    private static final int RASTER_WIDTH = CommandKey.of("*rS");
+    private static final int START_RASTER_GRAPHICS = CommandKey.of("*rA");
+    private static final int END_RASTER_GRAPHICS = CommandKey.of("*rB");
+    private static final int END_RASTER_GRAPHICS_RESET = CommandKey.of("*rC");
+
+    @Override
+    boolean changesContext() {
+        return true;
+    }
+
+    @Override
+    PrinterCommandDetails execute(final PrinterCommand command, final PclDumperContext context) {
+        if (!(command instanceof ParameterizedPclCommand)) {
+            this.updateContext(command, context);
+            return PrinterCommandDetails.NONE;
+        }
+
+        final RasterDecoder decoder = context.getRasterDecoder();
+        final int key = CommandKey.of((ParameterizedPclCommand) command);
+
+        if ((key == END_RASTER_GRAPHICS || key == END_RASTER_GRAPHICS_RESET)
+                && (decoder.getImageRows() > 0 || decoder.getImageEncodedBytes() > 0)) {
+
+            final StringBuilder summary = new StringBuilder();
+            summary.append("Image of ").append(decoder.getImageRows())
+                .append(decoder.getImageRows() == 1 ? " row" : " rows");
+            if (context.getRasterWidth() > 0) {
+                summary.append(" of ").append(context.getRasterWidth()).append(" pixels");
+            }
+            summary.append(", ").append(decoder.getImageDecodedBytes()).append(" bytes from ")
+                .append(decoder.getImageEncodedBytes()).append(" bytes");
+            TransferRasterDataExecutor.appendRatio(
+                    summary, decoder.getImageDecodedBytes(), decoder.getImageEncodedBytes());
+
+            this.updateContext(command, context);
+            return new PrinterCommandDetails(summary.toString());
+        }
+
+        this.updateContext(command, context);
+        return DEFAULT_EXECUTOR.execute(command, context);
+    }
+
+    @Override
+    void updateContext(final PrinterCommand command, final PclDumperContext context) {
+        if (!(command instanceof ParameterizedPclCommand)) {
+            context.resetRasterGraphics();
+            return;
+        }
+
+        final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final int key = CommandKey.of(cmd);
+        final RasterDecoder decoder = context.getRasterDecoder();
+
+        if (key == COMPRESSION_MODE) {
+            // The scanner of the index accepts the same values (see PclScanner)...
+            final int value = parseValue(cmd.getValue());
+            if (value >= 0 && value <= PclScanner.MAX_COMPRESSION_MODE) {
+                context.setCompressionMode(value);
+            }
+        } else if (key == RASTER_WIDTH) {
+            final int value = parseValue(cmd.getValue());
+            if (value >= 0 && value <= PclScanner.MAX_RASTER_WIDTH) {
+                context.setRasterWidth(value);
+            }
+        } else if (key == Y_OFFSET) {
+            decoder.zeroSeedRows();
+        } else if (key == START_RASTER_GRAPHICS || key == END_RASTER_GRAPHICS || key == END_RASTER_GRAPHICS_RESET) {
+            decoder.startImage();
+        }
+    }
+}
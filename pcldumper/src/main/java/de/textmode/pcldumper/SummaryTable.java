@@ -0,0 +1,111 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.util.Arrays;
+
+/**
+ * The {@link SummaryTable} maps a parameterized printer command (its {@link CommandKey}) and a value of
+ * the printer command to the {@link PrinterCommandDetails} with the summary of the value. The table is
+ * an open addressing hash table with primitive keys, so a lookup neither builds a string nor boxes the
+ * value. The table is filled once and is read-only afterwards.
+ */
+final class SummaryTable {
+
+    private static final long EMPTY = -1L;
+
+    private long[] keys = newKeys(64);
+    private PrinterCommandDetails[] values = new PrinterCommandDetails[64];
+    private int size;
+
+    /**
+     * Adds the summary of a value of a printer command. If the value already has a (different) summary,
+     * both summaries are joined with " or ".
+     *
+     * @param commandKey   the {@link CommandKey} of the printer command.
+     * @param value   the value of the printer command.
+     * @param summary   the summary of the value.
+     */
+    void put(final int commandKey, final int value, final String summary) {
+        if (this.size * 2 >= this.keys.length) {
+            this.grow();
+        }
+
+        final long key = CommandKey.withValue(commandKey, value);
+        final int index = this.indexOf(key);
+        if (this.keys[index] == EMPTY) {
+            this.keys[index] = key;
+            this.values[index] = new PrinterCommandDetails(summary);
+            ++this.size;
+        } else if (!this.values[index].getSummary().equals(summary)) {
+            this.values[index] = new PrinterCommandDetails(this.values[index].getSummary() + " or " + summary);
+        }
+    }
+
+    /**
+     * Returns the {@link PrinterCommandDetails} with the summary of a value of a printer command.
+     *
+     * @param commandKey   the {@link CommandKey} of the printer command.
+     * @param value   the value of the printer command.
+     *
+     * @return the {@link PrinterCommandDetails} or <code>null</code> if the value has no summary.
+     */
+    PrinterCommandDetails get(final int commandKey, final int value) {
+        final int index = this.indexOf(CommandKey.withValue(commandKey, value));
+        return this.keys[index] == EMPTY ? null : this.values[index];
+    }
+
+    /**
+     * Returns the slot of the given key: the slot that holds the key or the empty slot where the
+     * key has to be added.
+     */
+    private int indexOf(final long key) {
+        final int mask = this.keys.length - 1;
+        int index = hash(key) & mask;
+        while (this.keys[index] != EMPTY && this.keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void grow() {
+        final long[] oldKeys = this.keys;
+        final PrinterCommandDetails[] oldValues = this.values;
+
+        this.keys = newKeys(oldKeys.length * 2);
+        this.values = new PrinterCommandDetails[oldKeys.length * 2];
+
+        for (int ix = 0; ix < oldKeys.length; ++ix) {
+            if (oldKeys[ix] != EMPTY) {
+                final int index = this.indexOf(oldKeys[ix]);
+                this.keys[index] = oldKeys[ix];
+                this.values[index] = oldValues[ix];
+            }
+        }
+    }
+
+    private static long[] newKeys(final int capacity) {
+        final long[] keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        return keys;
+    }
+
+    private static int hash(final long key) {
+        final long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+}
@@ -0,0 +1,245 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
+
+/**
+ * The {@link TextDecoder} decodes the text of the text commands with the charset of the current
+ * {@link TextParsingMethod}. The {@link CharsetDecoder}s and the buffers are created once per dump and
+ * reused for every text command.
+ *
+ * <p>A multi-byte character (Shift-JIS, Big5, EUC-JP or UTF-8) may be split across two text commands by a
+ * printer command in between (i. e. a cursor positioning). The bytes of an incomplete character at the end
+ * of a text command are carried over and decoded with the next text command, so the character is shown with
+ * the text command that completes it. If the character can not be completed any more (i. e. because the
+ * text parsing method changes or the dump ends), the carried over bytes are replaced by {@link #finish()}.
+ * As {@link String#String(byte[], java.nio.charset.Charset)} does, malformed bytes are replaced.
+ *
+ * <p>Control characters (0x00 to 0x1F and 0x7F to 0x9F) would break terminals and the parsers of the text
+ * dump, so they can be escaped as <code>\xNN</code>. The backslash itself is escaped as <code>\\</code>, so
+ * the text <code>\x1B</code> can not be mistaken for an escaped ESC. The escapes are looked up in a table of
+ * all 256 characters. The table is fused with the decoding of the default text parsing method (ISO-8859-1),
+ * so one byte is decoded and escaped with one table lookup.
+ */
+final class TextDecoder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_ESCAPE_LENGTH = 4;
+
+    private static final char[][] ESCAPES = new char[256][];
+    private static final char[][] NO_ESCAPES = new char[256][];
+
+    static {
+        final char[] hexDigits = "0123456789ABCDEF".toCharArray();
+        for (int c = 0; c < ESCAPES.length; ++c) {
+            if (c < 0x20 || c >= 0x7F && c < 0xA0) {
+                ESCAPES[c] = new char[] {'\\', 'x', hexDigits[c >>> 4], hexDigits[c & 0x0F]};
+            }
+        }
+        ESCAPES['\\'] = new char[] {'\\', '\\'};
+    }
+
+    private final char[][] escapes;
+
+    private final CharsetDecoder[] decoders = new CharsetDecoder[TextParsingMethod.values().length];
+    private ByteBuffer input = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private CharBuffer output = CharBuffer.allocate(INITIAL_CAPACITY);
+    private char[] escaped = new char[INITIAL_CAPACITY];
+    private TextParsingMethod textParsingMethod;
+
+    /**
+     * Constructor of the {@link TextDecoder}.
+     *
+     * @param escapeControlCharacters   true if control characters are to be escaped.
+     */
+    TextDecoder(final boolean escapeControlCharacters) {
+        this.escapes = escapeControlCharacters ? ESCAPES : NO_ESCAPES;
+    }
+
+    /**
+     * Decodes the text of a text command.
+     *
+     * @param method   the current {@link TextParsingMethod}.
+     * @param text   the text of the text command.
+     *
+     * @return the decoded text (without an incomplete character at the end).
+     */
+    String decode(final TextParsingMethod method, final byte[] text) {
+        if (method != this.textParsingMethod) {
+            // An incomplete character of the previous text parsing method can never be completed (it should
+            // have been finished before)...
+            this.discard();
+            this.getDecoder(method).reset();
+            this.textParsingMethod = method;
+        }
+
+        if (method == TextParsingMethod.DEFAULT) {
+            return this.decodeSingleBytes(text);
+        }
+
+        final CharsetDecoder decoder = this.getDecoder(method);
+
+        if (this.input.remaining() < text.length) {
+            final int capacity = Math.max(this.input.capacity() * 2, this.input.position() + text.length);
+            final ByteBuffer larger = ByteBuffer.allocate(capacity);
+            this.input.flip();
+            larger.put(this.input);
+            this.input = larger;
+        }
+        this.input.put(text);
+        this.input.flip();
+
+        this.clearOutput(decoder);
+        decoder.decode(this.input, this.output, false);
+        this.input.compact();
+
+        return this.escape(this.output.array(), this.output.position());
+    }
+
+    /**
+     * Returns the number of bytes of an incomplete character that are carried over to the next text command.
+     */
+    int getIncompleteCharacterLength() {
+        return this.input.position();
+    }
+
+    /**
+     * Decodes the carried over bytes of an incomplete character that can not be completed any more. The
+     * bytes are malformed, so they are replaced (usually by one replacement character).
+     *
+     * @return the replacement of the incomplete character or an empty string if there is none.
+     */
+    String finish() {
+        if (this.input.position() == 0) {
+            return "";
+        }
+
+        final CharsetDecoder decoder = this.getDecoder(this.textParsingMethod);
+        this.input.flip();
+        this.clearOutput(decoder);
+        decoder.decode(this.input, this.output, true);
+        decoder.flush(this.output);
+        decoder.reset();
+        this.input.clear();
+
+        return this.escape(this.output.array(), this.output.position());
+    }
+
+    /**
+     * Discards the carried over bytes of an incomplete character (i. e. because the text command that would
+     * complete it is not dumped).
+     */
+    void discard() {
+        this.input.clear();
+        if (this.textParsingMethod != null) {
+            this.getDecoder(this.textParsingMethod).reset();
+        }
+    }
+
+    /**
+     * Clears the output buffer, which is enlarged if it can not hold the decoded input.
+     */
+    private void clearOutput(final CharsetDecoder decoder) {
+        final int maxChars = (int) (this.input.remaining() * (double) decoder.maxCharsPerByte()) + 1;
+        if (this.output.capacity() < maxChars) {
+            this.output = CharBuffer.allocate(Math.max(this.output.capacity() * 2, maxChars));
+        }
+        this.output.clear();
+    }
+
+    /**
+     * Decodes (and escapes) ISO-8859-1, where every byte is the character with the same value.
+     */
+    private String decodeSingleBytes(final byte[] text) {
+        final char[] chars = this.getEscaped(text.length);
+        final char[][] table = this.escapes;
+
+        int length = 0;
+        for (final byte b : text) {
+            final char[] escape = table[b & 0xFF];
+            if (escape == null) {
+                chars[length++] = (char) (b & 0xFF);
+            } else {
+                for (final char c : escape) {
+                    chars[length++] = c;
+                }
+            }
+        }
+
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Escapes the control characters of the decoded characters. If there are none (the usual case),
+     * the characters are not copied.
+     */
+    private String escape(final char[] chars, final int count) {
+        final char[][] table = this.escapes;
+
+        int first = 0;
+        while (first < count && (chars[first] >= table.length || table[chars[first]] == null)) {
+            ++first;
+        }
+        if (first == count) {
+            return new String(chars, 0, count);
+        }
+
+        final char[] result = this.getEscaped(count);
+        System.arraycopy(chars, 0, result, 0, first);
+
+        int length = first;
+        for (int ix = first; ix < count; ++ix) {
+            final char c = chars[ix];
+            final char[] escape = c < table.length ? table[c] : null;
+            if (escape == null) {
+                result[length++] = c;
+            } else {
+                System.arraycopy(escape, 0, result, length, escape.length);
+                length += escape.length;
+            }
+        }
+
+        return new String(result, 0, length);
+    }
+
+    /**
+     * Returns the buffer for the escaped characters, large enough for the given number of characters.
+     */
+    private char[] getEscaped(final int count) {
+        if (this.escaped.length < count * MAX_ESCAPE_LENGTH) {
+            this.escaped = new char[Math.max(this.escaped.length * 2, count * MAX_ESCAPE_LENGTH)];
+        }
+        return this.escaped;
+    }
+
+    private CharsetDecoder getDecoder(final TextParsingMethod method) {
+        CharsetDecoder decoder = this.decoders[method.ordinal()];
+        if (decoder == null) {
+            decoder = method.getCharset().newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.decoders[method.ordinal()] = decoder;
+        }
+        return decoder;
+    }
+}
@@ -26,38 +26,39 @@ import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
  */
 final class TextParsingMethodCommandExecutor extends PrinterCommandExecutor {
 
+    @Override
+    boolean changesContext() {
+        return true;
+    }
+
     @Override
     PrinterCommandDetails execute(PrinterCommand command, PclDumperContext context) {
         final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final int value = Integer.parseInt(cmd.getValue());
+
+        context.setTextParsingMethod(TextParsingMethod.forValue(value));
 
-        switch (Integer.parseInt(cmd.getValue())) {
+        switch (value) {
         case 0:
         case 1:
-            context.setTextParsingMethod(TextParsingMethod.DEFAULT);
             return new PrinterCommandDetails("One byte per character");
 
         case 21:
-            context.setTextParsingMethod(TextParsingMethod.ASIAN_SEVEN_BIT);
             return new PrinterCommandDetails("One or two bytes per character, Asian 7 bit");
 
         case 31:
-            context.setTextParsingMethod(TextParsingMethod.SHIFT_JIS);
             return new PrinterCommandDetails("One or two bytes per character, Shift-JIS");
 
         case 38:
-            context.setTextParsingMethod(TextParsingMethod.ASIAN_EIGHT_BIT);
             return new PrinterCommandDetails("One or two bytes per character, Asian 8 bit");
 
         case 83:
-            context.setTextParsingMethod(TextParsingMethod.UNICODE);
             return new PrinterCommandDetails("Unicode");
 
         case 1008:
-            context.setTextParsingMethod(TextParsingMethod.UTF_8);
             return new PrinterCommandDetails("UTF-8");
 
         default:
-            context.setTextParsingMethod(TextParsingMethod.DEFAULT);
             return new PrinterCommandDetails("Unknown text parsing method");
         }
     }
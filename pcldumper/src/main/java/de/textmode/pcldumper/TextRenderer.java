@@ -0,0 +1,123 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The {@link TextRenderer} writes the printer commands as human readable text - one line per printer
+ * command with fixed-width columns and indented lines (marked with "&gt;&gt;&gt; ") for the details.
+ */
+final class TextRenderer implements CommandRenderer, DetailsWriter {
+
+    private static final String INDENTION_WITH_OFFSETS = "                                    ";
+    private static final String INDENTION_WITHOUT_OFFSETS = "                         ";
+
+    private static final int TYPE_COLUMN_WIDTH = 8;
+    private static final int COMMAND_COLUMN_WIDTH = 15;
+    private static final int OFFSET_DIGITS = 8;
+
+    private final ColumnWriter line;
+    private final boolean showOffsets;
+    private final String detailsPrefix;
+    private final HexDumpWriter hexDump;
+
+    /**
+     * Constructor of the {@link TextRenderer}.
+     *
+     * @param line   the {@link ColumnWriter} to write to.
+     * @param showOffsets   true if offsets should be printed.
+     * @param hexDumpLimits   the {@link HexDumpLimits} for the hex dumps of data sections.
+     */
+    TextRenderer(final ColumnWriter line, final boolean showOffsets, final HexDumpLimits hexDumpLimits) {
+        this.line = line;
+        this.showOffsets = showOffsets;
+        this.detailsPrefix = (showOffsets ? INDENTION_WITH_OFFSETS : INDENTION_WITHOUT_OFFSETS) + ">>> ";
+        this.hexDump = new HexDumpWriter(line, this.detailsPrefix, hexDumpLimits);
+    }
+
+    @Override
+    public void writeHeader(final String version, final String vendor) {
+        this.line.append("PCL-Dumper ").append(version).append(" - ").append(vendor).endLine();
+        this.line.append("-----------------------------------------------------------------------------").endLine();
+        this.line.append(" ").endLine();
+    }
+
+    @Override
+    public void startCommand(
+            final long offset,
+            final String type,
+            final String command,
+            final String description,
+            final String summary,
+            final int dataLength) {
+
+        if (this.showOffsets) {
+            this.line.appendHex(offset, OFFSET_DIGITS).append(" : ");
+        }
+
+        this.line.appendColumn(type, TYPE_COLUMN_WIDTH)
+            .append(' ')
+            .appendColumn(command, COMMAND_COLUMN_WIDTH)
+            .append(' ')
+            .append(description);
+
+        if (summary.length() > 0) {
+            this.line.append(" (").append(summary).append(')');
+        }
+
+        this.line.endLine();
+    }
+
+    @Override
+    public void skipCommand(final long offset) {
+        // Nothing is written for a printer command that is not dumped...
+    }
+
+    @Override
+    public DetailsWriter getDetailsWriter() {
+        return this;
+    }
+
+    @Override
+    public void endCommand() {
+        // All lines have already been terminated...
+    }
+
+    @Override
+    public void endDump(final long endOffset) {
+        // Nothing to do, the lines are flushed by the PclDumper...
+    }
+
+    @Override
+    public void newPage() {
+        this.hexDump.newPage();
+    }
+
+    @Override
+    public void newJob() {
+        this.hexDump.newJob();
+    }
+
+    @Override
+    public ColumnWriter startLine() {
+        return this.line.append(this.detailsPrefix);
+    }
+
+    @Override
+    public void writeHexDump(final byte[] data) {
+        this.hexDump.write(data);
+    }
+}
@@ -0,0 +1,108 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import de.textmode.pclbox.ParameterizedPclCommand;
+import de.textmode.pclbox.PrinterCommand;
+
+/**
+ * This {@link PrinterCommandExecutor} handles the {@link PrinterCommand}s "Transfer Raster Data by Row"
+ * (<code>*b#W</code>) and "Transfer Raster Data by Plane" (<code>*b#V</code>). The data is decoded by the
+ * {@link RasterDecoder} of the {@link PclDumperContext} in the current compression mode, and the summary
+ * shows the length of the decoded row and the compression ratio. A row is at least as long as the raster
+ * width at one bit per pixel (the length of a plane).
+ *
+ * <p>For a printer command that is not dumped, the data is only decoded to keep the seed rows - and not at
+ * all if no transfer of raster data can be dumped (see {@link PclDumperContext#isRasterDataDecoded()}).
+ */
+final class TransferRasterDataExecutor extends PrinterCommandExecutor {
+
+    @Override
+    boolean changesContext() {
+        return true;
+    }
+
+    @Override
+    void updateContext(final PrinterCommand command, final PclDumperContext context) {
+        if (context.isRasterDataDecoded()) {
+            final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+            context.getRasterDecoder().transfer(
+                    context.getCompressionMode(), cmd.getDataSection(), isLastPlane(cmd), getRowLength(context));
+        }
+    }
+
+    @Override
+    PrinterCommandDetails execute(final PrinterCommand command, final PclDumperContext context) {
+        final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
+        final byte[] data = cmd.getDataSection();
+        final int encodedBytes = data == null ? 0 : data.length;
+        final boolean lastPlane = isLastPlane(cmd);
+
+        final RasterDecoder decoder = context.getRasterDecoder();
+        final int plane = decoder.getPlane() + 1;
+        final int compressionMode = context.getCompressionMode();
+
+        final StringBuilder summary = new StringBuilder();
+        if (!lastPlane) {
+            summary.append("Plane ").append(plane).append(", ");
+        }
+        summary.append("Mode ").append(compressionMode);
+
+        if (!decoder.transfer(compressionMode, data, lastPlane, getRowLength(context))) {
+            summary.append(" is not supported");
+        } else {
+            if (compressionMode == RasterDecoder.ADAPTIVE_COMPRESSION) {
+                summary.append(", ").append(decoder.getRows()).append(decoder.getRows() == 1 ? " row" : " rows");
+            }
+            summary.append(", ").append(decoder.getDecodedBytes()).append(" bytes");
+            appendRatio(summary, decoder.getDecodedBytes(), encodedBytes);
+        }
+
+        return encodedBytes > 0
+                ? new PrinterCommandDetails(summary.toString(), data)
+                : new PrinterCommandDetails(summary.toString());
+    }
+
+    /**
+     * Returns true for "Transfer Raster Data by Row" (<code>*b#W</code>), which transfers the last plane of a
+     * row.
+     */
+    private static boolean isLastPlane(final ParameterizedPclCommand command) {
+        return (command.getTerminationCharacter() & 0xDF) == 'W';
+    }
+
+    /**
+     * Returns the minimum length of a row - the raster width at one bit per pixel.
+     */
+    private static int getRowLength(final PclDumperContext context) {
+        return (context.getRasterWidth() + 7) / 8;
+    }
+
+    /**
+     * Appends the compression ratio (i. e. <code>, ratio 13.6:1</code>) with one decimal place, unless
+     * nothing has been encoded.
+     *
+     * @param sb   the {@link StringBuilder} to append to.
+     * @param decodedBytes   the number of decoded bytes.
+     * @param encodedBytes   the number of encoded bytes.
+     */
+    static void appendRatio(final StringBuilder sb, final long decodedBytes, final long encodedBytes) {
+        if (encodedBytes > 0) {
+            final long ratio = (decodedBytes * 10 + encodedBytes / 2) / encodedBytes;
+            sb.append(", ratio ").append(ratio / 10).append('.').append(ratio % 10).append(":1");
+        }
+    }
+}
@@ -16,8 +16,6 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
-import java.util.HashMap;
-
 import de.textmode.pclbox.ParameterizedPclCommand;
 import de.textmode.pclbox.PrinterCommand;
 
@@ -34,1091 +32,1097 @@ final class TypefaceFamilyCommandExecutor extends PrinterCommandExecutor {
     private static final int ADOBE = 20480;
     private static final int BIGELOW = 28672;
 
-    private static final HashMap<Integer, String> VENDOR_MAP = new HashMap<>();
-    private static final HashMap<Integer, String> TYPEFACE_MAP = new HashMap<>();
+    // The vendor values are multiples of 4096, so the vendors are indexed by the vendor value / 4096...
+    private static final String[] VENDORS = new String[BIGELOW / AGFA + 1];
+    private static final String[] TYPEFACES = new String[AGFA];
 
     static {
-        VENDOR_MAP.put(AGFA, "AGFA");
-        VENDOR_MAP.put(BITSTREAM, "Bitstream");
-        VENDOR_MAP.put(LINOTYPE, "Linotype Company");
-        VENDOR_MAP.put(MONOTYPE, "Monotype Corporation");
-        VENDOR_MAP.put(ADOBE, "Adobe Systems");
-        VENDOR_MAP.put(BIGELOW, "Bigelow & Holmes");
+        VENDORS[AGFA / AGFA] = "AGFA";
+        VENDORS[BITSTREAM / AGFA] = "Bitstream";
+        VENDORS[LINOTYPE / AGFA] = "Linotype Company";
+        VENDORS[MONOTYPE / AGFA] = "Monotype Corporation";
+        VENDORS[ADOBE / AGFA] = "Adobe Systems";
+        VENDORS[BIGELOW / AGFA] = "Bigelow & Holmes";
     }
 
     static {
-        TYPEFACE_MAP.put(0, "Line Printer");
-        TYPEFACE_MAP.put(2, "Elite");
-        TYPEFACE_MAP.put(3, "Courier");
-        TYPEFACE_MAP.put(4, "Helvetica");
-        TYPEFACE_MAP.put(5, "Times Roman");
-        TYPEFACE_MAP.put(6, "Letter Gothic");
-        TYPEFACE_MAP.put(7, "Script");
-        TYPEFACE_MAP.put(8, "Prestige");
-        TYPEFACE_MAP.put(9, "Caslon 540 & No. 3");
-        TYPEFACE_MAP.put(9, "Caslon Antique (contour)");
-        TYPEFACE_MAP.put(9, "Caslon Open Face (inline)");
-        TYPEFACE_MAP.put(10, "Orator");
-        TYPEFACE_MAP.put(11, "Presentation");
-        TYPEFACE_MAP.put(13, "Serifa");
-        TYPEFACE_MAP.put(14, "Futura");
-        TYPEFACE_MAP.put(14, "Greek Futura");
-        TYPEFACE_MAP.put(15, "Palatino");
-        TYPEFACE_MAP.put(16, "ITC Souvenir");
-        TYPEFACE_MAP.put(16, "ITC Souvenir Greek");
-        TYPEFACE_MAP.put(17, "Optima");
-        TYPEFACE_MAP.put(17, "Safeer (Arabic)");
-        TYPEFACE_MAP.put(17, "Komain (Thai)");
-        TYPEFACE_MAP.put(17, "Greek Oracle");
-        TYPEFACE_MAP.put(18, "ITC Garamond");
-        TYPEFACE_MAP.put(20, "Coronet (italic)");
-        TYPEFACE_MAP.put(20, "Chevalier (bold expanded pattern 0)");
-        TYPEFACE_MAP.put(21, "Broadway");
-        TYPEFACE_MAP.put(23, "Century Schoolbook");
-        TYPEFACE_MAP.put(23, "Greek & Math Serif");
-        TYPEFACE_MAP.put(24, "University Roman");
-        TYPEFACE_MAP.put(27, "ITC Korinna");
-        TYPEFACE_MAP.put(28, "Naskh");
-        TYPEFACE_MAP.put(29, "Cloister Black");
-        TYPEFACE_MAP.put(30, "ITC Galliard");
-        TYPEFACE_MAP.put(31, "ITC Avant Garde Gothic");
-        TYPEFACE_MAP.put(31, "Tom (Thai)");
-        TYPEFACE_MAP.put(32, "Brush (italic)");
-        TYPEFACE_MAP.put(32, "Stop");
-        TYPEFACE_MAP.put(33, "Blippo (black)");
-        TYPEFACE_MAP.put(33, "Tea Chest (condensed)");
-        TYPEFACE_MAP.put(34, "Hobo");
-        TYPEFACE_MAP.put(35, "Windsor");
-        TYPEFACE_MAP.put(38, "Peignot");
-        TYPEFACE_MAP.put(39, "Baskerville");
-        TYPEFACE_MAP.put(41, "Trade Gothic");
-        TYPEFACE_MAP.put(41, "Pemai (Thai)");
-        TYPEFACE_MAP.put(41, "CG Trade");
-        TYPEFACE_MAP.put(42, "Goudy Old Style");
-        TYPEFACE_MAP.put(43, "ITC Zapf Chancery");
-        TYPEFACE_MAP.put(44, "Clarendon");
-        TYPEFACE_MAP.put(45, "ITC Zapf Dingbats");
-        TYPEFACE_MAP.put(46, "Cooper");
-        TYPEFACE_MAP.put(47, "ITC Bookman");
-        TYPEFACE_MAP.put(47, "Noparat (Thai)");
-        TYPEFACE_MAP.put(48, "Stick");
-        TYPEFACE_MAP.put(49, "HP-GL Drafting");
-        TYPEFACE_MAP.put(50, "HP-GL Spline");
-        TYPEFACE_MAP.put(51, "Gill Sans");
-        TYPEFACE_MAP.put(51, "Unesco (Thai)");
-        TYPEFACE_MAP.put(52, "Univers");
-        TYPEFACE_MAP.put(53, "Bodoni");
-        TYPEFACE_MAP.put(53, "Poster Bodoni (black)");
-        TYPEFACE_MAP.put(53, "Greek Apla");
-        TYPEFACE_MAP.put(54, "Rockwell");
-        TYPEFACE_MAP.put(55, "Melior");
-        TYPEFACE_MAP.put(56, "ITC Tiffany");
-        TYPEFACE_MAP.put(57, "ITC Clearface");
-        TYPEFACE_MAP.put(58, "Amelia");
-        TYPEFACE_MAP.put(59, "Park Avenue (italic)");
-        TYPEFACE_MAP.put(59, "Falstaff (black)");
-        TYPEFACE_MAP.put(60, "Handel Gothic");
-        TYPEFACE_MAP.put(61, "Dom Casual");
-        TYPEFACE_MAP.put(62, "ITC Benguiat");
-        TYPEFACE_MAP.put(63, "ITC Cheltenham");
-        TYPEFACE_MAP.put(64, "Century Expanded");
-        TYPEFACE_MAP.put(65, "Franklin Gothic");
-        TYPEFACE_MAP.put(65, "Paetai (Thai)");
-        TYPEFACE_MAP.put(68, "Plantin");
-        TYPEFACE_MAP.put(69, "Trump Mediaeval");
-        TYPEFACE_MAP.put(70, "Futura Black");
-        TYPEFACE_MAP.put(71, "ITC American Typewriter");
-        TYPEFACE_MAP.put(72, "Antique Olive");
-        TYPEFACE_MAP.put(72, "Greek Antique Olive");
-        TYPEFACE_MAP.put(73, "Uncial");
-        TYPEFACE_MAP.put(74, "ITC Bauhaus");
-        TYPEFACE_MAP.put(75, "Century Old Style");
-        TYPEFACE_MAP.put(76, "ITC Eras");
-        TYPEFACE_MAP.put(77, "Friz Quadrata (ITC)");
-        TYPEFACE_MAP.put(78, "ITC Lubalin Graph");
-        TYPEFACE_MAP.put(79, "Eurostile");
-        TYPEFACE_MAP.put(79, "Intanon (Thai)");
-        TYPEFACE_MAP.put(79, "Greek Microstyle");
-        TYPEFACE_MAP.put(80, "Mincho (Japanese)");
-        TYPEFACE_MAP.put(80, "Myoungjo (Korean)");
-        TYPEFACE_MAP.put(80, "HanYang Batang Proportional (Korean)");
-        TYPEFACE_MAP.put(81, "ITC Serif Gothic");
-        TYPEFACE_MAP.put(81, "Saemmul (Korea)");
-        TYPEFACE_MAP.put(81, "Sammul (Korea)");
-        TYPEFACE_MAP.put(82, "Snell Roundhand");
-        TYPEFACE_MAP.put(82, "Pilgy (Korean)");
-        TYPEFACE_MAP.put(83, "Souvenir Gothic");
-        TYPEFACE_MAP.put(84, "Stymie");
-        TYPEFACE_MAP.put(87, "Bernhard Modern");
-        TYPEFACE_MAP.put(89, "Excelsior");
-        TYPEFACE_MAP.put(90, "Gando Ronde Script");
-        TYPEFACE_MAP.put(91, "Ondine");
-        TYPEFACE_MAP.put(91, "EACT (Thai)");
-        TYPEFACE_MAP.put(92, "P. T. Barnum");
-        TYPEFACE_MAP.put(93, "Kaufmann");
-        TYPEFACE_MAP.put(93, "U-Thong (Thai)");
-        TYPEFACE_MAP.put(94, "ITC Bolt (extended)");
-        TYPEFACE_MAP.put(94, "ITC Machine (condensed)");
-        TYPEFACE_MAP.put(97, "Revue");
-        TYPEFACE_MAP.put(101, "Garamond (Stempel)");
-        TYPEFACE_MAP.put(102, "Garth Graphic");
-        TYPEFACE_MAP.put(103, "ITC Ronda");
-        TYPEFACE_MAP.put(103, "Candy Bits (patterned)");
-        TYPEFACE_MAP.put(104, "OCR-A");
-        TYPEFACE_MAP.put(105, "Cochin");
-        TYPEFACE_MAP.put(106, "Englische Schreibschrift (italic)");
-        TYPEFACE_MAP.put(106, "Mister Earl (condensed)");
-        TYPEFACE_MAP.put(107, "Flash (italic)");
-        TYPEFACE_MAP.put(107, "Woodstock");
-        TYPEFACE_MAP.put(108, "Gothic (numbered)");
-        TYPEFACE_MAP.put(109, "Stencil (ATF)");
-        TYPEFACE_MAP.put(110, "OCR-B");
-        TYPEFACE_MAP.put(111, "Akzidenz-Grotesk");
-        TYPEFACE_MAP.put(112, "Black White (patterned, outline, inline)");
-        TYPEFACE_MAP.put(112, "Logos");
-        TYPEFACE_MAP.put(113, "Shannon");
-        TYPEFACE_MAP.put(114, "ITC Stone Informal");
-        TYPEFACE_MAP.put(115, "ITC Stone Sans");
-        TYPEFACE_MAP.put(116, "ITC Stone Serif");
-        TYPEFACE_MAP.put(117, "Schneidler Mediaeval");
-        TYPEFACE_MAP.put(118, "ITC Symbol");
-        TYPEFACE_MAP.put(119, "ITC Weidemann");
-        TYPEFACE_MAP.put(120, "Copperplate Gothic (display)");
-        TYPEFACE_MAP.put(121, "Trajan");
-        TYPEFACE_MAP.put(122, "Concorde");
-        TYPEFACE_MAP.put(123, "Janson Text");
-        TYPEFACE_MAP.put(124, "Linotype Centennial");
-        TYPEFACE_MAP.put(125, "Life");
-        TYPEFACE_MAP.put(126, "Minister");
-        TYPEFACE_MAP.put(127, "New Century Schoolbook");
-        TYPEFACE_MAP.put(129, "Naskh");
-        TYPEFACE_MAP.put(130, "Naskh Hollow");
-        TYPEFACE_MAP.put(131, "Advertisers Naskh");
-        TYPEFACE_MAP.put(133, "Koufi");
-        TYPEFACE_MAP.put(134, "Oberon");
-        TYPEFACE_MAP.put(135, "Callisto");
-        TYPEFACE_MAP.put(136, "Charter");
-        TYPEFACE_MAP.put(137, "Serif Proportional");
-        TYPEFACE_MAP.put(138, "Sans Serif Monospace");
-        TYPEFACE_MAP.put(139, "Amerigo");
-        TYPEFACE_MAP.put(140, "PiFont");
-        TYPEFACE_MAP.put(141, "Old Dreadful");
-        TYPEFACE_MAP.put(142, "Carmina");
-        TYPEFACE_MAP.put(143, "Arrus");
-        TYPEFACE_MAP.put(144, "Oz");
-        TYPEFACE_MAP.put(146, "Iowan Old Style");
-        TYPEFACE_MAP.put(152, "Maru Gosikku (round gothic Japan)");
-        TYPEFACE_MAP.put(152, "Gulrim (Korean)");
-        TYPEFACE_MAP.put(152, "HanYang Gulrim Proportional (Korean)");
-        TYPEFACE_MAP.put(153, "Gosikku (Kaku, gothic Japan)");
-        TYPEFACE_MAP.put(153, "Gothic (Japan, Fixed Pitch)");
-        TYPEFACE_MAP.put(153, "HanYang Dotum Proportional (Korean)");
-        TYPEFACE_MAP.put(154, "Socho");
-        TYPEFACE_MAP.put(155, "Kyokasho (text book)");
-        TYPEFACE_MAP.put(156, "Kaisho");
-        TYPEFACE_MAP.put(157, "Trad. Arabic Script, Lotus, or Lily");
-        TYPEFACE_MAP.put(158, "Arabic News");
-        TYPEFACE_MAP.put(159, "Post Antiqua");
-        TYPEFACE_MAP.put(160, "Aerospace Pi");
-        TYPEFACE_MAP.put(160, "Devanagari (Hindi)");
-        TYPEFACE_MAP.put(161, "Maritime Pi");
-        TYPEFACE_MAP.put(161, "Krishna (Gujarati)");
-        TYPEFACE_MAP.put(162, "Bits Pic Pi");
-        TYPEFACE_MAP.put(162, "Ranjit (Gurmukhi)");
-        TYPEFACE_MAP.put(163, "Keycap Pi");
-        TYPEFACE_MAP.put(163, "Raj Raja (Tamil)");
-        TYPEFACE_MAP.put(164, "Tieman");
-        TYPEFACE_MAP.put(164, "Gyosho");
-        TYPEFACE_MAP.put(165, "David");
-        TYPEFACE_MAP.put(166, "Nork");
-        TYPEFACE_MAP.put(167, "Ousbouh");
-        TYPEFACE_MAP.put(168, "Koufi");
-        TYPEFACE_MAP.put(169, "Italia (ITC)");
-        TYPEFACE_MAP.put(169, "Hadassah");
-        TYPEFACE_MAP.put(170, "Bembo");
-        TYPEFACE_MAP.put(170, "Sharif");
-        TYPEFACE_MAP.put(171, "Aachen");
-        TYPEFACE_MAP.put(171, "Malik");
-        TYPEFACE_MAP.put(172, "Americana");
-        TYPEFACE_MAP.put(173, "Arnold Boecklin");
-        TYPEFACE_MAP.put(174, "Copperplate Gothic (text)");
-        TYPEFACE_MAP.put(175, "Belwe");
-        TYPEFACE_MAP.put(176, "ITC Berkeley Oldstyle");
-        TYPEFACE_MAP.put(177, "Frutiger");
-        TYPEFACE_MAP.put(178, "Candida");
-        TYPEFACE_MAP.put(179, "Folio");
-        TYPEFACE_MAP.put(180, "Corona");
-        TYPEFACE_MAP.put(181, "ITC Kabel");
-        TYPEFACE_MAP.put(181, "Zeppelin (inline)");
-        TYPEFACE_MAP.put(182, "Garamond No. 3");
-        TYPEFACE_MAP.put(183, "Sabon");
-        TYPEFACE_MAP.put(184, "ITC Novarese");
-        TYPEFACE_MAP.put(185, "Weiss");
-        TYPEFACE_MAP.put(186, "Hiroshige");
-        TYPEFACE_MAP.put(187, "French Script");
-        TYPEFACE_MAP.put(188, "Meridien");
-        TYPEFACE_MAP.put(189, "Mistral");
-        TYPEFACE_MAP.put(190, "Aster");
-        TYPEFACE_MAP.put(191, "Caledonia");
-        TYPEFACE_MAP.put(192, "Nuptial Script");
-        TYPEFACE_MAP.put(193, "Lucida");
-        TYPEFACE_MAP.put(194, "Song (China)");
-        TYPEFACE_MAP.put(194, "Adobe Wood Series 1");
-        TYPEFACE_MAP.put(195, "Memphis");
-        TYPEFACE_MAP.put(196, "Lucida Sans");
-        TYPEFACE_MAP.put(197, "Syntax");
-        TYPEFACE_MAP.put(198, "Utopia");
-        TYPEFACE_MAP.put(199, "Berthold Walbaum Buch");
-        TYPEFACE_MAP.put(200, "Minion");
-        TYPEFACE_MAP.put(201, "Marigold");
-        TYPEFACE_MAP.put(202, "ITC Tiepolo");
-        TYPEFACE_MAP.put(203, "Versailles");
-        TYPEFACE_MAP.put(204, "ITC Leawood");
-        TYPEFACE_MAP.put(205, "ITC Caslon No. 224");
-        TYPEFACE_MAP.put(206, "ITC Cushing");
-        TYPEFACE_MAP.put(207, "ITC Fenice");
-        TYPEFACE_MAP.put(208, "ITC Usherwood");
-        TYPEFACE_MAP.put(209, "ITC Benguiat Gothic");
-        TYPEFACE_MAP.put(210, "Spartan");
-        TYPEFACE_MAP.put(210, "ITC Ozwald (fatface)");
-        TYPEFACE_MAP.put(211, "Neuzeit Grotesk");
-        TYPEFACE_MAP.put(212, "PMN Caecilia");
-        TYPEFACE_MAP.put(213, "ITC Busorama");
-        TYPEFACE_MAP.put(214, "Agfa Wile Roman");
-        TYPEFACE_MAP.put(215, "ITC Zapf International");
-        TYPEFACE_MAP.put(216, "Poppl-Pontifex");
-        TYPEFACE_MAP.put(217, "ITC Quay Sans");
-        TYPEFACE_MAP.put(218, "Arial");
-        TYPEFACE_MAP.put(219, "Fairfield");
-        TYPEFACE_MAP.put(220, "ITC Zapf Book");
-        TYPEFACE_MAP.put(221, "Lucida Casual");
-        TYPEFACE_MAP.put(221, "Linotype Technical Pi 1 & 2");
-        TYPEFACE_MAP.put(222, "Graphite");
-        TYPEFACE_MAP.put(222, "Linotype Textil Pi 1 & 2");
-        TYPEFACE_MAP.put(223, "Poetica");
-        TYPEFACE_MAP.put(223, "Century Schoolbook Monospace");
-        TYPEFACE_MAP.put(224, "Berliner Grotesk");
-        TYPEFACE_MAP.put(225, "Christiana");
-        TYPEFACE_MAP.put(226, "Comenius-Antiqua");
-        TYPEFACE_MAP.put(227, "Delta");
-        TYPEFACE_MAP.put(228, "Italian Old Style");
-        TYPEFACE_MAP.put(229, "Zingo");
-        TYPEFACE_MAP.put(230, "Octavian");
-        TYPEFACE_MAP.put(230, "Borders & Ornaments 1");
-        TYPEFACE_MAP.put(231, "Footlight");
-        TYPEFACE_MAP.put(231, "Borders & Ornaments 4");
-        TYPEFACE_MAP.put(232, "Apollo");
-        TYPEFACE_MAP.put(232, "Borders & Ornaments 5");
-        TYPEFACE_MAP.put(233, "Bremen");
-        TYPEFACE_MAP.put(233, "Borders & Ornaments 6");
-        TYPEFACE_MAP.put(234, "Oranda");
-        TYPEFACE_MAP.put(234, "Communication 1");
-        TYPEFACE_MAP.put(235, "Nubian");
-        TYPEFACE_MAP.put(235, "Communication 2");
-        TYPEFACE_MAP.put(236, "Cataneo");
-        TYPEFACE_MAP.put(236, "Communication 3");
-        TYPEFACE_MAP.put(237, "Wittenberger Fraktur");
-        TYPEFACE_MAP.put(237, "Communication 6");
-        TYPEFACE_MAP.put(238, "Modern");
-        TYPEFACE_MAP.put(238, "PL Modern");
-        TYPEFACE_MAP.put(238, "Games & Sports 1");
-        TYPEFACE_MAP.put(239, "Artistik");
-        TYPEFACE_MAP.put(239, "Games & Sports 2");
-        TYPEFACE_MAP.put(240, "Flintstones");
-        TYPEFACE_MAP.put(240, "Games & Sports 3");
-        TYPEFACE_MAP.put(241, "SnowCap");
-        TYPEFACE_MAP.put(241, "Games & Sports 4");
-        TYPEFACE_MAP.put(242, "Bedrock");
-        TYPEFACE_MAP.put(242, "Holidays 1");
-        TYPEFACE_MAP.put(243, "Star Fleet");
-        TYPEFACE_MAP.put(243, "Industry & Engineering 1");
-        TYPEFACE_MAP.put(244, "Star Trek Film");
-        TYPEFACE_MAP.put(244, "Industry & Engineering 2");
-        TYPEFACE_MAP.put(245, "Star Trek");
-        TYPEFACE_MAP.put(245, "Transportation 1");
-        TYPEFACE_MAP.put(246, "Hei (China)");
-        TYPEFACE_MAP.put(246, "Star Trek Pi");
-        TYPEFACE_MAP.put(246, "Transportation 2");
-        TYPEFACE_MAP.put(247, "ITC Mendoza");
-        TYPEFACE_MAP.put(248, "Boton");
-        TYPEFACE_MAP.put(249, "Jaeger Daily News");
-        TYPEFACE_MAP.put(250, "ITC Officina Serif");
-        TYPEFACE_MAP.put(251, "ITC Officina Sans");
-        TYPEFACE_MAP.put(252, "Goudy Modern");
-        TYPEFACE_MAP.put(253, "Scotch Roman");
-        TYPEFACE_MAP.put(254, "Temporary-Only Font");
-        TYPEFACE_MAP.put(256, "Bar Codes");
-        TYPEFACE_MAP.put(257, "Hadriano");
-        TYPEFACE_MAP.put(258, "Joanna");
-        TYPEFACE_MAP.put(259, "Onyx");
-        TYPEFACE_MAP.put(260, "Cyrillic Helvetica");
-        TYPEFACE_MAP.put(260, "Greek Helvetica");
-        TYPEFACE_MAP.put(260, "East Asian Helvetica");
-        TYPEFACE_MAP.put(261, "Cyrillic Times");
-        TYPEFACE_MAP.put(261, "Greek Times");
-        TYPEFACE_MAP.put(261, "East Asian Times");
-        TYPEFACE_MAP.put(262, "ITC Quorum");
-        TYPEFACE_MAP.put(263, "Engravers' Old English");
-        TYPEFACE_MAP.put(264, "Kennerley");
-        TYPEFACE_MAP.put(265, "Adobe Caslon");
-        TYPEFACE_MAP.put(266, "Albertus");
-        TYPEFACE_MAP.put(267, "New Aurora Grotesque");
-        TYPEFACE_MAP.put(268, "TBG Omnia");
-        TYPEFACE_MAP.put(269, "Glypha");
-        TYPEFACE_MAP.put(270, "Tempo");
-        TYPEFACE_MAP.put(270, "Umbra (open shadow)");
-        TYPEFACE_MAP.put(271, "American Text");
-        TYPEFACE_MAP.put(272, "Pasquale");
-        TYPEFACE_MAP.put(273, "ITC Elan");
-        TYPEFACE_MAP.put(274, "Monotype Goudy Sans");
-        TYPEFACE_MAP.put(275, "Lutheresche Fraktur");
-        TYPEFACE_MAP.put(275, "Universal News & Commercial Pi");
-        TYPEFACE_MAP.put(276, "Thunderbird (extra condensed)");
-        TYPEFACE_MAP.put(276, "ITC Honda (black)");
-        TYPEFACE_MAP.put(277, "Shelley");
-        TYPEFACE_MAP.put(277, "Mr. Big");
-        TYPEFACE_MAP.put(278, "Macbeth");
-        TYPEFACE_MAP.put(278, "Universal Greek & Math Pi");
-        TYPEFACE_MAP.put(279, "ITC Century");
-        TYPEFACE_MAP.put(280, "Vineta");
-        TYPEFACE_MAP.put(281, "TBG Duc de Berry");
-        TYPEFACE_MAP.put(282, "Times Europa");
-        TYPEFACE_MAP.put(283, "ITC Jamille");
-        TYPEFACE_MAP.put(284, "Flyer");
-        TYPEFACE_MAP.put(285, "Wedding Text");
-        TYPEFACE_MAP.put(286, "Carolina");
-        TYPEFACE_MAP.put(287, "Avenir");
-        TYPEFACE_MAP.put(288, "Lucia");
-        TYPEFACE_MAP.put(289, "Tekton");
-        TYPEFACE_MAP.put(290, "Charme");
-        TYPEFACE_MAP.put(291, "ITC Flora");
-        TYPEFACE_MAP.put(292, "Basilica");
-        TYPEFACE_MAP.put(293, "Auriol");
-        TYPEFACE_MAP.put(294, "Kuenstler Script");
-        TYPEFACE_MAP.put(295, "ITC New Baskerville");
-        TYPEFACE_MAP.put(296, "Berling");
-        TYPEFACE_MAP.put(297, "News Gothic");
-        TYPEFACE_MAP.put(298, "Critter");
-        TYPEFACE_MAP.put(298, "Linotype Holiday Pi 1, 2, & 3");
-        TYPEFACE_MAP.put(299, "Medici Script");
-        TYPEFACE_MAP.put(300, "Aurora");
-        TYPEFACE_MAP.put(301, "Carta");
-        TYPEFACE_MAP.put(302, "Adobe Symbol");
-        TYPEFACE_MAP.put(303, "Insignia");
-        TYPEFACE_MAP.put(304, "Perpetua");
-        TYPEFACE_MAP.put(305, "Raleigh");
-        TYPEFACE_MAP.put(306, "Romic");
-        TYPEFACE_MAP.put(307, "Formata");
-        TYPEFACE_MAP.put(308, "Cyrillic Univers");
-        TYPEFACE_MAP.put(308, "Chuan Pim (like Univers)");
-        TYPEFACE_MAP.put(308, "Narkis Tam (like Univers)");
-        TYPEFACE_MAP.put(308, "Greek Univers II");
-        TYPEFACE_MAP.put(309, "Bauer Bodoni");
-        TYPEFACE_MAP.put(310, "Industria");
-        TYPEFACE_MAP.put(311, "Cutout");
-        TYPEFACE_MAP.put(311, "Decoration Pi");
-        TYPEFACE_MAP.put(312, "Letraset Bramley");
-        TYPEFACE_MAP.put(313, "Isabella");
-        TYPEFACE_MAP.put(314, "Cascade Script");
-        TYPEFACE_MAP.put(315, "VAG Rounded");
-        TYPEFACE_MAP.put(316, "Russell Square");
-        TYPEFACE_MAP.put(317, "Liberty");
-        TYPEFACE_MAP.put(318, "ITC Esprit");
-        TYPEFACE_MAP.put(319, "Clairvaux");
-        TYPEFACE_MAP.put(320, "Raphael");
-        TYPEFACE_MAP.put(321, "ITC Franklin Gothic");
-        TYPEFACE_MAP.put(322, "Murray Hill");
-        TYPEFACE_MAP.put(323, "Baker Signet");
-        TYPEFACE_MAP.put(324, "Mythos");
-        TYPEFACE_MAP.put(324, "Gambling Pi");
-        TYPEFACE_MAP.put(325, "San Marco");
-        TYPEFACE_MAP.put(326, "Typo Roman");
-        TYPEFACE_MAP.put(327, "Engravers Text (inline)");
-        TYPEFACE_MAP.put(327, "New Berolina (italic)");
-        TYPEFACE_MAP.put(328, "Orbit-B");
-        TYPEFACE_MAP.put(329, "McCollough");
-        TYPEFACE_MAP.put(330, "ITC Isadora");
-        TYPEFACE_MAP.put(331, "Giddyup");
-        TYPEFACE_MAP.put(331, "Audio Pi");
-        TYPEFACE_MAP.put(332, "Letraset Crillee");
-        TYPEFACE_MAP.put(333, "Agfa Nadianne");
-        TYPEFACE_MAP.put(334, "Compliment");
-        TYPEFACE_MAP.put(335, "ITC Giovanni");
-        TYPEFACE_MAP.put(336, "Neuzeit S");
-        TYPEFACE_MAP.put(337, "Erbar");
-        TYPEFACE_MAP.put(338, "Parisian");
-        TYPEFACE_MAP.put(339, "Nofret");
-        TYPEFACE_MAP.put(340, "City");
-        TYPEFACE_MAP.put(341, "Old Style 7");
-        TYPEFACE_MAP.put(342, "Bell Centennial");
-        TYPEFACE_MAP.put(343, "Lydian");
-        TYPEFACE_MAP.put(344, "Monotype Ellington");
-        TYPEFACE_MAP.put(345, "Impressum");
-        TYPEFACE_MAP.put(346, "Reporter No. 2");
-        TYPEFACE_MAP.put(347, "Freestyle Script");
-        TYPEFACE_MAP.put(348, "Serpentine");
-        TYPEFACE_MAP.put(349, "Lithos");
-        TYPEFACE_MAP.put(350, "Basilia");
-        TYPEFACE_MAP.put(351, "Simplified Arabic");
-        TYPEFACE_MAP.put(352, "Maximus");
-        TYPEFACE_MAP.put(353, "ITC Slimbach");
-        TYPEFACE_MAP.put(357, "Berthold Garamond");
-        TYPEFACE_MAP.put(358, "Rad");
-        TYPEFACE_MAP.put(358, "Land Pi");
-        TYPEFACE_MAP.put(359, "Oxford (italic)");
-        TYPEFACE_MAP.put(359, "Kino (bold condensed)");
-        TYPEFACE_MAP.put(360, "Looney Tunes");
-        TYPEFACE_MAP.put(360, "E13B MICR");
-        TYPEFACE_MAP.put(361, "Imperial");
-        TYPEFACE_MAP.put(361, "CMC-7 MICR");
-        TYPEFACE_MAP.put(362, "Charlemagne");
-        TYPEFACE_MAP.put(363, "Present Script");
-        TYPEFACE_MAP.put(364, "Repro Script (italic)");
-        TYPEFACE_MAP.put(364, "Matura (bold)");
-        TYPEFACE_MAP.put(365, "Baskerville No. 2");
-        TYPEFACE_MAP.put(366, "Engravers' Roman");
-        TYPEFACE_MAP.put(367, "VGC Egyptian 505");
-        TYPEFACE_MAP.put(368, "TBG Herculanum");
-        TYPEFACE_MAP.put(369, "Clearface Gothic");
-        TYPEFACE_MAP.put(370, "Studz");
-        TYPEFACE_MAP.put(370, "Border Pi 1515-9");
-        TYPEFACE_MAP.put(371, "Toolbox");
-        TYPEFACE_MAP.put(371, "Bundesbahn Pi");
-        TYPEFACE_MAP.put(372, "Quake");
-        TYPEFACE_MAP.put(372, "Chemical Pi");
-        TYPEFACE_MAP.put(373, "Neuland (solid & inline)");
-        TYPEFACE_MAP.put(373, "Newton Inline");
-        TYPEFACE_MAP.put(373, "Warning Pi");
-        TYPEFACE_MAP.put(374, "Harry");
-        TYPEFACE_MAP.put(375, "Alternate Gothic (numbered)");
-        TYPEFACE_MAP.put(376, "Figaro");
-        TYPEFACE_MAP.put(377, "Formal Script");
-        TYPEFACE_MAP.put(378, "Holland Title");
-        TYPEFACE_MAP.put(379, "ITC Barcelona");
-        TYPEFACE_MAP.put(380, "Cartier");
-        TYPEFACE_MAP.put(381, "Deepdene");
-        TYPEFACE_MAP.put(382, "Delphin");
-        TYPEFACE_MAP.put(383, "Parsons");
-        TYPEFACE_MAP.put(384, "Brighton");
-        TYPEFACE_MAP.put(385, "Berthold Barmeno");
-        TYPEFACE_MAP.put(386, "Berthold Colossalis");
-        TYPEFACE_MAP.put(387, "Berthold Cosmos");
-        TYPEFACE_MAP.put(388, "ITC Isbell");
-        TYPEFACE_MAP.put(389, "ITC Mixage");
-        TYPEFACE_MAP.put(390, "Sonata");
-        TYPEFACE_MAP.put(390, "Badr, or Bayaan II");
-        TYPEFACE_MAP.put(391, "ITC Newtext");
-        TYPEFACE_MAP.put(392, "Happening");
-        TYPEFACE_MAP.put(393, "Menue");
-        TYPEFACE_MAP.put(394, "Doric");
-        TYPEFACE_MAP.put(395, "S'maragd");
-        TYPEFACE_MAP.put(396, "Pierrot");
-        TYPEFACE_MAP.put(396, "Ornaments");
-        TYPEFACE_MAP.put(397, "Berthold Bodoni Old Face");
-        TYPEFACE_MAP.put(398, "Schadow");
-        TYPEFACE_MAP.put(399, "Akzidens Grotesk Buch");
-        TYPEFACE_MAP.put(400, "Akzidens Grotesk Buch Stencil");
-        TYPEFACE_MAP.put(401, "Akzidens Grotesk Buch Schulbuch");
-        TYPEFACE_MAP.put(402, "Bookman");
-        TYPEFACE_MAP.put(403, "Bruce Old Style");
-        TYPEFACE_MAP.put(404, "Bulmer");
-        TYPEFACE_MAP.put(405, "Madison");
-        TYPEFACE_MAP.put(406, "Textype");
-        TYPEFACE_MAP.put(407, "Primer");
-        TYPEFACE_MAP.put(408, "Garamond (Simoncini)");
-        TYPEFACE_MAP.put(409, "Adobe Wood Series 2");
-        TYPEFACE_MAP.put(410, "Rotis Serif");
-        TYPEFACE_MAP.put(410, "Caravan LH One");
-        TYPEFACE_MAP.put(411, "Rotis Semiserif");
-        TYPEFACE_MAP.put(411, "Caravan LH Two");
-        TYPEFACE_MAP.put(412, "Rotis Sans Serif");
-        TYPEFACE_MAP.put(412, "Caravan LH Three");
-        TYPEFACE_MAP.put(413, "Rotis Semisans");
-        TYPEFACE_MAP.put(413, "Caravan LH Four");
-        TYPEFACE_MAP.put(414, "Arcadia");
-        TYPEFACE_MAP.put(415, "ITC Veljovik");
-        TYPEFACE_MAP.put(416, "Armenian Aramian");
-        TYPEFACE_MAP.put(417, "Armenian Barz");
-        TYPEFACE_MAP.put(418, "Helvetica Rounded");
-        TYPEFACE_MAP.put(419, "Olympian");
-        TYPEFACE_MAP.put(420, "DIN Engschrift (condensed)");
-        TYPEFACE_MAP.put(420, "DIN Mittelschrift");
-        TYPEFACE_MAP.put(421, "Granjon");
-        TYPEFACE_MAP.put(422, "Guardi");
-        TYPEFACE_MAP.put(423, "Impact");
-        TYPEFACE_MAP.put(424, "Sassoon Primary");
-        TYPEFACE_MAP.put(425, "Packard");
-        TYPEFACE_MAP.put(426, "Baskerville Book");
-        TYPEFACE_MAP.put(427, "ITC Pacella");
-        TYPEFACE_MAP.put(428, "Rusticana");
-        TYPEFACE_MAP.put(429, "Eccentric");
-        TYPEFACE_MAP.put(430, "Embassy Script");
-        TYPEFACE_MAP.put(430, "Greek Florentine Script II");
-        TYPEFACE_MAP.put(431, "PL Latin Bold");
-        TYPEFACE_MAP.put(431, "PL Latin Elongated (condensed)");
-        TYPEFACE_MAP.put(431, "Latin Antique");
-        TYPEFACE_MAP.put(431, "Latin Wide (extended)");
-        TYPEFACE_MAP.put(432, "ITC Modern 216");
-        TYPEFACE_MAP.put(433, "Serlio");
-        TYPEFACE_MAP.put(434, "Piranesi");
-        TYPEFACE_MAP.put(435, "Imago");
-        TYPEFACE_MAP.put(436, "Wilke");
-        TYPEFACE_MAP.put(437, "Cyrillic 22");
-        TYPEFACE_MAP.put(438, "Adobe Garamond");
-        TYPEFACE_MAP.put(439, "Seagull");
-        TYPEFACE_MAP.put(440, "Latin MT");
-        TYPEFACE_MAP.put(441, "Runic MT");
-        TYPEFACE_MAP.put(442, "Moore Computer");
-        TYPEFACE_MAP.put(443, "Commercial Script");
-        TYPEFACE_MAP.put(444, "Dominante");
-        TYPEFACE_MAP.put(445, "Wilhelm Klingspor Gotisch");
-        TYPEFACE_MAP.put(446, "Trajanus");
-        TYPEFACE_MAP.put(447, "TSI Caxton");
-        TYPEFACE_MAP.put(447, "Letraset Caxton");
-        TYPEFACE_MAP.put(448, "Fette Fraktur");
-        TYPEFACE_MAP.put(448, "Sapphire (pattern 0)");
-        TYPEFACE_MAP.put(448, "Saphir (pattern 0)");
-        TYPEFACE_MAP.put(449, "Rainbow Bass (pattern 0)");
-        TYPEFACE_MAP.put(449, "European Pi");
-        TYPEFACE_MAP.put(450, "Banco");
-        TYPEFACE_MAP.put(451, "Bodoni Antiqua");
-        TYPEFACE_MAP.put(452, "Sallwey Script");
-        TYPEFACE_MAP.put(452, "Mathematical Pi");
-        TYPEFACE_MAP.put(453, "Congress");
-        TYPEFACE_MAP.put(454, "Cheq");
-        TYPEFACE_MAP.put(455, "Berthold Walbaum Buch (B.metrics)");
-        TYPEFACE_MAP.put(456, "Huxley Vertical");
-        TYPEFACE_MAP.put(457, "Grayda");
-        TYPEFACE_MAP.put(458, "Penfield No. 3");
-        TYPEFACE_MAP.put(459, "Michelangelo");
-        TYPEFACE_MAP.put(460, "Neo Didot");
-        TYPEFACE_MAP.put(461, "Berthold Caslon Buch");
-        TYPEFACE_MAP.put(462, "Sans No. 1");
-        TYPEFACE_MAP.put(463, "Torino");
-        TYPEFACE_MAP.put(464, "Photina");
-        TYPEFACE_MAP.put(465, "Calligraphiques");
-        TYPEFACE_MAP.put(466, "Concorde Nova");
-        TYPEFACE_MAP.put(467, "Franco");
-        TYPEFACE_MAP.put(468, "Goudy Text");
-        TYPEFACE_MAP.put(469, "Balloon (italic)");
-        TYPEFACE_MAP.put(470, "Eusebius");
-        TYPEFACE_MAP.put(470, "Eusebius Open (inline)");
-        TYPEFACE_MAP.put(471, "Digital");
-        TYPEFACE_MAP.put(471, "Noris Script (italic)");
-        TYPEFACE_MAP.put(472, "Poppl-Pontifex (B.metrics)");
-        TYPEFACE_MAP.put(473, "Amigo");
-        TYPEFACE_MAP.put(473, "Pelican (italic)");
-        TYPEFACE_MAP.put(473, "Visigoth (bold italic)");
-        TYPEFACE_MAP.put(474, "Letraset Arta");
-        TYPEFACE_MAP.put(475, "Post Mediaval");
-        TYPEFACE_MAP.put(476, "Adsans");
-        TYPEFACE_MAP.put(477, "Ariadne");
-        TYPEFACE_MAP.put(478, "Calligraphy");
-        TYPEFACE_MAP.put(479, "Didot");
-        TYPEFACE_MAP.put(480, "Ashley Script (italic)");
-        TYPEFACE_MAP.put(480, "Ashley Crawford (bold)");
-        TYPEFACE_MAP.put(480, "Ashley Inline (inline)");
-        TYPEFACE_MAP.put(481, "Catull");
-        TYPEFACE_MAP.put(482, "Cremona");
-        TYPEFACE_MAP.put(483, "Audrey No. 2");
-        TYPEFACE_MAP.put(484, "Lo-Type");
-        TYPEFACE_MAP.put(485, "Madame (patterned with shadow)");
-        TYPEFACE_MAP.put(486, "Roundy");
-        TYPEFACE_MAP.put(486, "Animals");
-        TYPEFACE_MAP.put(487, "Ruling Script");
-        TYPEFACE_MAP.put(487, "Business & Services 1");
-        TYPEFACE_MAP.put(488, "Sho");
-        TYPEFACE_MAP.put(488, "Business & Services 2");
-        TYPEFACE_MAP.put(489, "Wiesbaden Swing");
-        TYPEFACE_MAP.put(489, "Commercial 1");
-        TYPEFACE_MAP.put(490, "Star Trek Next");
-        TYPEFACE_MAP.put(490, "Commercial 2");
-        TYPEFACE_MAP.put(491, "ITC Highlander");
-        TYPEFACE_MAP.put(491, "Ecology");
-        TYPEFACE_MAP.put(492, "Helios II");
-        TYPEFACE_MAP.put(492, "General Symbols 1");
-        TYPEFACE_MAP.put(493, "Kai Medium");
-        TYPEFACE_MAP.put(493, "General Symbols 2");
-        TYPEFACE_MAP.put(494, "Medical & Pharmaceutical 1");
-        TYPEFACE_MAP.put(495, "Space");
-        TYPEFACE_MAP.put(495, "Musical");
-        TYPEFACE_MAP.put(496, "Special Alphabets 4");
-        TYPEFACE_MAP.put(497, "Special Alphabets 5");
-        TYPEFACE_MAP.put(498, "Special Alphabets 6");
-        TYPEFACE_MAP.put(499, "Inflex");
-        TYPEFACE_MAP.put(500, "Monotype Old Style");
-        TYPEFACE_MAP.put(501, "Ming");
-        TYPEFACE_MAP.put(502, "FangSong");
-        TYPEFACE_MAP.put(503, "Helinda Rook");
-        TYPEFACE_MAP.put(504, "Original Script");
-        TYPEFACE_MAP.put(505, "Citadel Script");
-        TYPEFACE_MAP.put(506, "Old Fashion Script");
-        TYPEFACE_MAP.put(507, "ITC Legacy Serif");
-        TYPEFACE_MAP.put(508, "ITC Legacy Sans");
-        TYPEFACE_MAP.put(509, "Athenaeum");
-        TYPEFACE_MAP.put(509, "Athenaeum Negative (pattern 0)");
-        TYPEFACE_MAP.put(509, "Athenaeum Positive (pattern 1)");
-        TYPEFACE_MAP.put(510, "ITC Anna (condensed)");
-        TYPEFACE_MAP.put(510, "ITC Beesknees (black)");
-        TYPEFACE_MAP.put(511, "ITC Studio Script (italic)");
-        TYPEFACE_MAP.put(511, "ITC Mona Lisa Recut (inline)");
-        TYPEFACE_MAP.put(511, "ITC Mona Lisa Solid (upright)");
-        TYPEFACE_MAP.put(512, "Sackers Square Gothic");
-        TYPEFACE_MAP.put(512, "Sackers English Script");
-        TYPEFACE_MAP.put(513, "Heritage");
-        TYPEFACE_MAP.put(514, "Sackers Gothic");
-        TYPEFACE_MAP.put(516, "Greek Helios II");
-        TYPEFACE_MAP.put(517, "Times (Ten, New, etc.)");
-        TYPEFACE_MAP.put(518, "Berthold Script");
-        TYPEFACE_MAP.put(519, "Bernhard Tango (italic)");
-        TYPEFACE_MAP.put(520, "Castellar (inline)");
-        TYPEFACE_MAP.put(521, "Else");
-        TYPEFACE_MAP.put(522, "Basque (condensed)");
-        TYPEFACE_MAP.put(522, "Palace Script (italic)");
-        TYPEFACE_MAP.put(523, "Centaur");
-        TYPEFACE_MAP.put(524, "Fine Hand");
-        TYPEFACE_MAP.put(525, "Linotype Astrology Pi");
-        TYPEFACE_MAP.put(526, "Sackers Roman");
-        TYPEFACE_MAP.put(527, "Kompakt (ultra black italic)");
-        TYPEFACE_MAP.put(527, "Monoline Script (italic)");
-        TYPEFACE_MAP.put(528, "Othello (bold condensed)");
-        TYPEFACE_MAP.put(529, "Sackers Classic Roman");
-        TYPEFACE_MAP.put(529, "Sackers Italian Script (italic)");
-        TYPEFACE_MAP.put(530, "Musketeer");
-        TYPEFACE_MAP.put(530, "Riviera (inline)");
-        TYPEFACE_MAP.put(531, "Poppl-Residenz");
-        TYPEFACE_MAP.put(532, "Rotation");
-        TYPEFACE_MAP.put(533, "Bank Gothic");
-        TYPEFACE_MAP.put(534, "Delphian (inline)");
-        TYPEFACE_MAP.put(534, "Greeting Monotone");
-        TYPEFACE_MAP.put(535, "Sackers Antique Roman");
-        TYPEFACE_MAP.put(536, "Schwabacher");
-        TYPEFACE_MAP.put(537, "Egyptienne (condensed)");
-        TYPEFACE_MAP.put(538, "Artisan Roman (inline)");
-        TYPEFACE_MAP.put(538, "Forte (bold italic)");
-        TYPEFACE_MAP.put(539, "Burin Roman");
-        TYPEFACE_MAP.put(539, "Burin Sans (light)");
-        TYPEFACE_MAP.put(540, "Hellenic Wide (extended)");
-        TYPEFACE_MAP.put(541, "Thompson Quillscript");
-        TYPEFACE_MAP.put(542, "Kartoon");
-        TYPEFACE_MAP.put(543, "Classic Roman");
-        TYPEFACE_MAP.put(544, "AG Old Face");
-        TYPEFACE_MAP.put(545, "Lucian");
-        TYPEFACE_MAP.put(546, "Della Robbia");
-        TYPEFACE_MAP.put(547, "Libra");
-        TYPEFACE_MAP.put(548, "Brody (bold upright)");
-        TYPEFACE_MAP.put(549, "Ad Lib (bold)");
-        TYPEFACE_MAP.put(550, "Choc (black)");
-        TYPEFACE_MAP.put(551, "Handle Oldstyle");
-        TYPEFACE_MAP.put(552, "Roman");
-        TYPEFACE_MAP.put(553, "Antique Roman");
-        TYPEFACE_MAP.put(554, "Goudy Catalogue, addt’l Old Style faces");
-        TYPEFACE_MAP.put(554, "Goudy Handtooled (inline)");
-        TYPEFACE_MAP.put(554, "Goudy Heavyface (black)");
-        TYPEFACE_MAP.put(555, "Calligrapher");
-        TYPEFACE_MAP.put(556, "Lucida Bright");
-        TYPEFACE_MAP.put(557, "Pi Collection");
-        TYPEFACE_MAP.put(558, "Broadpen");
-        TYPEFACE_MAP.put(559, "Amazone");
-        TYPEFACE_MAP.put(560, "Frank Ruehl");
-        TYPEFACE_MAP.put(561, "Cloe");
-        TYPEFACE_MAP.put(562, "Discus");
-        TYPEFACE_MAP.put(563, "Myriad");
-        TYPEFACE_MAP.put(565, "WTC Our Bodoni");
-        TYPEFACE_MAP.put(566, "Ideal Schreibschrift");
-        TYPEFACE_MAP.put(567, "Print");
-        TYPEFACE_MAP.put(568, "Lucida Blackletter");
-        TYPEFACE_MAP.put(569, "Lucida Calligraphy");
-        TYPEFACE_MAP.put(570, "Data 70");
-        TYPEFACE_MAP.put(571, "Compacta (expanded)");
-        TYPEFACE_MAP.put(571, "Helvetica Inserat (condensed)");
-        TYPEFACE_MAP.put(572, "Lucida Handwriting");
-        TYPEFACE_MAP.put(572, "Milestones");
-        TYPEFACE_MAP.put(573, "Biffo");
-        TYPEFACE_MAP.put(574, "Calvert");
-        TYPEFACE_MAP.put(575, "Cantoria");
-        TYPEFACE_MAP.put(576, "Dorchester Script");
-        TYPEFACE_MAP.put(577, "Grotesque");
-        TYPEFACE_MAP.put(578, "Pepita");
-        TYPEFACE_MAP.put(579, "Vectora");
-        TYPEFACE_MAP.put(580, "Script Bold");
-        TYPEFACE_MAP.put(581, "Spectrum");
-        TYPEFACE_MAP.put(582, "Boulevard");
-        TYPEFACE_MAP.put(583, "Cheltenham");
-        TYPEFACE_MAP.put(584, "De Vinne");
-        TYPEFACE_MAP.put(585, "London Text (inline)");
-        TYPEFACE_MAP.put(585, "Profil (bold italic inline)");
-        TYPEFACE_MAP.put(586, "Imprint");
-        TYPEFACE_MAP.put(587, "Allegro (bold italic)");
-        TYPEFACE_MAP.put(587, "Engraver's Gothic (text)");
-        TYPEFACE_MAP.put(588, "Bernhard (bold condensed)");
-        TYPEFACE_MAP.put(588, "Eckmann (text)");
-        TYPEFACE_MAP.put(589, "Cloister Open Face (outline)");
-        TYPEFACE_MAP.put(589, "Davida (text)");
-        TYPEFACE_MAP.put(589, "Klang (italic)");
-        TYPEFACE_MAP.put(590, "Fry's Baskerville");
-        TYPEFACE_MAP.put(591, "Metro");
-        TYPEFACE_MAP.put(592, "Mandate");
-        TYPEFACE_MAP.put(593, "Star Trek Gen");
-        TYPEFACE_MAP.put(594, "Virile");
-        TYPEFACE_MAP.put(595, "Bingham Script (text)");
-        TYPEFACE_MAP.put(595, "Block (bold)");
-        TYPEFACE_MAP.put(596, "ITC Gorilla (text)");
-        TYPEFACE_MAP.put(596, "ITC Pioneer (outline shadow)");
-        TYPEFACE_MAP.put(597, "Ruzicka");
-        TYPEFACE_MAP.put(598, "Bodoni Campanile");
-        TYPEFACE_MAP.put(599, "Linotype Modern");
-        TYPEFACE_MAP.put(600, "Monterey Script (italic)");
-        TYPEFACE_MAP.put(600, "Playbill (condensed)");
-        TYPEFACE_MAP.put(601, "Normande");
-        TYPEFACE_MAP.put(602, "Wave");
-        TYPEFACE_MAP.put(603, "Bernhard Fashion (extra light)");
-        TYPEFACE_MAP.put(603, "Mercurius");
-        TYPEFACE_MAP.put(604, "Stuyvesant (inline)");
-        TYPEFACE_MAP.put(605, "Impuls (italic)");
-        TYPEFACE_MAP.put(605, "Romana (text & bold)");
-        TYPEFACE_MAP.put(606, "Shotgun");
-        TYPEFACE_MAP.put(607, "Ehrhardt");
-        TYPEFACE_MAP.put(608, "ITC Grizzly");
-        TYPEFACE_MAP.put(609, "ITC Grouch");
-        TYPEFACE_MAP.put(610, "ITC Tom's New Roman");
-        TYPEFACE_MAP.put(611, "Palette (italic)");
-        TYPEFACE_MAP.put(611, "Hanseatic (ultrabold condensed)");
-        TYPEFACE_MAP.put(612, "Bison");
-        TYPEFACE_MAP.put(613, "Jefferson");
-        TYPEFACE_MAP.put(614, "Electra");
-        TYPEFACE_MAP.put(615, "Antique No. 3");
-        TYPEFACE_MAP.put(616, "Flemish Script (italic)");
-        TYPEFACE_MAP.put(617, "Hallmark Bodoni");
-        TYPEFACE_MAP.put(618, "Modern #20");
-        TYPEFACE_MAP.put(619, "Westinghouse Gothic");
-        TYPEFACE_MAP.put(620, "Bloc (outline)");
-        TYPEFACE_MAP.put(620, "Empire (ultra condensed)");
-        TYPEFACE_MAP.put(621, "Oscar");
-        TYPEFACE_MAP.put(622, "Eagle Bold");
-        TYPEFACE_MAP.put(622, "Joanna Solotype (inline)");
-        TYPEFACE_MAP.put(623, "Akzidenz-Grotesk (B.metrics)");
-        TYPEFACE_MAP.put(624, "Koch Antiqua");
-        TYPEFACE_MAP.put(625, "Mirarae");
-        TYPEFACE_MAP.put(626, "Horley Old Style");
-        TYPEFACE_MAP.put(627, "Tango");
-        TYPEFACE_MAP.put(628, "Pifont Circle Numbers");
-        TYPEFACE_MAP.put(629, "Pifont OCRA Numbers");
-        TYPEFACE_MAP.put(630, "Pifont Square Numbers");
-        TYPEFACE_MAP.put(631, "Pifont Triangle Numbers");
-        TYPEFACE_MAP.put(632, "Bank Script (italic)");
-        TYPEFACE_MAP.put(633, "Serlio Dekoration (pi numbers)");
-        TYPEFACE_MAP.put(634, "Concorde (B.metrics)");
-        TYPEFACE_MAP.put(635, "Jets");
-        TYPEFACE_MAP.put(636, "Jetsons");
-        TYPEFACE_MAP.put(637, "Looney Type");
-        TYPEFACE_MAP.put(638, "Pompeijana");
-        TYPEFACE_MAP.put(639, "Rusticana (Frutiger)");
-        TYPEFACE_MAP.put(640, "Notre Dame");
-        TYPEFACE_MAP.put(641, "Beverly Hills (inline)");
-        TYPEFACE_MAP.put(641, "Lotus (pattern 0)");
-        TYPEFACE_MAP.put(642, "Advertisers Gothic Light");
-        TYPEFACE_MAP.put(642, "Eclipse (pattern 0)");
-        TYPEFACE_MAP.put(643, "Capone Light");
-        TYPEFACE_MAP.put(643, "Victorian Silhouette (contour)");
-        TYPEFACE_MAP.put(644, "Dynamo (extra bold)");
-        TYPEFACE_MAP.put(644, "Modernistic (inline)");
-        TYPEFACE_MAP.put(645, "Gallia (inline)");
-        TYPEFACE_MAP.put(645, "Skjald");
-        TYPEFACE_MAP.put(646, "Bell Gothic");
-        TYPEFACE_MAP.put(647, "Gillies Gothic Bold (italic)");
-        TYPEFACE_MAP.put(648, "Quaint Roman");
-        TYPEFACE_MAP.put(648, "Chic (inline)");
-        TYPEFACE_MAP.put(649, "PL Westerveldt Light (condensed)");
-        TYPEFACE_MAP.put(650, "PL Davison Americana");
-        TYPEFACE_MAP.put(651, "TC Jasper");
-        TYPEFACE_MAP.put(652, "Poppl-Laudatio");
-        TYPEFACE_MAP.put(653, "TC Europa Bold");
-        TYPEFACE_MAP.put(654, "Siena Black (italic)");
-        TYPEFACE_MAP.put(655, "Yearbook");
-        TYPEFACE_MAP.put(656, "Koloss (extra bold)");
-        TYPEFACE_MAP.put(657, "Phenix American (extra condensed)");
-        TYPEFACE_MAP.put(658, "PL Bernhardt");
-        TYPEFACE_MAP.put(659, "Orlando Caps");
-        TYPEFACE_MAP.put(659, "PL Barclay Outline (outline)");
-        TYPEFACE_MAP.put(660, "PL Britannia Bold");
-        TYPEFACE_MAP.put(661, "PL Fiorello Condensed");
-        TYPEFACE_MAP.put(662, "Fluidum Bold (italic)");
-        TYPEFACE_MAP.put(663, "Woodblock (bold)");
-        TYPEFACE_MAP.put(663, "Sinaloa (pattern 0)");
-        TYPEFACE_MAP.put(664, "Stratford Extra Bold");
-        TYPEFACE_MAP.put(664, "Matra (pattern 0)");
-        TYPEFACE_MAP.put(665, "PL Tower Condensed");
-        TYPEFACE_MAP.put(666, "Section Bold Condensed");
-        TYPEFACE_MAP.put(667, "Miehle Condensed");
-        TYPEFACE_MAP.put(668, "Phyllis");
-        TYPEFACE_MAP.put(669, "Modernique (extra bold)");
-        TYPEFACE_MAP.put(670, "Egyptienne F");
-        TYPEFACE_MAP.put(671, "Post Antiqua (B.metrics)");
-        TYPEFACE_MAP.put(672, "Diotima");
-        TYPEFACE_MAP.put(673, "Aldus");
-        TYPEFACE_MAP.put(674, "Chaplin (italic)");
-        TYPEFACE_MAP.put(675, "Uncle Sam Stars (pattern 0, shadow)");
-        TYPEFACE_MAP.put(675, "Uncle Sam Stripes (pattern 1, shadow)");
-        TYPEFACE_MAP.put(676, "Wildstyle");
-        TYPEFACE_MAP.put(677, "Logan (pattern 0)");
-        TYPEFACE_MAP.put(677, "Eon Age (pattern 1)");
-        TYPEFACE_MAP.put(677, "System X3 (pattern 2)");
-        TYPEFACE_MAP.put(677, "Galaxy Run (pattern 3)");
-        TYPEFACE_MAP.put(678, "Jukebox (bold condensed)");
-        TYPEFACE_MAP.put(679, "Marking Numbers Squares");
-        TYPEFACE_MAP.put(679, "Al Harf Al Jadid");
-        TYPEFACE_MAP.put(680, "Vivaldi");
-        TYPEFACE_MAP.put(681, "Codex");
-        TYPEFACE_MAP.put(682, "Metronome Gothic (bold extra condensed)");
-        TYPEFACE_MAP.put(683, "Salut (bold)");
-        TYPEFACE_MAP.put(684, "Lucida Fax");
-        TYPEFACE_MAP.put(685, "Bellevue");
-        TYPEFACE_MAP.put(686, "Architect");
-        TYPEFACE_MAP.put(687, "Beton Extra Bold");
-        TYPEFACE_MAP.put(688, "Metropolis (extra bold, solid & inline)");
-        TYPEFACE_MAP.put(689, "PL Davison Zip Bold");
-        TYPEFACE_MAP.put(690, "Neon (Nebiolo)");
-        TYPEFACE_MAP.put(691, "PL Benguiat Frisky");
-        TYPEFACE_MAP.put(692, "PL Bartuska Trophy Oblique");
-        TYPEFACE_MAP.put(693, "Cable");
-        TYPEFACE_MAP.put(694, "PL Brazilia");
-        TYPEFACE_MAP.put(695, "PL Radiant");
-        TYPEFACE_MAP.put(696, "Ritmo Bold (italic)");
-        TYPEFACE_MAP.put(697, "PL Fiedler Gothic Bold");
-        TYPEFACE_MAP.put(698, "Egiziano Black");
-        TYPEFACE_MAP.put(699, "Studio");
-        TYPEFACE_MAP.put(700, "PL Futura Maxi");
-        TYPEFACE_MAP.put(701, "Solemnis");
-        TYPEFACE_MAP.put(702, "Quirinus Bold (condensed)");
-        TYPEFACE_MAP.put(703, "PL West Behemoth Semi Condensed");
-        TYPEFACE_MAP.put(704, "Renault");
-        TYPEFACE_MAP.put(705, "Forbes Bold");
-        TYPEFACE_MAP.put(706, "Mobil");
-        TYPEFACE_MAP.put(707, "Becket");
-        TYPEFACE_MAP.put(708, "Lucida Sans Typewriter");
-        TYPEFACE_MAP.put(709, "Cartoon Script Roman");
-        TYPEFACE_MAP.put(710, "Campanula");
-        TYPEFACE_MAP.put(711, "Odilia");
-        TYPEFACE_MAP.put(712, "Lino Letter");
-        TYPEFACE_MAP.put(713, "Henche");
-        TYPEFACE_MAP.put(714, "Mahlau (condensed)");
-        TYPEFACE_MAP.put(715, "Aquarias No. 8 (bold)");
-        TYPEFACE_MAP.put(716, "CG Frontiera");
-        TYPEFACE_MAP.put(717, "Globe Gothic");
-        TYPEFACE_MAP.put(718, "Signature");
-        TYPEFACE_MAP.put(719, "Sans Serif Stencil");
-        TYPEFACE_MAP.put(720, "Boldface PS");
-        TYPEFACE_MAP.put(721, "Title PS");
-        TYPEFACE_MAP.put(725, "Hess Neobold");
-        TYPEFACE_MAP.put(726, "Hollandse Mediaeval");
-        TYPEFACE_MAP.put(727, "Holland Seminar");
-        TYPEFACE_MAP.put(728, "CG Cloister");
-        TYPEFACE_MAP.put(729, "Adroit");
-        TYPEFACE_MAP.put(730, "Claire News");
-        TYPEFACE_MAP.put(731, "Triplett");
-        TYPEFACE_MAP.put(732, "Accolade");
-        TYPEFACE_MAP.put(733, "Claridge");
-        TYPEFACE_MAP.put(734, "Alpin Gothic");
-        TYPEFACE_MAP.put(735, "Geometric");
-        TYPEFACE_MAP.put(736, "Heldustry");
-        TYPEFACE_MAP.put(737, "Busorama");
-        TYPEFACE_MAP.put(738, "Salto");
-        TYPEFACE_MAP.put(739, "Fehrle Display");
-        TYPEFACE_MAP.put(740, "Kismet");
-        TYPEFACE_MAP.put(741, "Digi Fraktur");
-        TYPEFACE_MAP.put(742, "Anglia");
-        TYPEFACE_MAP.put(743, "Jiffy");
-        TYPEFACE_MAP.put(744, "Rosewood");
-        TYPEFACE_MAP.put(745, "Zebrawood");
-        TYPEFACE_MAP.put(746, "Pepperwood (condensed)");
-        TYPEFACE_MAP.put(747, "Copal (solid)");
-        TYPEFACE_MAP.put(747, "Copal (outline, patterned)");
-        TYPEFACE_MAP.put(748, "Motter Corpus (extrabold)");
-        TYPEFACE_MAP.put(749, "Cerigo");
-        TYPEFACE_MAP.put(750, "Caflisch Script");
-        TYPEFACE_MAP.put(751, "Mezz");
-        TYPEFACE_MAP.put(752, "Nueva");
-        TYPEFACE_MAP.put(753, "Penumbra");
-        TYPEFACE_MAP.put(754, "Sanvito");
-        TYPEFACE_MAP.put(755, "Viva");
-        TYPEFACE_MAP.put(756, "Alexa (italic)");
-        TYPEFACE_MAP.put(756, "Balzano");
-        TYPEFACE_MAP.put(756, "Caliban (condensed italic)");
-        TYPEFACE_MAP.put(757, "Ex Ponto");
-        TYPEFACE_MAP.put(758, "Neue Hammer Unziale 1");
-        TYPEFACE_MAP.put(758, "Neue Hammer Unziale 2 (edge)");
-        TYPEFACE_MAP.put(759, "Galahad");
-        TYPEFACE_MAP.put(760, "LiShu (China)");
-        TYPEFACE_MAP.put(760, "Gungse (Korean)");
-        TYPEFACE_MAP.put(760, "HanYang GungSe Proportional (Korean)");
-        TYPEFACE_MAP.put(761, "Yuang (Yuan, XiYuang - China)");
-        TYPEFACE_MAP.put(762, "Miryam");
-        TYPEFACE_MAP.put(763, "Ryadh");
-        TYPEFACE_MAP.put(764, "Arkona (ital script)");
-        TYPEFACE_MAP.put(765, "El Greco (ital script)");
-        TYPEFACE_MAP.put(766, "Aja (ital script)");
-        TYPEFACE_MAP.put(767, "Poppl-Exquisit (ital script)");
-        TYPEFACE_MAP.put(768, "Sassafras Roman");
-        TYPEFACE_MAP.put(769, "Kigali Roman");
-        TYPEFACE_MAP.put(770, "Rundfunk Antiqua");
-        TYPEFACE_MAP.put(771, "Rundfunk Grotesk");
-        TYPEFACE_MAP.put(772, "Apolline");
-        TYPEFACE_MAP.put(773, "Alisal");
-        TYPEFACE_MAP.put(774, "Strider");
-        TYPEFACE_MAP.put(775, "Throhand");
-        TYPEFACE_MAP.put(776, "Cicéro");
-        TYPEFACE_MAP.put(777, "Antique Condensed Two");
-        TYPEFACE_MAP.put(778, "Asphalt Black");
-        TYPEFACE_MAP.put(779, "Avalon");
-        TYPEFACE_MAP.put(780, "Brok");
-        TYPEFACE_MAP.put(781, "Citadel");
-        TYPEFACE_MAP.put(782, "Hermes");
-        TYPEFACE_MAP.put(783, "Lafayette");
-        TYPEFACE_MAP.put(784, "Narcissus");
-        TYPEFACE_MAP.put(785, "Pilsner");
-        TYPEFACE_MAP.put(786, "Showcard Moderne");
-        TYPEFACE_MAP.put(787, "Streamline");
-        TYPEFACE_MAP.put(788, "Scherzo");
-        TYPEFACE_MAP.put(789, "Jante Antiqua");
-        TYPEFACE_MAP.put(790, "Albers Architype");
-        TYPEFACE_MAP.put(791, "Aubette Architype");
-        TYPEFACE_MAP.put(792, "Ballmer Architype");
-        TYPEFACE_MAP.put(793, "Bayer Type Architype");
-        TYPEFACE_MAP.put(794, "Schwitters Architype");
-        TYPEFACE_MAP.put(795, "Crane");
-        TYPEFACE_MAP.put(796, "Runa Serif");
-        TYPEFACE_MAP.put(797, "Comedia Serif");
-        TYPEFACE_MAP.put(798, "Breadline Normal");
-        TYPEFACE_MAP.put(799, "Revolution Normal");
-        TYPEFACE_MAP.put(800, "Virgin Roman Normal");
-        TYPEFACE_MAP.put(801, "Gararond");
-        TYPEFACE_MAP.put(802, "Abacus");
-        TYPEFACE_MAP.put(803, "Classic");
-        TYPEFACE_MAP.put(804, "Cupid");
-        TYPEFACE_MAP.put(805, "Arepo");
-        TYPEFACE_MAP.put(806, "Aureus Uncial (upright)");
-        TYPEFACE_MAP.put(807, "Connach (upright, norm and uncial lc)");
-        TYPEFACE_MAP.put(808, "Cresci Rotunda (upright)");
-        TYPEFACE_MAP.put(809, "Donatello (italic, black italic)");
-        TYPEFACE_MAP.put(810, "Francesca (lombardic, upright & cond)");
-        TYPEFACE_MAP.put(810, "Lombardic Capitals (upright)");
-        TYPEFACE_MAP.put(811, "Ludovico Smooth (italic & flourishes)");
-        TYPEFACE_MAP.put(811, "Ludovico Woodcut (italic & flourishes)");
-        TYPEFACE_MAP.put(812, "Mantegna (italic)");
-        TYPEFACE_MAP.put(813, "Palatino Rotunda (upright)");
-        TYPEFACE_MAP.put(814, "Percival (upright)");
-        TYPEFACE_MAP.put(815, "Wolfdance (italic)");
-        TYPEFACE_MAP.put(816, "Adastra (bold italic inline)");
-        TYPEFACE_MAP.put(817, "Ampersands");
-        TYPEFACE_MAP.put(818, "Arwen (upright)");
-        TYPEFACE_MAP.put(819, "Blocks (upright, solid filled)");
-        TYPEFACE_MAP.put(820, "Elegant (inline & outline)");
-        TYPEFACE_MAP.put(821, "Poetry (solid & inline)");
-        TYPEFACE_MAP.put(822, "Sphinx (extrabold, solid & inline)");
-        TYPEFACE_MAP.put(823, "Tube (upright)");
-        TYPEFACE_MAP.put(824, "Searsucker (solid, outline, patterned)");
-        TYPEFACE_MAP.put(825, "Hindenburg (upright)");
-        TYPEFACE_MAP.put(826, "Informal (black, norm & condensed)");
-        TYPEFACE_MAP.put(827, "Marquis (upright)");
-        TYPEFACE_MAP.put(828, "Questions");
-        TYPEFACE_MAP.put(829, "Maximilian (upright, inline)");
-        TYPEFACE_MAP.put(830, "Minimal (upright thin)");
-        TYPEFACE_MAP.put(831, "Stalk (upright inline)");
-        TYPEFACE_MAP.put(832, "Mariposa (family)");
-        TYPEFACE_MAP.put(833, "Mariposa Sans (family)");
-        TYPEFACE_MAP.put(834, "Corvallis (upright & italic)");
-        TYPEFACE_MAP.put(835, "Corvallis Sans (upright & italic)");
-        TYPEFACE_MAP.put(836, "Alligators");
-        TYPEFACE_MAP.put(837, "Carmela (italic)");
-        TYPEFACE_MAP.put(838, "Dorothea (upright)");
-        TYPEFACE_MAP.put(839, "Hrabanus (upright)");
-        TYPEFACE_MAP.put(840, "Lexie's Animals");
-        TYPEFACE_MAP.put(841, "Mexican Birds");
-        TYPEFACE_MAP.put(841, "Mexican Borders");
-        TYPEFACE_MAP.put(841, "Mexican Symbols");
-        TYPEFACE_MAP.put(842, "Monmouth (upright)");
-        TYPEFACE_MAP.put(843, "Neuhengen (upright)");
-        TYPEFACE_MAP.put(844, "Ophelia Italic");
-        TYPEFACE_MAP.put(845, "Poggio Bookhand (upright)");
-        TYPEFACE_MAP.put(846, "Pompeii Capitals (upright)");
-        TYPEFACE_MAP.put(847, "Ramsey (upright)");
-        TYPEFACE_MAP.put(848, "Sallando Italic");
-        TYPEFACE_MAP.put(849, "Thalia Italic");
-        TYPEFACE_MAP.put(850, "Trieste (upright)");
-        TYPEFACE_MAP.put(851, "Connach Historic");
-        TYPEFACE_MAP.put(852, "Lombardic Caps");
-        TYPEFACE_MAP.put(853, "Ludovico Smooth Flourish");
-        TYPEFACE_MAP.put(853, "Ludovico Woodcut Flourish");
-        TYPEFACE_MAP.put(854, "Newton Inline");
-        TYPEFACE_MAP.put(855, "Lucida Typewriter");
-        TYPEFACE_MAP.put(856, "Mojo");
-        TYPEFACE_MAP.put(857, "Shuriken Boy");
-        TYPEFACE_MAP.put(858, "Andreas Plain");
-        TYPEFACE_MAP.put(859, "Jenson");
-        TYPEFACE_MAP.put(860, "Ouch!");
-        TYPEFACE_MAP.put(861, "Bermuda Open");
-        TYPEFACE_MAP.put(862, "Kolo Regular");
-        TYPEFACE_MAP.put(863, "Spumoni");
-        TYPEFACE_MAP.put(864, "Banshee");
-        TYPEFACE_MAP.put(865, "ZiptyDo");
-        TYPEFACE_MAP.put(866, "Coriander");
-        TYPEFACE_MAP.put(867, "Prima Sans Roman");
-        TYPEFACE_MAP.put(868, "Nyx");
-        TYPEFACE_MAP.put(869, "Hardwood LP");
-        TYPEFACE_MAP.put(870, "Manito LP");
-        TYPEFACE_MAP.put(871, "Wendy");
-        TYPEFACE_MAP.put(872, "Spring");
-        TYPEFACE_MAP.put(873, "Old Claude");
-        TYPEFACE_MAP.put(874, "Florens LP");
-        TYPEFACE_MAP.put(875, "Khaki One");
-        TYPEFACE_MAP.put(876, "Pompeia UT (inline)");
-        TYPEFACE_MAP.put(877, "Kepler");
-        TYPEFACE_MAP.put(878, "Chaparral");
-        TYPEFACE_MAP.put(879, "Jimbo");
-        TYPEFACE_MAP.put(880, "Cronos");
-        TYPEFACE_MAP.put(881, "Celestia Antiqua");
-        TYPEFACE_MAP.put(882, "Flood");
-        TYPEFACE_MAP.put(883, "Prima Serif");
-        TYPEFACE_MAP.put(884, "Magnolia MVB");
-        TYPEFACE_MAP.put(885, "Bossa Nova MVB");
-        TYPEFACE_MAP.put(886, "Emmascript MVB");
-        TYPEFACE_MAP.put(887, "Dante MT");
-        TYPEFACE_MAP.put(888, "Strayhorn MT");
-        TYPEFACE_MAP.put(889, "Currency Symbol Pi Font");
-        TYPEFACE_MAP.put(890, "Russell Oblique");
-        TYPEFACE_MAP.put(891, "Postino");
-        TYPEFACE_MAP.put(892, "Immi 505");
-        TYPEFACE_MAP.put(893, "Brashe");
-        TYPEFACE_MAP.put(894, "Kid Sans");
-        TYPEFACE_MAP.put(895, "Meister");
-        TYPEFACE_MAP.put(896, "Bear Rock Technologies Bar Codes");
-        TYPEFACE_MAP.put(897, "Fournier MT");
-        TYPEFACE_MAP.put(898, "Bell MT");
-        TYPEFACE_MAP.put(899, "Mercurius CT");
-        TYPEFACE_MAP.put(930, "Akzidenz Grotesk Buch Rounded");
-        TYPEFACE_MAP.put(1030, "Isil Gothic");
-        TYPEFACE_MAP.put(1070, "Euro Sign");
-        TYPEFACE_MAP.put(1078, "Euro Font");
-        TYPEFACE_MAP.put(2128, "HanYang Batang Fixed Pitch (Korean)");
-        TYPEFACE_MAP.put(2128, "MS Mincho (Japan, Proportional)");
-        TYPEFACE_MAP.put(2200, "HanYang Gulrim Fixed Pitch (Korean)");
-        TYPEFACE_MAP.put(2201, "HanYang Dotum Fixed Pitch (Korean)");
-        TYPEFACE_MAP.put(2201, "MS Gothic (Japan, Proportional)");
-        TYPEFACE_MAP.put(2549, "Ming Light (Japan, Proportional)");
-        TYPEFACE_MAP.put(2730, "Wingdings");
-        TYPEFACE_MAP.put(2808, "HanYang GungSe Fixed Pitch (Korean)");
+        putTypeface(0, "Line Printer");
+        putTypeface(2, "Elite");
+        putTypeface(3, "Courier");
+        putTypeface(4, "Helvetica");
+        putTypeface(5, "Times Roman");
+        putTypeface(6, "Letter Gothic");
+        putTypeface(7, "Script");
+        putTypeface(8, "Prestige");
+        putTypeface(9, "Caslon 540 & No. 3");
+        putTypeface(9, "Caslon Antique (contour)");
+        putTypeface(9, "Caslon Open Face (inline)");
+        putTypeface(10, "Orator");
+        putTypeface(11, "Presentation");
+        putTypeface(13, "Serifa");
+        putTypeface(14, "Futura");
+        putTypeface(14, "Greek Futura");
+        putTypeface(15, "Palatino");
+        putTypeface(16, "ITC Souvenir");
+        putTypeface(16, "ITC Souvenir Greek");
+        putTypeface(17, "Optima");
+        putTypeface(17, "Safeer (Arabic)");
+        putTypeface(17, "Komain (Thai)");
+        putTypeface(17, "Greek Oracle");
+        putTypeface(18, "ITC Garamond");
+        putTypeface(20, "Coronet (italic)");
+        putTypeface(20, "Chevalier (bold expanded pattern 0)");
+        putTypeface(21, "Broadway");
+        putTypeface(23, "Century Schoolbook");
+        putTypeface(23, "Greek & Math Serif");
+        putTypeface(24, "University Roman");
+        putTypeface(27, "ITC Korinna");
+        putTypeface(28, "Naskh");
+        putTypeface(29, "Cloister Black");
+        putTypeface(30, "ITC Galliard");
+        putTypeface(31, "ITC Avant Garde Gothic");
+        putTypeface(31, "Tom (Thai)");
+        putTypeface(32, "Brush (italic)");
+        putTypeface(32, "Stop");
+        putTypeface(33, "Blippo (black)");
+        putTypeface(33, "Tea Chest (condensed)");
+        putTypeface(34, "Hobo");
+        putTypeface(35, "Windsor");
+        putTypeface(38, "Peignot");
+        putTypeface(39, "Baskerville");
+        putTypeface(41, "Trade Gothic");
+        putTypeface(41, "Pemai (Thai)");
+        putTypeface(41, "CG Trade");
+        putTypeface(42, "Goudy Old Style");
+        putTypeface(43, "ITC Zapf Chancery");
+        putTypeface(44, "Clarendon");
+        putTypeface(45, "ITC Zapf Dingbats");
+        putTypeface(46, "Cooper");
+        putTypeface(47, "ITC Bookman");
+        putTypeface(47, "Noparat (Thai)");
+        putTypeface(48, "Stick");
+        putTypeface(49, "HP-GL Drafting");
+        putTypeface(50, "HP-GL Spline");
+        putTypeface(51, "Gill Sans");
+        putTypeface(51, "Unesco (Thai)");
+        putTypeface(52, "Univers");
+        putTypeface(53, "Bodoni");
+        putTypeface(53, "Poster Bodoni (black)");
+        putTypeface(53, "Greek Apla");
+        putTypeface(54, "Rockwell");
+        putTypeface(55, "Melior");
+        putTypeface(56, "ITC Tiffany");
+        putTypeface(57, "ITC Clearface");
+        putTypeface(58, "Amelia");
+        putTypeface(59, "Park Avenue (italic)");
+        putTypeface(59, "Falstaff (black)");
+        putTypeface(60, "Handel Gothic");
+        putTypeface(61, "Dom Casual");
+        putTypeface(62, "ITC Benguiat");
+        putTypeface(63, "ITC Cheltenham");
+        putTypeface(64, "Century Expanded");
+        putTypeface(65, "Franklin Gothic");
+        putTypeface(65, "Paetai (Thai)");
+        putTypeface(68, "Plantin");
+        putTypeface(69, "Trump Mediaeval");
+        putTypeface(70, "Futura Black");
+        putTypeface(71, "ITC American Typewriter");
+        putTypeface(72, "Antique Olive");
+        putTypeface(72, "Greek Antique Olive");
+        putTypeface(73, "Uncial");
+        putTypeface(74, "ITC Bauhaus");
+        putTypeface(75, "Century Old Style");
+        putTypeface(76, "ITC Eras");
+        putTypeface(77, "Friz Quadrata (ITC)");
+        putTypeface(78, "ITC Lubalin Graph");
+        putTypeface(79, "Eurostile");
+        putTypeface(79, "Intanon (Thai)");
+        putTypeface(79, "Greek Microstyle");
+        putTypeface(80, "Mincho (Japanese)");
+        putTypeface(80, "Myoungjo (Korean)");
+        putTypeface(80, "HanYang Batang Proportional (Korean)");
+        putTypeface(81, "ITC Serif Gothic");
+        putTypeface(81, "Saemmul (Korea)");
+        putTypeface(81, "Sammul (Korea)");
+        putTypeface(82, "Snell Roundhand");
+        putTypeface(82, "Pilgy (Korean)");
+        putTypeface(83, "Souvenir Gothic");
+        putTypeface(84, "Stymie");
+        putTypeface(87, "Bernhard Modern");
+        putTypeface(89, "Excelsior");
+        putTypeface(90, "Gando Ronde Script");
+        putTypeface(91, "Ondine");
+        putTypeface(91, "EACT (Thai)");
+        putTypeface(92, "P. T. Barnum");
+        putTypeface(93, "Kaufmann");
+        putTypeface(93, "U-Thong (Thai)");
+        putTypeface(94, "ITC Bolt (extended)");
+        putTypeface(94, "ITC Machine (condensed)");
+        putTypeface(97, "Revue");
+        putTypeface(101, "Garamond (Stempel)");
+        putTypeface(102, "Garth Graphic");
+        putTypeface(103, "ITC Ronda");
+        putTypeface(103, "Candy Bits (patterned)");
+        putTypeface(104, "OCR-A");
+        putTypeface(105, "Cochin");
+        putTypeface(106, "Englische Schreibschrift (italic)");
+        putTypeface(106, "Mister Earl (condensed)");
+        putTypeface(107, "Flash (italic)");
+        putTypeface(107, "Woodstock");
+        putTypeface(108, "Gothic (numbered)");
+        putTypeface(109, "Stencil (ATF)");
+        putTypeface(110, "OCR-B");
+        putTypeface(111, "Akzidenz-Grotesk");
+        putTypeface(112, "Black White (patterned, outline, inline)");
+        putTypeface(112, "Logos");
+        putTypeface(113, "Shannon");
+        putTypeface(114, "ITC Stone Informal");
+        putTypeface(115, "ITC Stone Sans");
+        putTypeface(116, "ITC Stone Serif");
+        putTypeface(117, "Schneidler Mediaeval");
+        putTypeface(118, "ITC Symbol");
+        putTypeface(119, "ITC Weidemann");
+        putTypeface(120, "Copperplate Gothic (display)");
+        putTypeface(121, "Trajan");
+        putTypeface(122, "Concorde");
+        putTypeface(123, "Janson Text");
+        putTypeface(124, "Linotype Centennial");
+        putTypeface(125, "Life");
+        putTypeface(126, "Minister");
+        putTypeface(127, "New Century Schoolbook");
+        putTypeface(129, "Naskh");
+        putTypeface(130, "Naskh Hollow");
+        putTypeface(131, "Advertisers Naskh");
+        putTypeface(133, "Koufi");
+        putTypeface(134, "Oberon");
+        putTypeface(135, "Callisto");
+        putTypeface(136, "Charter");
+        putTypeface(137, "Serif Proportional");
+        putTypeface(138, "Sans Serif Monospace");
+        putTypeface(139, "Amerigo");
+        putTypeface(140, "PiFont");
+        putTypeface(141, "Old Dreadful");
+        putTypeface(142, "Carmina");
+        putTypeface(143, "Arrus");
+        putTypeface(144, "Oz");
+        putTypeface(146, "Iowan Old Style");
+        putTypeface(152, "Maru Gosikku (round gothic Japan)");
+        putTypeface(152, "Gulrim (Korean)");
+        putTypeface(152, "HanYang Gulrim Proportional (Korean)");
+        putTypeface(153, "Gosikku (Kaku, gothic Japan)");
+        putTypeface(153, "Gothic (Japan, Fixed Pitch)");
+        putTypeface(153, "HanYang Dotum Proportional (Korean)");
+        putTypeface(154, "Socho");
+        putTypeface(155, "Kyokasho (text book)");
+        putTypeface(156, "Kaisho");
+        putTypeface(157, "Trad. Arabic Script, Lotus, or Lily");
+        putTypeface(158, "Arabic News");
+        putTypeface(159, "Post Antiqua");
+        putTypeface(160, "Aerospace Pi");
+        putTypeface(160, "Devanagari (Hindi)");
+        putTypeface(161, "Maritime Pi");
+        putTypeface(161, "Krishna (Gujarati)");
+        putTypeface(162, "Bits Pic Pi");
+        putTypeface(162, "Ranjit (Gurmukhi)");
+        putTypeface(163, "Keycap Pi");
+        putTypeface(163, "Raj Raja (Tamil)");
+        putTypeface(164, "Tieman");
+        putTypeface(164, "Gyosho");
+        putTypeface(165, "David");
+        putTypeface(166, "Nork");
+        putTypeface(167, "Ousbouh");
+        putTypeface(168, "Koufi");
+        putTypeface(169, "Italia (ITC)");
+        putTypeface(169, "Hadassah");
+        putTypeface(170, "Bembo");
+        putTypeface(170, "Sharif");
+        putTypeface(171, "Aachen");
+        putTypeface(171, "Malik");
+        putTypeface(172, "Americana");
+        putTypeface(173, "Arnold Boecklin");
+        putTypeface(174, "Copperplate Gothic (text)");
+        putTypeface(175, "Belwe");
+        putTypeface(176, "ITC Berkeley Oldstyle");
+        putTypeface(177, "Frutiger");
+        putTypeface(178, "Candida");
+        putTypeface(179, "Folio");
+        putTypeface(180, "Corona");
+        putTypeface(181, "ITC Kabel");
+        putTypeface(181, "Zeppelin (inline)");
+        putTypeface(182, "Garamond No. 3");
+        putTypeface(183, "Sabon");
+        putTypeface(184, "ITC Novarese");
+        putTypeface(185, "Weiss");
+        putTypeface(186, "Hiroshige");
+        putTypeface(187, "French Script");
+        putTypeface(188, "Meridien");
+        putTypeface(189, "Mistral");
+        putTypeface(190, "Aster");
+        putTypeface(191, "Caledonia");
+        putTypeface(192, "Nuptial Script");
+        putTypeface(193, "Lucida");
+        putTypeface(194, "Song (China)");
+        putTypeface(194, "Adobe Wood Series 1");
+        putTypeface(195, "Memphis");
+        putTypeface(196, "Lucida Sans");
+        putTypeface(197, "Syntax");
+        putTypeface(198, "Utopia");
+        putTypeface(199, "Berthold Walbaum Buch");
+        putTypeface(200, "Minion");
+        putTypeface(201, "Marigold");
+        putTypeface(202, "ITC Tiepolo");
+        putTypeface(203, "Versailles");
+        putTypeface(204, "ITC Leawood");
+        putTypeface(205, "ITC Caslon No. 224");
+        putTypeface(206, "ITC Cushing");
+        putTypeface(207, "ITC Fenice");
+        putTypeface(208, "ITC Usherwood");
+        putTypeface(209, "ITC Benguiat Gothic");
+        putTypeface(210, "Spartan");
+        putTypeface(210, "ITC Ozwald (fatface)");
+        putTypeface(211, "Neuzeit Grotesk");
+        putTypeface(212, "PMN Caecilia");
+        putTypeface(213, "ITC Busorama");
+        putTypeface(214, "Agfa Wile Roman");
+        putTypeface(215, "ITC Zapf International");
+        putTypeface(216, "Poppl-Pontifex");
+        putTypeface(217, "ITC Quay Sans");
+        putTypeface(218, "Arial");
+        putTypeface(219, "Fairfield");
+        putTypeface(220, "ITC Zapf Book");
+        putTypeface(221, "Lucida Casual");
+        putTypeface(221, "Linotype Technical Pi 1 & 2");
+        putTypeface(222, "Graphite");
+        putTypeface(222, "Linotype Textil Pi 1 & 2");
+        putTypeface(223, "Poetica");
+        putTypeface(223, "Century Schoolbook Monospace");
+        putTypeface(224, "Berliner Grotesk");
+        putTypeface(225, "Christiana");
+        putTypeface(226, "Comenius-Antiqua");
+        putTypeface(227, "Delta");
+        putTypeface(228, "Italian Old Style");
+        putTypeface(229, "Zingo");
+        putTypeface(230, "Octavian");
+        putTypeface(230, "Borders & Ornaments 1");
+        putTypeface(231, "Footlight");
+        putTypeface(231, "Borders & Ornaments 4");
+        putTypeface(232, "Apollo");
+        putTypeface(232, "Borders & Ornaments 5");
+        putTypeface(233, "Bremen");
+        putTypeface(233, "Borders & Ornaments 6");
+        putTypeface(234, "Oranda");
+        putTypeface(234, "Communication 1");
+        putTypeface(235, "Nubian");
+        putTypeface(235, "Communication 2");
+        putTypeface(236, "Cataneo");
+        putTypeface(236, "Communication 3");
+        putTypeface(237, "Wittenberger Fraktur");
+        putTypeface(237, "Communication 6");
+        putTypeface(238, "Modern");
+        putTypeface(238, "PL Modern");
+        putTypeface(238, "Games & Sports 1");
+        putTypeface(239, "Artistik");
+        putTypeface(239, "Games & Sports 2");
+        putTypeface(240, "Flintstones");
+        putTypeface(240, "Games & Sports 3");
+        putTypeface(241, "SnowCap");
+        putTypeface(241, "Games & Sports 4");
+        putTypeface(242, "Bedrock");
+        putTypeface(242, "Holidays 1");
+        putTypeface(243, "Star Fleet");
+        putTypeface(243, "Industry & Engineering 1");
+        putTypeface(244, "Star Trek Film");
+        putTypeface(244, "Industry & Engineering 2");
+        putTypeface(245, "Star Trek");
+        putTypeface(245, "Transportation 1");
+        putTypeface(246, "Hei (China)");
+        putTypeface(246, "Star Trek Pi");
+        putTypeface(246, "Transportation 2");
+        putTypeface(247, "ITC Mendoza");
+        putTypeface(248, "Boton");
+        putTypeface(249, "Jaeger Daily News");
+        putTypeface(250, "ITC Officina Serif");
+        putTypeface(251, "ITC Officina Sans");
+        putTypeface(252, "Goudy Modern");
+        putTypeface(253, "Scotch Roman");
+        putTypeface(254, "Temporary-Only Font");
+        putTypeface(256, "Bar Codes");
+        putTypeface(257, "Hadriano");
+        putTypeface(258, "Joanna");
+        putTypeface(259, "Onyx");
+        putTypeface(260, "Cyrillic Helvetica");
+        putTypeface(260, "Greek Helvetica");
+        putTypeface(260, "East Asian Helvetica");
+        putTypeface(261, "Cyrillic Times");
+        putTypeface(261, "Greek Times");
+        putTypeface(261, "East Asian Times");
+        putTypeface(262, "ITC Quorum");
+        putTypeface(263, "Engravers' Old English");
+        putTypeface(264, "Kennerley");
+        putTypeface(265, "Adobe Caslon");
+        putTypeface(266, "Albertus");
+        putTypeface(267, "New Aurora Grotesque");
+        putTypeface(268, "TBG Omnia");
+        putTypeface(269, "Glypha");
+        putTypeface(270, "Tempo");
+        putTypeface(270, "Umbra (open shadow)");
+        putTypeface(271, "American Text");
+        putTypeface(272, "Pasquale");
+        putTypeface(273, "ITC Elan");
+        putTypeface(274, "Monotype Goudy Sans");
+        putTypeface(275, "Lutheresche Fraktur");
+        putTypeface(275, "Universal News & Commercial Pi");
+        putTypeface(276, "Thunderbird (extra condensed)");
+        putTypeface(276, "ITC Honda (black)");
+        putTypeface(277, "Shelley");
+        putTypeface(277, "Mr. Big");
+        putTypeface(278, "Macbeth");
+        putTypeface(278, "Universal Greek & Math Pi");
+        putTypeface(279, "ITC Century");
+        putTypeface(280, "Vineta");
+        putTypeface(281, "TBG Duc de Berry");
+        putTypeface(282, "Times Europa");
+        putTypeface(283, "ITC Jamille");
+        putTypeface(284, "Flyer");
+        putTypeface(285, "Wedding Text");
+        putTypeface(286, "Carolina");
+        putTypeface(287, "Avenir");
+        putTypeface(288, "Lucia");
+        putTypeface(289, "Tekton");
+        putTypeface(290, "Charme");
+        putTypeface(291, "ITC Flora");
+        putTypeface(292, "Basilica");
+        putTypeface(293, "Auriol");
+        putTypeface(294, "Kuenstler Script");
+        putTypeface(295, "ITC New Baskerville");
+        putTypeface(296, "Berling");
+        putTypeface(297, "News Gothic");
+        putTypeface(298, "Critter");
+        putTypeface(298, "Linotype Holiday Pi 1, 2, & 3");
+        putTypeface(299, "Medici Script");
+        putTypeface(300, "Aurora");
+        putTypeface(301, "Carta");
+        putTypeface(302, "Adobe Symbol");
+        putTypeface(303, "Insignia");
+        putTypeface(304, "Perpetua");
+        putTypeface(305, "Raleigh");
+        putTypeface(306, "Romic");
+        putTypeface(307, "Formata");
+        putTypeface(308, "Cyrillic Univers");
+        putTypeface(308, "Chuan Pim (like Univers)");
+        putTypeface(308, "Narkis Tam (like Univers)");
+        putTypeface(308, "Greek Univers II");
+        putTypeface(309, "Bauer Bodoni");
+        putTypeface(310, "Industria");
+        putTypeface(311, "Cutout");
+        putTypeface(311, "Decoration Pi");
+        putTypeface(312, "Letraset Bramley");
+        putTypeface(313, "Isabella");
+        putTypeface(314, "Cascade Script");
+        putTypeface(315, "VAG Rounded");
+        putTypeface(316, "Russell Square");
+        putTypeface(317, "Liberty");
+        putTypeface(318, "ITC Esprit");
+        putTypeface(319, "Clairvaux");
+        putTypeface(320, "Raphael");
+        putTypeface(321, "ITC Franklin Gothic");
+        putTypeface(322, "Murray Hill");
+        putTypeface(323, "Baker Signet");
+        putTypeface(324, "Mythos");
+        putTypeface(324, "Gambling Pi");
+        putTypeface(325, "San Marco");
+        putTypeface(326, "Typo Roman");
+        putTypeface(327, "Engravers Text (inline)");
+        putTypeface(327, "New Berolina (italic)");
+        putTypeface(328, "Orbit-B");
+        putTypeface(329, "McCollough");
+        putTypeface(330, "ITC Isadora");
+        putTypeface(331, "Giddyup");
+        putTypeface(331, "Audio Pi");
+        putTypeface(332, "Letraset Crillee");
+        putTypeface(333, "Agfa Nadianne");
+        putTypeface(334, "Compliment");
+        putTypeface(335, "ITC Giovanni");
+        putTypeface(336, "Neuzeit S");
+        putTypeface(337, "Erbar");
+        putTypeface(338, "Parisian");
+        putTypeface(339, "Nofret");
+        putTypeface(340, "City");
+        putTypeface(341, "Old Style 7");
+        putTypeface(342, "Bell Centennial");
+        putTypeface(343, "Lydian");
+        putTypeface(344, "Monotype Ellington");
+        putTypeface(345, "Impressum");
+        putTypeface(346, "Reporter No. 2");
+        putTypeface(347, "Freestyle Script");
+        putTypeface(348, "Serpentine");
+        putTypeface(349, "Lithos");
+        putTypeface(350, "Basilia");
+        putTypeface(351, "Simplified Arabic");
+        putTypeface(352, "Maximus");
+        putTypeface(353, "ITC Slimbach");
+        putTypeface(357, "Berthold Garamond");
+        putTypeface(358, "Rad");
+        putTypeface(358, "Land Pi");
+        putTypeface(359, "Oxford (italic)");
+        putTypeface(359, "Kino (bold condensed)");
+        putTypeface(360, "Looney Tunes");
+        putTypeface(360, "E13B MICR");
+        putTypeface(361, "Imperial");
+        putTypeface(361, "CMC-7 MICR");
+        putTypeface(362, "Charlemagne");
+        putTypeface(363, "Present Script");
+        putTypeface(364, "Repro Script (italic)");
+        putTypeface(364, "Matura (bold)");
+        putTypeface(365, "Baskerville No. 2");
+        putTypeface(366, "Engravers' Roman");
+        putTypeface(367, "VGC Egyptian 505");
+        putTypeface(368, "TBG Herculanum");
+        putTypeface(369, "Clearface Gothic");
+        putTypeface(370, "Studz");
+        putTypeface(370, "Border Pi 1515-9");
+        putTypeface(371, "Toolbox");
+        putTypeface(371, "Bundesbahn Pi");
+        putTypeface(372, "Quake");
+        putTypeface(372, "Chemical Pi");
+        putTypeface(373, "Neuland (solid & inline)");
+        putTypeface(373, "Newton Inline");
+        putTypeface(373, "Warning Pi");
+        putTypeface(374, "Harry");
+        putTypeface(375, "Alternate Gothic (numbered)");
+        putTypeface(376, "Figaro");
+        putTypeface(377, "Formal Script");
+        putTypeface(378, "Holland Title");
+        putTypeface(379, "ITC Barcelona");
+        putTypeface(380, "Cartier");
+        putTypeface(381, "Deepdene");
+        putTypeface(382, "Delphin");
+        putTypeface(383, "Parsons");
+        putTypeface(384, "Brighton");
+        putTypeface(385, "Berthold Barmeno");
+        putTypeface(386, "Berthold Colossalis");
+        putTypeface(387, "Berthold Cosmos");
+        putTypeface(388, "ITC Isbell");
+        putTypeface(389, "ITC Mixage");
+        putTypeface(390, "Sonata");
+        putTypeface(390, "Badr, or Bayaan II");
+        putTypeface(391, "ITC Newtext");
+        putTypeface(392, "Happening");
+        putTypeface(393, "Menue");
+        putTypeface(394, "Doric");
+        putTypeface(395, "S'maragd");
+        putTypeface(396, "Pierrot");
+        putTypeface(396, "Ornaments");
+        putTypeface(397, "Berthold Bodoni Old Face");
+        putTypeface(398, "Schadow");
+        putTypeface(399, "Akzidens Grotesk Buch");
+        putTypeface(400, "Akzidens Grotesk Buch Stencil");
+        putTypeface(401, "Akzidens Grotesk Buch Schulbuch");
+        putTypeface(402, "Bookman");
+        putTypeface(403, "Bruce Old Style");
+        putTypeface(404, "Bulmer");
+        putTypeface(405, "Madison");
+        putTypeface(406, "Textype");
+        putTypeface(407, "Primer");
+        putTypeface(408, "Garamond (Simoncini)");
+        putTypeface(409, "Adobe Wood Series 2");
+        putTypeface(410, "Rotis Serif");
+        putTypeface(410, "Caravan LH One");
+        putTypeface(411, "Rotis Semiserif");
+        putTypeface(411, "Caravan LH Two");
+        putTypeface(412, "Rotis Sans Serif");
+        putTypeface(412, "Caravan LH Three");
+        putTypeface(413, "Rotis Semisans");
+        putTypeface(413, "Caravan LH Four");
+        putTypeface(414, "Arcadia");
+        putTypeface(415, "ITC Veljovik");
+        putTypeface(416, "Armenian Aramian");
+        putTypeface(417, "Armenian Barz");
+        putTypeface(418, "Helvetica Rounded");
+        putTypeface(419, "Olympian");
+        putTypeface(420, "DIN Engschrift (condensed)");
+        putTypeface(420, "DIN Mittelschrift");
+        putTypeface(421, "Granjon");
+        putTypeface(422, "Guardi");
+        putTypeface(423, "Impact");
+        putTypeface(424, "Sassoon Primary");
+        putTypeface(425, "Packard");
+        putTypeface(426, "Baskerville Book");
+        putTypeface(427, "ITC Pacella");
+        putTypeface(428, "Rusticana");
+        putTypeface(429, "Eccentric");
+        putTypeface(430, "Embassy Script");
+        putTypeface(430, "Greek Florentine Script II");
+        putTypeface(431, "PL Latin Bold");
+        putTypeface(431, "PL Latin Elongated (condensed)");
+        putTypeface(431, "Latin Antique");
+        putTypeface(431, "Latin Wide (extended)");
+        putTypeface(432, "ITC Modern 216");
+        putTypeface(433, "Serlio");
+        putTypeface(434, "Piranesi");
+        putTypeface(435, "Imago");
+        putTypeface(436, "Wilke");
+        putTypeface(437, "Cyrillic 22");
+        putTypeface(438, "Adobe Garamond");
+        putTypeface(439, "Seagull");
+        putTypeface(440, "Latin MT");
+        putTypeface(441, "Runic MT");
+        putTypeface(442, "Moore Computer");
+        putTypeface(443, "Commercial Script");
+        putTypeface(444, "Dominante");
+        putTypeface(445, "Wilhelm Klingspor Gotisch");
+        putTypeface(446, "Trajanus");
+        putTypeface(447, "TSI Caxton");
+        putTypeface(447, "Letraset Caxton");
+        putTypeface(448, "Fette Fraktur");
+        putTypeface(448, "Sapphire (pattern 0)");
+        putTypeface(448, "Saphir (pattern 0)");
+        putTypeface(449, "Rainbow Bass (pattern 0)");
+        putTypeface(449, "European Pi");
+        putTypeface(450, "Banco");
+        putTypeface(451, "Bodoni Antiqua");
+        putTypeface(452, "Sallwey Script");
+        putTypeface(452, "Mathematical Pi");
+        putTypeface(453, "Congress");
+        putTypeface(454, "Cheq");
+        putTypeface(455, "Berthold Walbaum Buch (B.metrics)");
+        putTypeface(456, "Huxley Vertical");
+        putTypeface(457, "Grayda");
+        putTypeface(458, "Penfield No. 3");
+        putTypeface(459, "Michelangelo");
+        putTypeface(460, "Neo Didot");
+        putTypeface(461, "Berthold Caslon Buch");
+        putTypeface(462, "Sans No. 1");
+        putTypeface(463, "Torino");
+        putTypeface(464, "Photina");
+        putTypeface(465, "Calligraphiques");
+        putTypeface(466, "Concorde Nova");
+        putTypeface(467, "Franco");
+        putTypeface(468, "Goudy Text");
+        putTypeface(469, "Balloon (italic)");
+        putTypeface(470, "Eusebius");
+        putTypeface(470, "Eusebius Open (inline)");
+        putTypeface(471, "Digital");
+        putTypeface(471, "Noris Script (italic)");
+        putTypeface(472, "Poppl-Pontifex (B.metrics)");
+        putTypeface(473, "Amigo");
+        putTypeface(473, "Pelican (italic)");
+        putTypeface(473, "Visigoth (bold italic)");
+        putTypeface(474, "Letraset Arta");
+        putTypeface(475, "Post Mediaval");
+        putTypeface(476, "Adsans");
+        putTypeface(477, "Ariadne");
+        putTypeface(478, "Calligraphy");
+        putTypeface(479, "Didot");
+        putTypeface(480, "Ashley Script (italic)");
+        putTypeface(480, "Ashley Crawford (bold)");
+        putTypeface(480, "Ashley Inline (inline)");
+        putTypeface(481, "Catull");
+        putTypeface(482, "Cremona");
+        putTypeface(483, "Audrey No. 2");
+        putTypeface(484, "Lo-Type");
+        putTypeface(485, "Madame (patterned with shadow)");
+        putTypeface(486, "Roundy");
+        putTypeface(486, "Animals");
+        putTypeface(487, "Ruling Script");
+        putTypeface(487, "Business & Services 1");
+        putTypeface(488, "Sho");
+        putTypeface(488, "Business & Services 2");
+        putTypeface(489, "Wiesbaden Swing");
+        putTypeface(489, "Commercial 1");
+        putTypeface(490, "Star Trek Next");
+        putTypeface(490, "Commercial 2");
+        putTypeface(491, "ITC Highlander");
+        putTypeface(491, "Ecology");
+        putTypeface(492, "Helios II");
+        putTypeface(492, "General Symbols 1");
+        putTypeface(493, "Kai Medium");
+        putTypeface(493, "General Symbols 2");
+        putTypeface(494, "Medical & Pharmaceutical 1");
+        putTypeface(495, "Space");
+        putTypeface(495, "Musical");
+        putTypeface(496, "Special Alphabets 4");
+        putTypeface(497, "Special Alphabets 5");
+        putTypeface(498, "Special Alphabets 6");
+        putTypeface(499, "Inflex");
+        putTypeface(500, "Monotype Old Style");
+        putTypeface(501, "Ming");
+        putTypeface(502, "FangSong");
+        putTypeface(503, "Helinda Rook");
+        putTypeface(504, "Original Script");
+        putTypeface(505, "Citadel Script");
+        putTypeface(506, "Old Fashion Script");
+        putTypeface(507, "ITC Legacy Serif");
+        putTypeface(508, "ITC Legacy Sans");
+        putTypeface(509, "Athenaeum");
+        putTypeface(509, "Athenaeum Negative (pattern 0)");
+        putTypeface(509, "Athenaeum Positive (pattern 1)");
+        putTypeface(510, "ITC Anna (condensed)");
+        putTypeface(510, "ITC Beesknees (black)");
+        putTypeface(511, "ITC Studio Script (italic)");
+        putTypeface(511, "ITC Mona Lisa Recut (inline)");
+        putTypeface(511, "ITC Mona Lisa Solid (upright)");
+        putTypeface(512, "Sackers Square Gothic");
+        putTypeface(512, "Sackers English Script");
+        putTypeface(513, "Heritage");
+        putTypeface(514, "Sackers Gothic");
+        putTypeface(516, "Greek Helios II");
+        putTypeface(517, "Times (Ten, New, etc.)");
+        putTypeface(518, "Berthold Script");
+        putTypeface(519, "Bernhard Tango (italic)");
+        putTypeface(520, "Castellar (inline)");
+        putTypeface(521, "Else");
+        putTypeface(522, "Basque (condensed)");
+        putTypeface(522, "Palace Script (italic)");
+        putTypeface(523, "Centaur");
+        putTypeface(524, "Fine Hand");
+        putTypeface(525, "Linotype Astrology Pi");
+        putTypeface(526, "Sackers Roman");
+        putTypeface(527, "Kompakt (ultra black italic)");
+        putTypeface(527, "Monoline Script (italic)");
+        putTypeface(528, "Othello (bold condensed)");
+        putTypeface(529, "Sackers Classic Roman");
+        putTypeface(529, "Sackers Italian Script (italic)");
+        putTypeface(530, "Musketeer");
+        putTypeface(530, "Riviera (inline)");
+        putTypeface(531, "Poppl-Residenz");
+        putTypeface(532, "Rotation");
+        putTypeface(533, "Bank Gothic");
+        putTypeface(534, "Delphian (inline)");
+        putTypeface(534, "Greeting Monotone");
+        putTypeface(535, "Sackers Antique Roman");
+        putTypeface(536, "Schwabacher");
+        putTypeface(537, "Egyptienne (condensed)");
+        putTypeface(538, "Artisan Roman (inline)");
+        putTypeface(538, "Forte (bold italic)");
+        putTypeface(539, "Burin Roman");
+        putTypeface(539, "Burin Sans (light)");
+        putTypeface(540, "Hellenic Wide (extended)");
+        putTypeface(541, "Thompson Quillscript");
+        putTypeface(542, "Kartoon");
+        putTypeface(543, "Classic Roman");
+        putTypeface(544, "AG Old Face");
+        putTypeface(545, "Lucian");
+        putTypeface(546, "Della Robbia");
+        putTypeface(547, "Libra");
+        putTypeface(548, "Brody (bold upright)");
+        putTypeface(549, "Ad Lib (bold)");
+        putTypeface(550, "Choc (black)");
+        putTypeface(551, "Handle Oldstyle");
+        putTypeface(552, "Roman");
+        putTypeface(553, "Antique Roman");
+        putTypeface(554, "Goudy Catalogue, addt’l Old Style faces");
+        putTypeface(554, "Goudy Handtooled (inline)");
+        putTypeface(554, "Goudy Heavyface (black)");
+        putTypeface(555, "Calligrapher");
+        putTypeface(556, "Lucida Bright");
+        putTypeface(557, "Pi Collection");
+        putTypeface(558, "Broadpen");
+        putTypeface(559, "Amazone");
+        putTypeface(560, "Frank Ruehl");
+        putTypeface(561, "Cloe");
+        putTypeface(562, "Discus");
+        putTypeface(563, "Myriad");
+        putTypeface(565, "WTC Our Bodoni");
+        putTypeface(566, "Ideal Schreibschrift");
+        putTypeface(567, "Print");
+        putTypeface(568, "Lucida Blackletter");
+        putTypeface(569, "Lucida Calligraphy");
+        putTypeface(570, "Data 70");
+        putTypeface(571, "Compacta (expanded)");
+        putTypeface(571, "Helvetica Inserat (condensed)");
+        putTypeface(572, "Lucida Handwriting");
+        putTypeface(572, "Milestones");
+        putTypeface(573, "Biffo");
+        putTypeface(574, "Calvert");
+        putTypeface(575, "Cantoria");
+        putTypeface(576, "Dorchester Script");
+        putTypeface(577, "Grotesque");
+        putTypeface(578, "Pepita");
+        putTypeface(579, "Vectora");
+        putTypeface(580, "Script Bold");
+        putTypeface(581, "Spectrum");
+        putTypeface(582, "Boulevard");
+        putTypeface(583, "Cheltenham");
+        putTypeface(584, "De Vinne");
+        putTypeface(585, "London Text (inline)");
+        putTypeface(585, "Profil (bold italic inline)");
+        putTypeface(586, "Imprint");
+        putTypeface(587, "Allegro (bold italic)");
+        putTypeface(587, "Engraver's Gothic (text)");
+        putTypeface(588, "Bernhard (bold condensed)");
+        putTypeface(588, "Eckmann (text)");
+        putTypeface(589, "Cloister Open Face (outline)");
+        putTypeface(589, "Davida (text)");
+        putTypeface(589, "Klang (italic)");
+        putTypeface(590, "Fry's Baskerville");
+        putTypeface(591, "Metro");
+        putTypeface(592, "Mandate");
+        putTypeface(593, "Star Trek Gen");
+        putTypeface(594, "Virile");
+        putTypeface(595, "Bingham Script (text)");
+        putTypeface(595, "Block (bold)");
+        putTypeface(596, "ITC Gorilla (text)");
+        putTypeface(596, "ITC Pioneer (outline shadow)");
+        putTypeface(597, "Ruzicka");
+        putTypeface(598, "Bodoni Campanile");
+        putTypeface(599, "Linotype Modern");
+        putTypeface(600, "Monterey Script (italic)");
+        putTypeface(600, "Playbill (condensed)");
+        putTypeface(601, "Normande");
+        putTypeface(602, "Wave");
+        putTypeface(603, "Bernhard Fashion (extra light)");
+        putTypeface(603, "Mercurius");
+        putTypeface(604, "Stuyvesant (inline)");
+        putTypeface(605, "Impuls (italic)");
+        putTypeface(605, "Romana (text & bold)");
+        putTypeface(606, "Shotgun");
+        putTypeface(607, "Ehrhardt");
+        putTypeface(608, "ITC Grizzly");
+        putTypeface(609, "ITC Grouch");
+        putTypeface(610, "ITC Tom's New Roman");
+        putTypeface(611, "Palette (italic)");
+        putTypeface(611, "Hanseatic (ultrabold condensed)");
+        putTypeface(612, "Bison");
+        putTypeface(613, "Jefferson");
+        putTypeface(614, "Electra");
+        putTypeface(615, "Antique No. 3");
+        putTypeface(616, "Flemish Script (italic)");
+        putTypeface(617, "Hallmark Bodoni");
+        putTypeface(618, "Modern #20");
+        putTypeface(619, "Westinghouse Gothic");
+        putTypeface(620, "Bloc (outline)");
+        putTypeface(620, "Empire (ultra condensed)");
+        putTypeface(621, "Oscar");
+        putTypeface(622, "Eagle Bold");
+        putTypeface(622, "Joanna Solotype (inline)");
+        putTypeface(623, "Akzidenz-Grotesk (B.metrics)");
+        putTypeface(624, "Koch Antiqua");
+        putTypeface(625, "Mirarae");
+        putTypeface(626, "Horley Old Style");
+        putTypeface(627, "Tango");
+        putTypeface(628, "Pifont Circle Numbers");
+        putTypeface(629, "Pifont OCRA Numbers");
+        putTypeface(630, "Pifont Square Numbers");
+        putTypeface(631, "Pifont Triangle Numbers");
+        putTypeface(632, "Bank Script (italic)");
+        putTypeface(633, "Serlio Dekoration (pi numbers)");
+        putTypeface(634, "Concorde (B.metrics)");
+        putTypeface(635, "Jets");
+        putTypeface(636, "Jetsons");
+        putTypeface(637, "Looney Type");
+        putTypeface(638, "Pompeijana");
+        putTypeface(639, "Rusticana (Frutiger)");
+        putTypeface(640, "Notre Dame");
+        putTypeface(641, "Beverly Hills (inline)");
+        putTypeface(641, "Lotus (pattern 0)");
+        putTypeface(642, "Advertisers Gothic Light");
+        putTypeface(642, "Eclipse (pattern 0)");
+        putTypeface(643, "Capone Light");
+        putTypeface(643, "Victorian Silhouette (contour)");
+        putTypeface(644, "Dynamo (extra bold)");
+        putTypeface(644, "Modernistic (inline)");
+        putTypeface(645, "Gallia (inline)");
+        putTypeface(645, "Skjald");
+        putTypeface(646, "Bell Gothic");
+        putTypeface(647, "Gillies Gothic Bold (italic)");
+        putTypeface(648, "Quaint Roman");
+        putTypeface(648, "Chic (inline)");
+        putTypeface(649, "PL Westerveldt Light (condensed)");
+        putTypeface(650, "PL Davison Americana");
+        putTypeface(651, "TC Jasper");
+        putTypeface(652, "Poppl-Laudatio");
+        putTypeface(653, "TC Europa Bold");
+        putTypeface(654, "Siena Black (italic)");
+        putTypeface(655, "Yearbook");
+        putTypeface(656, "Koloss (extra bold)");
+        putTypeface(657, "Phenix American (extra condensed)");
+        putTypeface(658, "PL Bernhardt");
+        putTypeface(659, "Orlando Caps");
+        putTypeface(659, "PL Barclay Outline (outline)");
+        putTypeface(660, "PL Britannia Bold");
+        putTypeface(661, "PL Fiorello Condensed");
+        putTypeface(662, "Fluidum Bold (italic)");
+        putTypeface(663, "Woodblock (bold)");
+        putTypeface(663, "Sinaloa (pattern 0)");
+        putTypeface(664, "Stratford Extra Bold");
+        putTypeface(664, "Matra (pattern 0)");
+        putTypeface(665, "PL Tower Condensed");
+        putTypeface(666, "Section Bold Condensed");
+        putTypeface(667, "Miehle Condensed");
+        putTypeface(668, "Phyllis");
+        putTypeface(669, "Modernique (extra bold)");
+        putTypeface(670, "Egyptienne F");
+        putTypeface(671, "Post Antiqua (B.metrics)");
+        putTypeface(672, "Diotima");
+        putTypeface(673, "Aldus");
+        putTypeface(674, "Chaplin (italic)");
+        putTypeface(675, "Uncle Sam Stars (pattern 0, shadow)");
+        putTypeface(675, "Uncle Sam Stripes (pattern 1, shadow)");
+        putTypeface(676, "Wildstyle");
+        putTypeface(677, "Logan (pattern 0)");
+        putTypeface(677, "Eon Age (pattern 1)");
+        putTypeface(677, "System X3 (pattern 2)");
+        putTypeface(677, "Galaxy Run (pattern 3)");
+        putTypeface(678, "Jukebox (bold condensed)");
+        putTypeface(679, "Marking Numbers Squares");
+        putTypeface(679, "Al Harf Al Jadid");
+        putTypeface(680, "Vivaldi");
+        putTypeface(681, "Codex");
+        putTypeface(682, "Metronome Gothic (bold extra condensed)");
+        putTypeface(683, "Salut (bold)");
+        putTypeface(684, "Lucida Fax");
+        putTypeface(685, "Bellevue");
+        putTypeface(686, "Architect");
+        putTypeface(687, "Beton Extra Bold");
+        putTypeface(688, "Metropolis (extra bold, solid & inline)");
+        putTypeface(689, "PL Davison Zip Bold");
+        putTypeface(690, "Neon (Nebiolo)");
+        putTypeface(691, "PL Benguiat Frisky");
+        putTypeface(692, "PL Bartuska Trophy Oblique");
+        putTypeface(693, "Cable");
+        putTypeface(694, "PL Brazilia");
+        putTypeface(695, "PL Radiant");
+        putTypeface(696, "Ritmo Bold (italic)");
+        putTypeface(697, "PL Fiedler Gothic Bold");
+        putTypeface(698, "Egiziano Black");
+        putTypeface(699, "Studio");
+        putTypeface(700, "PL Futura Maxi");
+        putTypeface(701, "Solemnis");
+        putTypeface(702, "Quirinus Bold (condensed)");
+        putTypeface(703, "PL West Behemoth Semi Condensed");
+        putTypeface(704, "Renault");
+        putTypeface(705, "Forbes Bold");
+        putTypeface(706, "Mobil");
+        putTypeface(707, "Becket");
+        putTypeface(708, "Lucida Sans Typewriter");
+        putTypeface(709, "Cartoon Script Roman");
+        putTypeface(710, "Campanula");
+        putTypeface(711, "Odilia");
+        putTypeface(712, "Lino Letter");
+        putTypeface(713, "Henche");
+        putTypeface(714, "Mahlau (condensed)");
+        putTypeface(715, "Aquarias No. 8 (bold)");
+        putTypeface(716, "CG Frontiera");
+        putTypeface(717, "Globe Gothic");
+        putTypeface(718, "Signature");
+        putTypeface(719, "Sans Serif Stencil");
+        putTypeface(720, "Boldface PS");
+        putTypeface(721, "Title PS");
+        putTypeface(725, "Hess Neobold");
+        putTypeface(726, "Hollandse Mediaeval");
+        putTypeface(727, "Holland Seminar");
+        putTypeface(728, "CG Cloister");
+        putTypeface(729, "Adroit");
+        putTypeface(730, "Claire News");
+        putTypeface(731, "Triplett");
+        putTypeface(732, "Accolade");
+        putTypeface(733, "Claridge");
+        putTypeface(734, "Alpin Gothic");
+        putTypeface(735, "Geometric");
+        putTypeface(736, "Heldustry");
+        putTypeface(737, "Busorama");
+        putTypeface(738, "Salto");
+        putTypeface(739, "Fehrle Display");
+        putTypeface(740, "Kismet");
+        putTypeface(741, "Digi Fraktur");
+        putTypeface(742, "Anglia");
+        putTypeface(743, "Jiffy");
+        putTypeface(744, "Rosewood");
+        putTypeface(745, "Zebrawood");
+        putTypeface(746, "Pepperwood (condensed)");
+        putTypeface(747, "Copal (solid)");
+        putTypeface(747, "Copal (outline, patterned)");
+        putTypeface(748, "Motter Corpus (extrabold)");
+        putTypeface(749, "Cerigo");
+        putTypeface(750, "Caflisch Script");
+        putTypeface(751, "Mezz");
+        putTypeface(752, "Nueva");
+        putTypeface(753, "Penumbra");
+        putTypeface(754, "Sanvito");
+        putTypeface(755, "Viva");
+        putTypeface(756, "Alexa (italic)");
+        putTypeface(756, "Balzano");
+        putTypeface(756, "Caliban (condensed italic)");
+        putTypeface(757, "Ex Ponto");
+        putTypeface(758, "Neue Hammer Unziale 1");
+        putTypeface(758, "Neue Hammer Unziale 2 (edge)");
+        putTypeface(759, "Galahad");
+        putTypeface(760, "LiShu (China)");
+        putTypeface(760, "Gungse (Korean)");
+        putTypeface(760, "HanYang GungSe Proportional (Korean)");
+        putTypeface(761, "Yuang (Yuan, XiYuang - China)");
+        putTypeface(762, "Miryam");
+        putTypeface(763, "Ryadh");
+        putTypeface(764, "Arkona (ital script)");
+        putTypeface(765, "El Greco (ital script)");
+        putTypeface(766, "Aja (ital script)");
+        putTypeface(767, "Poppl-Exquisit (ital script)");
+        putTypeface(768, "Sassafras Roman");
+        putTypeface(769, "Kigali Roman");
+        putTypeface(770, "Rundfunk Antiqua");
+        putTypeface(771, "Rundfunk Grotesk");
+        putTypeface(772, "Apolline");
+        putTypeface(773, "Alisal");
+        putTypeface(774, "Strider");
+        putTypeface(775, "Throhand");
+        putTypeface(776, "Cicéro");
+        putTypeface(777, "Antique Condensed Two");
+        putTypeface(778, "Asphalt Black");
+        putTypeface(779, "Avalon");
+        putTypeface(780, "Brok");
+        putTypeface(781, "Citadel");
+        putTypeface(782, "Hermes");
+        putTypeface(783, "Lafayette");
+        putTypeface(784, "Narcissus");
+        putTypeface(785, "Pilsner");
+        putTypeface(786, "Showcard Moderne");
+        putTypeface(787, "Streamline");
+        putTypeface(788, "Scherzo");
+        putTypeface(789, "Jante Antiqua");
+        putTypeface(790, "Albers Architype");
+        putTypeface(791, "Aubette Architype");
+        putTypeface(792, "Ballmer Architype");
+        putTypeface(793, "Bayer Type Architype");
+        putTypeface(794, "Schwitters Architype");
+        putTypeface(795, "Crane");
+        putTypeface(796, "Runa Serif");
+        putTypeface(797, "Comedia Serif");
+        putTypeface(798, "Breadline Normal");
+        putTypeface(799, "Revolution Normal");
+        putTypeface(800, "Virgin Roman Normal");
+        putTypeface(801, "Gararond");
+        putTypeface(802, "Abacus");
+        putTypeface(803, "Classic");
+        putTypeface(804, "Cupid");
+        putTypeface(805, "Arepo");
+        putTypeface(806, "Aureus Uncial (upright)");
+        putTypeface(807, "Connach (upright, norm and uncial lc)");
+        putTypeface(808, "Cresci Rotunda (upright)");
+        putTypeface(809, "Donatello (italic, black italic)");
+        putTypeface(810, "Francesca (lombardic, upright & cond)");
+        putTypeface(810, "Lombardic Capitals (upright)");
+        putTypeface(811, "Ludovico Smooth (italic & flourishes)");
+        putTypeface(811, "Ludovico Woodcut (italic & flourishes)");
+        putTypeface(812, "Mantegna (italic)");
+        putTypeface(813, "Palatino Rotunda (upright)");
+        putTypeface(814, "Percival (upright)");
+        putTypeface(815, "Wolfdance (italic)");
+        putTypeface(816, "Adastra (bold italic inline)");
+        putTypeface(817, "Ampersands");
+        putTypeface(818, "Arwen (upright)");
+        putTypeface(819, "Blocks (upright, solid filled)");
+        putTypeface(820, "Elegant (inline & outline)");
+        putTypeface(821, "Poetry (solid & inline)");
+        putTypeface(822, "Sphinx (extrabold, solid & inline)");
+        putTypeface(823, "Tube (upright)");
+        putTypeface(824, "Searsucker (solid, outline, patterned)");
+        putTypeface(825, "Hindenburg (upright)");
+        putTypeface(826, "Informal (black, norm & condensed)");
+        putTypeface(827, "Marquis (upright)");
+        putTypeface(828, "Questions");
+        putTypeface(829, "Maximilian (upright, inline)");
+        putTypeface(830, "Minimal (upright thin)");
+        putTypeface(831, "Stalk (upright inline)");
+        putTypeface(832, "Mariposa (family)");
+        putTypeface(833, "Mariposa Sans (family)");
+        putTypeface(834, "Corvallis (upright & italic)");
+        putTypeface(835, "Corvallis Sans (upright & italic)");
+        putTypeface(836, "Alligators");
+        putTypeface(837, "Carmela (italic)");
+        putTypeface(838, "Dorothea (upright)");
+        putTypeface(839, "Hrabanus (upright)");
+        putTypeface(840, "Lexie's Animals");
+        putTypeface(841, "Mexican Birds");
+        putTypeface(841, "Mexican Borders");
+        putTypeface(841, "Mexican Symbols");
+        putTypeface(842, "Monmouth (upright)");
+        putTypeface(843, "Neuhengen (upright)");
+        putTypeface(844, "Ophelia Italic");
+        putTypeface(845, "Poggio Bookhand (upright)");
+        putTypeface(846, "Pompeii Capitals (upright)");
+        putTypeface(847, "Ramsey (upright)");
+        putTypeface(848, "Sallando Italic");
+        putTypeface(849, "Thalia Italic");
+        putTypeface(850, "Trieste (upright)");
+        putTypeface(851, "Connach Historic");
+        putTypeface(852, "Lombardic Caps");
+        putTypeface(853, "Ludovico Smooth Flourish");
+        putTypeface(853, "Ludovico Woodcut Flourish");
+        putTypeface(854, "Newton Inline");
+        putTypeface(855, "Lucida Typewriter");
+        putTypeface(856, "Mojo");
+        putTypeface(857, "Shuriken Boy");
+        putTypeface(858, "Andreas Plain");
+        putTypeface(859, "Jenson");
+        putTypeface(860, "Ouch!");
+        putTypeface(861, "Bermuda Open");
+        putTypeface(862, "Kolo Regular");
+        putTypeface(863, "Spumoni");
+        putTypeface(864, "Banshee");
+        putTypeface(865, "ZiptyDo");
+        putTypeface(866, "Coriander");
+        putTypeface(867, "Prima Sans Roman");
+        putTypeface(868, "Nyx");
+        putTypeface(869, "Hardwood LP");
+        putTypeface(870, "Manito LP");
+        putTypeface(871, "Wendy");
+        putTypeface(872, "Spring");
+        putTypeface(873, "Old Claude");
+        putTypeface(874, "Florens LP");
+        putTypeface(875, "Khaki One");
+        putTypeface(876, "Pompeia UT (inline)");
+        putTypeface(877, "Kepler");
+        putTypeface(878, "Chaparral");
+        putTypeface(879, "Jimbo");
+        putTypeface(880, "Cronos");
+        putTypeface(881, "Celestia Antiqua");
+        putTypeface(882, "Flood");
+        putTypeface(883, "Prima Serif");
+        putTypeface(884, "Magnolia MVB");
+        putTypeface(885, "Bossa Nova MVB");
+        putTypeface(886, "Emmascript MVB");
+        putTypeface(887, "Dante MT");
+        putTypeface(888, "Strayhorn MT");
+        putTypeface(889, "Currency Symbol Pi Font");
+        putTypeface(890, "Russell Oblique");
+        putTypeface(891, "Postino");
+        putTypeface(892, "Immi 505");
+        putTypeface(893, "Brashe");
+        putTypeface(894, "Kid Sans");
+        putTypeface(895, "Meister");
+        putTypeface(896, "Bear Rock Technologies Bar Codes");
+        putTypeface(897, "Fournier MT");
+        putTypeface(898, "Bell MT");
+        putTypeface(899, "Mercurius CT");
+        putTypeface(930, "Akzidenz Grotesk Buch Rounded");
+        putTypeface(1030, "Isil Gothic");
+        putTypeface(1070, "Euro Sign");
+        putTypeface(1078, "Euro Font");
+        putTypeface(2128, "HanYang Batang Fixed Pitch (Korean)");
+        putTypeface(2128, "MS Mincho (Japan, Proportional)");
+        putTypeface(2200, "HanYang Gulrim Fixed Pitch (Korean)");
+        putTypeface(2201, "HanYang Dotum Fixed Pitch (Korean)");
+        putTypeface(2201, "MS Gothic (Japan, Proportional)");
+        putTypeface(2549, "Ming Light (Japan, Proportional)");
+        putTypeface(2730, "Wingdings");
+        putTypeface(2808, "HanYang GungSe Fixed Pitch (Korean)");
+    }
+
+    @Override
+    boolean isCacheable() {
+        return true;
     }
 
     @Override
     final PrinterCommandDetails execute(final PrinterCommand command, final PclDumperContext context) {
         final ParameterizedPclCommand cmd = (ParameterizedPclCommand) command;
-        final int value = Integer.parseInt(cmd.getValue());
+        final int value = parseValue(cmd.getValue());
         final int vendorValue = getVendorValue(value);
         final int typefaceValue = value - vendorValue;
 
-        final String vendor = VENDOR_MAP.get(Integer.valueOf(vendorValue));
-        final String typeface = TYPEFACE_MAP.get(Integer.valueOf(typefaceValue));
+        final String vendor = VENDORS[vendorValue / AGFA];
+        final String typeface = value >= 0 && typefaceValue < TYPEFACES.length ? TYPEFACES[typefaceValue] : null;
 
         final StringBuilder sb = new StringBuilder();
         if (typeface != null) {
@@ -1138,6 +1142,14 @@ final class TypefaceFamilyCommandExecutor extends PrinterCommandExecutor {
         return new PrinterCommandDetails(sb.toString());
     }
 
+    /**
+     * Adds a typeface. Several typefaces share the same value, so these are joined with " or ".
+     */
+    private static void putTypeface(final int value, final String typeface) {
+        final String existing = TYPEFACES[value];
+        TYPEFACES[value] = existing == null || existing.equals(typeface) ? typeface : existing + " or " + typeface;
+    }
+
     private static int getVendorValue(final int value) {
         if (value >= BIGELOW) {
             return BIGELOW;
@@ -0,0 +1,217 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+import de.textmode.pclbox.PclException;
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link BatchDumper}.
+ */
+public final class BatchDumperTest extends TestCase {
+
+    private File directory;
+    private byte[] expected;
+
+    @Override
+    protected void setUp() throws IOException, PclException {
+        this.directory = Files.createTempDirectory("pcldumper").toFile();
+
+        for (final String name : new String[] { "b.pcl", "a.pcl", "sub/c.pcl", "sub/d.prn" }) {
+            final File file = new File(this.directory, name);
+            file.getParentFile().mkdirs();
+
+            try (final InputStream in = this.getClass().getClassLoader().getResourceAsStream("generic_test.pcl")) {
+                Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        new PclDumperBuilder().build()
+            .dump(new File(this.directory, "a.pcl"), DumpOutput.of(baos, StandardCharsets.UTF_8));
+        this.expected = baos.toByteArray();
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        FileUtils.deleteDirectory(this.directory);
+    }
+
+    /**
+     * Expands directories, glob patterns and list files.
+     */
+    public void testExpand() throws IOException {
+        final String dir = this.directory.getPath();
+
+        assertEquals(
+                Arrays.asList("a.pcl", "b.pcl", "sub" + File.separator + "c.pcl", "sub" + File.separator + "d.prn"),
+                names(BatchDumper.expand(new String[] { dir })));
+
+        assertEquals(
+                Arrays.asList("a.pcl", "b.pcl"),
+                names(BatchDumper.expand(new String[] { dir + File.separator + "*.pcl" })));
+
+        assertEquals(
+                Arrays.asList("a.pcl", "b.pcl", "sub" + File.separator + "c.pcl", "b.pcl"),
+                names(BatchDumper.expand(new String[] { dir + File.separator + "**.pcl", dir + "/b.p?l" })));
+
+        final File list = new File(this.directory, "list.txt");
+        final String entries = "# comment\n\n" + dir + "/b.pcl\n" + dir + "/sub\n";
+        Files.write(list.toPath(), entries.getBytes(StandardCharsets.UTF_8));
+        assertEquals(
+                Arrays.asList("b.pcl", "c.pcl", "d.prn"),
+                names(BatchDumper.expand(new String[] { "@" + list.getPath() })));
+
+        assertTrue(BatchDumper.isBatch(new String[] { dir }));
+        assertTrue(BatchDumper.isBatch(new String[] { "@" + list.getPath() }));
+        assertTrue(BatchDumper.isBatch(new String[] { "a.pcl", "b.pcl" }));
+        assertFalse(BatchDumper.isBatch(new String[] { list.getPath() }));
+    }
+
+    /**
+     * Dumps every file to its own output file.
+     */
+    public void testDumpToDirectory() throws IOException {
+        final File output = new File(this.directory, "out");
+        final List<BatchDumper.Input> inputs = BatchDumper.expand(new String[] { this.directory.getPath() });
+
+        final BatchDumper.Summary summary = new BatchDumper(new PclDumperBuilder(), 2, System.err)
+                .dumpToDirectory(inputs, output);
+
+        assertEquals(4, summary.getFiles());
+        assertEquals(0, summary.getFailed());
+        assertEquals(4 * new File(this.directory, "a.pcl").length(), summary.getBytes());
+
+        for (final String name : new String[] { "a.pcl.txt", "b.pcl.txt", "sub/c.pcl.txt", "sub/d.prn.txt" }) {
+            assertTrue(name, Arrays.equals(this.expected, Files.readAllBytes(new File(output, name).toPath())));
+        }
+    }
+
+    /**
+     * A file that can not be dumped leaves no output file behind.
+     */
+    public void testFailedDumpToDirectory() throws IOException {
+        final File output = new File(this.directory, "out");
+        final List<BatchDumper.Input> inputs = BatchDumper.expand(new String[] {
+            new File(this.directory, "a.pcl").getPath(), new File(this.directory, "missing.pcl").getPath() });
+
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final BatchDumper.Summary summary = new BatchDumper(new PclDumperBuilder(), 2,
+                new PrintStream(errors, true, "utf-8")).dumpToDirectory(inputs, output);
+
+        assertEquals(1, summary.getFailed());
+        assertTrue(new File(output, "a.pcl.txt").exists());
+        assertFalse(new File(output, "missing.pcl.txt").exists());
+    }
+
+    /**
+     * Dumps all files to one combined output in the order of the input files - a missing file is reported
+     * but does not stop the run.
+     */
+    public void testDumpCombined() throws IOException {
+        final File missing = new File(this.directory, "missing.pcl");
+        final String dir = this.directory.getPath();
+        final List<BatchDumper.Input> inputs = BatchDumper.expand(new String[] {
+            dir + File.separator + "b.pcl", missing.getPath(), dir + File.separator + "*.pcl" });
+
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final ByteArrayOutputStream combined = new ByteArrayOutputStream();
+        final PrintStream err = new PrintStream(errors, true, "utf-8");
+        final BatchDumper.Summary summary = new BatchDumper(new PclDumperBuilder(), 3, err)
+                .dumpCombined(inputs, combined);
+
+        assertEquals(4, summary.getFiles());
+        assertEquals(1, summary.getFailed());
+        assertTrue(errors.toString("utf-8").startsWith(missing.getPath() + ": "));
+
+        final String dump = new String(this.expected, StandardCharsets.UTF_8);
+        final String nl = System.lineSeparator();
+        assertEquals(
+                "==> " + inputs.get(0).getFile() + " <==" + nl + dump
+                + nl + "==> " + missing + " <==" + nl
+                + nl + "==> " + inputs.get(2).getFile() + " <==" + nl + dump
+                + nl + "==> " + inputs.get(3).getFile() + " <==" + nl + dump,
+                combined.toString("utf-8"));
+
+        assertTrue(summary.toString().startsWith("Dumped 4 files (1 failed, "));
+    }
+
+    /**
+     * Files with the same name get unique output files, also in a run with one thread where only some of
+     * the files are dumped ahead.
+     */
+    public void testDumpSameNames() throws IOException {
+        final File output = new File(this.directory, "out");
+        final String dir = this.directory.getPath();
+        final List<BatchDumper.Input> inputs = BatchDumper.expand(new String[] {
+            dir + "/a.pcl", dir + "/b.pcl", dir + "/sub/c.pcl", dir + "/a.pcl", dir + "/sub/a.pcl.1" });
+
+        Files.copy(new File(this.directory, "a.pcl").toPath(), new File(this.directory, "sub/a.pcl.1").toPath());
+
+        assertEquals(
+                Arrays.asList("a.pcl.txt", "b.pcl.txt", "c.pcl.txt", "a.pcl.1.txt", "a.pcl.1.1.txt"),
+                BatchDumper.outputNames(inputs, ".txt"));
+        assertEquals(
+                Arrays.asList("A.pcl.txt", "a.pcl.1.txt"),
+                BatchDumper.outputNames(Arrays.asList(
+                        new BatchDumper.Input(new File("x/A.pcl"), "A.pcl"),
+                        new BatchDumper.Input(new File("y/a.pcl"), "a.pcl")), ".txt"));
+
+        final BatchDumper.Summary summary = new BatchDumper(new PclDumperBuilder(), 1, System.err)
+                .dumpToDirectory(inputs, output);
+
+        assertEquals(5, summary.getFiles());
+        assertEquals(0, summary.getFailed());
+        assertEquals(5, output.list().length);
+
+        for (final String name : BatchDumper.outputNames(inputs, ".txt")) {
+            assertTrue(name, Arrays.equals(this.expected, Files.readAllBytes(new File(output, name).toPath())));
+        }
+
+        final ByteArrayOutputStream combined = new ByteArrayOutputStream();
+        new BatchDumper(new PclDumperBuilder(), 1, System.err).dumpCombined(inputs, combined);
+
+        final String nl = System.lineSeparator();
+        final StringBuilder expected = new StringBuilder();
+        for (final BatchDumper.Input input : inputs) {
+            expected.append(expected.length() == 0 ? "" : nl).append("==> ").append(input.getFile()).append(" <==")
+                .append(nl).append(new String(this.expected, StandardCharsets.UTF_8));
+        }
+        assertEquals(expected.toString(), combined.toString("utf-8"));
+    }
+
+    private static List<String> names(final List<BatchDumper.Input> inputs) {
+        final String[] result = new String[inputs.size()];
+        for (int ix = 0; ix < result.length; ++ix) {
+            result[ix] = inputs.get(ix).getName();
+        }
+        return Arrays.asList(result);
+    }
+}
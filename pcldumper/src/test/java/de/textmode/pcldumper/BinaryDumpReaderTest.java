@@ -0,0 +1,221 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import de.textmode.pclbox.PclException;
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link BinaryDumpReader} (and the {@link BinaryRenderer}).
+ */
+public final class BinaryDumpReaderTest extends TestCase {
+
+    // Enough copies of the test file for more than one block...
+    private static final int COPIES = 200;
+
+    private byte[] data;
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final InputStream in = BinaryDumpReaderTest.class.getResourceAsStream("/generic_test.pcl")) {
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        final byte[] single = out.toByteArray();
+        this.data = new byte[single.length * COPIES];
+        for (int ix = 0; ix < COPIES; ++ix) {
+            System.arraycopy(single, 0, this.data, ix * single.length, single.length);
+        }
+
+        this.file = File.createTempFile("pcldumper", OutputFormat.BINARY.getFileSuffix());
+    }
+
+    @Override
+    protected void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * The binary dump must contain the same printer commands as the text dump, the data sections must be
+     * referenced in the data stream.
+     */
+    public void testSameAsTextDump() throws IOException, PclException {
+        final StringBuilder text = new StringBuilder();
+        new PclDumperBuilder().quiet(true).showOffsets(true).build().dump(ByteBuffer.wrap(this.data),
+                DumpOutput.of(text));
+        final String[] lines = text.toString().split(System.lineSeparator());
+
+        try (final OutputStream out = new FileOutputStream(this.file)) {
+            new PclDumperBuilder().verbose(true).outputFormat(OutputFormat.BINARY).build()
+                .dump(ByteBuffer.wrap(this.data), DumpOutput.of(out, StandardCharsets.UTF_8));
+        }
+
+        final BinaryDumpReader reader = new BinaryDumpReader(this.file);
+        assertTrue(reader.getCommandCount() > BinaryRenderer.BLOCK_SIZE);
+        assertEquals(lines.length, reader.getCommandCount());
+        assertEquals(this.data.length, reader.getEndOffset());
+
+        for (int ix = 0; ix < lines.length; ++ix) {
+            assertEquals(Long.parseLong(lines[ix].substring(0, 8), 16), reader.getOffset(ix));
+            assertEquals(lines[ix].substring(11, 19).trim(), reader.getType(ix));
+            assertEquals(lines[ix].substring(20, 35).trim(), reader.getCommand(ix));
+            if (!"TEXT".equals(reader.getType(ix))) {
+                final String summary = reader.getSummary(ix).isEmpty() ? "" : " (" + reader.getSummary(ix) + ")";
+                assertEquals(lines[ix].substring(36), reader.getDescription(ix) + summary);
+            }
+        }
+
+        // Random access to the second block and back to the first block...
+        final long last = reader.getCommandCount() - 1;
+        assertEquals("%-12345X", reader.getCommand(last));
+        assertEquals(-1, reader.getDataLength(last));
+        assertEquals("A4", reader.getSummary(6));
+
+        final ByteBuffer source = ByteBuffer.wrap(this.data);
+        assertEquals("TEXT", reader.getType(7));
+        assertEquals(125, reader.getDataOffset(7));
+        assertEquals(64, reader.getDataLength(7));
+        assertEquals("This file contains all types printer commands that are supported",
+                StandardCharsets.ISO_8859_1.decode(reader.getData(7, source)).toString());
+
+        assertEquals("*c72W", reader.getCommand(11));
+        assertEquals(0xCC + 6, reader.getDataOffset(11));
+        final ByteBuffer pattern = reader.getData(11, source);
+        assertEquals(72, pattern.remaining());
+        assertEquals(0x00000100, pattern.getInt());
+        assertNull(reader.getData(0, source));
+    }
+
+    /**
+     * A binary dump can not be written to a {@link DumpOutput} for characters.
+     */
+    public void testCharacterOutput() throws PclException {
+        try {
+            new PclDumperBuilder().outputFormat(OutputFormat.BINARY).build()
+                .dump(ByteBuffer.wrap(this.data), DumpOutput.of(new StringBuilder()));
+            fail("IOException expected");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().contains("binary"));
+        }
+    }
+
+    /**
+     * A file that is not a binary dump is rejected.
+     */
+    public void testNoBinaryDump() throws IOException {
+        try (final OutputStream out = new FileOutputStream(this.file)) {
+            out.write(this.data, 0, 100);
+        }
+
+        try {
+            new BinaryDumpReader(this.file);
+            fail("IOException expected");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().contains("not a binary dump"));
+        }
+    }
+
+    /**
+     * A dump without printer commands can be read.
+     */
+    public void testEmptyDump() throws IOException, PclException {
+        try (final OutputStream out = new FileOutputStream(this.file)) {
+            new PclDumperBuilder().include("*z").outputFormat(OutputFormat.BINARY).build()
+                .dump(ByteBuffer.wrap(this.data), DumpOutput.of(out, StandardCharsets.UTF_8));
+        }
+
+        final BinaryDumpReader reader = new BinaryDumpReader(this.file);
+        assertEquals(0, reader.getCommandCount());
+        assertEquals(this.data.length, reader.getEndOffset());
+    }
+
+    /**
+     * A truncated or corrupt dump is reported with an {@link IOException} - no matter which bytes of the dump
+     * are damaged.
+     */
+    public void testCorruptDump() throws IOException, PclException {
+        try (final OutputStream out = new FileOutputStream(this.file)) {
+            new PclDumperBuilder().outputFormat(OutputFormat.BINARY).build()
+                .dump(ByteBuffer.wrap(this.data), DumpOutput.of(out, StandardCharsets.UTF_8));
+        }
+        final byte[] dump = Files.readAllBytes(this.file.toPath());
+        final int trailer = dump.length - 8 - BinaryRenderer.MAGIC.length;
+
+        // The footer is cut off, but the position of the footer and the magic are still there...
+        final byte[] truncated = Arrays.copyOf(dump, dump.length - 20);
+        System.arraycopy(dump, trailer, truncated, truncated.length - 16, 16);
+        assertCorrupt(truncated, "is a corrupt binary dump");
+
+        // The position of the footer is far beyond the end of the dump...
+        final byte[] position = dump.clone();
+        position[trailer] = 0x7F;
+        assertCorrupt(position, "invalid position of the footer");
+
+        // The number of strings is larger than the footer...
+        final int footer = (int) ByteBuffer.wrap(dump).getLong(trailer);
+        final byte[] strings = dump.clone();
+        strings[footer] = 0x7F;
+        assertCorrupt(strings, "invalid number of strings");
+
+        final Random random = new Random(4711);
+        for (int ix = 0; ix < 2000; ++ix) {
+            final byte[] damaged = dump.clone();
+            damaged[random.nextInt(damaged.length)] = (byte) random.nextInt(256);
+            Files.write(this.file.toPath(), damaged);
+
+            try {
+                final BinaryDumpReader reader = new BinaryDumpReader(this.file);
+                for (long command = 0; command < reader.getCommandCount(); ++command) {
+                    reader.getType(command);
+                    reader.getCommand(command);
+                    reader.getDescription(command);
+                    reader.getSummary(command);
+                    reader.getDataLength(command);
+                }
+            } catch (final IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("binary dump"));
+            }
+        }
+    }
+
+    private void assertCorrupt(final byte[] dump, final String reason) throws IOException {
+        Files.write(this.file.toPath(), dump);
+        try {
+            new BinaryDumpReader(this.file);
+            fail("IOException expected");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+}
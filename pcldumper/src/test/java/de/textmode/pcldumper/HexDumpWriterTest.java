@@ -0,0 +1,151 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.HexDump;
+
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link HexDumpWriter}.
+ */
+public final class HexDumpWriterTest extends TestCase {
+
+    /**
+     * The {@link HexDumpWriter} must produce the same format as the {@link HexDump} of Apache Commons IO.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public void testSameFormatAsCommonsIo() throws IOException {
+        final Random random = new Random(0);
+
+        for (int length = 1; length <= 100; ++length) {
+            final byte[] data = new byte[length];
+            random.nextBytes(data);
+
+            final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            HexDump.dump(data, 0, expected, 0);
+
+            final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            final PrintStream out = new PrintStream(actual, false, "iso-8859-1");
+            final ColumnWriter line = new ColumnWriter(DumpOutput.of(out));
+            new HexDumpWriter(line, "").write(data);
+            line.flush();
+            out.flush();
+
+            assertEquals(expected.toString("iso-8859-1"), actual.toString("iso-8859-1"));
+        }
+    }
+
+    /**
+     * Tests the hex dump of a range - the offsets have to be relative to the beginning of the data.
+     */
+    public void testRange() throws IOException {
+        final byte[] data = "0123456789ABCDEF0123456789ABCDEF0123".getBytes("iso-8859-1");
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(actual, false, "iso-8859-1");
+        final ColumnWriter line = new ColumnWriter(DumpOutput.of(out));
+        new HexDumpWriter(line, ">>> ").write(data, 32, data.length);
+        line.flush();
+        out.flush();
+
+        assertEquals(
+                ">>> 00000020 30 31 32 33                                     0123" + System.lineSeparator(),
+                actual.toString("iso-8859-1"));
+    }
+
+    /**
+     * Tests the head and tail windows of a data section that exceeds the maximum size.
+     */
+    public void testWindow() throws IOException {
+        final byte[] data = new byte[5000];
+        Arrays.fill(data, (byte) 'A');
+
+        final HexDumpLimits limits = new HexDumpLimits(32, 16, 4, Long.MAX_VALUE, Long.MAX_VALUE);
+        final String nl = System.lineSeparator();
+
+        assertEquals(
+                "00000000 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 AAAAAAAAAAAAAAAA" + nl
+                + "00001384 41 41 41 41 " + spaces(36) + "AAAA" + nl
+                + "... 4,980 more bytes, CRC32=" + crc32(data) + nl,
+                dump(limits, data));
+
+        assertEquals(
+                "00000000 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 AAAAAAAAAAAAAAAA" + nl
+                + "00000010 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 41 AAAAAAAAAAAAAAAA" + nl,
+                dump(limits, Arrays.copyOf(data, 32)));
+    }
+
+    /**
+     * Tests the budget per page - the head window is dumped first.
+     */
+    public void testBudget() throws IOException {
+        final byte[] data = new byte[40];
+        final HexDumpLimits limits = new HexDumpLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, 0, 20, Long.MAX_VALUE);
+        final String nl = System.lineSeparator();
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(actual, false, "iso-8859-1");
+        final ColumnWriter line = new ColumnWriter(DumpOutput.of(out));
+        final HexDumpWriter writer = new HexDumpWriter(line, "", limits);
+        writer.write(data);
+        writer.write(data);
+        writer.newPage();
+        writer.write(Arrays.copyOf(data, 1));
+        line.flush();
+        out.flush();
+
+        assertEquals(
+                "00000000 00 00 00 00 00 00 00 00 00 00 00 00 00 00 00 00 ................" + nl
+                + "00000010 00 00 00 00 " + spaces(36) + "...." + nl
+                + "... 20 more bytes, CRC32=" + crc32(data) + nl
+                + "... 40 more bytes, CRC32=" + crc32(data) + nl
+                + "00000000 00 " + spaces(45) + "." + nl,
+                actual.toString("iso-8859-1"));
+    }
+
+    private static String dump(final HexDumpLimits limits, final byte[] data) throws IOException {
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final PrintStream out = new PrintStream(actual, false, "iso-8859-1");
+        final ColumnWriter line = new ColumnWriter(DumpOutput.of(out));
+        new HexDumpWriter(line, "", limits).write(data);
+        line.flush();
+        out.flush();
+
+        return actual.toString("iso-8859-1");
+    }
+
+    private static String spaces(final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, ' ');
+        return new String(chars);
+    }
+
+    private static String crc32(final byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return String.format("%08X", crc.getValue());
+    }
+}
@@ -0,0 +1,112 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link MappedFileInputStream}.
+ */
+public final class MappedFileInputStreamTest extends TestCase {
+
+    private static final int WINDOW_SIZE = 1000;
+
+    private File file;
+    private byte[] content;
+
+    @Override
+    protected void setUp() throws IOException {
+        this.content = new byte[WINDOW_SIZE * 5 + 123];
+        new Random(0).nextBytes(this.content);
+
+        this.file = File.createTempFile("pcldumper", ".pcl");
+        try (final FileOutputStream out = new FileOutputStream(this.file)) {
+            out.write(this.content);
+        }
+    }
+
+    @Override
+    protected void tearDown() {
+        this.file.delete();
+    }
+
+    /**
+     * Reads the file with single bytes and blocks that cross the boundaries of the windows.
+     */
+    public void testRead() throws IOException {
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+
+        try (final InputStream in = new MappedFileInputStream(this.file, WINDOW_SIZE)) {
+            assertEquals(this.content.length, in.available());
+
+            final byte[] buffer = new byte[777];
+            int read = in.read();
+            while (read >= 0) {
+                actual.write(read);
+
+                final int count = in.read(buffer, 0, buffer.length);
+                if (count > 0) {
+                    actual.write(buffer, 0, count);
+                }
+
+                read = in.read();
+            }
+
+            assertEquals(-1, in.read(buffer, 0, buffer.length));
+            assertEquals(0, in.available());
+        }
+
+        assertTrue(Arrays.equals(this.content, actual.toByteArray()));
+    }
+
+    /**
+     * Skips within a window, across windows and beyond the end of the file.
+     */
+    public void testSkip() throws IOException {
+        try (final InputStream in = new MappedFileInputStream(this.file, WINDOW_SIZE)) {
+            assertEquals(10, in.skip(10));
+            assertEquals(this.content[10] & 0xFF, in.read());
+
+            assertEquals(2500, in.skip(2500));
+            assertEquals(this.content[2511] & 0xFF, in.read());
+
+            assertEquals(this.content.length - 2512, in.skip(Long.MAX_VALUE));
+            assertEquals(-1, in.read());
+        }
+    }
+
+    /**
+     * A missing file is reported the same way as by a {@link java.io.FileInputStream}.
+     */
+    public void testMissingFile() throws IOException {
+        try {
+            new MappedFileInputStream(new File(this.file.getPath() + ".missing")).close();
+            fail("FileNotFoundException expected");
+        } catch (final FileNotFoundException e) {
+            assertTrue(e.getMessage().contains(".missing"));
+        }
+    }
+}
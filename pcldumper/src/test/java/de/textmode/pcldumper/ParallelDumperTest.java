@@ -0,0 +1,114 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import de.textmode.pclbox.PclException;
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link ParallelDumper}.
+ */
+public final class ParallelDumperTest extends TestCase {
+
+    private static final int COPIES = 40;
+
+    private byte[] data;
+    private PclIndex index;
+
+    @Override
+    protected void setUp() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final InputStream in = ParallelDumperTest.class.getResourceAsStream("/generic_test.pcl")) {
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        final byte[] single = out.toByteArray();
+        this.data = new byte[single.length * COPIES];
+        for (int ix = 0; ix < COPIES; ++ix) {
+            System.arraycopy(single, 0, this.data, ix * single.length, single.length);
+        }
+
+        this.index = PclIndex.scan(new ByteArrayInputStream(this.data));
+    }
+
+    /**
+     * The chunks must cover the region without gaps and start at page or job boundaries.
+     */
+    public void testSplit() {
+        final DumpRange.Region region = DumpRange.ALL.resolve(this.index);
+        final List<DumpRange.Region> chunks =
+                new ParallelDumper(new PclDumperBuilder().build(), 3, 1000).split(this.index, region);
+
+        assertTrue(chunks.size() > 1);
+        assertEquals(0, chunks.get(0).getStart());
+        assertEquals(this.data.length, chunks.get(chunks.size() - 1).getEnd());
+
+        for (int ix = 1; ix < chunks.size(); ++ix) {
+            final long start = chunks.get(ix).getStart();
+            assertEquals(chunks.get(ix - 1).getEnd(), start);
+            assertEquals(start, this.index.getBoundaryAtOrBefore(start));
+            assertEquals(this.index.getTextParsingMethodAt(start), chunks.get(ix).getTextParsingMethod());
+        }
+    }
+
+    /**
+     * The parallel dump must be identical to the sequential dump.
+     */
+    public void testSameAsSequential() throws IOException, PclException {
+        assertSameAsSequential(new PclDumperBuilder(), DumpRange.ALL);
+        assertSameAsSequential(new PclDumperBuilder().verbose(true).showOffsets(true), DumpRange.ALL);
+        assertSameAsSequential(new PclDumperBuilder().quiet(true).showOffsets(true).pages(5, 30),
+                DumpRange.pages(5, 30));
+        assertSameAsSequential(new PclDumperBuilder().showOffsets(true).offsets(3000, 17000),
+                DumpRange.offsets(3000, 17000));
+    }
+
+    /**
+     * Dumps the data with the given builder (that has been set to the given range) sequentially and in
+     * parallel.
+     */
+    private void assertSameAsSequential(final PclDumperBuilder builder, final DumpRange range)
+            throws IOException, PclException {
+
+        final StringBuilder expected = new StringBuilder();
+        builder.build().dump(ByteBuffer.wrap(this.data), DumpOutput.of(expected));
+
+        final PclDumper dumper = builder.build();
+        final ParallelDumper parallelDumper = new ParallelDumper(dumper, 3, 1000);
+        final StringBuilder actual = new StringBuilder();
+
+        parallelDumper.dump(this.index, range.resolve(this.index), new PclDumper.RegionSource() {
+            @Override
+            public InputStream open(final DumpRange.Region region) {
+                final int length = (int) (region.getEnd() - region.getStart());
+                return new ByteArrayInputStream(ParallelDumperTest.this.data, (int) region.getStart(), length);
+            }
+        }, DumpOutput.of(actual));
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
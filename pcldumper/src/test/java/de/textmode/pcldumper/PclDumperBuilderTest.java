@@ -28,20 +28,98 @@ public final class PclDumperBuilderTest extends TestCase {
      */
     public void testBuilder() {
 
+        final String defaultLimits = ",maxDataSectionBytes=2147483647,headBytes=-1,tailBytes=0"
+                + ",hexDumpBudgetPerPage=9223372036854775807,hexDumpBudgetPerJob=9223372036854775807"
+                + ",memoryMapped=false,range=all,parallelism=1,outputFormat=TEXT,statistics=false"
+                + ",joinText=false,include=null,exclude=null,details=null";
+
         assertEquals(
-                "PclDumperBuilder:quiet=false,showOffsets=false,verbose=false",
+                "PclDumperBuilder:quiet=false,showOffsets=false,verbose=false" + defaultLimits,
                 new PclDumperBuilder().toString());
 
         assertEquals(
-                "PclDumperBuilder:quiet=true,showOffsets=false,verbose=false",
+                "PclDumperBuilder:quiet=true,showOffsets=false,verbose=false" + defaultLimits,
                 new PclDumperBuilder().quiet(true).toString());
 
         assertEquals(
-                "PclDumperBuilder:quiet=false,showOffsets=true,verbose=false",
+                "PclDumperBuilder:quiet=false,showOffsets=true,verbose=false" + defaultLimits,
                 new PclDumperBuilder().showOffsets(true).toString());
 
         assertEquals(
-                "PclDumperBuilder:quiet=false,showOffsets=false,verbose=true",
+                "PclDumperBuilder:quiet=false,showOffsets=false,verbose=true" + defaultLimits,
                 new PclDumperBuilder().verbose(true).toString());
+
+        assertEquals(
+                "PclDumperBuilder:quiet=false,showOffsets=false,verbose=false,maxDataSectionBytes=32"
+                + ",headBytes=16,tailBytes=8,hexDumpBudgetPerPage=1024,hexDumpBudgetPerJob=4096"
+                + ",memoryMapped=true,range=pages 3-5,parallelism=8,outputFormat=JSON,statistics=true"
+                + ",joinText=true,include=PJL,(s,*bW,exclude=0x0D,details=*b",
+                new PclDumperBuilder()
+                    .maxDataSectionBytes(32)
+                    .dataSectionWindow(16, 8)
+                    .hexDumpBudgetPerPage(1024)
+                    .hexDumpBudgetPerJob(4096)
+                    .memoryMapped(true)
+                    .job(2)
+                    .pages(3, 5)
+                    .parallelism(8)
+                    .outputFormat(OutputFormat.JSON)
+                    .statistics(true)
+                    .joinText(true)
+                    .include("PJL,(s,*bW")
+                    .exclude("0x0D")
+                    .details("*b")
+                    .toString());
+    }
+
+    /**
+     * A window of the data sections without a maximum size implies the size of the window as maximum size.
+     */
+    public void testWindowWithoutMaximum() {
+        final HexDumpLimits implied = new PclDumperBuilder().dataSectionWindow(64, 32).buildHexDumpLimits();
+        assertEquals(96, implied.getMaxBytes());
+        assertEquals(64, implied.getHeadBytes());
+        assertEquals(32, implied.getTailBytes());
+
+        final HexDumpLimits explicit = new PclDumperBuilder()
+                .maxDataSectionBytes(1000)
+                .dataSectionWindow(64, 32)
+                .buildHexDumpLimits();
+        assertEquals(1000, explicit.getMaxBytes());
+
+        assertEquals(Integer.MAX_VALUE, new PclDumperBuilder().buildHexDumpLimits().getMaxBytes());
+    }
+
+    /**
+     * Tests that invalid command patterns are rejected.
+     */
+    public void testInvalidPatterns() {
+        for (final String patterns : new String[] {"", " , ", "0xZZ", "*bWW", "*1", "PCLX", "ABC"}) {
+            try {
+                new PclDumperBuilder().include(patterns);
+                fail("IllegalArgumentException expected for " + patterns);
+            } catch (final IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains(patterns.trim()));
+            }
+        }
+    }
+
+    /**
+     * Tests that negative limits are rejected.
+     */
+    public void testNegativeLimits() {
+        try {
+            new PclDumperBuilder().maxDataSectionBytes(-1);
+            fail("IllegalArgumentException expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("-1"));
+        }
+
+        try {
+            new PclDumperBuilder().offsets(100, 100);
+            fail("IllegalArgumentException expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("100-100"));
+        }
     }
 }
@@ -0,0 +1,254 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link PclDumperServer} and {@link PclDumperClient}.
+ */
+public final class PclDumperServerTest extends TestCase {
+
+    private PclDumperServer server;
+    private Thread serverThread;
+    private File file;
+    private File tokenFile;
+    private String token;
+
+    @Override
+    protected void setUp() throws IOException {
+        this.tokenFile = File.createTempFile("pcldumper", ".token");
+        this.start(PclDumperServer.create(0, 2, this.tokenFile));
+        this.token = PclDumperServer.readToken(this.tokenFile);
+
+        this.file = File.createTempFile("pcldumper", ".pcl");
+        try (final InputStream in = this.getClass().getClassLoader().getResourceAsStream("generic_test.pcl")) {
+            Files.copy(in, this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        this.server.close();
+        this.serverThread.join();
+        this.file.delete();
+        this.tokenFile.delete();
+    }
+
+    /**
+     * The dump performed by the server must be the same as the dump performed locally.
+     */
+    public void testDump() throws IOException {
+        final String[] args = new String[] {"-v", "-o", this.file.getPath() };
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        assertEquals(Main.EXIT_OK, Main.run(args, new PrintStream(expected, true), System.err));
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        assertEquals(Main.EXIT_OK, PclDumperClient.run(
+                args,
+                this.server.getLocalPort(),
+                this.token,
+                new PrintStream(actual, true),
+                new PrintStream(errors, true)));
+
+        assertEquals(expected.toString("iso-8859-1"), actual.toString("iso-8859-1"));
+        assertEquals(0, errors.size());
+    }
+
+    /**
+     * Errors are reported with the standard error output and the exit code of the server.
+     */
+    public void testMissingFile() throws IOException {
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final int rc = PclDumperClient.run(
+                new String[] {this.file.getPath() + ".missing" },
+                this.server.getLocalPort(),
+                this.token,
+                new PrintStream(new ByteArrayOutputStream(), true),
+                new PrintStream(errors, true));
+
+        assertEquals(Main.EXIT_ERROR, rc);
+        assertTrue(errors.toString("iso-8859-1").contains(".missing"));
+    }
+
+    /**
+     * An unexpected exception is reported with the standard error output and the exit code of the server, so
+     * the client does not wait forever.
+     */
+    public void testUnexpectedException() throws Exception {
+        this.server.close();
+        this.serverThread.join();
+        this.start(new PclDumperServer(0, 1, this.token, new PclDumperServer.RequestHandler() {
+            @Override
+            public int run(final String[] args, final PrintStream out, final PrintStream err) {
+                out.print("partial output");
+                throw new IllegalStateException("unexpected");
+            }
+        }));
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final int rc = PclDumperClient.run(
+                new String[] {this.file.getPath() },
+                this.server.getLocalPort(),
+                this.token,
+                new PrintStream(actual, true),
+                new PrintStream(errors, true));
+
+        assertEquals(Main.EXIT_ERROR, rc);
+        assertEquals("partial output", actual.toString("iso-8859-1"));
+        assertTrue(errors.toString("iso-8859-1").contains("java.lang.IllegalStateException: unexpected"));
+    }
+
+    /**
+     * A request without the token of the server is rejected.
+     */
+    public void testInvalidToken() throws IOException {
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        final int rc = PclDumperClient.run(
+                new String[] {"-q", this.file.getPath() },
+                this.server.getLocalPort(),
+                PclDumperServer.createToken(),
+                new PrintStream(actual, true),
+                new PrintStream(errors, true));
+
+        assertEquals(Main.EXIT_ERROR, rc);
+        assertEquals(0, actual.size());
+        assertEquals("Invalid token", errors.toString("iso-8859-1"));
+    }
+
+    /**
+     * The token is written to a file that only the user can read.
+     */
+    public void testTokenFile() throws IOException {
+        assertEquals(this.token, PclDumperServer.readToken(this.tokenFile));
+        assertEquals(64, this.token.length());
+        assertFalse(this.token.equals(PclDumperServer.createToken()));
+
+        if (Files.getFileStore(this.tokenFile.toPath()).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            assertEquals(
+                    "rw-------",
+                    PosixFilePermissions.toString(Files.getPosixFilePermissions(this.tokenFile.toPath())));
+        }
+
+        assertEquals(
+                new File(System.getProperty("user.home"), ".pcldumper-7711.token"),
+                PclDumperServer.getTokenFile(7711));
+    }
+
+    /**
+     * A server that can not be started because the port is in use keeps the token of the running server.
+     */
+    public void testPortInUse() throws IOException {
+        try {
+            PclDumperServer.create(this.server.getLocalPort(), 1, this.tokenFile);
+            fail();
+        } catch (final BindException e) {
+            assertEquals(this.token, PclDumperServer.readToken(this.tokenFile));
+        }
+
+        final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        assertEquals(Main.EXIT_OK, PclDumperClient.run(
+                new String[] {"-q", this.file.getPath() },
+                this.server.getLocalPort(),
+                PclDumperServer.readToken(this.tokenFile),
+                new PrintStream(new ByteArrayOutputStream(), true),
+                new PrintStream(errors, true)));
+        assertEquals(0, errors.size());
+    }
+
+    /**
+     * A connection that does not send a request is dropped, so it can not block the threads of the server.
+     */
+    public void testIdleConnection() throws Exception {
+        this.server.close();
+        this.serverThread.join();
+        this.start(new PclDumperServer(0, 1, this.token));
+        this.server.setHandshakeTimeout(100);
+
+        try (final Socket idle = new Socket(InetAddress.getLoopbackAddress(), this.server.getLocalPort())) {
+            assertEquals(-1, idle.getInputStream().read());
+
+            final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+            assertEquals(Main.EXIT_OK, PclDumperClient.run(
+                    new String[] {"-q", this.file.getPath() },
+                    this.server.getLocalPort(),
+                    this.token,
+                    new PrintStream(new ByteArrayOutputStream(), true),
+                    new PrintStream(errors, true)));
+            assertEquals(0, errors.size());
+        }
+    }
+
+    /**
+     * The client dumps locally if no server is running.
+     */
+    public void testNoServer() throws IOException {
+        final int port;
+        try (final ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+
+        final String[] args = new String[] {"-q", this.file.getPath() };
+
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        assertEquals(Main.EXIT_OK, Main.run(args, new PrintStream(expected, true), System.err));
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        assertEquals(Main.EXIT_OK, PclDumperClient.run(args, port, new PrintStream(actual, true), System.err));
+
+        assertTrue(actual.size() > 0);
+        assertEquals(expected.toString("iso-8859-1"), actual.toString("iso-8859-1"));
+
+        actual.reset();
+        assertEquals(Main.EXIT_OK, PclDumperClient.run(
+                args, port, this.token, new PrintStream(actual, true), System.err));
+        assertEquals(expected.toString("iso-8859-1"), actual.toString("iso-8859-1"));
+    }
+
+    private void start(final PclDumperServer dumperServer) {
+        this.server = dumperServer;
+        this.serverThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    dumperServer.serve();
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+        this.serverThread.start();
+    }
+}
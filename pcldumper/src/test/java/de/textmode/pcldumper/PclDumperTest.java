@@ -16,16 +16,24 @@ package de.textmode.pcldumper;
  * limitations under the License.
  */
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.StringWriter;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 
@@ -211,4 +219,478 @@ public final class PclDumperTest extends TestCase {
     public void testAllTypesOfPrinterCommands() throws IOException, PclException {
         this.performTest("generic_test");
     }
+
+    /**
+     * Dumps a memory-mapped PCL file - the result must be the same as for an {@link InputStream}.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testMemoryMappedFile() throws IOException, PclException {
+        final File file = File.createTempFile("pcldumper", PCL_SUFFIX);
+        try {
+            try (final InputStream input = this.getResourceAsStream("generic_test" + PCL_SUFFIX);
+                 final FileOutputStream out = new FileOutputStream(file)) {
+                IOUtils.copy(input, out);
+            }
+
+            try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                new PclDumperBuilder().verbose(true).showOffsets(true).memoryMapped(true).build()
+                    .dump(file, new PrintStream(baos, true, "utf-8"));
+
+                this.compare(baos.toByteArray(), "generic_test" + EXPECTED_VERBOSE_OFFSETS_SUFFIX);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Dumps a PCL data stream held in a direct {@link ByteBuffer} - the result must be the same as for an
+     * {@link InputStream} and the position of the buffer must not change.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testByteBuffer() throws IOException, PclException {
+        final byte[] data = this.loadResource("generic_test" + PCL_SUFFIX);
+
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length + 10);
+        buffer.position(5);
+        buffer.put(data);
+        buffer.position(5).limit(5 + data.length);
+
+        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            new PclDumperBuilder().verbose(true).showOffsets(true).build()
+                .dump(buffer, new PrintStream(baos, true, "utf-8"));
+
+            this.compare(baos.toByteArray(), "generic_test" + EXPECTED_VERBOSE_OFFSETS_SUFFIX);
+        }
+
+        assertEquals(5, buffer.position());
+    }
+
+    /**
+     * Dumps a PCL data stream held in a range of a byte array - the offsets are relative to the range.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testByteArrayRange() throws IOException, PclException {
+        final byte[] data = this.loadResource("generic_test" + PCL_SUFFIX);
+        final byte[] padded = new byte[data.length + 10];
+        System.arraycopy(data, 0, padded, 7, data.length);
+
+        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            new PclDumperBuilder().verbose(true).showOffsets(true).build()
+                .dump(padded, 7, data.length, new PrintStream(baos, true, "utf-8"));
+
+            this.compare(baos.toByteArray(), "generic_test" + EXPECTED_VERBOSE_OFFSETS_SUFFIX);
+        }
+    }
+
+    /**
+     * Dumps the PCL data stream to every kind of {@link DumpOutput} - the results must be the same.
+     *
+     * @throws IOException If an I/O error occurs
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testDumpOutputs() throws IOException, PclException {
+        final byte[] data = this.loadResource("generic_test" + PCL_SUFFIX);
+        final PclDumper dumper = new PclDumperBuilder().verbose(true).showOffsets(true).build();
+        final String expected = "generic_test" + EXPECTED_VERBOSE_OFFSETS_SUFFIX;
+
+        final StringBuilder sb = new StringBuilder();
+        dumper.dump(new ByteArrayInputStream(data), DumpOutput.of(sb));
+        this.compare(sb.toString().getBytes(StandardCharsets.UTF_8), expected);
+
+        final StringWriter writer = new StringWriter();
+        dumper.dump(new ByteArrayInputStream(data), DumpOutput.of(writer));
+        this.compare(writer.toString().getBytes(StandardCharsets.UTF_8), expected);
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        dumper.dump(new ByteArrayInputStream(data), DumpOutput.of(stream, StandardCharsets.UTF_8));
+        this.compare(stream.toByteArray(), expected);
+
+        final ByteArrayOutputStream channel = new ByteArrayOutputStream();
+        dumper.dump(
+                new ByteArrayInputStream(data),
+                DumpOutput.of(Channels.newChannel(channel), StandardCharsets.UTF_8));
+        this.compare(channel.toByteArray(), expected);
+    }
+
+    /**
+     * An {@link IOException} of the {@link DumpOutput} must be thrown by the {@link PclDumper}.
+     *
+     * @throws PclException If there are Problems with the PCL data stream
+     */
+    public void testDumpOutputError() throws PclException {
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Disk full");
+            }
+        };
+
+        try {
+            new PclDumperBuilder().build().dump(
+                    new ByteArrayInputStream(this.loadResource("generic_test" + PCL_SUFFIX)),
+                    DumpOutput.of(failing, StandardCharsets.UTF_8));
+
+            fail("IOException expected");
+        } catch (final IOException e) {
+            assertEquals("Disk full", e.getMessage());
+        }
+    }
+
+    /**
+     * Dumps ranges of pages, jobs and offsets of a data stream that contains the test file three times. The
+     * dump of a range must be the same as the corresponding lines of the complete dump.
+     */
+    public void testRanges() throws IOException, PclException {
+        final byte[] single = this.loadResource("generic_test" + PCL_SUFFIX);
+        final byte[] data = new byte[single.length * 3];
+        for (int ix = 0; ix < 3; ++ix) {
+            System.arraycopy(single, 0, data, ix * single.length, single.length);
+        }
+
+        final PclIndex index = PclIndex.scan(new ByteArrayInputStream(data));
+        assertEquals(3, index.getPageCount());
+        assertEquals(3, index.getJobCount());
+
+        final List<String> all = dumpLines(new PclDumperBuilder(), data);
+
+        assertEquals(
+                linesWithin(all, index.getPageStart(2), index.getPageEnd(3)),
+                dumpLines(new PclDumperBuilder().pages(2, 3), data));
+
+        assertEquals(
+                linesWithin(all, index.getJobStart(2), index.getJobEnd(2)),
+                dumpLines(new PclDumperBuilder().job(2), data));
+
+        assertEquals(
+                linesWithin(all, 0x300, 0x500),
+                dumpLines(new PclDumperBuilder().offsets(0x300, 0x500), data));
+
+        final File file = File.createTempFile("pcldumper", PCL_SUFFIX);
+        try {
+            try (final FileOutputStream out = new FileOutputStream(file)) {
+                out.write(data);
+            }
+
+            final StringBuilder sb = new StringBuilder();
+            new PclDumperBuilder().quiet(true).showOffsets(true).pages(3, 3).build().dump(file, DumpOutput.of(sb));
+            assertEquals(linesWithin(all, index.getPageStart(3), index.getPageEnd(3)), toLines(sb));
+            assertTrue(PclIndex.getIndexFile(file).exists());
+        } finally {
+            file.delete();
+            PclIndex.getIndexFile(file).delete();
+        }
+
+        try {
+            final PclDumper dumper = new PclDumperBuilder().job(1).build();
+            dumper.dump(new ByteArrayInputStream(data), DumpOutput.of(new StringBuilder()));
+            fail("IllegalStateException expected");
+        } catch (final IllegalStateException e) {
+            assertTrue(e.getMessage().contains("job 1"));
+        }
+    }
+
+    /**
+     * Dumps the test file as JSON Lines. Every printer command must be written as a JSON object on its
+     * own line (with the same offsets as the text dump), special characters must be escaped.
+     */
+    public void testJsonLines() throws IOException, PclException {
+        final byte[] data = this.loadResource("generic_test" + PCL_SUFFIX);
+
+        final List<String> text = dumpLines(new PclDumperBuilder(), data);
+        final List<String> json = dumpLines(new PclDumperBuilder().verbose(true).outputFormat(OutputFormat.JSON), data);
+        assertEquals(text.size(), json.size());
+
+        for (int ix = 0; ix < text.size(); ++ix) {
+            final long offset = Long.parseLong(text.get(ix).substring(0, 8), 16);
+            assertTrue(json.get(ix).startsWith("{\"offset\":" + offset + ",\"type\":\""));
+            assertTrue(json.get(ix).endsWith("}"));
+        }
+
+        assertEquals(
+                "{\"offset\":0,\"type\":\"PCL\",\"command\":\"%-12345X\""
+                + ",\"description\":\"Universal Exit Language\"}",
+                json.get(0));
+
+        assertTrue(json.contains(
+                "{\"offset\":204,\"type\":\"PCL\",\"command\":\"*c72W\",\"description\":\"User Defined Pattern\""
+                + ",\"data\":72,\"details\":["
+                + "\"00000000 00 00 01 00 00 10 00 20 FF FF FF FF 7F FF FF FE ....... ........\","
+                + "\"00000010 3F FF FF FC 1F FF FF F8 0F FF FF F0 07 FF FF E0 ?...............\","
+                + "\"00000020 03 FF FF C0 01 FF FF 80 00 FF FF 00 00 7F FE 00 ................\","
+                + "\"00000030 00 3F FC 00 00 1F F8 00 00 0F F0 00 00 07 E0 00 .?..............\","
+                + "\"00000040 00 03 C0 00 00 01 80 00                         ........\"]}"));
+
+        assertTrue(json.contains(
+                "{\"offset\":293,\"type\":\"HPGL\",\"command\":\"CO\",\"description\":\"Comment\""
+                + ",\"details\":[\"CO\\\"This includes HP/GL-2 comments in double quotes\\\"\"]}"));
+
+        final StringBuilder sb = new StringBuilder();
+        final ColumnWriter line = new ColumnWriter(DumpOutput.of(sb));
+        final JsonRenderer renderer = new JsonRenderer(line, HexDumpLimits.UNLIMITED);
+        renderer.startCommand(1, "TEXT", "", "a\"b\\c\td" + (char) 0x01 + "e" + (char) 0x20AC, "", -1);
+        renderer.endCommand();
+        line.flush();
+        assertEquals(
+                "{\"offset\":1,\"type\":\"TEXT\",\"command\":\"\""
+                + ",\"description\":\"a\\\"b\\\\c\\td\\u0001e" + (char) 0x20AC + "\"}",
+                toLines(sb.toString()).get(0));
+    }
+
+    /**
+     * Collects statistics of a data stream that contains the test file three times.
+     */
+    public void testStatistics() throws IOException, PclException {
+        final byte[] single = this.loadResource("generic_test" + PCL_SUFFIX);
+        final byte[] data = new byte[single.length * 3];
+        for (int ix = 0; ix < 3; ++ix) {
+            System.arraycopy(single, 0, data, ix * single.length, single.length);
+        }
+
+        final List<String> lines = dumpLines(new PclDumperBuilder().statistics(true), data);
+        assertEquals("Printer commands                           120", lines.get(0));
+        assertEquals("Pages                                        3", lines.get(1));
+        assertEquals("Data section bytes                         360", lines.get(2));
+        assertTrue(lines.contains("TEXT                                        12"));
+        assertTrue(lines.contains("*cW                                          3             216"));
+        // The text parsing method of the end of a copy is still in effect at the start of the next copy...
+        assertTrue(lines.contains("Default, 1 byte per character              108"));
+        assertTrue(lines.contains("UTF-8                                      231"));
+
+        final int largest = lines.indexOf("Largest commands                         Bytes Offset");
+        assertEquals("*cW                                         72 000000CC", lines.get(largest + 1));
+        assertEquals("*cW                                         72 000002F5", lines.get(largest + 2));
+        assertEquals(largest + 11, lines.size());
+
+        // Only the pages of the range are counted...
+        assertEquals(
+                "Pages                                        2",
+                dumpLines(new PclDumperBuilder().statistics(true).pages(2, 3), data).get(1));
+    }
+
+    /**
+     * Dumps the test file with filters. The dump must contain the same lines as the complete dump, but only
+     * those of the selected printer commands.
+     */
+    public void testFilters() throws IOException, PclException {
+        final byte[] data = this.loadResource("generic_test" + PCL_SUFFIX);
+        final List<String> all = dumpLines(new PclDumperBuilder(), data);
+
+        assertEquals(
+                linesOfType(all, "PJL", "HPGL"),
+                dumpLines(new PclDumperBuilder().include("pjl,HPGL"), data));
+
+        assertEquals(
+                linesOfType(all, "PCL", "PJL", "HPGL"),
+                dumpLines(new PclDumperBuilder().exclude("TEXT,CNTL"), data));
+
+        final List<String> fonts = new ArrayList<>();
+        for (final String line : all) {
+            if (line.contains(" (s") && !line.contains("Typeface") || line.contains(" @PJL ENTER")
+                    || line.contains(" 0x0D ")) {
+                fonts.add(line);
+            }
+        }
+        assertEquals(10, fonts.size());
+        assertEquals(fonts, dumpLines(new PclDumperBuilder().include("(s,@pjl enter,0x0D").exclude("(sT"), data));
+
+        // The text parsing method is changed by a printer command that is not dumped...
+        final List<String> text = dumpLines(new PclDumperBuilder().include("TEXT"), data);
+        assertEquals(linesOfType(all, "TEXT"), text);
+
+        // Only the data section of the user defined pattern is hex-dumped...
+        final List<String> details = dumpLines(new PclDumperBuilder().details("*cW"), data);
+        assertTrue(details.containsAll(all));
+        assertEquals(all.size() + 5, details.size());
+
+        // The data section is referenced correctly even if the next printer command is not dumped...
+        final File file = File.createTempFile("pcldumper", OutputFormat.BINARY.getFileSuffix());
+        try {
+            try (final FileOutputStream out = new FileOutputStream(file)) {
+                new PclDumperBuilder().include("*c").outputFormat(OutputFormat.BINARY).build()
+                    .dump(ByteBuffer.wrap(data), DumpOutput.of(out, StandardCharsets.UTF_8));
+            }
+            final BinaryDumpReader reader = new BinaryDumpReader(file);
+            assertEquals(1, reader.getCommandCount());
+            assertEquals(0xCC, reader.getOffset(0));
+            assertEquals(0xCC + 6, reader.getDataOffset(0));
+            assertEquals(72, reader.getDataLength(0));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Dumps multi-byte characters that are split across two text commands by a cursor positioning. The
+     * character must be decoded with the text command that completes it.
+     */
+    public void testSplitCharacters() throws IOException, PclException {
+        final String nihon = new String(new char[] {(char) 0x65E5, (char) 0x672C});
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        // UTF-8: the first character is split after its second byte...
+        data.write("\u001B&t1008P".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {(byte) 0xE6, (byte) 0x97});
+        data.write("\u001B*p10X".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {(byte) 0xA5, (byte) 0xE6, (byte) 0x9C, (byte) 0xAC});
+
+        // Shift-JIS: the first character is split after its first byte...
+        data.write("\u001B&t31P".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {(byte) 0x93, (byte) 0xFA, (byte) 0x96});
+        data.write("\u001B*p20X".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {(byte) 0x7B});
+
+        final List<String> texts = new ArrayList<>();
+        for (final String line : dumpLines(new PclDumperBuilder(), data.toByteArray())) {
+            if (line.startsWith("TEXT ", 11)) {
+                texts.add(line.substring(36));
+            }
+        }
+
+        assertEquals(Arrays.asList("", nihon, nihon.substring(0, 1), nihon.substring(1)), texts);
+    }
+
+    /**
+     * Dumps multi-byte characters that can not be completed any more - because the text parsing method
+     * changes, at a page boundary or at the end of the dump. The incomplete characters must be replaced
+     * instead of being dropped.
+     */
+    public void testIncompleteCharacters() throws IOException, PclException {
+        final String replacement = String.valueOf((char) 0xFFFD);
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        data.write("\u001B&t1008P".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {'A', (byte) 0xE6, (byte) 0x97});
+        data.write("\u001B&t31P".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {'B', (byte) 0x93});
+        data.write(0x0C);
+        data.write(new byte[] {'C', (byte) 0x96});
+
+        final List<String> lines = dumpLines(new PclDumperBuilder(), data.toByteArray());
+        assertEquals("00000008 : TEXT                     A", lines.get(1));
+        assertEquals("00000009 : TEXT                     " + replacement, lines.get(2));
+        assertEquals("0000000B : PCL      &t31P", lines.get(3).substring(0, 25));
+        assertEquals("00000011 : TEXT                     B", lines.get(4));
+        assertEquals("00000012 : TEXT                     " + replacement, lines.get(5));
+        assertEquals("00000013 : CNTL     0x0C", lines.get(6).substring(0, 24));
+        assertEquals("00000014 : TEXT                     C", lines.get(7));
+        assertEquals("00000015 : TEXT                     " + replacement, lines.get(8));
+        assertEquals(9, lines.size());
+
+        final List<String> joined = dumpLines(new PclDumperBuilder().joinText(true), data.toByteArray());
+        assertEquals("00000008 : TEXT                     A" + replacement, joined.get(1));
+        assertEquals("00000014 : TEXT                     C" + replacement, joined.get(5));
+        assertEquals(6, joined.size());
+    }
+
+    /**
+     * Dumps text with control characters. In the text dump these are escaped, JSON has its own escaping.
+     */
+    public void testControlCharactersInText() throws IOException, PclException {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.write(new byte[] {'B', (byte) 0x85, 'C', 0x7F});
+        data.write("\u001B&t1008P".getBytes(StandardCharsets.US_ASCII));
+        data.write(new byte[] {'D', (byte) 0xC2, (byte) 0x9B, 'E', '\\', 'x', '1', 'B'});
+
+        // A backslash is escaped as well, so the text "\x1B" can not be mistaken for an escaped ESC...
+        final List<String> lines = dumpLines(new PclDumperBuilder(), data.toByteArray());
+        assertEquals("00000000 : TEXT                     B\\x85C\\x7F", lines.get(0));
+        assertEquals("0000000C : TEXT                     D\\x9BE\\\\x1B", lines.get(2));
+
+        final List<String> json = dumpLines(new PclDumperBuilder().outputFormat(OutputFormat.JSON), data.toByteArray());
+        assertEquals(
+                "{\"offset\":0,\"type\":\"TEXT\",\"command\":\"\",\"description\":\"B" + (char) 0x85 + "C"
+                + (char) 0x7F + "\"}",
+                json.get(0));
+    }
+
+    /**
+     * Dumps a line of text with cursor positioning as one record. Any other printer command ends the record.
+     */
+    public void testJoinText() throws IOException, PclException {
+        final byte[] data = ("\u001B*p100YName\u001B*p300XSmith\u001B&a5C\r\nNext\u001B(s3BLine")
+                .getBytes(StandardCharsets.US_ASCII);
+
+        final List<String> joined = linesOfType(dumpLines(new PclDumperBuilder().joinText(true), data), "TEXT");
+        assertEquals(3, joined.size());
+        assertEquals("00000007 : TEXT                     Name{*p300X}Smith{&a5C}", joined.get(0));
+        assertEquals("0000001E : TEXT                     Next", joined.get(1));
+        assertEquals("00000027 : TEXT                     Line", joined.get(2));
+
+        assertEquals(4, linesOfType(dumpLines(new PclDumperBuilder(), data), "TEXT").size());
+        assertEquals(4, linesOfType(dumpLines(new PclDumperBuilder().joinText(true).verbose(true), data), "TEXT")
+                .size());
+
+        // A printer command that is not dumped does not end the record...
+        final List<String> filtered = dumpLines(new PclDumperBuilder().joinText(true).exclude("(s"), data);
+        assertEquals("0000001E : TEXT                     NextLine", filtered.get(filtered.size() - 1));
+    }
+
+    /**
+     * A vertical cursor positioning ends the record of a joined line of text - even if it is not dumped.
+     */
+    public void testJoinTextVerticalMove() throws IOException, PclException {
+        final byte[] data = "A\u001B*p200YB\u001B*p10XC\u001B&a2RD".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(
+                Arrays.asList(
+                        "00000000 : TEXT                     A",
+                        "00000008 : TEXT                     B{*p10X}C",
+                        "00000015 : TEXT                     D"),
+                linesOfType(dumpLines(new PclDumperBuilder().joinText(true), data), "TEXT"));
+
+        assertEquals(
+                Arrays.asList(
+                        "00000000 : TEXT                     A",
+                        "00000008 : TEXT                     BC",
+                        "00000015 : TEXT                     D"),
+                dumpLines(new PclDumperBuilder().joinText(true).exclude("*p,&a"), data));
+    }
+
+    private static List<String> dumpLines(final PclDumperBuilder builder, final byte[] data)
+            throws IOException, PclException {
+
+        final StringBuilder sb = new StringBuilder();
+        builder.quiet(true).showOffsets(true).build().dump(ByteBuffer.wrap(data), DumpOutput.of(sb));
+        return toLines(sb);
+    }
+
+    private static List<String> toLines(final CharSequence dump) {
+        return Arrays.asList(dump.toString().split(System.lineSeparator()));
+    }
+
+    private static List<String> linesOfType(final List<String> lines, final String... types) {
+        final List<String> result = new ArrayList<>();
+        for (final String line : lines) {
+            for (final String type : types) {
+                if (line.startsWith(type + " ", 11)) {
+                    result.add(line);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<String> linesWithin(final List<String> lines, final long from, final long to) {
+        final List<String> result = new ArrayList<>();
+        for (final String line : lines) {
+            final long offset = Long.parseLong(line.substring(0, 8), 16);
+            if (offset >= from && offset < to) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    private byte[] loadResource(final String name) throws IOException {
+        try (final InputStream input = this.getResourceAsStream(name)) {
+            return IOUtils.toByteArray(input);
+        }
+    }
 }
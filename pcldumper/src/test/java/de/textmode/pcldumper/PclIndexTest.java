@@ -0,0 +1,192 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link PclIndex} and {@link PclScanner}.
+ */
+public final class PclIndexTest extends TestCase {
+
+    private static final String ESC = "\u001B";
+    private static final String UEL = ESC + "%-12345X";
+
+    /**
+     * Form feeds always end a page, a printer reset and a paper source command only if something has been
+     * printed. Form feeds and escape sequences within data sections and HP-GL/2 are ignored.
+     */
+    public void testPages() throws IOException {
+        final String page1 = ESC + "E" + ESC + "&l1H" + "Hello" + ESC + "*b3W\f" + ESC + "E\f";
+        final String page2 = ESC + "E" + ESC + "%0BIN;\fPD;" + ESC + "%0A" + ESC + "&t83P";
+        final String page3 = ESC + "&l0h2H" + "World" + ESC + "(s7W" + ESC + "E\f\f\f\f\f";
+        final String trailer = ESC + "E \r\n";
+
+        final PclIndex index = scan(page1 + page2 + page3 + trailer);
+
+        assertEquals(3, index.getPageCount());
+        assertEquals(0, index.getPageStart(1));
+        assertEquals(page1.length(), index.getPageEnd(1));
+        assertEquals(page1.length(), index.getPageStart(2));
+        assertEquals(page1.length() + page2.length(), index.getPageEnd(2));
+        assertEquals(page1.length() + page2.length() + page3.length(), index.getPageEnd(3));
+        assertEquals(0, index.getPageTextParsingMethod(2));
+        assertEquals(83, index.getPageTextParsingMethod(3));
+
+        assertEquals(1, index.getJobCount());
+        assertEquals(0, index.getJobStart(1));
+        assertEquals(index.getLength(), index.getJobEnd(1));
+    }
+
+    /**
+     * A job begins with an UEL that is followed by anything but another UEL.
+     */
+    public void testJobs() throws IOException {
+        final String job1 = UEL + "@PJL JOB NAME=\"1\"\r\n@PJL ENTER LANGUAGE=PCL\r\n" + ESC + "EOne\f" + ESC + "E";
+        final String job2 = UEL + UEL + "@PJL COMMENT JOB\n@PJL JOB\n" + ESC + "&t21P" + ESC + "ETwo";
+        final String job3 = UEL + ESC + "EThree";
+
+        final PclIndex index = scan(job1 + job2 + job3 + UEL);
+
+        assertEquals(3, index.getJobCount());
+        assertEquals(0, index.getJobStart(1));
+        assertEquals(job1.length() + UEL.length(), index.getJobEnd(1));
+        assertEquals(job1.length() + UEL.length(), index.getJobStart(2));
+        assertEquals(job1.length() + job2.length(), index.getJobStart(3));
+        assertEquals(21, index.getJobTextParsingMethod(3));
+        assertEquals(index.getLength(), index.getJobEnd(3));
+
+        assertEquals(3, index.getPageCount());
+        assertEquals(job1.length() + job2.length(), index.getPageEnd(2));
+
+        assertEquals(5, index.getUels().length);
+        assertEquals(2, index.getPjlJobs().length);
+        assertEquals(UEL.length(), index.getPjlJobs()[0]);
+    }
+
+    /**
+     * The raster compression mode and the raster width are recorded for every boundary (they are kept from
+     * page to page until a printer reset) and survive writing and reading the index.
+     */
+    public void testRasterState() throws IOException {
+        final String page1 = ESC + "*r4800S" + ESC + "*b7m2W.." + ESC + "*b3M" + "A\f";
+        final String page2 = ESC + "*b12M" + "B\f";
+        final String page3 = ESC + "E" + ESC + "*b2M" + "C\f";
+        final String job2 = UEL + "D";
+
+        final PclIndex scanned = scan(page1 + page2 + page3 + job2);
+
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        scanned.write(data);
+        final PclIndex index = PclIndex.read(new ByteArrayInputStream(data.toByteArray()));
+
+        assertEquals(PclScanner.DEFAULT_RASTER_STATE, index.getPageRasterState(1));
+        assertEquals(PclScanner.rasterState(3, 4800), index.getPageRasterState(2));
+        assertEquals(PclScanner.rasterState(3, 4800), index.getPageRasterState(3));
+        assertEquals(PclScanner.rasterState(2, 0), index.getPageRasterState(4));
+        assertEquals(PclScanner.rasterState(2, 0), index.getJobRasterState(2));
+        assertEquals(PclScanner.rasterState(3, 4800), index.getRasterStateAt(index.getPageStart(3)));
+        assertEquals(3, PclScanner.getCompressionMode(index.getPageRasterState(2)));
+        assertEquals(4800, PclScanner.getRasterWidth(index.getPageRasterState(2)));
+    }
+
+    /**
+     * The index is written to a sidecar file and is not loaded anymore if the PCL file has changed.
+     */
+    public void testSidecar() throws IOException {
+        final File file = File.createTempFile("pcldumper", ".pcl");
+        final File indexFile = PclIndex.getIndexFile(file);
+        try {
+            final byte[] content = (UEL + ESC + "EHello\f" + ESC + "E" + UEL).getBytes("iso-8859-1");
+            write(file, content);
+
+            assertNull(PclIndex.load(file));
+            final PclIndex created = PclIndex.get(file);
+            assertTrue(indexFile.exists());
+
+            final PclIndex loaded = PclIndex.load(file);
+            assertNotNull(loaded);
+            assertEquals(created.toString(), loaded.toString());
+            assertEquals(created.getChecksum(), loaded.getChecksum());
+            assertEquals(created.getPageEnd(1), loaded.getPageEnd(1));
+
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            created.write(data);
+            assertTrue(data.size() < 40);
+
+            content[content.length - 3] = 'Y';
+            write(file, content);
+            assertNull(PclIndex.load(file));
+        } finally {
+            file.delete();
+            indexFile.delete();
+        }
+    }
+
+    /**
+     * The scanner must find the pages of the test file (and twice as many if the file is repeated).
+     */
+    public void testGenericTestFile() throws IOException {
+        final byte[] content = readResource("/generic_test.pcl");
+        final PclIndex index = PclIndex.scan(new ByteArrayInputStream(content));
+
+        assertEquals(content.length, index.getLength());
+        assertTrue(index.getPageCount() > 0);
+        // The file ends with an UEL that does not belong to the last page...
+        final long[] uels = index.getUels();
+        assertEquals(uels[uels.length - 1], index.getPageEnd(index.getPageCount()));
+
+        final PclIndex doubled = PclIndex.scan(new ByteArrayInputStream(concat(content, content)));
+        assertEquals(index.getPageCount() * 2, doubled.getPageCount());
+    }
+
+    private static PclIndex scan(final String data) throws IOException {
+        return PclIndex.scan(new ByteArrayInputStream(data.getBytes("iso-8859-1")));
+    }
+
+    private static void write(final File file, final byte[] content) throws IOException {
+        try (final FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        file.setLastModified(1000L * (file.lastModified() / 1000 + 1));
+    }
+
+    private static byte[] readResource(final String name) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final InputStream in = PclIndexTest.class.getResourceAsStream(name)) {
+            final byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] concat(final byte[] first, final byte[] second) {
+        final byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
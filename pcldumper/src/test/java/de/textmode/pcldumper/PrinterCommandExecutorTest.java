@@ -0,0 +1,256 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import de.textmode.pclbox.ParameterizedPclCommand;
+import de.textmode.pclbox.TextCommand;
+import de.textmode.pclbox.TwoBytePclCommand;
+import de.textmode.pcldumper.PclDumperContext.TextParsingMethod;
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for the summaries of the {@link PrinterCommandExecutor}s.
+ */
+public final class PrinterCommandExecutorTest extends TestCase {
+
+    private static final PrinterCommandExecutorMap EXECUTORS = new PrinterCommandExecutorMap();
+
+    /**
+     * Tests the parsing of values.
+     */
+    public void testParseValue() {
+        assertEquals(26, PrinterCommandExecutor.parseValue("26"));
+        assertEquals(26, PrinterCommandExecutor.parseValue("+26"));
+        assertEquals(-7, PrinterCommandExecutor.parseValue("-7"));
+        assertEquals(Integer.MAX_VALUE, PrinterCommandExecutor.parseValue("2147483647"));
+        assertEquals(PrinterCommandExecutor.INVALID_VALUE, PrinterCommandExecutor.parseValue("2147483648"));
+        assertEquals(PrinterCommandExecutor.INVALID_VALUE, PrinterCommandExecutor.parseValue("1.5"));
+        assertEquals(PrinterCommandExecutor.INVALID_VALUE, PrinterCommandExecutor.parseValue("-"));
+        assertEquals(PrinterCommandExecutor.INVALID_VALUE, PrinterCommandExecutor.parseValue(""));
+    }
+
+    /**
+     * Tests the summaries of the default executor.
+     */
+    public void testDefaultSummaries() {
+        assertEquals("A4", summary('&', 'l', "26", 'A'));
+        assertEquals("A4", summary('&', 'l', "26", 'a'));
+        assertEquals("Ultra Thin", summary('(', 's', "-7", 'B'));
+        assertEquals("Position pen at current PCL cursor position", summary('%', 0, "1", 'B'));
+        assertEquals("", summary('&', 'l', "999", 'A'));
+        assertEquals("", summary('&', 'l', "2.5", 'A'));
+
+        final TextCommand text = new TextCommand(0, new byte[] {'A'});
+        assertEquals("", EXECUTORS.executeFor(text, new PclDumperContext()).getSummary());
+    }
+
+    /**
+     * Tests the summaries of the typeface executor - typefaces that share a value must all be shown.
+     */
+    public void testTypefaceSummaries() {
+        assertEquals("Courier from AGFA", summary('(', 's', "4099", 'T'));
+        assertEquals("Futura or Greek Futura from Bitstream", summary(')', 's', "8206", 'T'));
+        assertEquals("Courier from an unknown vendor", summary('(', 's', "3", 'T'));
+        assertEquals("Unknown typeface from an unknown vendor", summary('(', 's', "x", 'T'));
+    }
+
+    /**
+     * Tests that the lower case termination character of a combined printer command finds the same executor as
+     * the upper case one.
+     */
+    public void testLowerCaseTermination() {
+        assertEquals("Courier from AGFA", summary('(', 's', "4099", 't'));
+
+        final PclDumperContext context = new PclDumperContext();
+        EXECUTORS.executeFor(command('&', 't', "1008", 'p'), context);
+        assertEquals(TextParsingMethod.UTF_8, context.getTextParsingMethod());
+        EXECUTORS.executeFor(command('*', 'b', "2", 'm'), context);
+        assertEquals(2, context.getCompressionMode());
+    }
+
+    /**
+     * Tests that printer commands with characters outside of the table are dumped by the default executor and
+     * do not hit the executor of another printer command.
+     */
+    public void testCharactersOutsideOfTable() {
+        final PclDumperContext context = new PclDumperContext();
+        final ParameterizedPclCommand[] commands = new ParameterizedPclCommand[] {
+            command('*', 'b', "3", '_'),
+            command('*', 'b', "3", 0x7D),
+            command('*', 'b', "3", 0xCD),
+            command('*', 'B', "3", 'M'),
+            command('*', 0x5F, "3", 'M'),
+            command('*', 0x7F, "3", 'M'),
+            command('*', 0xE2, "3", 'M'),
+            command(' ', 'b', "3", 'M'),
+            command(0x8A, 'b', "3", 'M'),
+        };
+
+        for (final ParameterizedPclCommand command : commands) {
+            assertEquals("", EXECUTORS.executeFor(command, context).getSummary());
+            EXECUTORS.updateContext(command, context);
+            assertEquals(0, context.getCompressionMode());
+        }
+    }
+
+    /**
+     * Tests that the printer commands that are not dumped find their executors in the same table.
+     */
+    public void testUpdateContext() {
+        final PclDumperContext context = new PclDumperContext();
+        EXECUTORS.updateContext(command('&', 't', "83", 'P'), context);
+        assertEquals(TextParsingMethod.UNICODE, context.getTextParsingMethod());
+        EXECUTORS.updateContext(command('&', 't', "1008", 'p'), context);
+        assertEquals(TextParsingMethod.UTF_8, context.getTextParsingMethod());
+        EXECUTORS.updateContext(command('*', 'b', "3", 'm'), context);
+        assertEquals(3, context.getCompressionMode());
+        EXECUTORS.updateContext(command('*', 'r', "4800", 'S'), context);
+        assertEquals(4800, context.getRasterWidth());
+
+        // A printer command without a context changing executor is not "executed" at all...
+        EXECUTORS.updateContext(command('(', 's', "4099", 'T'), context);
+        EXECUTORS.updateContext(command('&', 'l', "26", 'A'), context);
+        assertEquals(TextParsingMethod.UTF_8, context.getTextParsingMethod());
+        assertEquals(3, context.getCompressionMode());
+    }
+
+    /**
+     * Tests the cache of the executor results - only the results of stateless executors are cached.
+     */
+    public void testCache() {
+        final PrinterCommandExecutorMap executors = new PrinterCommandExecutorMap();
+        final PclDumperContext context = new PclDumperContext();
+        final ExecutorResultCache cache = executors.getCache();
+
+        final PrinterCommandDetails first = executors.executeFor(command('(', 's', "4099", 'T'), context);
+        final PrinterCommandDetails second = executors.executeFor(command('(', 's', "4099", 'T'), context);
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // The secondary typeface is another printer command...
+        assertEquals(first.getSummary(), executors.executeFor(command(')', 's', "4099", 'T'), context).getSummary());
+        assertEquals(2, cache.getMisses());
+
+        // The text parsing method changes the context, so it must be executed every time...
+        executors.executeFor(command('&', 't', "1008", 'P'), context);
+        executors.executeFor(command('&', 't', "1008", 'P'), context);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    /**
+     * Tests that the cache is bounded and keeps the entries that are hit.
+     */
+    public void testCacheEviction() {
+        final ExecutorResultCache cache = new ExecutorResultCache(8);
+        final PrinterCommandDetails details = new PrinterCommandDetails("Test");
+
+        cache.put(0, details);
+        for (int value = 1; value < 1000; ++value) {
+            assertSame(details, cache.get(0));
+            cache.put(value, details);
+        }
+
+        int cached = 0;
+        for (int value = 0; value < 1000; ++value) {
+            if (cache.get(value) != null) {
+                ++cached;
+            }
+        }
+        assertTrue(cached <= 8);
+        assertSame(details, cache.get(0));
+    }
+
+    /**
+     * Tests the summaries of the raster graphics, which depend on the state of the raster graphics in the
+     * {@link PclDumperContext}.
+     */
+    public void testRasterSummaries() {
+        final PclDumperContext context = new PclDumperContext();
+        final byte[] row = {0x01, 'A', 'B'};
+
+        EXECUTORS.executeFor(command('*', 'r', "16", 'S'), context);
+        assertEquals("Tagged Imaged File Format", EXECUTORS.executeFor(command('*', 'b', "2", 'M'), context)
+            .getSummary());
+        EXECUTORS.executeFor(command('*', 'r', "1", 'A'), context);
+        assertEquals("Mode 2, 2 bytes, ratio 0.7:1", EXECUTORS.executeFor(
+                new ParameterizedPclCommand(0, (byte) '*', (byte) 'b', "3", (byte) 'W', row), context).getSummary());
+        assertEquals("Plane 1, Mode 2, 2 bytes, ratio 0.7:1", EXECUTORS.executeFor(
+                new ParameterizedPclCommand(0, (byte) '*', (byte) 'b', "3", (byte) 'V', row), context).getSummary());
+        assertEquals("Mode 2, 2 bytes", summary(context, '*', 'b', "0", 'W'));
+        assertEquals("Image of 2 rows of 16 pixels, 6 bytes from 6 bytes, ratio 1.0:1",
+                summary(context, '*', 'r', "", 'C'));
+        assertEquals("", summary(context, '*', 'r', "", 'B'));
+
+        EXECUTORS.executeFor(command('*', 'b', "4", 'M'), context);
+        assertEquals("Mode 4 is not supported", summary(context, '*', 'b', "0", 'W'));
+
+        EXECUTORS.updateContext(new TwoBytePclCommand(0, (byte) 'E'), context);
+        assertEquals(0, context.getCompressionMode());
+        assertEquals(0, context.getRasterWidth());
+    }
+
+    /**
+     * Tests that the raster graphics of the printer commands that are not dumped only update the state, and that
+     * the raster data is not decoded if no transfer of raster data can be dumped.
+     */
+    public void testRasterContextUpdates() {
+        final PclDumperContext context = new PclDumperContext();
+        final ParameterizedPclCommand transfer =
+                new ParameterizedPclCommand(0, (byte) '*', (byte) 'b', "3", (byte) 'W', new byte[] {0x01, 'A', 'B'});
+
+        EXECUTORS.updateContext(command('*', 'r', "16", 'S'), context);
+        EXECUTORS.updateContext(command('*', 'b', "2", 'M'), context);
+        EXECUTORS.updateContext(command('*', 'r', "1", 'A'), context);
+        EXECUTORS.updateContext(transfer, context);
+        assertEquals(16, context.getRasterWidth());
+        assertEquals(2, context.getCompressionMode());
+        assertEquals("Image of 1 row of 16 pixels, 2 bytes from 3 bytes, ratio 0.7:1",
+                summary(context, '*', 'r', "", 'C'));
+
+        context.setRasterDataDecoded(false);
+        EXECUTORS.updateContext(transfer, context);
+        assertEquals(0, context.getRasterDecoder().getImageRows());
+        EXECUTORS.updateContext(command('*', 'r', "", 'C'), context);
+        assertEquals("", summary(context, '*', 'r', "", 'C'));
+    }
+
+    private static ParameterizedPclCommand command(
+            final int parameterized,
+            final int group,
+            final String value,
+            final int termination) {
+
+        return new ParameterizedPclCommand(0, (byte) parameterized, (byte) group, value, (byte) termination, null);
+    }
+
+    private static String summary(
+            final PclDumperContext context,
+            final int parameterized,
+            final int group,
+            final String value,
+            final int termination) {
+
+        return EXECUTORS.executeFor(command(parameterized, group, value, termination), context).getSummary();
+    }
+
+    private static String summary(final int parameterized, final int group, final String value, final int termination) {
+        return EXECUTORS.executeFor(command(parameterized, group, value, termination), new PclDumperContext())
+            .getSummary();
+    }
+}
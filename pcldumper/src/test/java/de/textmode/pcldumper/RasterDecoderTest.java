@@ -0,0 +1,139 @@
+package de.textmode.pcldumper;
+
+/*
+ * Copyright 2017 Michael Knigge
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+/**
+ * JUnit-Tests for {@link RasterDecoder}.
+ */
+public final class RasterDecoderTest extends TestCase {
+
+    /**
+     * Tests the run-length encoding (mode 1) and TIFF PackBits (mode 2).
+     */
+    public void testRunLengthAndPackBits() {
+        final RasterDecoder decoder = new RasterDecoder();
+
+        assertTrue(decoder.transfer(1, new byte[] {2, 'A', 0, 'B', 7}, true, 0));
+        assertEquals("AAAB", row(decoder, 0));
+
+        // The example of Apple's technical note TN1023...
+        final byte[] packBits = bytes(0xFE, 0xAA, 0x02, 0x80, 0x00, 0x2A, 0xFD, 0xAA, 0x03, 0x80, 0x00, 0x2A, 0x22,
+                0xF7, 0xAA);
+        assertTrue(decoder.transfer(2, packBits, true, 0));
+        assertTrue(Arrays.equals(
+                bytes(0xAA, 0xAA, 0xAA, 0x80, 0x00, 0x2A, 0xAA, 0xAA, 0xAA, 0xAA, 0x80, 0x00, 0x2A, 0x22,
+                        0xAA, 0xAA, 0xAA, 0xAA, 0xAA, 0xAA, 0xAA, 0xAA, 0xAA, 0xAA),
+                decoder.getSeedRow(0)));
+        assertEquals(1, decoder.getRows());
+        assertEquals(24, decoder.getDecodedBytes());
+    }
+
+    /**
+     * Tests the delta row compression (mode 3) and the replacement delta row compression (mode 9), which
+     * change the seed row.
+     */
+    public void testDeltaRows() {
+        final RasterDecoder decoder = new RasterDecoder();
+        decoder.transfer(0, ascii("ABCDEFGHIJ"), true, 0);
+
+        decoder.transfer(3, bytes(0x21, 'x', 'y', 0x03, 'z'), true, 0);
+        assertEquals("AxyDEFzHIJ", row(decoder, 0));
+
+        // An offset of 31 is continued by another byte, the bytes beyond the row are zero...
+        decoder.transfer(3, bytes(0x1F, 0x00, 'q'), true, 0);
+        assertEquals(32, decoder.getDecodedBytes());
+        assertEquals("AxyDEFzHIJ" + new String(new char[21]) + "q", row(decoder, 0));
+
+        // An empty row repeats the seed row...
+        decoder.transfer(3, null, true, 0);
+        assertEquals(32, decoder.getDecodedBytes());
+
+        decoder.startImage();
+        decoder.transfer(0, ascii("ABCDEFGHIJ"), true, 0);
+        decoder.transfer(9, bytes(0x12, 'x', 'y', 'z', 0xA3, 0x03, 'q'), true, 0);
+        assertEquals("ABxyzFqqqq", row(decoder, 0));
+
+        // Counts with all bits set are continued by another byte...
+        decoder.transfer(9, bytes(0x07, 0x01, 'a', 'b', 'c', 'd', 'e', 'f', 'g', 'h', 'i'), true, 0);
+        assertEquals("abcdefghiq", row(decoder, 0));
+    }
+
+    /**
+     * Tests the adaptive compression (mode 5), which transfers a block of rows.
+     */
+    public void testAdaptiveCompression() {
+        final RasterDecoder decoder = new RasterDecoder();
+
+        final byte[] block = bytes(0x00, 0x00, 0x03, 'a', 'b', 'c', 0x05, 0x00, 0x02, 0x04, 0x00, 0x01);
+        assertTrue(decoder.transfer(5, block, true, 4));
+        assertEquals(4, decoder.getRows());
+        assertEquals(16, decoder.getDecodedBytes());
+        assertEquals(new String(new char[4]), row(decoder, 0));
+
+        decoder.transfer(5, bytes(0x03, 0x00, 0x02, 0x00, 'x'), true, 4);
+        assertEquals(1, decoder.getRows());
+        assertEquals("x" + new String(new char[3]), row(decoder, 0));
+    }
+
+    /**
+     * Tests the planes, the rows that are padded to the raster width, the totals of an image and the
+     * unsupported compression modes.
+     */
+    public void testPlanesAndTotals() {
+        final RasterDecoder decoder = new RasterDecoder();
+
+        assertTrue(decoder.transfer(0, ascii("AB"), false, 3));
+        assertEquals(1, decoder.getPlane());
+        assertEquals(0, decoder.getRows());
+        assertTrue(decoder.transfer(0, ascii("CDEF"), true, 3));
+        assertEquals(0, decoder.getPlane());
+        assertEquals(1, decoder.getRows());
+        assertEquals("AB" + (char) 0, row(decoder, 0));
+        assertEquals("CDEF", row(decoder, 1));
+
+        assertFalse(decoder.transfer(4, ascii("GH"), true, 3));
+        assertEquals("AB" + (char) 0, row(decoder, 0));
+
+        assertEquals(1, decoder.getImageRows());
+        assertEquals(7, decoder.getImageDecodedBytes());
+        assertEquals(8, decoder.getImageEncodedBytes());
+
+        decoder.startImage();
+        assertEquals(0, decoder.getImageRows());
+        assertEquals("", row(decoder, 0));
+    }
+
+    private static byte[] bytes(final int... values) {
+        final byte[] result = new byte[values.length];
+        for (int ix = 0; ix < values.length; ++ix) {
+            result[ix] = (byte) values[ix];
+        }
+        return result;
+    }
+
+    private static byte[] ascii(final String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String row(final RasterDecoder decoder, final int plane) {
+        return new String(decoder.getSeedRow(plane), StandardCharsets.ISO_8859_1);
+    }
+}